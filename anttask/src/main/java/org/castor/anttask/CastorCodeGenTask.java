@@ -163,6 +163,15 @@ public final class CastorCodeGenTask extends MatchingTask {
   /** Whether to generate SAX-1 compliant code. */
   private boolean _sax1;
 
+  /** Whether to generate methods reading and writing content through StAX streams. */
+  private boolean _streamMethods;
+
+  /** Whether to generate inline facet checks in descriptors. */
+  private boolean _inlineValidation;
+
+  /** Whether to generate descriptors creating their field descriptors on first access. */
+  private boolean _lazyDescriptors;
+
   /** Whether enumerated type lookup should be performed in a case insensitive manner. */
   private boolean _caseInsensitive;
 
@@ -388,6 +397,39 @@ public final class CastorCodeGenTask extends MatchingTask {
     _sax1 = sax1;
   }
 
+  /**
+   * Controls whether to generate methods reading and writing the content of the generated classes
+   * through StAX streams.
+   * 
+   * @param streamMethods True if stream methods should be generated.
+   * @since 1.4.2
+   */
+  public void setStreamMethods(final boolean streamMethods) {
+    _streamMethods = streamMethods;
+  }
+
+  /**
+   * Controls whether the generated descriptors check the facets of simple typed fields with inline
+   * code instead of type validators.
+   * 
+   * @param inlineValidation True if facet checks should be generated inline.
+   * @since 1.4.2
+   */
+  public void setInlineValidation(final boolean inlineValidation) {
+    _inlineValidation = inlineValidation;
+  }
+
+  /**
+   * Controls whether the generated descriptors create their field descriptors, handlers and
+   * validators on first access instead of in their constructors.
+   * 
+   * @param lazyDescriptors True if descriptors should create their field descriptors lazily.
+   * @since 1.4.2
+   */
+  public void setLazyDescriptors(final boolean lazyDescriptors) {
+    _lazyDescriptors = lazyDescriptors;
+  }
+
   /**
    * Controls whether enumerated type lookup should be performed in a case insensitive manner.
    * 
@@ -500,6 +542,18 @@ public final class CastorCodeGenTask extends MatchingTask {
 
     _sgen.setSAX1(_sax1);
 
+    if (_streamMethods) {
+      _sgen.setGenerateStreamMethods(true);
+    }
+
+    if (_inlineValidation) {
+      _sgen.setGenerateInlineValidation(true);
+    }
+
+    if (_lazyDescriptors) {
+      _sgen.setGenerateLazyDescriptors(true);
+    }
+
     _sgen.setCaseInsensitive(_caseInsensitive);
 
     _sgen.setNameConflictStrategy(_nameConflictStrategy);
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.castor.anttask;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.tools.ant.BuildException;
+import org.apache.tools.ant.DirectoryScanner;
+import org.apache.tools.ant.Task;
+import org.apache.tools.ant.types.FileSet;
+import org.castor.mapping.MappingCache;
+import org.castor.mapping.MappingUnmarshaller;
+import org.exolab.castor.mapping.Mapping;
+import org.exolab.castor.mapping.MappingException;
+
+/**
+ * An <a href="http://ant.apache.org/">Ant</a> task that precompiles Castor mapping files into a
+ * {@link MappingCache} directory, so that applications using the same cache directory can skip
+ * unmarshalling these mappings on startup. It can be passed a file, a Fileset or both; every file
+ * is treated as a separate mapping.
+ *
+ * <pre>
+ * &lt;taskdef name="castor-mappingcache" classname="org.castor.anttask.MappingCacheTask"/&gt;
+ * &lt;castor-mappingcache file="src/main/resources/mapping.xml"
+ *     cacheDir="target/classes/mapping-cache"/&gt;
+ * </pre>
+ *
+ * @since 1.4.2
+ */
+public final class MappingCacheTask extends Task {
+
+  /**
+   * Error message -- no input provided.
+   */
+  private static final String NO_MAPPING_MSG = "At least one mapping file must be provided.";
+
+  /**
+   * Error message -- no cache directory provided.
+   */
+  private static final String NO_CACHE_DIR_MSG = "The cacheDir attribute must be provided.";
+
+  /**
+   * The mapping file to process.
+   */
+  private File _mappingFile;
+
+  /**
+   * The filesets of mapping files to process.
+   */
+  private final List<FileSet> _mappingFileSets = new ArrayList<>();
+
+  /**
+   * The directory of the mapping cache.
+   */
+  private File _cacheDir;
+
+  /**
+   * Sets the individual mapping file to precompile.
+   * 
+   * @param file One mapping file.
+   */
+  public void setFile(final File file) {
+    _mappingFile = file;
+  }
+
+  /**
+   * Adds a fileset of mapping files to precompile.
+   * 
+   * @param set An individual file set containing mapping files.
+   */
+  public void addFileset(final FileSet set) {
+    _mappingFileSets.add(set);
+  }
+
+  /**
+   * Sets the directory of the mapping cache to fill.
+   * 
+   * @param cacheDir The mapping cache directory.
+   */
+  public void setCacheDir(final File cacheDir) {
+    _cacheDir = cacheDir;
+  }
+
+  /**
+   * Precompiles one mapping file. If anything goes wrong a BuildException will be thrown.
+   * 
+   * @param file The mapping file.
+   * @param cache The mapping cache to fill.
+   */
+  private void processFile(final File file, final MappingCache cache) {
+    log("Processing " + file);
+    try {
+      Mapping mapping = new Mapping();
+      mapping.setCache(cache);
+      mapping.loadMapping(file.toURI().toURL());
+      new MappingUnmarshaller().loadMappingOnly(mapping);
+    } catch (IOException | MappingException e) {
+      throw new BuildException("Problem loading the mapping file " + file, e);
+    }
+  }
+
+  /**
+   * Public execute method -- entry point for the Ant task. Loads every given mapping file through
+   * the mapping cache, which stores an entry for each of them. If anything goes wrong during
+   * execution of the Ant task a BuildException will be thrown.
+   * 
+   * @see org.apache.tools.ant.Task#execute()
+   */
+  public void execute() {
+    if (_mappingFile == null && _mappingFileSets.isEmpty()) {
+      throw new BuildException(NO_MAPPING_MSG);
+    }
+    if (_cacheDir == null) {
+      throw new BuildException(NO_CACHE_DIR_MSG);
+    }
+
+    MappingCache cache = new MappingCache(_cacheDir);
+
+    if (_mappingFile != null) {
+      processFile(_mappingFile, cache);
+    }
+
+    for (FileSet fs : _mappingFileSets) {
+      DirectoryScanner ds = fs.getDirectoryScanner(getProject());
+      File subdir = fs.getDir(getProject());
+      for (String file : ds.getIncludedFiles()) {
+        processFile(new File(subdir, file), cache);
+      }
+    }
+  }
+}
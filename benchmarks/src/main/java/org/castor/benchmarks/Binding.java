@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.castor.benchmarks;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.castor.benchmarks.model.Address;
+import org.castor.benchmarks.model.Customer;
+import org.castor.benchmarks.model.Item;
+import org.castor.benchmarks.model.PurchaseOrder;
+import org.exolab.castor.mapping.Mapping;
+import org.exolab.castor.mapping.MappingException;
+import org.exolab.castor.xml.MarshalException;
+import org.exolab.castor.xml.Marshaller;
+import org.exolab.castor.xml.ResolverException;
+import org.exolab.castor.xml.ValidationException;
+import org.exolab.castor.xml.XMLContext;
+
+/**
+ * The three ways Castor can be told about a domain model, each with a factory for a fully
+ * configured {@link XMLContext} and for a representative purchase order graph of a given size.
+ */
+public enum Binding {
+
+  /** Plain Java beans, class descriptors are created by the Castor introspector. */
+  INTROSPECTION {
+    @Override
+    protected void configure(final XMLContext context) {
+      // nothing to register, descriptors are introspected on first use
+    }
+
+    @Override
+    public Class<?> getRootClass() {
+      return PurchaseOrder.class;
+    }
+
+    @Override
+    public Object createPurchaseOrder(final int items) {
+      return createBeanPurchaseOrder(items);
+    }
+  },
+
+  /** Plain Java beans, class descriptors are loaded from <tt>order-mapping.xml</tt>. */
+  MAPPING {
+    @Override
+    protected void configure(final XMLContext context) throws MappingException {
+      Mapping mapping = context.createMapping();
+      mapping.loadMapping(new org.xml.sax.InputSource(
+          Binding.class.getResource(MAPPING_RESOURCE).toExternalForm()));
+      context.addMapping(mapping);
+    }
+
+    @Override
+    public Class<?> getRootClass() {
+      return PurchaseOrder.class;
+    }
+
+    @Override
+    public Object createPurchaseOrder(final int items) {
+      return createBeanPurchaseOrder(items);
+    }
+  },
+
+  /** Classes and compiled descriptors produced by the XML code generator. */
+  GENERATED {
+    @Override
+    protected void configure(final XMLContext context) throws ResolverException {
+      context.addPackage(
+          org.castor.benchmarks.generated.PurchaseOrder.class.getPackage().getName());
+    }
+
+    @Override
+    public Class<?> getRootClass() {
+      return org.castor.benchmarks.generated.PurchaseOrder.class;
+    }
+
+    @Override
+    public Object createPurchaseOrder(final int items) {
+      return createGeneratedPurchaseOrder(items);
+    }
+  };
+
+  /** Class path location of the Castor XML mapping used by {@link #MAPPING}. */
+  public static final String MAPPING_RESOURCE = "/org/castor/benchmarks/order-mapping.xml";
+
+  /**
+   * Creates a new {@link XMLContext} with all descriptors required by this binding registered.
+   * 
+   * @return A new, fully configured {@link XMLContext}.
+   */
+  public XMLContext createContext() {
+    XMLContext context = new XMLContext();
+    try {
+      configure(context);
+    } catch (MappingException e) {
+      throw new IllegalStateException("Unable to configure XMLContext for " + this, e);
+    } catch (ResolverException e) {
+      throw new IllegalStateException("Unable to configure XMLContext for " + this, e);
+    }
+    return context;
+  }
+
+  /**
+   * Marshals the given object with the given context.
+   * 
+   * @param context The {@link XMLContext} to obtain a {@link Marshaller} from.
+   * @param object The root object to marshal.
+   * @return The XML document.
+   */
+  public static String marshal(final XMLContext context, final Object object)
+      throws IOException, MarshalException, ValidationException {
+    StringWriter out = new StringWriter();
+    Marshaller marshaller = context.createMarshaller();
+    marshaller.setWriter(out);
+    marshaller.marshal(object);
+    return out.toString();
+  }
+
+  /**
+   * Registers the descriptors of this binding with the context given.
+   * 
+   * @param context The {@link XMLContext} to configure.
+   */
+  protected abstract void configure(XMLContext context) throws MappingException, ResolverException;
+
+  /**
+   * Returns the class of the document root.
+   * 
+   * @return The class of the document root.
+   */
+  public abstract Class<?> getRootClass();
+
+  /**
+   * Creates a purchase order graph.
+   * 
+   * @param items The number of line items.
+   * @return A new purchase order with a customer and the given number of items.
+   */
+  public abstract Object createPurchaseOrder(int items);
+
+  private static PurchaseOrder createBeanPurchaseOrder(final int items) {
+    Address address = new Address();
+    address.setStreet("1 Main Street");
+    address.setCity("Springfield");
+    address.setZip("12345");
+    address.setCountry("US");
+
+    Customer customer = new Customer();
+    customer.setId(4711L);
+    customer.setName("Jane Doe");
+    customer.setEmail("jane.doe@example.org");
+    customer.setAddress(address);
+
+    PurchaseOrder order = new PurchaseOrder();
+    order.setId("PO-" + items);
+    order.setPriority(2);
+    order.setCustomer(customer);
+    order.setComment("Please deliver to the back door & ring twice <urgent>.");
+    for (int i = 0; i < items; i++) {
+      Item item = new Item();
+      item.setSku(sku(i));
+      item.setDescription("Item number " + i);
+      item.setQuantity(1 + (i % 100));
+      item.setPrice(9.99d + i);
+      item.setBackordered((i % 7) == 0);
+      order.getItems().add(item);
+    }
+    return order;
+  }
+
+  private static org.castor.benchmarks.generated.PurchaseOrder createGeneratedPurchaseOrder(
+      final int items) {
+    org.castor.benchmarks.generated.Address address =
+        new org.castor.benchmarks.generated.Address();
+    address.setStreet("1 Main Street");
+    address.setCity("Springfield");
+    address.setZip("12345");
+    address.setCountry("US");
+
+    org.castor.benchmarks.generated.Customer customer =
+        new org.castor.benchmarks.generated.Customer();
+    customer.setId(4711L);
+    customer.setName("Jane Doe");
+    customer.setEmail("jane.doe@example.org");
+    customer.setAddress(address);
+
+    org.castor.benchmarks.generated.PurchaseOrder order =
+        new org.castor.benchmarks.generated.PurchaseOrder();
+    order.setId("PO-" + items);
+    order.setPriority(2);
+    order.setCustomer(customer);
+    order.setComment("Please deliver to the back door & ring twice <urgent>.");
+    for (int i = 0; i < items; i++) {
+      org.castor.benchmarks.generated.Item item = new org.castor.benchmarks.generated.Item();
+      item.setSku(sku(i));
+      item.setDescription("Item number " + i);
+      item.setQuantity(1 + (i % 100));
+      item.setPrice(9.99d + i);
+      item.setBackordered((i % 7) == 0);
+      order.addItem(item);
+    }
+    return order;
+  }
+
+  private static String sku(final int i) {
+    String digits = Integer.toString(100000 + (i % 900000));
+    return "ABC-" + digits;
+  }
+}
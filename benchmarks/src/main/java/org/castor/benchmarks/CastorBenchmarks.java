@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.castor.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the Castor benchmark suite. Accepts the usual JMH command line options (e.g. a
+ * benchmark name pattern, <tt>-p _binding=GENERATED</tt> or <tt>-rf json</tt>) and always adds the
+ * GC profiler so that every result reports the allocation rate next to the throughput.
+ * <p>
+ * Usage: <tt>java -jar benchmarks/target/castor-benchmarks.jar [JMH options]</tt>
+ */
+public final class CastorBenchmarks {
+
+  private CastorBenchmarks() {
+    // entry point only
+  }
+
+  public static void main(final String[] args) throws CommandLineOptionException, RunnerException {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    Options options =
+        new OptionsBuilder().parent(commandLine).addProfiler(GCProfiler.class).build();
+    new Runner(options).run();
+  }
+}
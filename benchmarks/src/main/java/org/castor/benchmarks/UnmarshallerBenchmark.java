@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.castor.benchmarks;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+
+import org.exolab.castor.xml.Unmarshaller;
+import org.exolab.castor.xml.XMLContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.xml.sax.InputSource;
+
+/**
+ * Throughput of {@link Unmarshaller#unmarshal(InputSource)} and
+ * {@link Unmarshaller#unmarshal(XMLStreamReader)} for all {@link Binding}s.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UnmarshallerBenchmark {
+
+  @Param({"INTROSPECTION", "MAPPING", "GENERATED"})
+  private Binding _binding;
+
+  @Param({"10", "1000"})
+  private int _items;
+
+  private XMLContext _context;
+
+  private XMLInputFactory _inputFactory;
+
+  private String _document;
+
+  @Setup
+  public void setUp() throws Exception {
+    _context = _binding.createContext();
+    _inputFactory = XMLInputFactory.newInstance();
+    _document = Binding.marshal(_context, _binding.createPurchaseOrder(_items));
+    // prime the descriptor cache, this suite measures the warm path only
+    unmarshalInputSource();
+  }
+
+  @Benchmark
+  public Object unmarshalInputSource() throws Exception {
+    Unmarshaller unmarshaller = _context.createUnmarshaller();
+    unmarshaller.setClass(_binding.getRootClass());
+    return unmarshaller.unmarshal(new InputSource(new StringReader(_document)));
+  }
+
+  @Benchmark
+  public Object unmarshalXMLStreamReader() throws Exception {
+    XMLStreamReader reader = _inputFactory.createXMLStreamReader(new StringReader(_document));
+    try {
+      Unmarshaller unmarshaller = _context.createUnmarshaller();
+      unmarshaller.setClass(_binding.getRootClass());
+      return unmarshaller.unmarshal(reader);
+    } finally {
+      reader.close();
+    }
+  }
+}
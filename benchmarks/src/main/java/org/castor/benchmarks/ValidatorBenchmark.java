@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.castor.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.exolab.castor.xml.ValidationContext;
+import org.exolab.castor.xml.Validator;
+import org.exolab.castor.xml.XMLContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of {@link Validator#validate(Object, ValidationContext)}, i.e. the pre-pass that
+ * {@link org.exolab.castor.xml.Marshaller} runs when marshalling validation is enabled.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidatorBenchmark {
+
+  @Param({"INTROSPECTION", "MAPPING", "GENERATED"})
+  private Binding _binding;
+
+  @Param({"10", "1000"})
+  private int _items;
+
+  private XMLContext _context;
+
+  private Object _purchaseOrder;
+
+  @Setup
+  public void setUp() throws Exception {
+    _context = _binding.createContext();
+    _purchaseOrder = _binding.createPurchaseOrder(_items);
+    validate();
+  }
+
+  @Benchmark
+  @SuppressWarnings("deprecation")
+  public ValidationContext validate() throws Exception {
+    ValidationContext context = new ValidationContext();
+    context.setInternalContext(_context.getInternalContext());
+    new Validator().validate(_purchaseOrder, context);
+    return context;
+  }
+}
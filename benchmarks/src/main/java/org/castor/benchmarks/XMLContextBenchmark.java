@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.castor.benchmarks;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.exolab.castor.xml.Unmarshaller;
+import org.exolab.castor.xml.XMLContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.xml.sax.InputSource;
+
+/**
+ * Cost of a round trip through a freshly created {@link XMLContext} (descriptors have to be
+ * introspected, loaded from the mapping or instantiated first) compared to one that has already
+ * been used.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XMLContextBenchmark {
+
+  @Param({"INTROSPECTION", "MAPPING", "GENERATED"})
+  private Binding _binding;
+
+  private XMLContext _warmContext;
+
+  private Object _purchaseOrder;
+
+  private String _document;
+
+  @Setup
+  public void setUp() throws Exception {
+    _warmContext = _binding.createContext();
+    _purchaseOrder = _binding.createPurchaseOrder(10);
+    _document = Binding.marshal(_warmContext, _purchaseOrder);
+  }
+
+  @Benchmark
+  public Object coldContext() throws Exception {
+    return roundTrip(_binding.createContext());
+  }
+
+  @Benchmark
+  public Object warmContext() throws Exception {
+    return roundTrip(_warmContext);
+  }
+
+  private Object roundTrip(final XMLContext context) throws Exception {
+    Binding.marshal(context, _purchaseOrder);
+    Unmarshaller unmarshaller = context.createUnmarshaller();
+    unmarshaller.setClass(_binding.getRootClass());
+    return unmarshaller.unmarshal(new InputSource(new StringReader(_document)));
+  }
+}
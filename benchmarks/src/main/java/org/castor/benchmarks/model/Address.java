@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.castor.benchmarks.model;
+
+/**
+ * Postal address of a {@link Customer}.
+ */
+public class Address {
+
+  private String _street;
+
+  private String _city;
+
+  private String _zip;
+
+  private String _country;
+
+  public String getStreet() {
+    return _street;
+  }
+
+  public void setStreet(final String street) {
+    _street = street;
+  }
+
+  public String getCity() {
+    return _city;
+  }
+
+  public void setCity(final String city) {
+    _city = city;
+  }
+
+  public String getZip() {
+    return _zip;
+  }
+
+  public void setZip(final String zip) {
+    _zip = zip;
+  }
+
+  public String getCountry() {
+    return _country;
+  }
+
+  public void setCountry(final String country) {
+    _country = country;
+  }
+}
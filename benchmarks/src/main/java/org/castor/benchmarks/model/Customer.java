@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.castor.benchmarks.model;
+
+/**
+ * Customer of a {@link PurchaseOrder}.
+ */
+public class Customer {
+
+  private long _id;
+
+  private String _name;
+
+  private String _email;
+
+  private Address _address;
+
+  public long getId() {
+    return _id;
+  }
+
+  public void setId(final long id) {
+    _id = id;
+  }
+
+  public String getName() {
+    return _name;
+  }
+
+  public void setName(final String name) {
+    _name = name;
+  }
+
+  public String getEmail() {
+    return _email;
+  }
+
+  public void setEmail(final String email) {
+    _email = email;
+  }
+
+  public Address getAddress() {
+    return _address;
+  }
+
+  public void setAddress(final Address address) {
+    _address = address;
+  }
+}
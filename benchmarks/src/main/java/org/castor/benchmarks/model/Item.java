@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.castor.benchmarks.model;
+
+/**
+ * Line item of a {@link PurchaseOrder}.
+ */
+public class Item {
+
+  private String _sku;
+
+  private String _description;
+
+  private int _quantity;
+
+  private double _price;
+
+  private boolean _backordered;
+
+  public String getSku() {
+    return _sku;
+  }
+
+  public void setSku(final String sku) {
+    _sku = sku;
+  }
+
+  public String getDescription() {
+    return _description;
+  }
+
+  public void setDescription(final String description) {
+    _description = description;
+  }
+
+  public int getQuantity() {
+    return _quantity;
+  }
+
+  public void setQuantity(final int quantity) {
+    _quantity = quantity;
+  }
+
+  public double getPrice() {
+    return _price;
+  }
+
+  public void setPrice(final double price) {
+    _price = price;
+  }
+
+  public boolean isBackordered() {
+    return _backordered;
+  }
+
+  public void setBackordered(final boolean backordered) {
+    _backordered = backordered;
+  }
+}
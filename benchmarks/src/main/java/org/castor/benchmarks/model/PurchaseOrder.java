@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.castor.benchmarks.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Root of the benchmark bean model; bound either through introspection or through
+ * <tt>order-mapping.xml</tt>.
+ */
+public class PurchaseOrder {
+
+  private String _id;
+
+  private int _priority;
+
+  private Customer _customer;
+
+  private List<Item> _items = new ArrayList<Item>();
+
+  private String _comment;
+
+  public String getId() {
+    return _id;
+  }
+
+  public void setId(final String id) {
+    _id = id;
+  }
+
+  public int getPriority() {
+    return _priority;
+  }
+
+  public void setPriority(final int priority) {
+    _priority = priority;
+  }
+
+  public Customer getCustomer() {
+    return _customer;
+  }
+
+  public void setCustomer(final Customer customer) {
+    _customer = customer;
+  }
+
+  public List<Item> getItems() {
+    return _items;
+  }
+
+  public void setItems(final List<Item> items) {
+    _items = items;
+  }
+
+  public String getComment() {
+    return _comment;
+  }
+
+  public void setComment(final String comment) {
+    _comment = comment;
+  }
+}
@@ -276,6 +276,43 @@ public class BuilderConfiguration {
      */
     public static final String USE_OLD_FIELD_NAMING = "org.exolab.castor.builder.field-naming.old";
 
+    /**
+     * Property specifying whether generated classes should provide methods writing and reading
+     * their content through StAX streams without class descriptors; defaults to <i>false</i>.
+     * 
+     * <pre>
+     * org.exolab.castor.builder.streamMethods = false
+     * </pre>
+     *
+     * @since 1.4.2
+     */
+    public static final String STREAM_METHODS = "org.exolab.castor.builder.streamMethods";
+
+    /**
+     * Property specifying whether generated descriptors should check the facets of simple typed
+     * fields with inline code instead of type validator objects; defaults to <i>false</i>.
+     * 
+     * <pre>
+     * org.exolab.castor.builder.inlineValidation = false
+     * </pre>
+     *
+     * @since 1.4.2
+     */
+    public static final String INLINE_VALIDATION = "org.exolab.castor.builder.inlineValidation";
+
+    /**
+     * Property specifying whether generated descriptors should defer the creation of their field
+     * descriptors, handlers and validators until the fields are first accessed; defaults to
+     * <i>false</i>.
+     * 
+     * <pre>
+     * org.exolab.castor.builder.lazyDescriptors = false
+     * </pre>
+     *
+     * @since 1.4.2
+     */
+    public static final String LAZY_DESCRIPTORS = "org.exolab.castor.builder.lazyDescriptors";
+
   } // --Property
 
   /**
@@ -513,6 +550,69 @@ public class BuilderConfiguration {
     return Boolean.valueOf(_localProps.getProperty(Property.USE_CYCLE_BREAKER, "true"));
   }
 
+  /**
+   * Returns true if generated classes should provide methods writing and reading their content
+   * through StAX streams without class descriptors; default to 'false'.
+   *
+   * @return true if stream methods should be generated
+   * @since 1.4.2
+   */
+  public final boolean generateStreamMethods() {
+    return Boolean.parseBoolean(_localProps.getProperty(Property.STREAM_METHODS, "false"));
+  }
+
+  /**
+   * Sets the 'streamMethods' property.
+   *
+   * @param streamMethods true if stream methods should be generated
+   * @since 1.4.2
+   */
+  public final void setGenerateStreamMethods(final boolean streamMethods) {
+    _localProps.setProperty(Property.STREAM_METHODS, streamMethods ? TRUE : FALSE);
+  }
+
+  /**
+   * Returns true if generated descriptors should check the facets of simple typed fields with
+   * inline code instead of type validator objects; default to 'false'.
+   *
+   * @return true if facet checks should be generated inline
+   * @since 1.4.2
+   */
+  public final boolean generateInlineValidation() {
+    return Boolean.parseBoolean(_localProps.getProperty(Property.INLINE_VALIDATION, "false"));
+  }
+
+  /**
+   * Sets the 'inlineValidation' property.
+   *
+   * @param inlineValidation true if facet checks should be generated inline
+   * @since 1.4.2
+   */
+  public final void setGenerateInlineValidation(final boolean inlineValidation) {
+    _localProps.setProperty(Property.INLINE_VALIDATION, inlineValidation ? TRUE : FALSE);
+  }
+
+  /**
+   * Returns true if generated descriptors should defer the creation of their field descriptors
+   * until the fields are first accessed; default to 'false'.
+   *
+   * @return true if descriptors should create their field descriptors lazily
+   * @since 1.4.2
+   */
+  public final boolean generateLazyDescriptors() {
+    return Boolean.parseBoolean(_localProps.getProperty(Property.LAZY_DESCRIPTORS, "false"));
+  }
+
+  /**
+   * Sets the 'lazyDescriptors' property.
+   *
+   * @param lazyDescriptors true if descriptors should create their field descriptors lazily
+   * @since 1.4.2
+   */
+  public final void setGenerateLazyDescriptors(final boolean lazyDescriptors) {
+    _localProps.setProperty(Property.LAZY_DESCRIPTORS, lazyDescriptors ? TRUE : FALSE);
+  }
+
   /**
    * Returns the maximum number of static constant definitions that are acceptable within one class
    * file; default is 1000.
@@ -41,8 +41,14 @@ package org.exolab.castor.builder;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.castor.core.constants.cpa.JDOConstants;
 import org.exolab.castor.builder.conflictresolution.ClassNameCRStrategy;
@@ -50,6 +56,7 @@ import org.exolab.castor.builder.conflictresolution.ClassNameCRStrategyRegistry;
 import org.exolab.castor.builder.descriptors.DescriptorSourceFactory;
 import org.exolab.castor.builder.descriptors.JDOClassDescriptorFactory;
 import org.exolab.castor.builder.factory.MappingFileSourceFactory;
+import org.exolab.castor.builder.factory.StreamMethodsFactory;
 import org.exolab.castor.builder.info.ClassInfo;
 import org.exolab.castor.builder.info.nature.JDOClassInfoNature;
 import org.exolab.castor.builder.info.nature.XMLInfoNature;
@@ -57,6 +64,7 @@ import org.exolab.castor.builder.printing.JClassPrinter;
 import org.exolab.castor.builder.printing.JClassPrinterFactoryRegistry;
 import org.exolab.castor.mapping.xml.MappingRoot;
 import org.exolab.castor.util.dialog.ConsoleDialog;
+import org.exolab.castor.xml.XMLConstants;
 import org.exolab.javasource.JClass;
 import org.exolab.javasource.JComment;
 import org.exolab.javasource.JNaming;
@@ -116,6 +124,8 @@ public final class SingleClassGenerator {
 
   /** The MappingFileSourceFactory instance. */
   private final MappingFileSourceFactory _mappingSourceFactory;
+  /** The StreamMethodsFactory instance. */
+  private final StreamMethodsFactory _streamMethodsFactory;
   /** The SourceGenerator instance that created us. */
   private final SourceGenerator _sourceGenerator;
 
@@ -135,6 +145,20 @@ public final class SingleClassGenerator {
    */
   private ClassNameCRStrategyRegistry _classNameConflictResolutionStrategyRegistry;
 
+  /**
+   * The number of threads used to print classes; 1 prints every class as soon as it is processed.
+   */
+  private int _parallelism = 1;
+
+  /**
+   * Classes whose printing has been deferred, keyed by file name, in the order they were processed.
+   */
+  private final Map<String, JClass> _pendingClasses = new LinkedHashMap<String, JClass>();
+
+  /**
+   * Classes deferred for printing that may be given stream methods, keyed by class name.
+   */
+  private final Map<String, ClassInfo> _pendingClassInfos = new LinkedHashMap<String, ClassInfo>();
 
   /**
    * Creates an instance of this class.
@@ -152,6 +176,7 @@ public final class SingleClassGenerator {
     this._descriptorSourceFactory = new DescriptorSourceFactory(_sourceGenerator);
     this._jdoDescriptorSourceFactory = new JDOClassDescriptorFactory(_sourceGenerator);
     this._mappingSourceFactory = new MappingFileSourceFactory(_sourceGenerator);
+    this._streamMethodsFactory = new StreamMethodsFactory(_sourceGenerator);
 
     final String strategy =
         sourceGenerator.getProperty(BuilderConfiguration.Property.NAME_CONFLICT_STRATEGIES, "");
@@ -250,6 +275,20 @@ public final class SingleClassGenerator {
     this._promptForOverwrite = promptForOverwrite;
   } // -- setPromptForOverwrite
 
+  /**
+   * Sets the number of threads used to print the generated classes. With a value of 1, the
+   * default, every class is printed as soon as it has been processed. With a larger value, classes
+   * are only collected while processing and printed by {@link #printPendingClasses()}.
+   *
+   * @param parallelism the number of threads used to print the generated classes
+   */
+  public void setParallelism(final int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("The argument 'parallelism' must be at least 1.");
+    }
+    _parallelism = parallelism;
+  }
+
   /**
    * Processes the JClass mapped by the provided key unless the JClass has already been processed.
    *
@@ -362,7 +401,10 @@ public final class SingleClassGenerator {
       if (_lineSeparator == null) {
         _lineSeparator = System.getProperty("line.separator");
       }
-      _jClassPrinter.printClass(jClass, _destDir, _lineSeparator, DEFAULT_HEADER);
+      printClass(jClass);
+      if (classInfo != null && _sourceGenerator.generateStreamMethods()) {
+        _pendingClassInfos.put(jClass.getName(), classInfo);
+      }
     }
 
     // -- Process and print the class descriptors
@@ -389,12 +431,12 @@ public final class SingleClassGenerator {
     if (_createDescriptors) {
       JClass desc = _descriptorSourceFactory.createSource(classInfo);
       if (checkAllowPrinting(desc)) {
-        updateCDRFile(jClass, desc, state, CDR_FILE);
+        updateCDRFile(jClass, desc, state, CDR_FILE, new XMLInfoNature(classInfo).getNodeName());
         desc.setHeader(_header);
         if (_lineSeparator == null) {
           _lineSeparator = System.getProperty("line.separator");
         }
-        _jClassPrinter.printClass(desc, _destDir, _lineSeparator, DEFAULT_HEADER);
+        printClass(desc);
       }
     } else {
       // TODO cleanup mapping file integration (what does this TODO mean?)
@@ -427,12 +469,86 @@ public final class SingleClassGenerator {
     if (_createJdoDescriptors) {
       JClass desc = _jdoDescriptorSourceFactory.createSource(classInfo);
       if (checkAllowPrinting(desc)) {
-        updateCDRFile(jClass, desc, state, JDOConstants.PKG_CDR_LIST_FILE);
+        updateCDRFile(jClass, desc, state, JDOConstants.PKG_CDR_LIST_FILE, null);
         desc.setHeader(_header);
         if (_lineSeparator == null) {
           _lineSeparator = System.getProperty("line.separator");
         }
-        _jClassPrinter.printClass(desc, _destDir, _lineSeparator, DEFAULT_HEADER);
+        printClass(desc);
+      }
+    }
+  }
+
+  /**
+   * Prints the given class, or defers its printing to {@link #printPendingClasses()} when classes
+   * are printed in parallel or given stream methods. A class deferred for the same file as an
+   * earlier one replaces it, as printing it would have overwritten the earlier file.
+   *
+   * @param jClass the class to print
+   */
+  private void printClass(final JClass jClass) {
+    if (_parallelism > 1 || _sourceGenerator.generateStreamMethods()) {
+      _pendingClasses.remove(jClass.getFilename(_destDir));
+      _pendingClasses.put(jClass.getFilename(_destDir), jClass);
+    } else {
+      _jClassPrinter.printClass(jClass, _destDir, _lineSeparator, DEFAULT_HEADER);
+    }
+  }
+
+  /**
+   * Prints all classes whose printing has been deferred, on as many threads as configured. The
+   * classes have been fully built and named while processing, so printing them only reads their
+   * models and writes one file per class. Stream methods are added first, once all classes whose
+   * content they may refer to are known.
+   */
+  void printPendingClasses() {
+    if (!_pendingClassInfos.isEmpty()) {
+      _streamMethodsFactory.createStreamMethods(_pendingClassInfos.values());
+      _pendingClassInfos.clear();
+    }
+    if (_pendingClasses.isEmpty()) {
+      return;
+    }
+    List<JClass> classes = new ArrayList<JClass>(_pendingClasses.values());
+    _pendingClasses.clear();
+    ForkJoinPool pool = new ForkJoinPool(_parallelism);
+    try {
+      pool.invoke(new PrintAction(classes, 0, classes.size()));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Prints a range of classes, splitting it among the threads of the pool.
+   */
+  private final class PrintAction extends RecursiveAction {
+    /** SerialVersionUID. */
+    private static final long serialVersionUID = 1L;
+
+    /** The classes to print. */
+    private final List<JClass> _classes;
+
+    /** The index of the first class of the range. */
+    private final int _from;
+
+    /** The index after the last class of the range. */
+    private final int _to;
+
+    PrintAction(final List<JClass> classes, final int from, final int to) {
+      _classes = classes;
+      _from = from;
+      _to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (_to - _from == 1) {
+        _jClassPrinter.printClass(_classes.get(_from), _destDir, _lineSeparator, DEFAULT_HEADER);
+      } else {
+        int middle = (_from + _to) >>> 1;
+        invokeAll(new PrintAction(_classes, _from, middle),
+            new PrintAction(_classes, middle, _to));
       }
     }
   }
@@ -507,16 +623,19 @@ public final class SingleClassGenerator {
   }
 
   /**
-   * Updates the CDR (ClassDescriptorResolver) file with the classname->descriptor mapping.
+   * Updates the CDR (ClassDescriptorResolver) file with the classname->descriptor mapping and, if
+   * given, the XML name of the descriptor, so that lookups by XML name only create the descriptors
+   * with that name.
    *
    * @param jClass JClass instance describing the entity class
    * @param jDesc JClass instance describing is *Descriptor class
    * @param sInfo state info
    * @param cdrFileName the filename of the class descriptor resolver (cdr) file
+   * @param xmlName the XML name of the descriptor, or null if it is not known
    * @throws IOException If an already existing '.castor.cdr' file can not be found or loaded
    */
   private void updateCDRFile(final JClass jClass, final JClass jDesc, final SGStateInfo sInfo,
-      final String cdrFileName) throws IOException {
+      final String cdrFileName, final String xmlName) throws IOException {
     String entityFilename = jClass.getFilename(_resourceDestinationDirectory);
     File file = new File(entityFilename);
     File parentDirectory = file.getParentFile();
@@ -536,6 +655,12 @@ public final class SingleClassGenerator {
       sInfo.setCDRFile(cdrFilename, props);
     }
     props.setProperty(jClass.getName(), jDesc.getName());
+    String xmlNameKey = jClass.getName() + XMLConstants.PKG_CDR_XML_NAME_SUFFIX;
+    if (xmlName == null) {
+      props.remove(xmlNameKey);
+    } else {
+      props.setProperty(xmlNameKey, xmlName);
+    }
   } // -- updateCDRFile
 
   /**
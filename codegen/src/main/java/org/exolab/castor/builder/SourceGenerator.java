@@ -412,6 +412,19 @@ public class SourceGenerator extends BuilderConfiguration {
     _singleClassGenerator.setDestDir(destDir);
   }
 
+  /**
+   * Sets the number of threads used to print the generated source files. By default, every class
+   * is printed as soon as it has been created. With more than one thread, all classes are first
+   * created, named and bound sequentially, in the same order as before, and then printed together
+   * on a fork-join pool, so that the generated files do not depend on the number of threads.
+   *
+   * @param parallelism the number of threads used to print the generated source files
+   * @since 1.4.2
+   */
+  public final void setParallelism(final int parallelism) {
+    _singleClassGenerator.setParallelism(parallelism);
+  }
+
   /**
    * Sets the destination directory for resources, e.g. '.castor.cdr' files.
    *
@@ -741,7 +754,11 @@ public class SourceGenerator extends BuilderConfiguration {
     // --We start with a blank list of schemas processed
     _schemasProcessed.clear();
 
-    generateAllClassFiles(schema, _sInfo);
+    try {
+      generateAllClassFiles(schema, _sInfo);
+    } finally {
+      _singleClassGenerator.printPendingClasses();
+    }
 
     // -- TODO Cleanup integration (what does this comment mean?)
     if (!_createDescriptors && _generateMapping) {
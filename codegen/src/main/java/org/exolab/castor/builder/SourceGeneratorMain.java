@@ -70,14 +70,18 @@ public final class SourceGeneratorMain {
   private static final String ARGUMENT_GENERATE_IMPORTED_SCHEMAS = "generateImportedSchemas";
   private static final String ARGUMENT_GENERATE_MAPPING = "gen-mapping";
   private static final String ARGUMENT_HELP = "h";
+  private static final String ARGUMENT_INLINE_VALIDATION = "inlineValidation";
   private static final String ARGUMENT_INPUT = "i";
   private static final String ARGUMENT_INPUT_SOURCE = "is";
+  private static final String ARGUMENT_LAZY_DESCRIPTORS = "lazyDescriptors";
   private static final String ARGUMENT_LINE_SEPARATOR = "line-separator";
   private static final String ARGUMENT_NOMARSHALL = "nomarshall";
   private static final String ARGUMENT_PACKAGE = "package";
   private static final String ARGUMENT_RESOURCES_DESTINATION_DIR = "resourcesDestination";
   private static final String ARGUMENT_SAX1 = "sax1";
+  private static final String ARGUMENT_STREAM_METHODS = "streamMethods";
   private static final String ARGUMENT_TESTABLE = "testable";
+  private static final String ARGUMENT_THREADS = "threads";
   private static final String ARGUMENT_TYPES = "types";
   private static final String ARGUMENT_TYPES_DEPRECATED = "type-factory";
   private static final String ARGUMENT_TYPES_JAVA2 = "j2";
@@ -110,6 +114,18 @@ public final class SourceGeneratorMain {
   /** Message used when using SAX1. */
   private static final String SAX1_MSG = "The generated classes will use SAX 1.";
 
+  /** Message used when generating stream methods. */
+  private static final String STREAM_METHODS_MSG =
+      "The generated classes will read and write their content through StAX streams.";
+
+  /** Message used when generating inline facet checks. */
+  private static final String INLINE_VALIDATION_MSG =
+      "The generated descriptors will check facets with inline code.";
+
+  /** Message used when generating descriptors creating their fields lazily. */
+  private static final String LAZY_DESCRIPTORS_MSG =
+      "The generated descriptors will create their field descriptors on first access.";
+
   private static final String GENERATE_IMPORT_MSG =
       "Imported XML Schemas will be processed automatically.";
 
@@ -149,6 +165,10 @@ public final class SourceGeneratorMain {
 
   private static final String JCLASSPRINTER_TYPE_MSG = "Using JClass printing type ";
 
+  private static final String THREADS_MSG = "Printing source files in parallel using threads: ";
+
+  private static final String INVALID_THREADS_MSG = "Invalid option for '-threads': ";
+
   private static final String USING_SEPARATE_RESOURCES_DIRECTORY =
       "Using a separate destination for resources.";
 
@@ -258,6 +278,24 @@ public final class SourceGeneratorMain {
       System.out.println(SAX1_MSG);
     }
 
+    if (options.getProperty(ARGUMENT_STREAM_METHODS) != null) {
+      sgen.setGenerateStreamMethods(true);
+      System.out.print("-- ");
+      System.out.println(STREAM_METHODS_MSG);
+    }
+
+    if (options.getProperty(ARGUMENT_INLINE_VALIDATION) != null) {
+      sgen.setGenerateInlineValidation(true);
+      System.out.print("-- ");
+      System.out.println(INLINE_VALIDATION_MSG);
+    }
+
+    if (options.getProperty(ARGUMENT_LAZY_DESCRIPTORS) != null) {
+      sgen.setGenerateLazyDescriptors(true);
+      System.out.print("-- ");
+      System.out.println(LAZY_DESCRIPTORS_MSG);
+    }
+
     if (options.getProperty(ARGUMENT_CASE_INSENSITIVE) != null) {
       sgen.setCaseInsensitive(true);
       System.out.print("-- ");
@@ -278,6 +316,18 @@ public final class SourceGeneratorMain {
       System.out.println(JCLASSPRINTER_TYPE_MSG + jClassPrinterType);
     }
 
+    String threads = options.getProperty(ARGUMENT_THREADS);
+    if (threads != null) {
+      try {
+        sgen.setParallelism(Integer.parseInt(threads));
+        System.out.print("-- ");
+        System.out.println(THREADS_MSG + threads);
+      } catch (IllegalArgumentException e) {
+        System.out.print("-- ");
+        System.out.println(INVALID_THREADS_MSG + "'" + threads + "'");
+      }
+    }
+
     String bindingFilename = options.getProperty(ARGUMENT_BINDING_FILENAME);
     if (bindingFilename != null) {
       try {
@@ -479,6 +529,18 @@ public final class SourceGeneratorMain {
     desc = "Uses SAX 1 in the generated code.";
     allOptions.addFlag(ARGUMENT_SAX1, "", desc, true);
 
+    // -- generate stream methods?
+    desc = "Generates methods reading and writing the content of classes through StAX streams.";
+    allOptions.addFlag(ARGUMENT_STREAM_METHODS, "", desc, true);
+
+    // -- generate inline facet checks?
+    desc = "Generates inline facet checks in descriptors instead of type validators.";
+    allOptions.addFlag(ARGUMENT_INLINE_VALIDATION, "", desc, true);
+
+    // -- generate descriptors creating their fields lazily?
+    desc = "Generates descriptors that create their field descriptors on first access.";
+    allOptions.addFlag(ARGUMENT_LAZY_DESCRIPTORS, "", desc, true);
+
     // -- Source Generator Binding
     desc = "Sets the Source Generator Binding File name.";
     allOptions.addFlag(ARGUMENT_BINDING_FILENAME, "filename", desc, true);
@@ -499,6 +561,9 @@ public final class SourceGeneratorMain {
     desc = "Selects the JClass printer type (default 'standard')";
     allOptions.addFlag(ARGUMENT_NAME_JCLASSPRINTER, "<mode>", desc, true);
 
+    desc = "Number of threads used to print the generated source files (default 1)";
+    allOptions.addFlag(ARGUMENT_THREADS, "<count>", desc, true);
+
     desc = "Whether to use old Java field naming conventions (default to 'true')";
     allOptions.addFlag(ARGUMENT_USE_OLD_FIELD_NAMING, "", desc, true);
 
@@ -307,6 +307,9 @@ public final class DescriptorJClass extends JClass {
     }
 
     jsc = getIdentity.getSourceCode();
+    if (_config.generateLazyDescriptors()) {
+      jsc.add("ensureFieldDescriptors();");
+    }
     if (extended) {
       jsc.add("if (_identity == null) {");
       jsc.indent();
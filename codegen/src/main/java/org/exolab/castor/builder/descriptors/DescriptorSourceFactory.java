@@ -38,6 +38,7 @@
  */
 package org.exolab.castor.builder.descriptors;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
@@ -57,9 +58,12 @@ import org.exolab.castor.mapping.FieldDescriptor;
 import org.exolab.castor.xml.Validator;
 import org.exolab.castor.xml.XMLConstants;
 import org.exolab.castor.xml.XMLFieldDescriptor;
+import org.exolab.javasource.JAnnotation;
+import org.exolab.javasource.JAnnotationType;
 import org.exolab.javasource.JClass;
 import org.exolab.javasource.JConstant;
 import org.exolab.javasource.JConstructor;
+import org.exolab.javasource.JMethod;
 import org.exolab.javasource.JNaming;
 import org.exolab.javasource.JPrimitiveType;
 import org.exolab.javasource.JSourceCode;
@@ -77,6 +81,9 @@ public final class DescriptorSourceFactory {
       new JClass("org.exolab.castor.mapping.GeneralizedFieldHandler");
   /** Name of the field validator instance variable in generated code. */
   private static final String FIELD_VALIDATOR_NAME = "fieldValidator";
+  /** The super class of descriptors that extend no other generated descriptor. */
+  private static final String XMLCLASS_DESCRIPTOR_IMPL =
+      "org.exolab.castor.xml.util.XMLClassDescriptorImpl";
 
   /** The BuilderConfiguration instance. */
   private final BuilderConfiguration _config;
@@ -84,6 +91,9 @@ public final class DescriptorSourceFactory {
   /** Factory for creating XMLFieldHandler instances embedded in descriptors. */
   private XMLFieldHandlerFactory _xmlFieldHandlerFactory;
 
+  /** Factory for creating the inline facet checks of descriptors. */
+  private final InlineValidationFactory _inlineValidationFactory;
+
   /**
    * Creates a new DescriptorSourceFactory with the given configuration.
    *
@@ -96,6 +106,7 @@ public final class DescriptorSourceFactory {
     }
     _config = config;
     _xmlFieldHandlerFactory = new XMLFieldHandlerFactory(config);
+    _inlineValidationFactory = new InlineValidationFactory(config);
   } // -- DescriptorSourceFactory
 
   /**
@@ -171,12 +182,27 @@ public final class DescriptorSourceFactory {
       jsc.add("setSubstitutes(substitutionGroups);");
     }
 
+    // -- members whose facets are checked inline, null if type validators are used
+    List<FieldInfo> inlineMembers = null;
+    if (_config.generateInlineValidation()) {
+      inlineMembers = new ArrayList<FieldInfo>();
+    }
+
     // -- To prevent compiler warnings...make sure
     // -- we don't declare temp variables if field count is 0;
     if (classInfo.getFieldCount() == 0) {
+      if (inlineMembers != null) {
+        _inlineValidationFactory.createValidateFacets(classDesc, localClassName, inlineMembers,
+            xmlNature.isChoice());
+      }
       return classDesc;
     }
 
+    // -- create the field descriptors on first access rather than in the constructor
+    if (_config.generateLazyDescriptors() && classDesc.getSuperClassQualifiedName() != null) {
+      jsc = createFieldDescriptorsMethod(classDesc);
+    }
+
     // -- declare temp variables
     jsc.add("org.exolab.castor.xml.util.XMLFieldDescriptorImpl  desc           = null;");
     jsc.add("org.exolab.castor.mapping.FieldHandler             handler        = null;");
@@ -184,7 +210,8 @@ public final class DescriptorSourceFactory {
 
     // -- handle content
     if (classInfo.allowContent()) {
-      createDescriptor(classDesc, classInfo.getTextField(), localClassName, null, jsc);
+      createDescriptor(classDesc, classInfo.getTextField(), localClassName, null, jsc,
+          inlineMembers);
     }
 
     ClassInfo base = classInfo.getBaseClass();
@@ -206,16 +233,16 @@ public final class DescriptorSourceFactory {
       if (base != null) {
         String baseNodeName = new XMLInfoNature(member).getNodeName();
         if (baseNodeName.equals(XMLInfo.CHOICE_NODE_NAME_ERROR_INDICATION)) {
-          createDescriptor(classDesc, member, localClassName, nsURI, jsc);
+          createDescriptor(classDesc, member, localClassName, nsURI, jsc, inlineMembers);
         } else {
           if (base.getAttributeField(baseNodeName) != null) {
             createRestrictedDescriptor(member, jsc);
           } else {
-            createDescriptor(classDesc, member, localClassName, nsURI, jsc);
+            createDescriptor(classDesc, member, localClassName, nsURI, jsc, inlineMembers);
           }
         }
       } else {
-        createDescriptor(classDesc, member, localClassName, nsURI, jsc);
+        createDescriptor(classDesc, member, localClassName, nsURI, jsc, inlineMembers);
       }
     }
 
@@ -238,21 +265,26 @@ public final class DescriptorSourceFactory {
       if (base != null) {
         String baseNodeName = fieldNature.getNodeName();
         if (baseNodeName == null) {
-          createDescriptor(classDesc, member, localClassName, nsURI, jsc);
+          createDescriptor(classDesc, member, localClassName, nsURI, jsc, inlineMembers);
         } else if (baseNodeName.equals(XMLInfo.CHOICE_NODE_NAME_ERROR_INDICATION)) {
-          createDescriptor(classDesc, member, localClassName, nsURI, jsc);
+          createDescriptor(classDesc, member, localClassName, nsURI, jsc, inlineMembers);
         } else {
           if (base.getElementField(baseNodeName) != null) {
             createRestrictedDescriptor(member, jsc);
           } else {
-            createDescriptor(classDesc, member, localClassName, nsURI, jsc);
+            createDescriptor(classDesc, member, localClassName, nsURI, jsc, inlineMembers);
           }
         }
       } else {
-        createDescriptor(classDesc, member, localClassName, nsURI, jsc);
+        createDescriptor(classDesc, member, localClassName, nsURI, jsc, inlineMembers);
       }
     }
 
+    if (inlineMembers != null) {
+      _inlineValidationFactory.createValidateFacets(classDesc, localClassName, inlineMembers,
+          xmlNature.isChoice());
+    }
+
     return classDesc;
   } // -- createSource
 
@@ -260,6 +292,34 @@ public final class DescriptorSourceFactory {
   // - Private Methods -/
   // -------------------/
 
+  /**
+   * Defers the creation of the field descriptors of the given descriptor to the method overriding
+   * {@link org.exolab.castor.xml.util.XMLClassDescriptorImpl#createFieldDescriptors()}, which
+   * first creates the fields of the extended descriptor, if any.
+   *
+   * @param classDesc the descriptor whose field descriptors are created lazily
+   * @return the source code of the method, to which the field descriptors are to be added
+   */
+  private JSourceCode createFieldDescriptorsMethod(final JClass classDesc) {
+    classDesc.getConstructor(0).getSourceCode().add("deferFieldDescriptors();");
+
+    JMethod method = new JMethod("createFieldDescriptors");
+    method.getModifiers().makeProtected();
+    method.getJDocComment()
+        .appendComment("Creates the field descriptors of this descriptor on first access.");
+    if (_config.useJava50()) {
+      method.addAnnotation(new JAnnotation(new JAnnotationType("Override")));
+    }
+    classDesc.addMethod(method, false);
+
+    JSourceCode jsc = method.getSourceCode();
+    if (!XMLCLASS_DESCRIPTOR_IMPL.equals(classDesc.getSuperClassQualifiedName())) {
+      jsc.add("super.createFieldDescriptors();");
+      jsc.add("");
+    }
+    return jsc;
+  }
+
   /**
    * Returns the fully-qualified class name of the Descriptor to create. Given the fully-qualified
    * class name of the class we are creating a Descriptor for, return the correct fully-qualified
@@ -290,7 +350,7 @@ public final class DescriptorSourceFactory {
    * @param member the restricted member for which we generate the restriction handling.
    * @param jsc the source code to which we append the validation code.
    */
-  private static void createRestrictedDescriptor(final FieldInfo member, final JSourceCode jsc) {
+  private void createRestrictedDescriptor(final FieldInfo member, final JSourceCode jsc) {
     jsc.add("desc = (org.exolab.castor.xml.util.XMLFieldDescriptorImpl) getFieldDescriptor(\"");
     XMLInfoNature xmlNature = new XMLInfoNature(member);
     jsc.append(xmlNature.getNodeName());
@@ -311,7 +371,7 @@ public final class DescriptorSourceFactory {
     }
 
     // --modify the validation code
-    addValidationCode(member, jsc);
+    addValidationCode(member, jsc, null);
   }
 
   /**
@@ -323,9 +383,11 @@ public final class DescriptorSourceFactory {
    * @param localClassName unqualified (no package) name of this class
    * @param nsURI namespace URI
    * @param jsc the source code to which we'll add this descriptor
+   * @param inlineMembers the members whose facets are checked inline, null if none are
    */
   private void createDescriptor(final DescriptorJClass classDesc, final FieldInfo member,
-      final String localClassName, final String nsURI, final JSourceCode jsc) {
+      final String localClassName, final String nsURI, final JSourceCode jsc,
+      final List<FieldInfo> inlineMembers) {
 
     XMLInfoNature xmlNature = new XMLInfoNature(member);
 
@@ -500,7 +562,7 @@ public final class DescriptorSourceFactory {
     }
 
     // -- Add Validation Code
-    addValidationCode(member, jsc);
+    addValidationCode(member, jsc, inlineMembers);
   }
 
   /**
@@ -584,8 +646,11 @@ public final class DescriptorSourceFactory {
    *
    * @param member the member for which to create the validation code.
    * @param jsc the JSourceCode to fill in.
+   * @param inlineMembers the members whose facets are checked inline, to which the member is
+   *        added if its facets can be; null if type validators are used for all members
    */
-  private static void addValidationCode(final FieldInfo member, final JSourceCode jsc) {
+  private void addValidationCode(final FieldInfo member, final JSourceCode jsc,
+      final List<FieldInfo> inlineMembers) {
     if (member == null || jsc == null) {
       return;
     }
@@ -622,6 +687,13 @@ public final class DescriptorSourceFactory {
         jsc.add("fieldValidator.setMinOccurs(1);");
       }
 
+      if (inlineMembers != null && _inlineValidationFactory.isInline(member)) {
+        jsc.add("//-- facets checked by validateFacets()");
+        jsc.add("desc.setValidator(fieldValidator);");
+        jsc.add("addInlineValidatedField(desc);");
+        inlineMembers.add(member);
+        return;
+      }
       jsc.add("{ //-- local scope");
       jsc.indent();
       xsType.validationCode(jsc, member.getFixedValue(), FIELD_VALIDATOR_NAME);
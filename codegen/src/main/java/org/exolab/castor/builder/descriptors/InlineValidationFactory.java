@@ -0,0 +1,599 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.builder.descriptors;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.exolab.castor.builder.BuilderConfiguration;
+import org.exolab.castor.builder.SGTypes;
+import org.exolab.castor.builder.info.FieldInfo;
+import org.exolab.castor.builder.info.NodeType;
+import org.exolab.castor.builder.info.nature.XMLInfoNature;
+import org.exolab.castor.builder.types.AbstractDigitsFacet;
+import org.exolab.castor.builder.types.AbstractLengthFacet;
+import org.exolab.castor.builder.types.AbstractPatternFacet;
+import org.exolab.castor.builder.types.AbstractRangeFacet;
+import org.exolab.castor.builder.types.XSType;
+import org.exolab.javasource.JAnnotation;
+import org.exolab.javasource.JAnnotationType;
+import org.exolab.javasource.JClass;
+import org.exolab.javasource.JField;
+import org.exolab.javasource.JMethod;
+import org.exolab.javasource.JModifiers;
+import org.exolab.javasource.JParameter;
+import org.exolab.javasource.JSourceCode;
+import org.exolab.javasource.JType;
+
+/**
+ * Creates the inline facet checks of generated descriptors. Instead of building a type validator
+ * for each field, a descriptor overrides
+ * {@link org.exolab.castor.xml.util.XMLClassDescriptorImpl#validateFacets} with straight-line
+ * checks of the range, length, digits and fixed value facets of its fields, and keeps their pattern
+ * facets as precompiled {@link Pattern} constants. The field validators of these fields are
+ * registered with the descriptor as validated inline, and only called to report a missing value
+ * of a required field. As the inline checks run after the remaining field validators, an object
+ * with several violations may report a different one first than the type validators would.
+ * <p>
+ * Only single valued fields holding a string, an integral number or a decimal are checked inline,
+ * and only if each of their patterns means the same to <code>java.util.regex</code> as to XML
+ * Schema; all other fields keep their type validators.
+ *
+ * @since 1.4.2
+ */
+public final class InlineValidationFactory {
+
+  /** The class of the precompiled patterns. */
+  private static final JClass PATTERN = new JClass("java.util.regex.Pattern");
+
+  /** The class of decimal values. */
+  private static final JClass BIG_DECIMAL = new JClass("java.math.BigDecimal");
+
+  /** The class of the validation context. */
+  private static final JClass VALIDATION_CONTEXT =
+      new JClass("org.exolab.castor.xml.ValidationContext");
+
+  /** The super class of descriptors that extend no other generated descriptor. */
+  private static final String XML_CLASS_DESCRIPTOR_IMPL =
+      "org.exolab.castor.xml.util.XMLClassDescriptorImpl";
+
+  /** Parts of XML Schema regular expressions that <code>java.util.regex</code> reads otherwise. */
+  private static final String[] INCOMPATIBLE_PATTERN_PARTS =
+      {"\\i", "\\I", "\\c", "\\C", "\\p{Is", "\\P{Is", "-[", "&&", "$"};
+
+  /** Primitive types by the names of their wrapper classes. */
+  private static final Map<String, String> PRIMITIVES = new HashMap<String, String>();
+
+  /** Minimum and maximum values of the integral primitive types, by their names. */
+  private static final Map<String, long[]> BOUNDS = new HashMap<String, long[]>();
+
+  static {
+    PRIMITIVES.put("java.lang.Byte", "byte");
+    PRIMITIVES.put("java.lang.Short", "short");
+    PRIMITIVES.put("java.lang.Integer", "int");
+    PRIMITIVES.put("java.lang.Long", "long");
+
+    BOUNDS.put("byte", new long[] {Byte.MIN_VALUE, Byte.MAX_VALUE});
+    BOUNDS.put("short", new long[] {Short.MIN_VALUE, Short.MAX_VALUE});
+    BOUNDS.put("int", new long[] {Integer.MIN_VALUE, Integer.MAX_VALUE});
+    BOUNDS.put("long", new long[] {Long.MIN_VALUE, Long.MAX_VALUE});
+  }
+
+  /** The configuration of the source generator. */
+  private final BuilderConfiguration _config;
+
+  /**
+   * Creates a factory for the given configuration.
+   *
+   * @param config the configuration of the source generator
+   */
+  public InlineValidationFactory(final BuilderConfiguration config) {
+    _config = config;
+  }
+
+  /**
+   * Returns true if the facets of the given member can be checked inline instead of by a type
+   * validator.
+   *
+   * @param member the member to check
+   * @return true if the facets of the member can be checked inline
+   */
+  public boolean isInline(final FieldInfo member) {
+    String validator = member.getValidator();
+    if ((validator != null && validator.length() > 0) || member.getName().equals("_anyObject")) {
+      return false;
+    }
+    XMLInfoNature xmlNature = new XMLInfoNature(member);
+    XSType xsType = xmlNature.getSchemaType();
+    if (xmlNature.isMultivalued() || xsType.isEnumerated() || xsType.isCollection()) {
+      return false;
+    }
+    if (!(xsType instanceof AbstractPatternFacet) || !isCompatible(xsType)) {
+      return false;
+    }
+
+    String fixedValue = member.getFixedValue();
+    if (xsType.getType() == XSType.STRING_TYPE) {
+      return xsType instanceof AbstractLengthFacet;
+    }
+    if (xsType.getType() == XSType.DECIMAL_TYPE) {
+      return xsType instanceof AbstractDigitsFacet
+          && xsType.getJType().getName().equals(BIG_DECIMAL.getName());
+    }
+    String primitive = getPrimitive(xsType.getJType());
+    if (primitive == null || !(xsType instanceof AbstractDigitsFacet)
+        || (fixedValue != null && !xsType.getJType().isPrimitive())) {
+      return false;
+    }
+    return getMinimum((AbstractRangeFacet) xsType) != null
+        && getMaximum((AbstractRangeFacet) xsType) != null;
+  }
+
+  /**
+   * Adds to the given descriptor the method checking the facets of the given members inline,
+   * together with the constants holding their patterns and decimal bounds. The method is also
+   * added without members if the descriptor extends another generated descriptor, whose checks
+   * would otherwise be inherited and run twice.
+   *
+   * @param classDesc the descriptor to add the method to
+   * @param localClassName the unqualified name of the described class
+   * @param members the members accepted by {@link #isInline(FieldInfo)}
+   * @param choice true if the elements of the described class are a choice, of which only the
+   *        element present is validated
+   */
+  public void createValidateFacets(final JClass classDesc, final String localClassName,
+      final List<FieldInfo> members, final boolean choice) {
+    boolean extended = !XML_CLASS_DESCRIPTOR_IMPL.equals(classDesc.getSuperClassQualifiedName());
+    if (members.isEmpty() && !extended) {
+      return;
+    }
+
+    JMethod method = new JMethod("validateFacets");
+    method.getModifiers().makeProtected();
+    method.getJDocComment().appendComment("Checks the facets of the fields of the given object "
+        + "that are not checked by type validators.");
+    method.addParameter(new JParameter(SGTypes.OBJECT, "object"));
+    method.addParameter(new JParameter(VALIDATION_CONTEXT, "context"));
+    method.addException(SGTypes.VALIDATION_EXCEPTION, "if a field value violates a facet");
+    if (_config.useJava50()) {
+      method.addAnnotation(new JAnnotation(new JAnnotationType("Override")));
+    }
+
+    JSourceCode jsc = method.getSourceCode();
+    if (members.isEmpty()) {
+      jsc.add("//-- the facets of inherited fields are checked by the extended descriptor");
+    } else {
+      jsc.add(localClassName + " target = (" + localClassName + ") object;");
+    }
+    for (FieldInfo member : members) {
+      createChecks(classDesc, member, choice, jsc);
+    }
+    classDesc.addMethod(method, false);
+  }
+
+  /**
+   * Creates the checks of the facets of the given member, and of its presence if it is required.
+   * The presence of an element of a choice is not checked, as the choice requires only one of its
+   * elements.
+   *
+   * @param classDesc the descriptor to add constants to
+   * @param member the member whose facets to check
+   * @param choice true if the elements of the described class are a choice
+   * @param jsc the source code of the method checking the facets
+   */
+  private void createChecks(final JClass classDesc, final FieldInfo member,
+      final boolean choice, final JSourceCode jsc) {
+    XMLInfoNature xmlNature = new XMLInfoNature(member);
+    XSType xsType = xmlNature.getSchemaType();
+    JType jType = xsType.getJType();
+    String getter = "target." + member.getReadMethodName() + "()";
+    String constantName = getConstantName(member.getName());
+
+    jsc.add("//-- " + member.getName());
+    String text;
+    if (xsType.getType() == XSType.STRING_TYPE) {
+      jsc.add("if (" + getter + " != null) {");
+      jsc.indent();
+      jsc.add("java.lang.String value = " + getter + ";");
+      createStringChecks((AbstractLengthFacet) xsType, member, jsc);
+      text = "value";
+    } else if (xsType.getType() == XSType.DECIMAL_TYPE) {
+      jsc.add("if (" + getter + " != null) {");
+      jsc.indent();
+      jsc.add("java.math.BigDecimal value = " + getter + ";");
+      createDecimalChecks(classDesc, (AbstractDigitsFacet) xsType, member, constantName, jsc);
+      text = "value.toPlainString()";
+    } else {
+      String primitive = getPrimitive(jType);
+      if (jType.isPrimitive()) {
+        jsc.add("if (target." + member.getHasMethodName() + "()) {");
+        jsc.indent();
+        jsc.add(primitive + " value = " + getter + ";");
+      } else {
+        jsc.add("if (" + getter + " != null) {");
+        jsc.indent();
+        jsc.add(primitive + " value = " + getter + "." + primitive + "Value();");
+      }
+      createIntegralChecks((AbstractDigitsFacet) xsType, member, primitive, jsc);
+      text = "java.lang.String.valueOf(value)";
+    }
+    createPatternChecks(classDesc, (AbstractPatternFacet) xsType, member, constantName, text, jsc);
+    jsc.unindent();
+    if (xmlNature.isRequired() && !(choice && xmlNature.getNodeType() == NodeType.ELEMENT)) {
+      jsc.add("} else {");
+      jsc.indent();
+      jsc.add("validateRequiredField(object, context, \"" + member.getName() + "\");");
+      jsc.unindent();
+    }
+    jsc.add("}");
+  }
+
+  /**
+   * Creates the checks of the fixed value and length facets of a string.
+   *
+   * @param xsType the type of the member
+   * @param member the member whose facets to check
+   * @param jsc the source code of the method checking the facets
+   */
+  private void createStringChecks(final AbstractLengthFacet xsType, final FieldInfo member,
+      final JSourceCode jsc) {
+    String fixedValue = member.getFixedValue();
+    if (fixedValue != null) {
+      addCheck(jsc, member, "!" + fixedValue + ".equals(value)",
+          "\"strings of this type must be equal to the fixed value of \" + " + fixedValue);
+    }
+    if (xsType.hasLength() && xsType.getLength() > 0) {
+      addCheck(jsc, member, "value.length() != " + xsType.getLength(),
+          "\"Strings of this type must have a length of " + xsType.getLength()
+              + " characters\"");
+    }
+    if (xsType.hasMinLength() && xsType.getMinLength() > 0) {
+      addCheck(jsc, member, "value.length() < " + xsType.getMinLength(),
+          "\"Strings of this type must have a minimum length of " + xsType.getMinLength()
+              + " characters\"");
+    }
+    if (xsType.hasMaxLength()) {
+      addCheck(jsc, member, "value.length() > " + xsType.getMaxLength(),
+          "\"Strings of this type must have a maximum length of " + xsType.getMaxLength()
+              + " characters\"");
+    }
+  }
+
+  /**
+   * Creates the checks of the fixed value, range and digits facets of an integral number.
+   *
+   * @param xsType the type of the member
+   * @param member the member whose facets to check
+   * @param primitive the name of the primitive type of the value
+   * @param jsc the source code of the method checking the facets
+   */
+  private void createIntegralChecks(final AbstractDigitsFacet xsType, final FieldInfo member,
+      final String primitive, final JSourceCode jsc) {
+    String suffix = "long".equals(primitive) ? "L" : "";
+    String prefix = "\"" + primitive + " \" + value + \"";
+    long[] bounds = BOUNDS.get(primitive);
+
+    String fixedValue = member.getFixedValue();
+    if (fixedValue != null) {
+      addCheck(jsc, member, "value != " + fixedValue,
+          prefix + " is not equal to the fixed value: " + fixedValue + "\"");
+    }
+    long min = getMinimum(xsType);
+    if (min > bounds[0]) {
+      addCheck(jsc, member, "value < " + min + suffix,
+          prefix + " is less than the minimum allowed value: " + min + "\"");
+    }
+    long max = getMaximum(xsType);
+    if (max < bounds[1]) {
+      addCheck(jsc, member, "value > " + max + suffix,
+          prefix + " is greater than the maximum allowed value: " + max + "\"");
+    }
+    int totalDigits = xsType.getTotalDigits();
+    long limit = Long.MAX_VALUE;
+    if (totalDigits > 0 && totalDigits < Long.toString(bounds[1]).length()) {
+      limit = 1;
+      for (int i = 0; i < totalDigits; i++) {
+        limit *= 10;
+      }
+      --limit;
+    }
+    // -- the digits need no check if the range implies them
+    if (limit < Long.MAX_VALUE && (min < -limit || max > limit)) {
+      addCheck(jsc, member, "value > " + limit + suffix + " || value < -" + limit + suffix,
+          prefix + " has too many digits -- must have " + totalDigits
+              + " digits or fewer.\"");
+    }
+  }
+
+  /**
+   * Creates the checks of the fixed value, range and digits facets of a decimal, adding the bounds
+   * as constants to the descriptor.
+   *
+   * @param classDesc the descriptor to add constants to
+   * @param xsType the type of the member
+   * @param member the member whose facets to check
+   * @param constantName the prefix of the names of constants created for the member
+   * @param jsc the source code of the method checking the facets
+   */
+  private void createDecimalChecks(final JClass classDesc, final AbstractDigitsFacet xsType,
+      final FieldInfo member, final String constantName, final JSourceCode jsc) {
+    String prefix = "\"BigDecimal \" + value + \"";
+
+    String fixedValue = member.getFixedValue();
+    if (fixedValue != null) {
+      String fixed = addConstant(classDesc, BIG_DECIMAL, constantName + "_FIXED", fixedValue);
+      addCheck(jsc, member, "!value.equals(" + fixed + ")",
+          prefix + " is not equal to the fixed value: \" + " + fixed);
+    }
+    if (xsType.getMinExclusive() != null) {
+      String min = addConstant(classDesc, BIG_DECIMAL, constantName + "_MIN",
+          "new java.math.BigDecimal(\"" + xsType.getMinExclusive() + "\")");
+      addCheck(jsc, member, "value.compareTo(" + min + ") <= 0",
+          prefix + " is not greater than the minimum exclusive value: \" + " + min);
+    } else if (xsType.getMinInclusive() != null) {
+      String min = addConstant(classDesc, BIG_DECIMAL, constantName + "_MIN",
+          "new java.math.BigDecimal(\"" + xsType.getMinInclusive() + "\")");
+      addCheck(jsc, member, "value.compareTo(" + min + ") < 0",
+          prefix + " is less than the minimum allowed value: \" + " + min);
+    }
+    if (xsType.getMaxExclusive() != null) {
+      String max = addConstant(classDesc, BIG_DECIMAL, constantName + "_MAX",
+          "new java.math.BigDecimal(\"" + xsType.getMaxExclusive() + "\")");
+      addCheck(jsc, member, "value.compareTo(" + max + ") >= 0",
+          prefix + " is not less than the maximum exclusive value: \" + " + max);
+    } else if (xsType.getMaxInclusive() != null) {
+      String max = addConstant(classDesc, BIG_DECIMAL, constantName + "_MAX",
+          "new java.math.BigDecimal(\"" + xsType.getMaxInclusive() + "\")");
+      addCheck(jsc, member, "value.compareTo(" + max + ") > 0",
+          prefix + " is greater than the maximum allowed value: \" + " + max);
+    }
+    if (xsType.getTotalDigits() != -1) {
+      // -- digits of the plain representation without trailing zeros, as DecimalValidator counts
+      jsc.add("java.lang.String digits = value.stripTrailingZeros().toPlainString();");
+      addCheck(jsc, member,
+          "digits.length() - (value.signum() < 0 ? 1 : 0) - (digits.indexOf('.') < 0 ? 0 : 1) > "
+              + xsType.getTotalDigits(),
+          prefix + " has too many significant digits -- must have " + xsType.getTotalDigits()
+              + " or fewer\"");
+    }
+    if (xsType.getFractionDigits() != -1) {
+      addCheck(jsc, member, "value.stripTrailingZeros().scale() > " + xsType.getFractionDigits(),
+          prefix + " has too many fraction digits -- must have " + xsType.getFractionDigits()
+              + " fraction digits or fewer\"");
+    }
+  }
+
+  /**
+   * Creates the check of the pattern facets of a value, adding the patterns as precompiled
+   * constants to the descriptor.
+   *
+   * @param classDesc the descriptor to add constants to
+   * @param xsType the type of the member
+   * @param member the member whose facets to check
+   * @param constantName the prefix of the names of constants created for the member
+   * @param text the expression giving the value as matched by the patterns
+   * @param jsc the source code of the method checking the facets
+   */
+  private void createPatternChecks(final JClass classDesc, final AbstractPatternFacet xsType,
+      final FieldInfo member, final String constantName, final String text,
+      final JSourceCode jsc) {
+    List<String> patterns = xsType.getPatterns();
+    if (patterns.isEmpty()) {
+      return;
+    }
+    StringBuilder condition = new StringBuilder();
+    StringBuilder expressions = new StringBuilder();
+    int index = 0;
+    for (String pattern : patterns) {
+      String name = constantName + "_PATTERN";
+      if (patterns.size() > 1) {
+        name += "_" + (++index);
+        condition.append(condition.length() > 0 ? " && " : "");
+      }
+      addConstant(classDesc, PATTERN, name,
+          "java.util.regex.Pattern.compile(" + toJavaString(pattern) + ")");
+      condition.append("!" + name + ".matcher(" + (patterns.size() > 1 ? "text" : text)
+          + ").matches()");
+      expressions.append('"').append(pattern).append('"');
+    }
+    // -- worded as by PatternValidator, whose message resources lose their leading blank
+    String message;
+    if (patterns.size() > 1) {
+      jsc.add("java.lang.String text = " + text + ";");
+      message = "\"'\" + text + \"'does not match any of the following regular expressions "
+          + toJavaString("\"" + expressions + "\".").substring(1);
+    } else {
+      message = "\"'\" + " + text + " + \"'does not match the required regular expression "
+          + toJavaString(expressions + ".").substring(1);
+    }
+    addCheck(jsc, member, condition.toString(), message);
+  }
+
+  /**
+   * Adds a check throwing a validation exception for the given member.
+   *
+   * @param jsc the source code of the method checking the facets
+   * @param member the member whose facet is checked
+   * @param condition the condition under which the facet is violated
+   * @param message the expression giving the description of the violated facet
+   */
+  private void addCheck(final JSourceCode jsc, final FieldInfo member, final String condition,
+      final String message) {
+    jsc.add("if (" + condition + ") {");
+    jsc.indent();
+    jsc.add("throw createFacetException(object, \"" + member.getName() + "\", " + message + ");");
+    jsc.unindent();
+    jsc.add("}");
+  }
+
+  /**
+   * Adds a private constant to the given descriptor.
+   *
+   * @param classDesc the descriptor to add the constant to
+   * @param type the type of the constant
+   * @param name the name of the constant
+   * @param initString the expression initializing the constant
+   * @return the name of the constant
+   */
+  private String addConstant(final JClass classDesc, final JType type, final String name,
+      final String initString) {
+    JField field = new JField(type, name);
+    JModifiers modifiers = field.getModifiers();
+    modifiers.makePrivate();
+    modifiers.setStatic(true);
+    modifiers.setFinal(true);
+    field.setInitString(initString);
+    classDesc.addField(field);
+    return name;
+  }
+
+  /**
+   * Returns true if all patterns of the given type mean the same to <code>java.util.regex</code>
+   * as to XML Schema. Patterns using character class subtraction, the name character escapes or
+   * Unicode block names are rejected, and so are patterns with characters that only
+   * <code>java.util.regex</code> reads as anchors.
+   *
+   * @param xsType the type whose patterns to check
+   * @return true if all patterns can be compiled to equivalent {@link Pattern} instances
+   */
+  private boolean isCompatible(final XSType xsType) {
+    for (String pattern : ((AbstractPatternFacet) xsType).getPatterns()) {
+      for (String part : INCOMPATIBLE_PATTERN_PARTS) {
+        if (pattern.contains(part)) {
+          return false;
+        }
+      }
+      for (int i = pattern.indexOf('^'); i >= 0; i = pattern.indexOf('^', i + 1)) {
+        if (i == 0 || pattern.charAt(i - 1) != '[') {
+          return false;
+        }
+      }
+      try {
+        Pattern.compile(pattern);
+      } catch (PatternSyntaxException e) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the smallest value allowed by the range facets of the given integral type.
+   *
+   * @param xsType the type whose range facets to read
+   * @return the smallest allowed value, or null if it cannot be represented as a long
+   */
+  private Long getMinimum(final AbstractRangeFacet xsType) {
+    try {
+      if (xsType.getMinExclusive() != null) {
+        long min = Long.parseLong(xsType.getMinExclusive().trim());
+        return (min == Long.MAX_VALUE) ? null : Long.valueOf(min + 1);
+      } else if (xsType.getMinInclusive() != null) {
+        return Long.valueOf(xsType.getMinInclusive().trim());
+      }
+      return Long.valueOf(Long.MIN_VALUE);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns the largest value allowed by the range facets of the given integral type.
+   *
+   * @param xsType the type whose range facets to read
+   * @return the largest allowed value, or null if it cannot be represented as a long
+   */
+  private Long getMaximum(final AbstractRangeFacet xsType) {
+    try {
+      if (xsType.getMaxExclusive() != null) {
+        long max = Long.parseLong(xsType.getMaxExclusive().trim());
+        return (max == Long.MIN_VALUE) ? null : Long.valueOf(max - 1);
+      } else if (xsType.getMaxInclusive() != null) {
+        return Long.valueOf(xsType.getMaxInclusive().trim());
+      }
+      return Long.valueOf(Long.MAX_VALUE);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns the name of the integral primitive type of values of the given Java type.
+   *
+   * @param jType the Java type of a member
+   * @return the name of the primitive type, or null if the type is not an integral number
+   */
+  private static String getPrimitive(final JType jType) {
+    String name = jType.getName();
+    if (BOUNDS.containsKey(name)) {
+      return name;
+    }
+    return PRIMITIVES.get(name);
+  }
+
+  /**
+   * Returns the prefix of the names of constants created for the member with the given name, the
+   * member name in upper case with words separated by underscores.
+   *
+   * @param memberName the name of the member
+   * @return the prefix of constant names
+   */
+  private static String getConstantName(final String memberName) {
+    StringBuilder name = new StringBuilder();
+    for (char ch : memberName.toCharArray()) {
+      if (Character.isUpperCase(ch) && name.length() > 0) {
+        name.append('_');
+      }
+      if (Character.isLetterOrDigit(ch)) {
+        name.append(Character.toUpperCase(ch));
+      }
+    }
+    return name.toString();
+  }
+
+  /**
+   * Returns the given string as a Java string literal.
+   *
+   * @param str the string
+   * @return the quoted and escaped string
+   */
+  private static String toJavaString(final String str) {
+    StringBuilder literal = new StringBuilder("\"");
+    for (char ch : str.toCharArray()) {
+      switch (ch) {
+        case '\\':
+          literal.append("\\\\");
+          break;
+        case '"':
+          literal.append("\\\"");
+          break;
+        case '\n':
+          literal.append("\\n");
+          break;
+        case '\r':
+          literal.append("\\r");
+          break;
+        case '\t':
+          literal.append("\\t");
+          break;
+        default:
+          literal.append(ch);
+      }
+    }
+    return literal.append('"').toString();
+  }
+}
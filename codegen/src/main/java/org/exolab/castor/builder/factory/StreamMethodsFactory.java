@@ -0,0 +1,655 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.builder.factory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.exolab.castor.builder.BuilderConfiguration;
+import org.exolab.castor.builder.info.ClassInfo;
+import org.exolab.castor.builder.info.CollectionInfo;
+import org.exolab.castor.builder.info.FieldInfo;
+import org.exolab.castor.builder.info.NodeType;
+import org.exolab.castor.builder.info.nature.XMLInfoNature;
+import org.exolab.castor.builder.types.XSType;
+import org.exolab.javasource.JClass;
+import org.exolab.javasource.JEnum;
+import org.exolab.javasource.JMethod;
+import org.exolab.javasource.JParameter;
+import org.exolab.javasource.JSourceCode;
+import org.exolab.javasource.JType;
+
+/**
+ * Creates the stream methods of generated classes, which write and read the content of an object
+ * through StAX streams with straight-line code: attributes and elements are written with their
+ * names as constants, and read through a switch on their local names followed by a check of their
+ * namespaces, without class descriptors or reflection.
+ * <p>
+ * Stream methods are only created for a class if every field of the class and of its generated
+ * base classes holds a value of a built-in simple type, an enumeration, or an object of another
+ * class with stream methods. Classes with any other content, such as wildcards, mixed content,
+ * nillable elements, substitution groups, custom field handlers or dates, are left to the
+ * marshalling framework, and so are the classes of their hierarchy and the classes referring to
+ * them. The generated code uses a switch on strings and needs Java 7 to compile.
+ *
+ * @since 1.4.2
+ */
+public final class StreamMethodsFactory {
+
+  /** The class of the stream writer. */
+  private static final JClass XML_STREAM_WRITER = new JClass("javax.xml.stream.XMLStreamWriter");
+
+  /** The class of the stream reader. */
+  private static final JClass XML_STREAM_READER = new JClass("javax.xml.stream.XMLStreamReader");
+
+  /** The exception thrown by the stream writer and reader. */
+  private static final JClass XML_STREAM_EXCEPTION =
+      new JClass("javax.xml.stream.XMLStreamException");
+
+  /** The helper class called from the stream methods. */
+  private static final String SUPPORT = "org.exolab.castor.xml.util.StaxStreamSupport";
+
+  /** The schema types whose values are held in a simple Java type. */
+  private static final Set<Short> SIMPLE_TYPES = new HashSet<Short>();
+
+  /** Expressions parsing a value, by the name of its Java type. */
+  private static final Map<String, String> PARSERS = new HashMap<String, String>();
+
+  static {
+    short[] types = {XSType.STRING_TYPE, XSType.NORMALIZEDSTRING_TYPE, XSType.TOKEN_TYPE,
+        XSType.LANGUAGE_TYPE, XSType.NAME_TYPE, XSType.NCNAME_TYPE, XSType.ID_TYPE,
+        XSType.NMTOKEN_TYPE, XSType.ANYURI_TYPE, XSType.BOOLEAN_TYPE, XSType.FLOAT_TYPE,
+        XSType.DOUBLE_TYPE, XSType.DECIMAL_TYPE, XSType.INTEGER_TYPE,
+        XSType.NON_POSITIVE_INTEGER_TYPE, XSType.NEGATIVE_INTEGER_TYPE, XSType.LONG_TYPE,
+        XSType.INT_TYPE, XSType.SHORT_TYPE, XSType.BYTE_TYPE, XSType.NON_NEGATIVE_INTEGER_TYPE,
+        XSType.POSITIVE_INTEGER_TYPE, XSType.UNSIGNED_LONG_TYPE, XSType.UNSIGNED_SHORT_TYPE,
+        XSType.UNSIGNED_BYTE_TYPE, XSType.UNSIGNED_INT_TYPE};
+    for (short type : types) {
+      SIMPLE_TYPES.add(type);
+    }
+
+    PARSERS.put("java.lang.String", "{0}");
+    PARSERS.put("boolean", SUPPORT + ".parseBoolean({0})");
+    PARSERS.put("java.lang.Boolean",
+        "java.lang.Boolean.valueOf(" + SUPPORT + ".parseBoolean({0}))");
+    PARSERS.put("byte", "java.lang.Byte.parseByte({0}.trim())");
+    PARSERS.put("java.lang.Byte", "java.lang.Byte.valueOf({0}.trim())");
+    PARSERS.put("short", "java.lang.Short.parseShort({0}.trim())");
+    PARSERS.put("java.lang.Short", "java.lang.Short.valueOf({0}.trim())");
+    PARSERS.put("int", "java.lang.Integer.parseInt({0}.trim())");
+    PARSERS.put("java.lang.Integer", "java.lang.Integer.valueOf({0}.trim())");
+    PARSERS.put("long", "java.lang.Long.parseLong({0}.trim())");
+    PARSERS.put("java.lang.Long", "java.lang.Long.valueOf({0}.trim())");
+    PARSERS.put("float", "java.lang.Float.parseFloat({0}.trim())");
+    PARSERS.put("java.lang.Float", "java.lang.Float.valueOf({0}.trim())");
+    PARSERS.put("double", "java.lang.Double.parseDouble({0}.trim())");
+    PARSERS.put("java.lang.Double", "java.lang.Double.valueOf({0}.trim())");
+    PARSERS.put("java.math.BigDecimal", "new java.math.BigDecimal({0}.trim())");
+    PARSERS.put("java.math.BigInteger", "new java.math.BigInteger({0}.trim())");
+  }
+
+  /** The configuration of the source generator. */
+  private final BuilderConfiguration _config;
+
+  /**
+   * Creates a factory for the given configuration.
+   *
+   * @param config the configuration of the source generator
+   */
+  public StreamMethodsFactory(final BuilderConfiguration config) {
+    _config = config;
+  }
+
+  /**
+   * Adds stream methods to every one of the given classes whose content can be written and read
+   * by straight-line code. Classes are examined together, as the stream methods of one class call
+   * those of the classes of its elements.
+   *
+   * @param classInfos the classes generated together
+   */
+  public void createStreamMethods(final Collection<ClassInfo> classInfos) {
+    Map<String, ClassInfo> classInfosByName = new HashMap<String, ClassInfo>();
+    for (ClassInfo classInfo : classInfos) {
+      classInfosByName.put(classInfo.getJClass().getName(), classInfo);
+    }
+
+    Map<String, StreamClass> streamClasses = new LinkedHashMap<String, StreamClass>();
+    for (ClassInfo classInfo : classInfos) {
+      StreamClass streamClass = createStreamClass(classInfo, classInfosByName);
+      if (streamClass != null) {
+        streamClasses.put(classInfo.getJClass().getName(), streamClass);
+      }
+    }
+    // -- a class must not inherit stream methods writing only part of its content
+    for (ClassInfo classInfo : classInfos) {
+      ClassInfo superClassInfo = getSuperClass(classInfo.getJClass(), classInfosByName);
+      if (superClassInfo != null) {
+        StreamClass superClass = streamClasses.get(superClassInfo.getJClass().getName());
+        if (superClass != null) {
+          superClass._dependencies.add(classInfo.getJClass().getName());
+        }
+      }
+    }
+
+    boolean removed = true;
+    while (removed) {
+      removed = false;
+      for (Iterator<StreamClass> i = streamClasses.values().iterator(); i.hasNext();) {
+        if (!streamClasses.keySet().containsAll(i.next()._dependencies)) {
+          i.remove();
+          removed = true;
+        }
+      }
+    }
+
+    for (StreamClass streamClass : streamClasses.values()) {
+      if (!streamClass._abstract) {
+        createMarshalMethods(streamClass);
+        createUnmarshalMethods(streamClass);
+      }
+    }
+  }
+
+  /**
+   * Collects the members of the given class and of its generated base classes.
+   *
+   * @param classInfo the class to collect the members of
+   * @param classInfosByName all classes generated together, by the names of their classes
+   * @return the members of the class, or null if any of them cannot be handled by stream methods
+   */
+  private StreamClass createStreamClass(final ClassInfo classInfo,
+      final Map<String, ClassInfo> classInfosByName) {
+    JClass jClass = classInfo.getJClass();
+    if (jClass instanceof JEnum || !classInfo.hasNature(XMLInfoNature.class.getName())) {
+      return null;
+    }
+    XMLInfoNature xmlNature = new XMLInfoNature(classInfo);
+    if (xmlNature.getNodeName() == null || xmlNature.isContainer()) {
+      return null;
+    }
+
+    StreamClass streamClass = new StreamClass(classInfo);
+    streamClass._abstract = classInfo.isAbstract() || jClass.getModifiers().isAbstract();
+
+    String globalSuperClassName =
+        _config.getProperty(BuilderConfiguration.Property.SUPER_CLASS, null);
+    LinkedList<ClassInfo> hierarchy = new LinkedList<ClassInfo>();
+    hierarchy.add(classInfo);
+    JClass current = jClass;
+    while (current.getSuperClassQualifiedName() != null
+        && !current.getSuperClassQualifiedName().equals(globalSuperClassName)) {
+      ClassInfo superClass = getSuperClass(current, classInfosByName);
+      if (superClass == null || hierarchy.contains(superClass)) {
+        return null;
+      }
+      hierarchy.addFirst(superClass);
+      current = superClass.getJClass();
+      streamClass._dependencies.add(current.getName());
+    }
+
+    Set<String> attributeNames = new HashSet<String>();
+    Set<String> elementNames = new HashSet<String>();
+    for (ClassInfo hierarchyClass : hierarchy) {
+      for (FieldInfo field : hierarchyClass.getAttributeFields()) {
+        if (!field.isTransient()) {
+          Member member = createMember(field, classInfosByName);
+          if (member == null || member._multivalued || member._className != null
+              || member._namespace != null || !attributeNames.add(member._name)) {
+            return null;
+          }
+          streamClass._attributes.add(member);
+        }
+      }
+      for (FieldInfo field : hierarchyClass.getElementFields()) {
+        if (!field.isTransient()) {
+          Member member = createMember(field, classInfosByName);
+          if (member == null || !elementNames.add(member._name)) {
+            return null;
+          }
+          streamClass._elements.add(member);
+          if (member._className != null) {
+            streamClass._dependencies.add(member._className);
+          }
+        }
+      }
+      FieldInfo textField = hierarchyClass.getTextField();
+      if (textField != null && !textField.isTransient()) {
+        Member member = createMember(textField, classInfosByName);
+        if (member == null || member._multivalued || member._className != null
+            || streamClass._text != null) {
+          return null;
+        }
+        streamClass._text = member;
+      }
+    }
+    if (streamClass._text != null && !streamClass._elements.isEmpty()) {
+      return null;
+    }
+    return streamClass;
+  }
+
+  /**
+   * Returns the generated base class of the given class. An unqualified super class name is looked
+   * up in the package of the class as well, as a binding may have named the super class so.
+   *
+   * @param jClass the class whose base class is requested
+   * @param classInfosByName all classes generated together, by the names of their classes
+   * @return the base class, or null if the class has none or it is not generated together with it
+   */
+  private ClassInfo getSuperClass(final JClass jClass,
+      final Map<String, ClassInfo> classInfosByName) {
+    String superClassName = jClass.getSuperClassQualifiedName();
+    if (superClassName == null) {
+      return null;
+    }
+    ClassInfo superClass = classInfosByName.get(superClassName);
+    String packageName = jClass.getPackageName();
+    if (superClass == null && superClassName.indexOf('.') < 0 && packageName != null
+        && packageName.length() > 0) {
+      superClass = classInfosByName.get(packageName + "." + superClassName);
+    }
+    return superClass;
+  }
+
+  /**
+   * Describes how the value of the given field is written and read.
+   *
+   * @param field the field to describe
+   * @param classInfosByName all classes generated together, by the names of their classes
+   * @return the description of the field, or null if it cannot be handled by stream methods
+   */
+  private Member createMember(final FieldInfo field,
+      final Map<String, ClassInfo> classInfosByName) {
+    XMLInfoNature xmlNature = new XMLInfoNature(field);
+    if (field.isContainer() || field.isNillable() || field.isStatic() || field.isFinal()
+        || field.getXMLFieldHandler() != null || !field.getSubstitutionGroupMembers().isEmpty()
+        || (xmlNature.getNodeType() != NodeType.TEXT && xmlNature.getNodeName() == null)) {
+      return null;
+    }
+
+    XSType type = xmlNature.getSchemaType();
+    if (xmlNature.isMultivalued()) {
+      if (!(field instanceof CollectionInfo)) {
+        return null;
+      }
+      type = ((CollectionInfo) field).getContentType();
+    }
+    if (type == null) {
+      return null;
+    }
+
+    Member member = new Member(field, xmlNature.getNodeName(), type.getJType(),
+        xmlNature.isMultivalued());
+    member._namespace = xmlNature.getNamespaceURI();
+    if (member._namespace != null && member._namespace.length() == 0) {
+      member._namespace = null;
+    }
+    String typeName = member._type.getName();
+    if (type.isEnumerated() && type.getType() == XSType.CLASS) {
+      member._enumeration = true;
+    } else if (type.getType() == XSType.CLASS) {
+      ClassInfo classInfo = classInfosByName.get(typeName);
+      if (classInfo == null || classInfo.isAbstract()
+          || classInfo.getJClass().getModifiers().isAbstract()) {
+        return null;
+      }
+      member._className = typeName;
+      if (member._namespace == null) {
+        member._namespace = new XMLInfoNature(classInfo).getNamespaceURI();
+      }
+    } else if (!SIMPLE_TYPES.contains(type.getType()) || !PARSERS.containsKey(typeName)) {
+      return null;
+    }
+    return member;
+  }
+
+  /**
+   * Creates the methods writing an object of the given class.
+   *
+   * @param streamClass the class to create the methods for
+   */
+  private void createMarshalMethods(final StreamClass streamClass) {
+    JClass jClass = streamClass._classInfo.getJClass();
+    XMLInfoNature xmlNature = new XMLInfoNature(streamClass._classInfo);
+
+    JMethod jMethod = new JMethod("marshal");
+    jMethod.getJDocComment().appendComment("Writes this object as a <code>"
+        + xmlNature.getNodeName() + "</code> element to the given stream writer.");
+    jMethod.addParameter(new JParameter(XML_STREAM_WRITER, "writer"));
+    jMethod.addException(XML_STREAM_EXCEPTION, "if the stream writer reports an error");
+    JSourceCode jsc = jMethod.getSourceCode();
+    jsc.add(SUPPORT + ".writeStartElement(writer, " + literal(xmlNature.getNamespaceURI()) + ", "
+        + literal(xmlNature.getNodeName()) + ");");
+    jsc.add("marshalContent(writer);");
+    jsc.add("writer.writeEndElement();");
+    jClass.addMethod(jMethod);
+
+    jMethod = new JMethod("marshalContent");
+    jMethod.getJDocComment().appendComment("Writes the attributes and the content of this object "
+        + "to the given stream writer, after the start tag of its element.");
+    jMethod.addParameter(new JParameter(XML_STREAM_WRITER, "writer"));
+    jMethod.addException(XML_STREAM_EXCEPTION, "if the stream writer reports an error");
+    jsc = jMethod.getSourceCode();
+    for (Member member : streamClass._attributes) {
+      addWriteStatement(jsc, member, "writer.writeAttribute(" + literal(member._name) + ", {0});");
+    }
+    for (Member member : streamClass._elements) {
+      if (member._className != null) {
+        String start = SUPPORT + ".writeStartElement(writer, " + literal(member._namespace) + ", "
+            + literal(member._name) + ");";
+        addWriteStatement(jsc, member, start, "{0}.marshalContent(writer);",
+            "writer.writeEndElement();");
+      } else {
+        addWriteStatement(jsc, member, SUPPORT + ".writeElement(writer, "
+            + literal(member._namespace) + ", " + literal(member._name) + ", {0});");
+      }
+    }
+    if (streamClass._text != null) {
+      addWriteStatement(jsc, streamClass._text, "writer.writeCharacters({0});");
+    }
+    jClass.addMethod(jMethod);
+  }
+
+  /**
+   * Adds statements writing the value or values of the given member, if present.
+   *
+   * @param jsc the source code to add the statements to
+   * @param member the member to write
+   * @param statements the statements to add for each value, where <code>{0}</code> stands for
+   *        the string representation of the value, or for the value itself for members holding
+   *        objects of generated classes
+   */
+  private void addWriteStatement(final JSourceCode jsc, final Member member,
+      final String... statements) {
+    FieldInfo field = member._field;
+    String value;
+    if (member._multivalued) {
+      value = "value";
+      jsc.add("for (" + member._type.getName() + " value : this." + field.getReadMethodName()
+          + "()) {");
+    } else {
+      value = "this." + field.getReadMethodName() + "()";
+      if (!member._type.isPrimitive()) {
+        jsc.add("if (" + value + " != null) {");
+      } else if (field.requiresHasAndDeleteMethods()) {
+        jsc.add("if (this." + field.getHasMethodName() + "()) {");
+      } else {
+        jsc.add("{");
+      }
+    }
+    jsc.indent();
+    String text = (member._className != null) ? value : format(member, value);
+    for (String statement : statements) {
+      jsc.add(statement.replace("{0}", text));
+    }
+    jsc.unindent();
+    jsc.add("}");
+  }
+
+  /**
+   * Creates the methods reading an object of the given class.
+   *
+   * @param streamClass the class to create the methods for
+   */
+  private void createUnmarshalMethods(final StreamClass streamClass) {
+    JClass jClass = streamClass._classInfo.getJClass();
+    XMLInfoNature xmlNature = new XMLInfoNature(streamClass._classInfo);
+
+    JMethod jMethod = new JMethod(getUnmarshalMethodName(jClass), jClass,
+        "the unmarshaled " + jClass.getName());
+    jMethod.getModifiers().setStatic(true);
+    jMethod.getJDocComment().appendComment("Reads an object from the next element of the given "
+        + "stream reader, which must be a <code>" + xmlNature.getNodeName() + "</code> element, "
+        + "leaving the reader at the end tag of the element.");
+    jMethod.addParameter(new JParameter(XML_STREAM_READER, "reader"));
+    jMethod.addException(XML_STREAM_EXCEPTION, "if the stream reader reports an error, the next "
+        + "element has a different name or the element is not well-formed");
+    JSourceCode jsc = jMethod.getSourceCode();
+    jsc.add(SUPPORT + ".nextStartElement(reader, " + literal(xmlNature.getNamespaceURI()) + ", "
+        + literal(xmlNature.getNodeName()) + ");");
+    jsc.add(jClass.getName() + " object = new " + jClass.getName() + "();");
+    jsc.add("object.unmarshalContent(reader);");
+    jsc.add("return object;");
+    jClass.addMethod(jMethod);
+
+    jMethod = new JMethod("unmarshalContent");
+    jMethod.getJDocComment().appendComment("Reads the attributes and the content of the element "
+        + "at whose start tag the given stream reader is into this object, leaving the reader at "
+        + "the end tag of the element.");
+    jMethod.addParameter(new JParameter(XML_STREAM_READER, "reader"));
+    jMethod.addException(XML_STREAM_EXCEPTION,
+        "if the stream reader reports an error or the element is not well-formed");
+    jsc = jMethod.getSourceCode();
+    if (!streamClass._attributes.isEmpty()) {
+      jsc.add("for (int i = 0; i < reader.getAttributeCount(); i++) {");
+      jsc.indent();
+      jsc.add("java.lang.String namespace = reader.getAttributeNamespace(i);");
+      jsc.add("if (namespace == null || namespace.length() == 0) {");
+      jsc.indent();
+      jsc.add("java.lang.String value = reader.getAttributeValue(i);");
+      jsc.add("switch (reader.getAttributeLocalName(i)) {");
+      for (Member member : streamClass._attributes) {
+        jsc.add("case " + literal(member._name) + ":");
+        jsc.indent();
+        addSetStatement(jsc, member, parse(member, "value"));
+        jsc.add("break;");
+        jsc.unindent();
+      }
+      jsc.add("default:");
+      jsc.addIndented("break;");
+      jsc.add("}");
+      jsc.unindent();
+      jsc.add("}");
+      jsc.unindent();
+      jsc.add("}");
+    }
+
+    if (streamClass._text != null) {
+      addSetStatement(jsc, streamClass._text, parse(streamClass._text, "reader.getElementText()"));
+    } else {
+      jsc.add("while (reader.nextTag() == javax.xml.stream.XMLStreamConstants.START_ELEMENT) {");
+      jsc.indent();
+      if (streamClass._elements.isEmpty()) {
+        jsc.add(SUPPORT + ".skipElement(reader);");
+      } else {
+        jsc.add("switch (reader.getLocalName()) {");
+        for (Member member : streamClass._elements) {
+          addElementCase(jsc, member);
+        }
+        jsc.add("default:");
+        jsc.addIndented(SUPPORT + ".skipElement(reader);");
+        jsc.addIndented("break;");
+        jsc.add("}");
+      }
+      jsc.unindent();
+      jsc.add("}");
+    }
+    jClass.addMethod(jMethod);
+  }
+
+  /**
+   * Adds the case of a switch on the local name of an element that sets the value of the given
+   * member if the element is in the namespace of the member, and skips the element otherwise. The
+   * content of an object of a generated class is read into a new instance, as the element is named
+   * after the member rather than the class.
+   *
+   * @param jsc the source code to add the case to
+   * @param member the member read
+   */
+  private void addElementCase(final JSourceCode jsc, final Member member) {
+    jsc.add("case " + literal(member._name) + ":");
+    jsc.indent();
+    jsc.add("if (" + SUPPORT + ".hasNamespace(reader, " + literal(member._namespace) + ")) {");
+    jsc.indent();
+    if (member._className != null) {
+      jsc.add(member._className + " value = new " + member._className + "();");
+      jsc.add("value.unmarshalContent(reader);");
+      addSetStatement(jsc, member, "value");
+    } else {
+      addSetStatement(jsc, member, parse(member, "reader.getElementText()"));
+    }
+    jsc.unindent();
+    jsc.add("} else {");
+    jsc.addIndented(SUPPORT + ".skipElement(reader);");
+    jsc.add("}");
+    jsc.add("break;");
+    jsc.unindent();
+  }
+
+  /**
+   * Adds the statement setting, or adding to, the value of the given member.
+   *
+   * @param jsc the source code to add the statement to
+   * @param member the member set
+   * @param value the expression reading the value
+   */
+  private void addSetStatement(final JSourceCode jsc, final Member member, final String value) {
+    jsc.add("this." + member._field.getWriteMethodName() + "(" + value + ");");
+  }
+
+  /**
+   * Returns the name of the static method reading an object of the given class, which is mangled
+   * like the name of the method unmarshalling it through the framework.
+   *
+   * @param jClass the class read
+   * @return the name of the static method reading an object of the class
+   */
+  private String getUnmarshalMethodName(final JClass jClass) {
+    if (_config.mappingSchemaType2Java()) {
+      return "unmarshal" + jClass.getLocalName();
+    }
+    return "unmarshal";
+  }
+
+  /**
+   * Returns the expression converting the given string expression to a value of the given member.
+   *
+   * @param member the member the value is read for
+   * @param text the expression of the string to convert
+   * @return the expression of the value
+   */
+  private String parse(final Member member, final String text) {
+    if (member._enumeration) {
+      return member._type.getName() + (_config.useJava50() ? ".fromValue(" : ".valueOf(") + text
+          + ")";
+    }
+    return PARSERS.get(member._type.getName()).replace("{0}", text);
+  }
+
+  /**
+   * Returns the expression converting the given value expression of the given member to a string.
+   *
+   * @param member the member the value is written for
+   * @param value the expression of the value to convert
+   * @return the expression of the string
+   */
+  private String format(final Member member, final String value) {
+    if (member._enumeration) {
+      return value + (_config.useJava50() ? ".value()" : ".toString()");
+    }
+    if (member._type.isPrimitive()) {
+      return "java.lang.String.valueOf(" + value + ")";
+    }
+    if ("java.lang.String".equals(member._type.getName())) {
+      return value;
+    }
+    if ("java.math.BigDecimal".equals(member._type.getName())) {
+      // -- xsd:decimal has no exponent notation
+      return value + ".toPlainString()";
+    }
+    return value + ".toString()";
+  }
+
+  /**
+   * Returns the Java literal of the given string.
+   *
+   * @param value the string, or null
+   * @return the Java literal of the string
+   */
+  private static String literal(final String value) {
+    if (value == null) {
+      return "null";
+    }
+    return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+  }
+
+  /**
+   * The members of a class that are written and read by its stream methods.
+   */
+  private static final class StreamClass {
+    /** The class. */
+    private final ClassInfo _classInfo;
+
+    /** True if no object of the class can be created. */
+    private boolean _abstract;
+
+    /** The attributes, those of base classes first. */
+    private final List<Member> _attributes = new ArrayList<Member>();
+
+    /** The elements, those of base classes first. */
+    private final List<Member> _elements = new ArrayList<Member>();
+
+    /** The text content, or null if none. */
+    private Member _text;
+
+    /** The names of the classes that must have stream methods for this class to have them. */
+    private final Set<String> _dependencies = new HashSet<String>();
+
+    StreamClass(final ClassInfo classInfo) {
+      _classInfo = classInfo;
+    }
+  }
+
+  /**
+   * An attribute, element or text content written and read by stream methods.
+   */
+  private static final class Member {
+    /** The field holding the value. */
+    private final FieldInfo _field;
+
+    /** The local name of the attribute or element. */
+    private final String _name;
+
+    /** The Java type of a single value. */
+    private final JType _type;
+
+    /** True if the field holds a collection of values. */
+    private final boolean _multivalued;
+
+    /** The namespace of the attribute or element, or null if none. */
+    private String _namespace;
+
+    /** True if values are constants of a generated enumeration. */
+    private boolean _enumeration;
+
+    /** The name of the generated class of the values, or null if they are simple values. */
+    private String _className;
+
+    Member(final FieldInfo field, final String name, final JType type,
+        final boolean multivalued) {
+      _field = field;
+      _name = name;
+      _type = type;
+      _multivalued = multivalued;
+    }
+  }
+}
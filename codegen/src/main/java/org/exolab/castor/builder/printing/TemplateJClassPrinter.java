@@ -71,9 +71,11 @@ public class TemplateJClassPrinter implements JClassPrinter {
   public void printClass(final JClass jClass, final String outputDir, final String lineSeparator,
       final String header) {
 
-    if (!_initialized) {
-      initializeVelocity();
-      _initialized = true;
+    synchronized (this) {
+      if (!_initialized) {
+        initializeVelocity();
+        _initialized = true;
+      }
     }
 
     _log.info("Printing JClass " + jClass.getName() + " using Velocity templates.");
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.builder;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.Assert;
+
+/**
+ * Compiles the classes generated into a package, so that tests can check how the generated code
+ * behaves rather than how it reads.
+ *
+ * @since 1.4.2
+ */
+final class GeneratedSourceCompiler {
+
+  /**
+   * Not instantiable.
+   */
+  private GeneratedSourceCompiler() {
+    // only static methods
+  }
+
+  /**
+   * Compiles the sources generated into the given package and its sub-packages against the test
+   * class path.
+   *
+   * @param destDir the directory the sources were generated into
+   * @param packageName the package to compile
+   * @return a class loader for the compiled classes and the resources generated with them
+   * @throws Exception if the sources cannot be read or do not compile
+   */
+  static ClassLoader compile(final String destDir, final String packageName) throws Exception {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    Assert.assertNotNull("A Java compiler is needed to compile generated sources", compiler);
+
+    File sourceDir = new File(destDir);
+    List<File> sources = new ArrayList<File>();
+    collectSources(new File(sourceDir, packageName.replace('.', '/')), sources);
+    Assert.assertFalse("No sources generated into " + packageName, sources.isEmpty());
+
+    File classesDir = new File(destDir + "-classes");
+    classesDir.mkdirs();
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+    StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+    try {
+      List<String> options = Arrays.asList("-d", classesDir.getPath(), "-classpath",
+          System.getProperty("java.class.path"), "-encoding", "UTF-8", "-nowarn");
+      Boolean success = compiler.getTask(null, fileManager, diagnostics, options, null,
+          fileManager.getJavaFileObjectsFromFiles(sources)).call();
+      Assert.assertTrue(diagnostics.getDiagnostics().toString(), success.booleanValue());
+    } finally {
+      fileManager.close();
+    }
+
+    return new URLClassLoader(
+        new URL[] {classesDir.toURI().toURL(), sourceDir.toURI().toURL()},
+        GeneratedSourceCompiler.class.getClassLoader());
+  }
+
+  /**
+   * Adds the Java sources in the given directory and its sub-directories to the given list.
+   *
+   * @param dir the directory to search
+   * @param sources the list to add to
+   */
+  private static void collectSources(final File dir, final List<File> sources) {
+    File[] files = dir.listFiles();
+    if (files == null) {
+      return;
+    }
+    for (File file : files) {
+      if (file.isDirectory()) {
+        collectSources(file, sources);
+      } else if (file.getName().endsWith(".java")) {
+        sources.add(file);
+      }
+    }
+  }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.builder;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.castor.xml.BackwardCompatibilityContext;
+import org.castor.xml.XMLProperties;
+import org.exolab.castor.xml.ValidationContext;
+import org.exolab.castor.xml.ValidationException;
+import org.exolab.castor.xml.util.XMLClassDescriptorImpl;
+import org.xml.sax.InputSource;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case checking which facets generated descriptors check inline instead of through type
+ * validators.
+ *
+ * @since 1.4.2
+ */
+public class SourceGeneratorInlineValidationTest extends TestCase {
+
+  private static final String DEST_DIR = "./target/codegen/src/test/inline";
+
+  private static final String PACKAGE = "org.exolab.castor.builder.generated.inline";
+
+  public final void testInlineValidation() throws Exception {
+    generateSource(DEST_DIR, true);
+
+    String item = readSource("", "ItemDescriptor");
+    assertTrue(item.contains("protected void validateFacets("));
+    assertTrue(item.contains("addInlineValidatedField(desc);"));
+    assertTrue(item.contains("CODE_PATTERN = java.util.regex.Pattern.compile("));
+    assertTrue(item.contains("if (value.length() < 2) {"));
+    assertTrue(item.contains("validateRequiredField(object, context, \"code\");"));
+
+    // -- patterns java.util.regex reads otherwise and collections keep their type validators
+    assertTrue(item.contains("typeValidator.addPattern(\"\\\\i\\\\c*\");"));
+    assertFalse(item.contains("CATEGORY_PATTERN"));
+    assertFalse(item.contains("TAG_LIST_PATTERN"));
+
+    // -- a derived descriptor checks its own fields only
+    String product = readSource("", "ProductDescriptor");
+    assertTrue(product.contains("if (target.hasQuantity()) {"));
+    assertTrue(product.contains("if (value < 1) {"));
+    assertFalse(product.contains("CODE_PATTERN"));
+
+    // -- the elements of a choice are not required on their own
+    String label = readSource("", "LabelDescriptor");
+    assertTrue(label.contains("if (value.length() < 2) {"));
+    assertFalse(label.contains("validateRequiredField"));
+  }
+
+  public final void testNoInlineValidationByDefault() throws Exception {
+    generateSource(DEST_DIR + "/default", false);
+
+    assertFalse(readSource("default/", "ItemDescriptor").contains("validateFacets"));
+  }
+
+  public final void testInlineValidationReportsLikeTypeValidators() throws Exception {
+    ClassLoader inline =
+        GeneratedSourceCompiler.compile(generateSource(DEST_DIR + "/compiled", true), PACKAGE);
+    ClassLoader typed = GeneratedSourceCompiler
+        .compile(generateSource(DEST_DIR + "/compiled/default", false), PACKAGE);
+
+    assertNull(validate(createProduct(typed, "ABC-12", "Name", 1)));
+    assertNull(validate(createProduct(inline, "ABC-12", "Name", 1)));
+
+    // -- a pattern, a length and a range violation and a missing value
+    assertSameValidation(createProduct(typed, "ABC-1", "Name", 1),
+        createProduct(inline, "ABC-1", "Name", 1));
+    assertSameValidation(createProduct(typed, "ABC-12", "N", 1),
+        createProduct(inline, "ABC-12", "N", 1));
+    assertSameValidation(createProduct(typed, "ABC-12", "Name", 1000),
+        createProduct(inline, "ABC-12", "Name", 1000));
+    assertSameValidation(createProduct(typed, "ABC-12", "Name", 0),
+        createProduct(inline, "ABC-12", "Name", 0));
+    assertSameValidation(createProduct(typed, null, "Name", 1),
+        createProduct(inline, null, "Name", 1));
+
+    // -- a choice requires only one of its elements
+    assertNull(validate(createLabel(typed, "Name", null)));
+    assertNull(validate(createLabel(inline, "Name", null)));
+    assertNull(validate(createLabel(inline, null, "Full name")));
+    assertSameValidation(createLabel(typed, "N", null), createLabel(inline, "N", null));
+    assertSameValidation(createLabel(typed, null, null), createLabel(inline, null, null));
+    assertSameValidation(createLabel(typed, "Name", "Full name"),
+        createLabel(inline, "Name", "Full name"));
+  }
+
+  /**
+   * Generates the classes of the test schema.
+   *
+   * @param destDir the directory to generate into
+   * @param inlineValidation whether to generate inline validation
+   * @return the directory generated into
+   * @throws Exception if the classes cannot be generated
+   */
+  private String generateSource(final String destDir, final boolean inlineValidation)
+      throws Exception {
+    SourceGenerator generator = new SourceGenerator();
+    generator.setDestDir(destDir);
+    generator.setSuppressNonFatalWarnings(true);
+    generator.setGenerateInlineValidation(inlineValidation);
+    InputSource inputSource =
+        new InputSource(getClass().getResource("/xml/srcgen/inline/catalog.xsd").toExternalForm());
+    generator.generateSource(inputSource, PACKAGE);
+    return destDir;
+  }
+
+  /**
+   * Validates an invalid object with the descriptors compiled with and without inline validation,
+   * asserting that both report the same exception.
+   *
+   * @param typed the object of a class generated without inline validation
+   * @param inline the same object of the class generated with inline validation
+   * @throws Exception if the descriptors cannot be created
+   */
+  private void assertSameValidation(final Object typed, final Object inline) throws Exception {
+    ValidationException expected = validate(typed);
+    ValidationException actual = validate(inline);
+    assertNotNull(expected);
+    assertNotNull("No exception reported for " + expected, actual);
+    assertEquals(expected.getMessage(), actual.getMessage());
+    assertEquals(String.valueOf(expected.getCause()), String.valueOf(actual.getCause()));
+    assertEquals(String.valueOf(expected.getLocation()), String.valueOf(actual.getLocation()));
+  }
+
+  /**
+   * Creates a product of the generated classes.
+   *
+   * @param loader the class loader of the generated classes
+   * @param code the code of the product
+   * @param name the name of the product
+   * @param quantity the quantity of the product
+   * @return the product
+   * @throws Exception if the product cannot be created
+   */
+  private Object createProduct(final ClassLoader loader, final String code, final String name,
+      final int quantity) throws Exception {
+    Class<?> productClass = loader.loadClass(PACKAGE + ".Product");
+    Object product = productClass.getConstructor().newInstance();
+    productClass.getMethod("setCode", String.class).invoke(product, code);
+    productClass.getMethod("setName", String.class).invoke(product, name);
+    productClass.getMethod("setQuantity", int.class).invoke(product, quantity);
+    return product;
+  }
+
+  /**
+   * Creates a label of the generated classes, whose elements are a choice.
+   *
+   * @param loader the class loader of the generated classes
+   * @param brief the brief label, or null
+   * @param full the full label, or null
+   * @return the label
+   * @throws Exception if the label cannot be created
+   */
+  private Object createLabel(final ClassLoader loader, final String brief, final String full)
+      throws Exception {
+    Class<?> labelClass = loader.loadClass(PACKAGE + ".Label");
+    Object label = labelClass.getConstructor().newInstance();
+    labelClass.getMethod("setBrief", String.class).invoke(label, brief);
+    labelClass.getMethod("setFull", String.class).invoke(label, full);
+    return label;
+  }
+
+  /**
+   * Validates an object of the generated classes with its generated descriptor.
+   *
+   * @param object the object to validate
+   * @return the exception reported, or null if the object is valid
+   * @throws Exception if the descriptor cannot be created
+   */
+  private ValidationException validate(final Object object) throws Exception {
+    Class<?> type = object.getClass();
+    XMLClassDescriptorImpl descriptor = (XMLClassDescriptorImpl) type.getClassLoader()
+        .loadClass(PACKAGE + ".descriptors." + type.getSimpleName() + "Descriptor")
+        .getConstructor().newInstance();
+
+    BackwardCompatibilityContext internalContext = new BackwardCompatibilityContext();
+    internalContext.setProperty(XMLProperties.REG_EXP_CLASS_NAME,
+        "org.exolab.castor.util.SunRegExpEvaluator");
+    ValidationContext context = new ValidationContext();
+    context.setInternalContext(internalContext);
+    try {
+      descriptor.validate(object, context);
+    } catch (ValidationException e) {
+      return e;
+    }
+    return null;
+  }
+
+  private String readSource(final String dir, final String className) throws Exception {
+    File file = new File(DEST_DIR + "/" + dir + PACKAGE.replace('.', '/') + "/descriptors",
+        className + ".java");
+    return new String(Files.readAllBytes(file.toPath()), "UTF-8");
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.builder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.exolab.castor.mapping.FieldDescriptor;
+import org.exolab.castor.xml.Marshaller;
+import org.exolab.castor.xml.XMLClassDescriptor;
+import org.exolab.castor.xml.XMLConstants;
+import org.exolab.castor.xml.XMLContext;
+import org.xml.sax.InputSource;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case checking that descriptors generated in lazy mode defer the creation of their field
+ * descriptors.
+ *
+ * @since 1.4.2
+ */
+public class SourceGeneratorLazyDescriptorsTest extends TestCase {
+
+  private static final String DEST_DIR = "./target/codegen/src/test/lazy";
+
+  private static final String PACKAGE = "org.exolab.castor.builder.generated.lazy";
+
+  /** A rush order, named like the descriptor generated for its type. */
+  private static final String RUSH_ORDER = "<RushOrder xmlns=\"urn:order\" id=\"o1\">"
+      + "<item>first</item><item>second</item>"
+      + "<deadline>2026-10-18T12:00:00.000Z</deadline></RushOrder>";
+
+  public final void testLazyDescriptors() throws Exception {
+    generateSource(DEST_DIR, true);
+
+    String order = readSource("", "OrderDescriptor");
+    assertTrue(order.contains("deferFieldDescriptors();"));
+    assertTrue(order.contains("protected void createFieldDescriptors()"));
+    assertTrue(order.contains("ensureFieldDescriptors();"));
+    assertFalse(order.contains("super.createFieldDescriptors();"));
+
+    // -- a derived descriptor creates the fields of its base descriptor first
+    String rushOrder = readSource("", "RushOrderDescriptor");
+    assertTrue(rushOrder.contains("protected void createFieldDescriptors()"));
+    assertTrue(rushOrder.contains("super.createFieldDescriptors();"));
+  }
+
+  public final void testNoLazyDescriptorsByDefault() throws Exception {
+    generateSource(DEST_DIR + "/default", false);
+
+    String order = readSource("default/", "OrderDescriptor");
+    assertFalse(order.contains("deferFieldDescriptors();"));
+    assertFalse(order.contains("createFieldDescriptors()"));
+  }
+
+  public final void testLazyDescriptorsBehaveLikeEagerOnes() throws Exception {
+    generateSource(DEST_DIR + "/compiled", true);
+    ClassLoader lazy = GeneratedSourceCompiler.compile(DEST_DIR + "/compiled", PACKAGE);
+    generateSource(DEST_DIR + "/compiled/default", false);
+    ClassLoader eager = GeneratedSourceCompiler.compile(DEST_DIR + "/compiled/default", PACKAGE);
+
+    // -- inherited fields first, as in an eagerly built descriptor
+    List<String> fieldNames = getFieldNames(eager, "RushOrderDescriptor");
+    assertEquals(3, fieldNames.size());
+    assertEquals(fieldNames, getFieldNames(lazy, "RushOrderDescriptor"));
+
+    // -- the CDR file lists the XML names, so that unmarshalling only creates matching descriptors
+    Properties cdr = new Properties();
+    InputStream in = new FileInputStream(new File(DEST_DIR + "/compiled/"
+        + PACKAGE.replace('.', '/'), XMLConstants.PKG_CDR_LIST_FILE));
+    try {
+      cdr.load(in);
+    } finally {
+      in.close();
+    }
+    assertEquals("RushOrder",
+        cdr.getProperty(PACKAGE + ".RushOrder" + XMLConstants.PKG_CDR_XML_NAME_SUFFIX));
+
+    String marshalled = roundTrip(eager);
+    assertTrue(marshalled, marshalled.contains("<item>second</item>"));
+    assertEquals(marshalled, roundTrip(lazy));
+  }
+
+  private void generateSource(final String destDir, final boolean lazyDescriptors)
+      throws Exception {
+    SourceGenerator generator = new SourceGenerator();
+    generator.setDestDir(destDir);
+    generator.setSuppressNonFatalWarnings(true);
+    generator.setGenerateLazyDescriptors(lazyDescriptors);
+    InputSource inputSource =
+        new InputSource(getClass().getResource("/xml/srcgen/lazy/order.xsd").toExternalForm());
+    generator.generateSource(inputSource, PACKAGE);
+  }
+
+  private List<String> getFieldNames(final ClassLoader loader, final String descriptorName)
+      throws Exception {
+    XMLClassDescriptor descriptor = (XMLClassDescriptor) loader
+        .loadClass(PACKAGE + ".descriptors." + descriptorName).getConstructor().newInstance();
+    List<String> fieldNames = new ArrayList<String>();
+    for (FieldDescriptor field : descriptor.getFields()) {
+      fieldNames.add(field.getFieldName());
+    }
+    return fieldNames;
+  }
+
+  private String roundTrip(final ClassLoader loader) throws Exception {
+    XMLContext context = new XMLContext();
+    context.setClassLoader(loader);
+    context.addPackage(PACKAGE);
+    Object rushOrder = context.createUnmarshaller().unmarshal(new StringReader(RUSH_ORDER));
+    assertEquals(PACKAGE + ".RushOrder", rushOrder.getClass().getName());
+
+    StringWriter out = new StringWriter();
+    Marshaller marshaller = context.createMarshaller();
+    marshaller.setWriter(out);
+    marshaller.marshal(rushOrder);
+    return out.toString();
+  }
+
+  private String readSource(final String dir, final String className) throws Exception {
+    File file = new File(DEST_DIR + "/" + dir + PACKAGE.replace('.', '/') + "/descriptors",
+        className + ".java");
+    return new String(Files.readAllBytes(file.toPath()), "UTF-8");
+  }
+}
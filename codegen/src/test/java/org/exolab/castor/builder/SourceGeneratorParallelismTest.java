@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.builder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.xml.sax.InputSource;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case checking that printing the generated classes in parallel writes the same source files
+ * as printing them one after the other.
+ *
+ * @since 1.4.2
+ */
+public class SourceGeneratorParallelismTest extends TestCase {
+
+  private static final String DEST_DIR = "./target/codegen/src/test/parallelism";
+
+  public final void testParallelPrinting() throws Exception {
+    Map<String, String> sequential = generate("sequential", 1);
+    Map<String, String> parallel = generate("parallel", 4);
+
+    assertFalse(sequential.isEmpty());
+    assertEquals(sequential, parallel);
+  }
+
+  private Map<String, String> generate(final String name, final int parallelism)
+      throws Exception {
+    File destDir = new File(DEST_DIR, name);
+    SourceGenerator generator = new SourceGenerator();
+    generator.setDestDir(destDir.getPath());
+    generator.setSuppressNonFatalWarnings(true);
+    generator.setParallelism(parallelism);
+    InputSource inputSource =
+        new InputSource(getClass().getResource("/xml/srcgen/template/test.xsd").toExternalForm());
+    generator.generateSource(inputSource, getClass().getPackage().getName() + ".generated");
+
+    Map<String, String> sources = new TreeMap<String, String>();
+    collectSources(destDir, "", sources);
+    return sources;
+  }
+
+  private void collectSources(final File dir, final String path, final Map<String, String> sources)
+      throws Exception {
+    for (File file : dir.listFiles()) {
+      if (file.isDirectory()) {
+        collectSources(file, path + file.getName() + "/", sources);
+      } else if (file.getName().endsWith(".java")) {
+        sources.put(path + file.getName(),
+            new String(Files.readAllBytes(file.toPath()), "UTF-8"));
+      }
+    }
+  }
+}
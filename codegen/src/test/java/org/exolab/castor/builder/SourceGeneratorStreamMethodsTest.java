@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.builder;
+
+import java.io.File;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.exolab.castor.xml.Marshaller;
+import org.exolab.castor.xml.Unmarshaller;
+import org.exolab.castor.xml.XMLContext;
+import org.xml.sax.InputSource;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case checking which generated classes are given methods writing and reading their content
+ * through StAX streams.
+ *
+ * @since 1.4.2
+ */
+public class SourceGeneratorStreamMethodsTest extends TestCase {
+
+  private static final String DEST_DIR = "./target/codegen/src/test/stream";
+
+  private static final String PACKAGE = "org.exolab.castor.builder.generated.stream";
+
+  private static final String ORDER = "<order xmlns=\"urn:order\" id=\"42\" express=\"true\">"
+      + "<customer>ACME</customer><priority>2</priority>"
+      + "<line number=\"1\"><sku>A-1</sku><quantity>3</quantity><price>0.0000001</price></line>"
+      + "<line number=\"2\"><sku>B-2</sku><quantity>1</quantity><price>12.50</price></line>"
+      + "<note>first</note><note>second</note><status>open</status>"
+      + "<amount currency=\"EUR\">12.5</amount><address><street>Main Street 1</street></address>"
+      + "</order>";
+
+  public final void testStreamMethods() throws Exception {
+    SourceGenerator generator = new SourceGenerator();
+    generator.setDestDir(DEST_DIR);
+    generator.setSuppressNonFatalWarnings(true);
+    generator.setGenerateStreamMethods(true);
+    InputSource inputSource =
+        new InputSource(getClass().getResource("/xml/srcgen/stream/order.xsd").toExternalForm());
+    generator.generateSource(inputSource, PACKAGE);
+
+    String order = readSource("Order");
+    assertTrue(order.contains("public void marshal(final javax.xml.stream.XMLStreamWriter"));
+    assertTrue(order.contains("writer.writeAttribute(\"id\", java.lang.String.valueOf("
+        + "this.getId()));"));
+    assertTrue(order.contains("switch (reader.getLocalName()) {"));
+    assertTrue(order.contains("StaxStreamSupport.nextStartElement(reader, \"urn:order\", "
+        + "\"order\");"));
+    assertTrue(order.contains("StaxStreamSupport.hasNamespace(reader, \"urn:order\")"));
+    assertTrue(order.contains("value.unmarshalContent(reader);"));
+    assertTrue(order.contains(".types.Status.fromValue(reader.getElementText())"));
+
+    // -- element classes read and write the content of the complex types they extend
+    String address = readSource("Address");
+    assertTrue(address.contains("\"urn:order\", \"address\");"));
+    assertTrue(address.contains("case \"street\":"));
+    assertTrue(readSource("Line").contains("case \"sku\":"));
+    assertTrue(readSource("Amount").contains("this.setContent(new java.math.BigDecimal("
+        + "reader.getElementText().trim()));"));
+
+    // -- dates are left to the marshalling framework
+    String shipment = readSource("Shipment");
+    assertFalse(shipment.contains("javax.xml.stream"));
+    assertTrue(readSource("LineItem").contains("public void unmarshalContent("));
+  }
+
+  public final void testRoundTrip() throws Exception {
+    generateSource(DEST_DIR + "/roundtrip", true);
+    ClassLoader loader = GeneratedSourceCompiler.compile(DEST_DIR + "/roundtrip", PACKAGE);
+    Class<?> orderClass = loader.loadClass(PACKAGE + ".Order");
+    XMLContext context = new XMLContext();
+    context.setClassLoader(loader);
+
+    Unmarshaller unmarshaller = context.createUnmarshaller();
+    unmarshaller.setClass(orderClass);
+    Object order = unmarshaller.unmarshal(new StringReader(ORDER));
+
+    // -- written by the stream methods, read by the runtime unmarshaller
+    String streamed = streamMarshal(order);
+    assertTrue(streamed, streamed.contains("<price>0.0000001</price>"));
+    assertEquals(marshal(context, order),
+        marshal(context, unmarshaller.unmarshal(new StringReader(streamed))));
+
+    // -- written by the runtime marshaller, read by the stream methods
+    Object copy = streamUnmarshal(orderClass, marshal(context, order));
+    assertEquals(marshal(context, order), marshal(context, copy));
+    assertEquals(streamed, streamMarshal(copy));
+  }
+
+  public final void testNamespacesChecked() throws Exception {
+    generateSource(DEST_DIR + "/roundtrip", true);
+    ClassLoader loader = GeneratedSourceCompiler.compile(DEST_DIR + "/roundtrip", PACKAGE);
+    Class<?> orderClass = loader.loadClass(PACKAGE + ".Order");
+
+    Object order = streamUnmarshal(orderClass, ORDER.replace("<customer>",
+        "<customer xmlns=\"urn:other\">"));
+    assertNull(orderClass.getMethod("getCustomer").invoke(order));
+    assertEquals(Integer.valueOf(2), orderClass.getMethod("getPriority").invoke(order));
+
+    try {
+      streamUnmarshal(orderClass, ORDER.replace("urn:order", "urn:other"));
+      fail("Root element in a different namespace accepted");
+    } catch (InvocationTargetException e) {
+      assertTrue(e.getCause() instanceof XMLStreamException);
+    }
+    try {
+      streamUnmarshal(orderClass, "<shipment xmlns=\"urn:order\"/>");
+      fail("Root element with a different name accepted");
+    } catch (InvocationTargetException e) {
+      assertTrue(e.getCause() instanceof XMLStreamException);
+    }
+  }
+
+  public final void testNoStreamMethodsByDefault() throws Exception {
+    SourceGenerator generator = new SourceGenerator();
+    generator.setDestDir(DEST_DIR + "/default");
+    generator.setSuppressNonFatalWarnings(true);
+    InputSource inputSource =
+        new InputSource(getClass().getResource("/xml/srcgen/stream/order.xsd").toExternalForm());
+    generator.generateSource(inputSource, PACKAGE);
+
+    assertFalse(readSource("default/", "Order").contains("javax.xml.stream"));
+  }
+
+  private void generateSource(final String destDir, final boolean streamMethods)
+      throws Exception {
+    SourceGenerator generator = new SourceGenerator();
+    generator.setDestDir(destDir);
+    generator.setSuppressNonFatalWarnings(true);
+    generator.setGenerateStreamMethods(streamMethods);
+    InputSource inputSource =
+        new InputSource(getClass().getResource("/xml/srcgen/stream/order.xsd").toExternalForm());
+    generator.generateSource(inputSource, PACKAGE);
+  }
+
+  private String marshal(final XMLContext context, final Object object) throws Exception {
+    StringWriter out = new StringWriter();
+    Marshaller marshaller = context.createMarshaller();
+    marshaller.setWriter(out);
+    marshaller.marshal(object);
+    return out.toString();
+  }
+
+  private String streamMarshal(final Object object) throws Exception {
+    StringWriter out = new StringWriter();
+    XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out);
+    object.getClass().getMethod("marshal", XMLStreamWriter.class).invoke(object, writer);
+    writer.close();
+    return out.toString();
+  }
+
+  private Object streamUnmarshal(final Class<?> type, final String xml) throws Exception {
+    XMLStreamReader reader =
+        XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(xml));
+    return type.getMethod("unmarshal", XMLStreamReader.class).invoke(null, reader);
+  }
+
+  private String readSource(final String className) throws Exception {
+    return readSource("", className);
+  }
+
+  private String readSource(final String dir, final String className) throws Exception {
+    File file = new File(DEST_DIR + "/" + dir + PACKAGE.replace('.', '/'), className + ".java");
+    return new String(Files.readAllBytes(file.toPath()), "UTF-8");
+  }
+}
@@ -125,6 +125,63 @@ public final class Base64Decoder {
     return dec.getByteArray();
   }
 
+  /**
+   * Decode the given characters into a decoded byte array. The characters are read in place and
+   * the result is allocated once with its final size.
+   * 
+   * @param chars Base64 characters to be decoded.
+   * @return All decoded octets as byte array.
+   * @since 1.4.2
+   */
+  public static byte[] decode(final CharSequence chars) {
+    int len = chars.length();
+    int sextets = 0;
+    for (int i = 0; i < len; i++) {
+      int data = MAP[chars.charAt(i)];
+      if (data == PAD) {
+        len = i;
+        break;
+      }
+      if (data != SPC) {
+        sextets++;
+      }
+    }
+
+    // -- every 4 sextets give 3 octets, 2 or 3 remaining sextets give 1 or 2 more
+    int remainder = sextets % SEXTET_4;
+    int size = (sextets / SEXTET_4) * SEXTET_3;
+    if (remainder >= SEXTET_2) {
+      size += remainder - 1;
+    }
+    byte[] bytes = new byte[size];
+    int buffer = 0;
+    int count = 0;
+    int b = 0;
+    for (int i = 0; i < len; i++) {
+      int data = MAP[chars.charAt(i)];
+      if (data != SPC) {
+        buffer = (buffer << SHIFT_1_SEXTET) | data;
+        if ((++count) == SEXTET_4) {
+          bytes[b++] = (byte) ((buffer >> SHIFT_2_OCTET) & OCTET_MASK);
+          bytes[b++] = (byte) ((buffer >> SHIFT_1_OCTET) & OCTET_MASK);
+          bytes[b++] = (byte) (buffer & OCTET_MASK);
+          buffer = 0;
+          count = 0;
+        }
+      }
+    }
+    if (count > 0) {
+      buffer <<= SHIFT_1_SEXTET * (SEXTET_4 - count);
+      if (count >= SEXTET_2) {
+        bytes[b++] = (byte) ((buffer >> SHIFT_2_OCTET) & OCTET_MASK);
+      }
+      if (count >= SEXTET_3) {
+        bytes[b++] = (byte) ((buffer >> SHIFT_1_OCTET) & OCTET_MASK);
+      }
+    }
+    return bytes;
+  }
+
   /**
    * Construct a default Base64Decoder waiting on calls to its translate() method.
    */
@@ -88,6 +88,46 @@ public final class Base64Encoder {
     return enc.getCharArray();
   }
 
+  /**
+   * Encode a range of the given byte array into the given character array. Padding is appended if
+   * the number of bytes is not a multiple of 3, so a longer input may be encoded in consecutive
+   * ranges as long as every range but the last one holds a multiple of 3 bytes.
+   * 
+   * @param bytes The byte array to be encoded.
+   * @param off The offset of the first byte to encode.
+   * @param len The number of bytes to encode.
+   * @param chars The character array to write to, with room for <code>(len + 2) / 3 * 4</code>
+   *        characters from <code>charOff</code> on.
+   * @param charOff The offset of the first character to write.
+   * @return The number of characters written.
+   * @since 1.4.2
+   */
+  public static int encode(final byte[] bytes, final int off, final int len, final char[] chars,
+      final int charOff) {
+    int end = off + len;
+    int i = off;
+    int c = charOff;
+    for (; i + OCTET_3 <= end; i += OCTET_3) {
+      int buffer = ((bytes[i] & OCTET_MASK) << SHIFT_2_OCTET)
+          | ((bytes[i + 1] & OCTET_MASK) << SHIFT_1_OCTET) | (bytes[i + 2] & OCTET_MASK);
+      chars[c++] = MAP[SEXTET_MASK & (buffer >> SHIFT_3_SEXTET)];
+      chars[c++] = MAP[SEXTET_MASK & (buffer >> SHIFT_2_SEXTET)];
+      chars[c++] = MAP[SEXTET_MASK & (buffer >> SHIFT_1_SEXTET)];
+      chars[c++] = MAP[SEXTET_MASK & buffer];
+    }
+    if (i < end) {
+      int buffer = (bytes[i] & OCTET_MASK) << SHIFT_2_OCTET;
+      if (i + 1 < end) {
+        buffer |= (bytes[i + 1] & OCTET_MASK) << SHIFT_1_OCTET;
+      }
+      chars[c++] = MAP[SEXTET_MASK & (buffer >> SHIFT_3_SEXTET)];
+      chars[c++] = MAP[SEXTET_MASK & (buffer >> SHIFT_2_SEXTET)];
+      chars[c++] = (i + 1 < end) ? MAP[SEXTET_MASK & (buffer >> SHIFT_1_SEXTET)] : '=';
+      chars[c++] = '=';
+    }
+    return c - charOff;
+  }
+
   /**
    * Construct a Base64Encoder.
    */
@@ -98,6 +98,31 @@ public final class HexDecoder {
     return length * 2;
   }
 
+  /**
+   * Encodes a range of the input data into the given character array.
+   * 
+   * @param data The input data to be HEX encoded
+   * @param off Offset of the first byte to encode
+   * @param length Number of bytes to encode
+   * @param chars The character array to write to, with room for <code>length * 2</code>
+   *        characters from <code>charOff</code> on
+   * @param charOff Offset of the first character to write
+   * @return the number of characters produced.
+   * @since 1.4.2
+   */
+  public static int encode(final byte[] data, final int off, final int length, final char[] chars,
+      final int charOff) {
+    int c = charOff;
+    for (int i = off; i < (off + length); i++) {
+      int v = data[i] & 0xff;
+
+      chars[c++] = (char) ENCODING_TABLE[(v >>> 4)];
+      chars[c++] = (char) ENCODING_TABLE[v & 0xf];
+    }
+
+    return length * 2;
+  }
+
   /**
    * Indicates whether a given character should be ignored during en-/decoding.
    * 
@@ -201,6 +226,44 @@ public final class HexDecoder {
     return length;
   }
 
+  /**
+   * Decodes the HEX encoded characters, reading them in place into a byte array allocated with its
+   * final size. Whitespace characters will be ignored.
+   * 
+   * @param data Input data to be decoded.
+   * @return A byte array representing the decoded input data.
+   * @since 1.4.2
+   */
+  public static byte[] decode(final CharSequence data) {
+    int end = data.length();
+    int digits = 0;
+    for (int i = 0; i < end; i++) {
+      if (!ignore(data.charAt(i))) {
+        digits++;
+      }
+    }
+    if ((digits & 1) != 0) {
+      // -- incomplete last octet, keep the lenient behaviour of the String variant
+      return decode(data.toString());
+    }
+
+    byte[] bytes = new byte[digits / 2];
+    int b = 0;
+    int i = 0;
+    while (b < bytes.length) {
+      while (ignore(data.charAt(i))) {
+        i++;
+      }
+      byte b1 = DECODING_TABLE[data.charAt(i++)];
+      while (ignore(data.charAt(i))) {
+        i++;
+      }
+      byte b2 = DECODING_TABLE[data.charAt(i++)];
+      bytes[b++] = (byte) ((b1 << 4) | b2);
+    }
+    return bytes;
+  }
+
   /**
    * Encodes the input data producing a Hex output stream.
    * 
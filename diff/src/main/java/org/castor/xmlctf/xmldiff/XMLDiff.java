@@ -16,9 +16,14 @@
 package org.castor.xmlctf.xmldiff;
 
 import java.io.PrintWriter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.StringTokenizer;
 
 import org.castor.xmlctf.xmldiff.xml.XMLFileReader;
@@ -58,6 +63,11 @@ public class XMLDiff {
   private boolean _print = true;
   /** True if we have not yet printed the diff header. */
   private boolean _header = true;
+  /**
+   * The canonical hash of every node whose hash has been computed. Nodes that compare without
+   * differences always have the same hash, so that children can be paired by hash.
+   */
+  private final Map<XMLNode, Integer> _hashes = new IdentityHashMap<XMLNode, Integer>();
 
   /**
    * Constructs an XMLDiff object that is ready to compare the two provided XML files.
@@ -419,6 +429,10 @@ public class XMLDiff {
 
   /**
    * Compares the two XMLNodes, both of which must be of type XMLNode.ELEMENT or XMLNode.ROOT.
+   * <p>
+   * The children of node2 are indexed by their canonical hash and by their type and name. A child
+   * of node1 is then only compared to the children of node2 with the same hash to find an exact
+   * match, and, failing that, to the first unused child of node2 with the same type and name.
    *
    * @param node1 the primary XMLNode to comapare against
    * @param node2 the XMLNode to compare against node1
@@ -427,19 +441,28 @@ public class XMLDiff {
   private int compareElementsLooseOrder(final Element node1, final Element node2) {
     int diffCount = 0;
 
-    final List used = new LinkedList();
+    final Set<XMLNode> used = Collections.newSetFromMap(new IdentityHashMap<XMLNode, Boolean>());
+    final Map<Integer, List<XMLNode>> byHash = new HashMap<Integer, List<XMLNode>>();
+    final Map<String, List<XMLNode>> byName = new HashMap<String, List<XMLNode>>();
+
+    for (Iterator<?> i2 = node2.getChildIterator(); i2.hasNext();) {
+      XMLNode child2 = (XMLNode) i2.next();
+      addCandidate(byHash, Integer.valueOf(hash(child2)), child2);
+      addCandidate(byName, nameKey(child2), child2);
+    }
 
     for (Iterator i1 = node1.getChildIterator(); i1.hasNext();) {
       XMLNode child1 = (XMLNode) i1.next();
       // Ignore whitespace
       // If we find an exact match, continue with the next node in the list
-      if (nodeIsIgnorableText(child1) || foundExactMatch(node2, child1, used)) {
+      if (nodeIsIgnorableText(child1)
+          || foundExactMatch(byHash.get(Integer.valueOf(hash(child1))), child1, used)) {
         continue;
       }
 
       // Check for the best match and use it to count diffs & complain
       if (_print) {
-        diffCount += closestMatchDifference(node2, child1, used);
+        diffCount += closestMatchDifference(byName.get(nameKey(child1)), child1, used);
       } else {
         diffCount++;
       }
@@ -459,26 +482,51 @@ public class XMLDiff {
     return diffCount;
   }
 
+  /**
+   * Adds the given child to the candidates stored under the given key, keeping document order.
+   *
+   * @param candidates The candidates by key
+   * @param key The key of the child
+   * @param child The child to add
+   */
+  private <K> void addCandidate(final Map<K, List<XMLNode>> candidates, final K key,
+      final XMLNode child) {
+    List<XMLNode> list = candidates.get(key);
+    if (list == null) {
+      list = new LinkedList<XMLNode>();
+      candidates.put(key, list);
+    }
+    list.add(child);
+  }
+
   /**
    * Looks for an exact match for the provided target XMLNode. If found, returns true. Suppresses
-   * complaints during search. If an exact match is found, the match is added to the list of "used"
+   * complaints during search. If an exact match is found, the match is added to the set of "used"
    * items.
    *
-   * @param parent The node whose children to search for an exact match
+   * @param candidates The children with the same hash as the target, in document order, or null
    * @param target The XMLNode we are trying to match
-   * @param usedList The list of children of node2 that have already matched other objects
+   * @param used The children of node2 that have already matched other objects
    * @return true if an exact match is found for the provided node.
    */
-  private boolean foundExactMatch(final Element parent, XMLNode target, final List usedList) {
+  private boolean foundExactMatch(final List<XMLNode> candidates, final XMLNode target,
+      final Set<XMLNode> used) {
+    if (candidates == null) {
+      return false;
+    }
+
     // Suppress complaints when we are looking for an exact match.
     boolean previousPrint = _print;
 
     _print = false; // Suppress printing when we are "just looking"
     boolean found = false;
-    for (Iterator i2 = parent.getChildIterator(); i2.hasNext();) {
-      XMLNode child2 = (XMLNode) i2.next();
-      if (!usedList.contains(child2) && compareNodes(target, child2) == 0) {
-        usedList.add(child2);
+    for (Iterator<XMLNode> i2 = candidates.iterator(); i2.hasNext();) {
+      XMLNode child2 = i2.next();
+      if (used.contains(child2)) {
+        i2.remove();
+      } else if (compareNodes(target, child2) == 0) {
+        i2.remove();
+        used.add(child2);
         found = true;
         break;
       }
@@ -496,19 +544,22 @@ public class XMLDiff {
    * <p>
    * Note: This method is only called when printing is enabled.
    *
-   * @param parent The node whose children to search for an exact match
+   * @param candidates The children with the same type and name as the target, in document order,
+   *        or null
    * @param target The XMLNode we are trying to match
-   * @param usedList The list of children of node2 that have already matched other objects
+   * @param used The children of node2 that have already matched other objects
    * @return the difference count
    */
-  private int closestMatchDifference(final Element parent, final XMLNode target,
-      final List usedList) {
-    for (Iterator i2 = parent.getChildIterator(); i2.hasNext();) {
-      XMLNode child2 = (XMLNode) i2.next();
-      if (!usedList.contains(child2) && hasSameType(target, child2)
-          && hasSameName(target, child2)) {
-        usedList.add(child2);
-        return compareNodes(target, child2);
+  private int closestMatchDifference(final List<XMLNode> candidates, final XMLNode target,
+      final Set<XMLNode> used) {
+    if (candidates != null) {
+      for (Iterator<XMLNode> i2 = candidates.iterator(); i2.hasNext();) {
+        XMLNode child2 = i2.next();
+        i2.remove();
+        if (!used.contains(child2)) {
+          used.add(child2);
+          return compareNodes(target, child2);
+        }
       }
     }
 
@@ -517,6 +568,106 @@ public class XMLDiff {
     return 1;
   }
 
+  /**
+   * Returns a key that is equal for nodes of the same type and name.
+   *
+   * @param node The node to return the key for
+   * @return a key that is equal for nodes of the same type and name
+   */
+  private String nameKey(final XMLNode node) {
+    String name = node.getLocalName();
+    return (name == null) ? String.valueOf(node.getNodeType()) : node.getNodeType() + ":" + name;
+  }
+
+  /**
+   * Returns the canonical hash of the given node, computing the hashes of its subtree bottom-up on
+   * first use. The hash covers everything {@link #compareNodes(XMLNode, XMLNode)} compares, in a
+   * form that is the same for nodes that compare without differences: namespaces are hashed with
+   * null equal to empty, text by its whitespace separated tokens, attribute values after their
+   * QName prefix, and attributes and children regardless of their order. Ignorable whitespace and
+   * attributes that are allowed to be missing are left out.
+   *
+   * @param node The node to return the hash for
+   * @return the canonical hash of the given node
+   */
+  private int hash(final XMLNode node) {
+    Integer cached = _hashes.get(node);
+    if (cached != null) {
+      return cached.intValue();
+    }
+
+    String namespace = node.getNamespaceURI();
+    String name = node.getLocalName();
+    int hash = 31 * node.getNodeType() + ((namespace == null) ? 0 : namespace.hashCode());
+    hash = 31 * hash + ((name == null) ? 0 : name.hashCode());
+
+    switch (node.getNodeType()) {
+      case XMLNode.ROOT:
+      case XMLNode.ELEMENT:
+        int attributes = 0;
+        if (node instanceof Element) {
+          for (Iterator<?> i = ((Element) node).getAttributeIterator(); i.hasNext();) {
+            Attribute attr = (Attribute) i.next();
+            if (!missingattributeIsIgnorable(attr)) {
+              attributes += hash(attr);
+            }
+          }
+        }
+        int children = 0;
+        for (Iterator<?> i = ((ParentNode) node).getChildIterator(); i.hasNext();) {
+          XMLNode child = (XMLNode) i.next();
+          if (!nodeIsIgnorableText(child)) {
+            children += hash(child);
+          }
+        }
+        hash = 31 * (31 * hash + attributes) + children;
+        break;
+
+      case XMLNode.ATTRIBUTE:
+        String value = node.getStringValue();
+        hash = 31 * hash + textHash(value, value.indexOf(':') + 1);
+        break;
+
+      case XMLNode.TEXT:
+        hash = 31 * hash + textHash(node.getStringValue(), 0);
+        break;
+
+      default:
+        break;
+    }
+
+    _hashes.put(node, Integer.valueOf(hash));
+    return hash;
+  }
+
+  /**
+   * Returns a hash of the whitespace separated tokens of the given text, starting at the given
+   * index, that does not depend on the whitespace between, before or after the tokens.
+   *
+   * @param text The text to hash
+   * @param start The index of the first character to hash
+   * @return a hash of the tokens of the given text
+   */
+  private static int textHash(final String text, final int start) {
+    int hash = 1;
+    boolean started = false;
+    boolean separated = false;
+    for (int i = start; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f') {
+        separated = started;
+      } else {
+        if (separated) {
+          hash = 31 * hash + ' ';
+          separated = false;
+        }
+        hash = 31 * hash + c;
+        started = true;
+      }
+    }
+    return hash;
+  }
+
   /**
    * Returns true if the given node is a TEXT node that contains only ignorable whitespace.
    *
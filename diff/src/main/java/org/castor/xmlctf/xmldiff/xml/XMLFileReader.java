@@ -17,6 +17,7 @@ package org.castor.xmlctf.xmldiff.xml;
 
 import java.io.File;
 import java.io.FileReader;
+import java.io.Reader;
 import java.net.MalformedURLException;
 
 import javax.xml.parsers.SAXParser;
@@ -93,10 +94,10 @@ public class XMLFileReader {
   public XMLNode read() throws java.io.IOException {
     XMLNode node = null;
 
-    try {
+    try (Reader reader = new FileReader(_file)) {
       InputSource source = new InputSource();
       source.setSystemId(_location);
-      source.setCharacterStream(new FileReader(_file));
+      source.setCharacterStream(reader);
 
       XMLContentHandler builder = new XMLContentHandler();
 
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.castor.xmlctf.xmldiff;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test case for the loose-order comparison of {@link XMLDiff}. The expected counts and pairings
+ * are the ones of the pairwise comparison of every child of the first element with every unused
+ * child of the second element.
+ *
+ * @since 1.4.2
+ */
+public class XMLDiffTest {
+
+  @Test
+  public void testReorderedEqualSiblings() throws Exception {
+    Assert.assertEquals("", compare("items.xml", "items-reordered.xml", 0));
+  }
+
+  @Test
+  public void testReorderedUnequalSiblings() throws Exception {
+    String output = compare("items.xml", "items-changed.xml", 8);
+    assertPairing(output, "/root/item[1]/v/text()", "/root/item[1]/v/text()", "a", "c");
+    assertPairing(output, "/root/item[2]/v/text()", "/root/item[2]/v/text()", "b", "changed");
+    assertPairing(output, "/root/item[3]/v/text()", "/root/item[3]/v/text()", "c", "a");
+    Assert.assertTrue(output.contains("Missing child node: [2, 38] XPATH: /root/item[1]/w"));
+    Assert.assertTrue(output.contains("Extra child node: [6, 11] XPATH: /root/extra"));
+
+    output = compare("items-changed.xml", "items.xml", 7);
+    assertPairing(output, "/root/item[2]/v/text()", "/root/item[1]/v/text()", "changed", "a");
+    assertPairing(output, "/root/item[3]/v/text()", "/root/item[2]/v/text()", "a", "b");
+  }
+
+  @Test
+  public void testReorderedDuplicateSiblings() throws Exception {
+    String output = compare("duplicates.xml", "duplicates-reordered.xml", 2);
+    assertPairing(output, "/root/item[3]/v/text()", "/root/item[1]/v/text()", "one", "two");
+    assertPairing(output, "/root/item[4]/v/text()", "/root/item[3]/v/text()", "two", "three");
+
+    output = compare("duplicates-reordered.xml", "duplicates.xml", 2);
+    assertPairing(output, "/root/item[3]/v/text()", "/root/item[2]/v/text()", "three", "same");
+    assertPairing(output, "/root/item[4]/v/text()", "/root/item[3]/v/text()", "same", "one");
+  }
+
+  /**
+   * Compares two of the test documents, asserting the number of differences.
+   *
+   * @param name1 the name of the first document
+   * @param name2 the name of the second document
+   * @param expected the expected number of differences
+   * @return the differences printed
+   * @throws Exception if a document cannot be read
+   */
+  private String compare(final String name1, final String name2, final int expected)
+      throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    PrintStream stdout = System.out;
+    System.setOut(new PrintStream(out, true, "UTF-8"));
+    try {
+      XMLDiff diff = new XMLDiff(getFile(name1), getFile(name2));
+      Assert.assertEquals(expected, diff.compare());
+    } finally {
+      System.setOut(stdout);
+    }
+    return out.toString("UTF-8");
+  }
+
+  /**
+   * Asserts that the given text nodes of the two documents were compared with each other.
+   *
+   * @param output the differences printed
+   * @param xpath1 the location of the text in the first document
+   * @param xpath2 the location of the text in the second document
+   * @param text1 the text in the first document
+   * @param text2 the text in the second document
+   */
+  private void assertPairing(final String output, final String xpath1, final String xpath2,
+      final String text1, final String text2) {
+    String header = "@@ -XPATH: " + xpath1 + " +XPATH: " + xpath2 + " @@";
+    int index = output.indexOf(header);
+    Assert.assertTrue(output, index >= 0);
+    String lines = output.substring(index + header.length()).replace("\r", "");
+    Assert.assertTrue(output, lines.startsWith("\n- " + text1 + "\n\n+ " + text2 + "\n"));
+  }
+
+  /**
+   * Returns the absolute path of one of the test documents.
+   *
+   * @param name the name of the document
+   * @return its absolute path
+   * @throws Exception if the document is not found
+   */
+  private String getFile(final String name) throws Exception {
+    return new File(getClass().getResource(name).toURI()).getAbsolutePath();
+  }
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.castor.mapping;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.exolab.castor.mapping.xml.MappingRoot;
+import org.xml.sax.InputSource;
+
+/**
+ * A directory of precompiled mappings. Once a mapping has been unmarshalled, its resolved
+ * {@link MappingRoot} is stored in binary form under a key derived from the content of the mapping
+ * sources; later loads of the same content read it back instead of parsing the mapping documents
+ * again. Each entry also records the content hash of every included mapping, and is only used
+ * while all of them are unchanged.
+ * <p>
+ * A cache is attached to a {@link org.exolab.castor.mapping.Mapping} by calling
+ * {@link org.exolab.castor.mapping.Mapping#setCache(MappingCache)}. Entries can be created at
+ * build time (for instance with the <tt>castor-mappingcache</tt> Ant task), or are written on
+ * first use if the directory is writable.
+ *
+ * @since 1.4.2
+ */
+public final class MappingCache {
+
+  /** The logger instance to use. */
+  private static final Log LOG = LogFactory.getLog(MappingCache.class);
+
+  /** Version of the entry format; entries with another version are ignored. */
+  private static final int FORMAT_VERSION = 1;
+
+  /** Suffix of the cache entry files. */
+  private static final String SUFFIX = ".mapping.ser";
+
+  /** Algorithm used to hash the mapping content. */
+  private static final String DIGEST_ALGORITHM = "SHA-256";
+
+  /** Package prefixes of the classes an entry may contain. */
+  private static final String[] ALLOWED_PACKAGES =
+      {"java.lang.", "java.util.", "org.exolab.castor.mapping.xml."};
+
+  /** The directory holding the entries. */
+  private final File _directory;
+
+  /**
+   * Creates a mapping cache stored in the given directory.
+   * 
+   * @param directory The directory holding the cache entries.
+   */
+  public MappingCache(final File directory) {
+    if (directory == null) {
+      throw new IllegalArgumentException("The cache directory must not be null.");
+    }
+    _directory = directory;
+  }
+
+  /**
+   * Returns the directory holding the cache entries.
+   * 
+   * @return The directory holding the cache entries.
+   */
+  public File getDirectory() {
+    return _directory;
+  }
+
+  /**
+   * Reads the entry stored under the given key.
+   * 
+   * @param key The key of the entry.
+   * @return The entry, or null if there is none or it cannot be read.
+   */
+  Entry load(final String key) {
+    File file = new File(_directory, key + SUFFIX);
+    if (!file.isFile()) {
+      return null;
+    }
+    try (ObjectInputStream in = new EntryInputStream(new FileInputStream(file))) {
+      if (in.readInt() != FORMAT_VERSION) {
+        return null;
+      }
+      MappingRoot root = (MappingRoot) in.readObject();
+      @SuppressWarnings("unchecked")
+      Map<String, String> dependencies = (Map<String, String>) in.readObject();
+      return new Entry(root, dependencies);
+    } catch (IOException | ClassNotFoundException | ClassCastException ex) {
+      LOG.debug("Ignoring unreadable mapping cache entry " + file, ex);
+      return null;
+    }
+  }
+
+  /**
+   * Stores an entry under the given key. Failures are logged and otherwise ignored, so that a
+   * read-only cache directory does not prevent the mapping from being used.
+   * 
+   * @param key The key of the entry.
+   * @param root The loaded mapping.
+   * @param dependencies The content hashes of the included mappings, by location.
+   */
+  void store(final String key, final MappingRoot root, final Map<String, String> dependencies) {
+    File file = new File(_directory, key + SUFFIX);
+    File temp = new File(_directory, key + SUFFIX + ".tmp");
+    try {
+      if (!_directory.isDirectory() && !_directory.mkdirs()) {
+        throw new IOException("Unable to create directory " + _directory);
+      }
+      try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(temp))) {
+        out.writeInt(FORMAT_VERSION);
+        out.writeObject(root);
+        out.writeObject(new LinkedHashMap<>(dependencies));
+      }
+      if (!temp.renameTo(file)) {
+        file.delete();
+        if (!temp.renameTo(file)) {
+          throw new IOException("Unable to rename " + temp + " to " + file);
+        }
+      }
+    } catch (IOException ex) {
+      temp.delete();
+      LOG.warn("Unable to store mapping cache entry " + file, ex);
+    }
+  }
+
+  /**
+   * Creates the message digest used to compute cache keys.
+   * 
+   * @return A new message digest.
+   */
+  static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance(DIGEST_ALGORITHM);
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  /**
+   * Returns the hexadecimal representation of a digest.
+   * 
+   * @param digest The digest bytes.
+   * @return The digest as a lower case hexadecimal String.
+   */
+  static String toHex(final byte[] digest) {
+    StringBuilder sb = new StringBuilder(digest.length * 2);
+    for (byte b : digest) {
+      sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Reads the whole content of the given input source, adds it to the digest and returns an input
+   * source over the buffered content.
+   * 
+   * @param source The input source to read.
+   * @param digest The digest to update.
+   * @return An input source that can be parsed in place of the given one.
+   * @throws IOException If the content cannot be read.
+   */
+  static InputSource buffer(final InputSource source, final MessageDigest digest)
+      throws IOException {
+    InputSource buffered = new InputSource();
+    buffered.setSystemId(source.getSystemId());
+    buffered.setPublicId(source.getPublicId());
+    buffered.setEncoding(source.getEncoding());
+
+    Reader reader = source.getCharacterStream();
+    if (reader != null) {
+      StringBuilder sb = new StringBuilder();
+      char[] chars = new char[4096];
+      for (int n = reader.read(chars); n != -1; n = reader.read(chars)) {
+        sb.append(chars, 0, n);
+      }
+      String text = sb.toString();
+      digest.update(text.getBytes("UTF-8"));
+      buffered.setCharacterStream(new StringReader(text));
+      return buffered;
+    }
+
+    InputStream in = source.getByteStream();
+    boolean opened = false;
+    if (in == null) {
+      if (source.getSystemId() == null) {
+        throw new IOException("The mapping source has neither a stream nor a system id.");
+      }
+      in = toURL(source.getSystemId()).openStream();
+      opened = true;
+    }
+    try {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] bytes = new byte[4096];
+      for (int n = in.read(bytes); n != -1; n = in.read(bytes)) {
+        out.write(bytes, 0, n);
+      }
+      byte[] content = out.toByteArray();
+      digest.update(content);
+      buffered.setByteStream(new ByteArrayInputStream(content));
+    } finally {
+      if (opened) {
+        in.close();
+      }
+    }
+    return buffered;
+  }
+
+  /**
+   * Converts a system id to a URL, treating it as a file name if it is not a URL.
+   * 
+   * @param systemId The system id.
+   * @return The corresponding URL.
+   * @throws MalformedURLException If the system id cannot be converted.
+   */
+  private static URL toURL(final String systemId) throws MalformedURLException {
+    try {
+      return new URL(systemId);
+    } catch (MalformedURLException ex) {
+      return new File(systemId).toURI().toURL();
+    }
+  }
+
+  /**
+   * A cached mapping together with the content hashes of the mappings it included.
+   */
+  static final class Entry {
+    /** The loaded mapping. */
+    private final MappingRoot _root;
+
+    /** The content hashes of the included mappings, by location. */
+    private final Map<String, String> _dependencies;
+
+    /**
+     * Creates an entry.
+     * 
+     * @param root The loaded mapping.
+     * @param dependencies The content hashes of the included mappings, by location.
+     */
+    Entry(final MappingRoot root, final Map<String, String> dependencies) {
+      _root = root;
+      _dependencies = dependencies;
+    }
+
+    /**
+     * Returns the loaded mapping.
+     * 
+     * @return The loaded mapping.
+     */
+    MappingRoot getRoot() {
+      return _root;
+    }
+
+    /**
+     * Returns the content hashes of the included mappings, by location.
+     * 
+     * @return The content hashes of the included mappings.
+     */
+    Map<String, String> getDependencies() {
+      return _dependencies;
+    }
+  }
+
+  /**
+   * Reads cache entries, refusing any class outside of the mapping model and the JDK collections
+   * it uses.
+   */
+  private static final class EntryInputStream extends ObjectInputStream {
+    /**
+     * Creates a stream reading from the given input.
+     * 
+     * @param in The input stream.
+     * @throws IOException If the stream header cannot be read.
+     */
+    EntryInputStream(final InputStream in) throws IOException {
+      super(in);
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see java.io.ObjectInputStream#resolveClass(java.io.ObjectStreamClass)
+     */
+    @Override
+    protected Class<?> resolveClass(final ObjectStreamClass desc)
+        throws IOException, ClassNotFoundException {
+      String name = desc.getName();
+      int start = 0;
+      while (start < name.length() && name.charAt(start) == '[') {
+        start++;
+      }
+      if (start > 0 && start < name.length() && name.charAt(start) == 'L') {
+        start++;
+      }
+      boolean allowed = (start > 0 && name.length() == start + 1);
+      for (String prefix : ALLOWED_PACKAGES) {
+        allowed = allowed || name.startsWith(prefix, start);
+      }
+      if (!allowed) {
+        throw new InvalidClassException(name, "Not allowed in a mapping cache entry");
+      }
+      return Class.forName(name, false, MappingRoot.class.getClassLoader());
+    }
+  }
+}
@@ -14,8 +14,12 @@
 package org.castor.mapping;
 
 import java.io.IOException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
 import java.util.Enumeration;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -69,6 +73,12 @@ public final class MappingUnmarshaller {
    */
   private boolean _allowRedefinitions = false;
 
+  /**
+   * The content hashes of the mappings included while filling a {@link MappingCache} entry, by
+   * location; null when no entry is being filled.
+   */
+  private Map<String, String> _dependencies;
+
   /**
    * The {@link AbstractInternalContext}?holds all 'global' Castor states and access to
    * configuration.
@@ -145,11 +155,7 @@ public final class MappingUnmarshaller {
   public MappingLoader getMappingLoader(final Mapping mapping, final BindingType bindingType,
       final Object param) throws MappingException {
     synchronized (this) {
-      Iterator iter = mapping.getMappingSources().iterator();
-      while (iter.hasNext()) {
-        MappingSource source = (MappingSource) iter.next();
-        loadMappingInternal(mapping, source.getResolver(), source.getSource());
-      }
+      loadMappingSources(mapping);
 
       AbstractMappingLoader loader;
       loader = (AbstractMappingLoader) _registry.getMappingLoader("CastorXmlMapping", bindingType);
@@ -163,14 +169,121 @@ public final class MappingUnmarshaller {
 
   public void loadMappingOnly(final Mapping mapping) throws MappingException {
     synchronized (this) {
-      Iterator iter = mapping.getMappingSources().iterator();
-      while (iter.hasNext()) {
-        MappingSource source = (MappingSource) iter.next();
+      loadMappingSources(mapping);
+    }
+  }
+
+  // --------------------------------------------------------------------------
+
+  /**
+   * Loads all mapping sources of the given mapping, going through the mapping cache if one is set
+   * and none of the sources has been loaded yet.
+   *
+   * @param mapping The mapping instance.
+   * @throws MappingException The mapping file is invalid.
+   */
+  private void loadMappingSources(final Mapping mapping) throws MappingException {
+    List<MappingSource> sources = mapping.getMappingSources();
+    MappingCache cache = mapping.getCache();
+    boolean unprocessed = !sources.isEmpty();
+    for (MappingSource source : sources) {
+      unprocessed = unprocessed && !mapping.processed(getId(source.getSource()));
+    }
+
+    if (cache != null && unprocessed) {
+      loadCachedMappingSources(mapping, cache, sources);
+    } else {
+      for (MappingSource source : sources) {
         loadMappingInternal(mapping, source.getResolver(), source.getSource());
       }
     }
   }
 
+  /**
+   * Loads the given mapping sources from the mapping cache, or unmarshals them and stores the
+   * result in the cache if it holds no current entry for their content.
+   *
+   * @param mapping The mapping instance.
+   * @param cache The mapping cache.
+   * @param sources The mapping sources to load.
+   * @throws MappingException The mapping file is invalid.
+   */
+  private void loadCachedMappingSources(final Mapping mapping, final MappingCache cache,
+      final List<MappingSource> sources) throws MappingException {
+    MessageDigest digest = MappingCache.newDigest();
+    List<InputSource> buffered = new ArrayList<>(sources.size());
+    try {
+      for (MappingSource source : sources) {
+        buffered.add(MappingCache.buffer(source.getSource(), digest));
+      }
+    } catch (IOException ex) {
+      LOG.debug("Unable to read mapping sources, bypassing the mapping cache", ex);
+      for (MappingSource source : sources) {
+        loadMappingInternal(mapping, source.getResolver(), source.getSource());
+      }
+      return;
+    }
+    String key = MappingCache.toHex(digest.digest());
+    DTDResolver resolver = sources.get(0).getResolver();
+
+    MappingCache.Entry entry = cache.load(key);
+    if (entry != null && isCurrent(entry, resolver)) {
+      LOG.debug("Using cached mapping " + key);
+      MappingRoot cached = entry.getRoot();
+      MappingRoot root = mapping.getRoot();
+      for (ClassMapping classMapping : cached.getClassMapping()) {
+        root.addClassMapping(classMapping);
+      }
+      for (KeyGeneratorDef keyGeneratorDef : cached.getKeyGeneratorDef()) {
+        root.addKeyGeneratorDef(keyGeneratorDef);
+      }
+      for (FieldHandlerDef fieldHandlerDef : cached.getFieldHandlerDef()) {
+        root.addFieldHandlerDef(fieldHandlerDef);
+      }
+      for (MappingSource source : sources) {
+        mapping.markAsProcessed(getId(source.getSource()));
+      }
+      for (String location : entry.getDependencies().keySet()) {
+        mapping.markAsProcessed(location);
+      }
+      return;
+    }
+
+    _dependencies = new LinkedHashMap<>();
+    try {
+      for (int i = 0; i < sources.size(); i++) {
+        InputSource source = sources.get(i).getSource();
+        loadMappingInternal(mapping, sources.get(i).getResolver(), buffered.get(i), getId(source));
+      }
+      cache.store(key, mapping.getRoot(), _dependencies);
+    } finally {
+      _dependencies = null;
+    }
+  }
+
+  /**
+   * Checks whether the mappings included by a cached mapping still have the same content.
+   *
+   * @param entry The cache entry.
+   * @param resolver The entity resolver to use. May be null.
+   * @return true if all included mappings are unchanged.
+   */
+  private boolean isCurrent(final MappingCache.Entry entry, final DTDResolver resolver) {
+    for (Map.Entry<String, String> dependency : entry.getDependencies().entrySet()) {
+      try {
+        MessageDigest digest = MappingCache.newDigest();
+        MappingCache.buffer(resolveSource(resolver, dependency.getKey()), digest);
+        if (!MappingCache.toHex(digest.digest()).equals(dependency.getValue())) {
+          return false;
+        }
+      } catch (IOException | SAXException ex) {
+        LOG.debug("Unable to read included mapping " + dependency.getKey(), ex);
+        return false;
+      }
+    }
+    return true;
+  }
+
   // --------------------------------------------------------------------------
 
   /**
@@ -186,20 +299,58 @@ public final class MappingUnmarshaller {
   protected void loadMappingInternal(final Mapping mapping, final DTDResolver resolver,
       final String url) throws IOException, MappingException {
     try {
-      InputSource source = resolver.resolveEntity(null, url);
-      if (source == null) {
-        source = new InputSource(url);
-      }
-      if (source.getSystemId() == null) {
-        source.setSystemId(url);
-      }
+      InputSource source = resolveSource(resolver, url);
       LOG.info(Messages.format("mapping.loadingFrom", url));
-      loadMappingInternal(mapping, resolver, source);
+      if (_dependencies != null && !mapping.processed(getId(source))) {
+        // -- record the content of the included mapping for the cache entry being filled
+        MessageDigest digest = MappingCache.newDigest();
+        InputSource buffered = MappingCache.buffer(source, digest);
+        _dependencies.put(url, MappingCache.toHex(digest.digest()));
+        loadMappingInternal(mapping, resolver, buffered, getId(source));
+      } else {
+        loadMappingInternal(mapping, resolver, source);
+      }
     } catch (SAXException ex) {
       throw new MappingException(ex);
     }
   }
 
+  /**
+   * Resolves the location of a mapping file to an input source.
+   *
+   * @param resolver The entity resolver to use. May be null.
+   * @param url The URL of the mapping file.
+   * @return The input source to read the mapping from.
+   * @throws IOException An error occured when resolving the mapping file.
+   * @throws SAXException An error occured when resolving the mapping file.
+   */
+  private InputSource resolveSource(final DTDResolver resolver, final String url)
+      throws IOException, SAXException {
+    InputSource source = (resolver != null) ? resolver.resolveEntity(null, url) : null;
+    if (source == null) {
+      source = new InputSource(url);
+    }
+    if (source.getSystemId() == null) {
+      source.setSystemId(url);
+    }
+    return source;
+  }
+
+  /**
+   * Returns the object identifying a mapping source as processed: its system id if it has one, its
+   * byte stream otherwise.
+   *
+   * @param source The input source.
+   * @return The identifier of the source, or null if it has none.
+   */
+  private static Object getId(final InputSource source) {
+    Object id = source.getSystemId();
+    if (id == null) {
+      id = source.getByteStream();
+    }
+    return id;
+  }
+
   /**
    * Internal recursive loading method. This method will load the mapping document into a mapping
    * object and load all the included mapping along the way into a single collection.
@@ -211,14 +362,25 @@ public final class MappingUnmarshaller {
    */
   private void loadMappingInternal(final Mapping mapping, final DTDResolver resolver,
       final InputSource source) throws MappingException {
+    loadMappingInternal(mapping, resolver, source, getId(source));
+  }
+
+  /**
+   * Internal recursive loading method. This method will load the mapping document into a mapping
+   * object and load all the included mapping along the way into a single collection.
+   *
+   * @param mapping The mapping instance.
+   * @param resolver The entity resolver to use. May be null.
+   * @param source The input source.
+   * @param id The identifier used to mark the source as processed. May be null.
+   * @throws MappingException The mapping file is invalid.
+   */
+  private void loadMappingInternal(final Mapping mapping, final DTDResolver resolver,
+      final InputSource source, final Object id) throws MappingException {
     // Clear all the cached resolvers, so they can be reconstructed a
     // second time based on the new mappings loaded
     _registry.clear();
 
-    Object id = source.getSystemId();
-    if (id == null) {
-      id = source.getByteStream();
-    }
     if (id != null) {
       // check that the mapping has already been processed
       if (mapping.processed(id)) {
@@ -18,9 +18,11 @@ import java.beans.PropertyChangeSupport;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
+import java.util.concurrent.ArrayBlockingQueue;
 
 import javax.inject.Inject;
 import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -48,6 +50,7 @@ import org.xml.sax.DocumentHandler;
 import org.xml.sax.Parser;
 import org.xml.sax.SAXException;
 import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
 
 /**
  * The internal context is meant as center piece providing (and keeping) all information that is
@@ -64,6 +67,12 @@ public abstract class AbstractInternalContext implements InternalContext {
 
   private static final Log LOG = LogFactory.getFactory().getInstance(AbstractInternalContext.class);
 
+  /** Default number of {@link XMLReader} instances kept for reuse. */
+  private static final int DEFAULT_PARSER_POOL_SIZE = 8;
+
+  /** Handler set on released {@link XMLReader} instances, so they don't hold on to old handlers. */
+  private static final DefaultHandler RELEASED_READER_HANDLER = new DefaultHandler();
+
   private final PropertyChangeSupport propertyChangeSupport = new PropertyChangeSupport(this);
 
   /**
@@ -117,6 +126,16 @@ public abstract class AbstractInternalContext implements InternalContext {
    */
   private RegExpEvaluator _regExpEvaluator;
 
+  /**
+   * The {@link SAXParserFactory} configured from the parser properties, created on first use.
+   */
+  private volatile SAXParserFactory _saxParserFactory;
+
+  /**
+   * {@link XMLReader} instances released for reuse, created on first use.
+   */
+  private volatile ArrayBlockingQueue<XMLReader> _xmlReaderPool;
+
   public AbstractInternalContext() {
     _properties = XMLProperties.newInstance();
     // TODO[WG]: remove once injection works
@@ -248,8 +267,12 @@ public abstract class AbstractInternalContext implements InternalContext {
     String readerClassName = _properties.getString(XMLProperties.PARSER);
 
     if (readerClassName == null || readerClassName.length() == 0) {
-      SAXParser saxParser =
-          XMLParserUtils.getSAXParser(validation.booleanValue(), namespaces.booleanValue());
+      SAXParserFactory factory = getSAXParserFactory();
+      SAXParser saxParser;
+      // -- SAXParserFactory implementations are not guaranteed to be thread-safe
+      synchronized (factory) {
+        saxParser = XMLParserUtils.getSAXParser(factory);
+      }
       if (saxParser != null) {
         try {
           reader = saxParser.getXMLReader();
@@ -277,6 +300,56 @@ public abstract class AbstractInternalContext implements InternalContext {
 
   }
 
+  @Override
+  public XMLReader acquireXMLReader() {
+    ArrayBlockingQueue<XMLReader> pool = _xmlReaderPool;
+    if (pool != null) {
+      XMLReader reader = pool.poll();
+      if (reader != null) {
+        return reader;
+      }
+    }
+    return getXMLReader();
+  }
+
+  @Override
+  public void releaseXMLReader(final XMLReader reader) {
+    if (reader == null) {
+      return;
+    }
+    ArrayBlockingQueue<XMLReader> pool = _xmlReaderPool;
+    if (pool == null) {
+      int size = _properties.getInteger(XMLProperties.PARSER_POOL_SIZE, DEFAULT_PARSER_POOL_SIZE);
+      if (size <= 0) {
+        return;
+      }
+      pool = new ArrayBlockingQueue<XMLReader>(size);
+      _xmlReaderPool = pool;
+    }
+    reader.setContentHandler(RELEASED_READER_HANDLER);
+    reader.setErrorHandler(RELEASED_READER_HANDLER);
+    reader.setEntityResolver(RELEASED_READER_HANDLER);
+    reader.setDTDHandler(RELEASED_READER_HANDLER);
+    pool.offer(reader);
+  }
+
+  /**
+   * Returns the {@link SAXParserFactory} configured according to the validation and namespace
+   * properties, creating it on first use.
+   * 
+   * @return the SAXParserFactory to obtain SAX parsers from
+   */
+  private SAXParserFactory getSAXParserFactory() {
+    SAXParserFactory factory = _saxParserFactory;
+    if (factory == null) {
+      factory = XMLParserUtils.getSAXParserFactory(
+          _properties.getBoolean(XMLProperties.PARSER_VALIDATION).booleanValue(),
+          _properties.getBoolean(XMLProperties.NAMESPACES).booleanValue());
+      _saxParserFactory = factory;
+    }
+    return factory;
+  }
+
   @Override
   public NodeType getPrimitiveNodeType() {
 
@@ -469,16 +542,27 @@ public abstract class AbstractInternalContext implements InternalContext {
     if (oldValue == null) {
       if (value != null) {
         this._properties.put(propertyName, value);
+        resetParsers();
         this.propertyChangeSupport.firePropertyChange(propertyName, oldValue, value);
       }
     } else {
       if (!oldValue.equals(value)) {
         this._properties.put(propertyName, value);
+        resetParsers();
         this.propertyChangeSupport.firePropertyChange(propertyName, oldValue, value);
       }
     }
   }
 
+  /**
+   * Discards the cached {@link SAXParserFactory} and pooled {@link XMLReader} instances, as they
+   * might have been configured from outdated property values.
+   */
+  private void resetParsers() {
+    _saxParserFactory = null;
+    _xmlReaderPool = null;
+  }
+
   @Override
   public Boolean getBooleanProperty(final String propertyName) {
     return _properties.getBoolean(propertyName);
@@ -190,6 +190,25 @@ public interface InternalContext extends PropertyChangeProvider {
    */
   XMLReader getXMLReader(final String features); // -- getXMLReader
 
+  /**
+   * Returns an XML document parser as {@link #getXMLReader()} does, reusing an instance previously
+   * passed to {@link #releaseXMLReader(XMLReader)} if one is available. The caller has exclusive
+   * use of the returned instance until it releases it.
+   *
+   * @return A suitable XML parser
+   */
+  XMLReader acquireXMLReader();
+
+  /**
+   * Makes an XML document parser obtained from {@link #acquireXMLReader()} available for reuse.
+   * Handlers and entity resolver set on the parser are reset. Parsers should only be released
+   * after they completed parsing a document; the number of parsers kept is bounded by the
+   * <tt>org.exolab.castor.parser.pool.size</tt> property.
+   *
+   * @param reader the XML document parser to release
+   */
+  void releaseXMLReader(XMLReader reader);
+
   /**
    * Returns the NodeType to use for Java primitives. A null value will be returned if no NodeType
    * was specified, indicating the default NodeType should be used.
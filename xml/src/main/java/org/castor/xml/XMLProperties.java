@@ -139,6 +139,18 @@ public class XMLProperties extends AbstractProperties {
    */
   public static final String NAMESPACES = "org.exolab.castor.parser.namespaces";
 
+  /**
+   * Property specifying how many XML parser (XMLReader) instances are kept for reuse by the
+   * Unmarshallers of an XMLContext; 0 disables reuse.
+   * 
+   * Possible values: - 8 (default) - any number greater than or equal to 0
+   * 
+   * <pre>
+   * org.exolab.castor.parser.pool.size
+   * </pre>
+   */
+  public static final String PARSER_POOL_SIZE = "org.exolab.castor.parser.pool.size";
+
   /**
    * Property specifying XML namespace to Java package mappings.
    * 
@@ -188,6 +200,40 @@ public class XMLProperties extends AbstractProperties {
    */
   public static final String MARSHALLING_VALIDATION = "org.exolab.castor.marshalling.validation";
 
+  /**
+   * Property specifying how validation is performed in the marshalling framework, if enabled.
+   * 'prepass' validates the complete object graph before marshalling starts; 'inline' validates
+   * each object as it is marshalled, so the object graph is walked once only. When marshalling to
+   * a Writer, inline validation buffers the output until the object graph has been marshalled
+   * successfully.
+   *
+   * Possible values: - prepass (default) - inline
+   * 
+   * <pre>
+   * org.exolab.castor.marshalling.validation.mode
+   * </pre>
+   * 
+   * @since 1.4.2
+   */
+  public static final String MARSHALLING_VALIDATION_MODE =
+      "org.exolab.castor.marshalling.validation.mode";
+
+  /**
+   * Property specifying whether the object graphs marshalled are known to be free of cycles. If
+   * so, the marshalling framework does not keep track of the ancestors of the object being
+   * marshalled to detect circular references.
+   *
+   * Possible values: - false (default) - true
+   * 
+   * <pre>
+   * org.exolab.castor.marshalling.assumeAcyclic
+   * </pre>
+   * 
+   * @since 1.4.2
+   */
+  public static final String MARSHALLING_ASSUME_ACYCLIC =
+      "org.exolab.castor.marshalling.assumeAcyclic";
+
   /**
    * Property specifying whether XML documents (as generated at marshalling) should use indentation
    * or not.
@@ -378,6 +424,22 @@ public class XMLProperties extends AbstractProperties {
    */
   public static final String USE_INTROSPECTION = "org.castor.xml.class-resolver.use-introspection";
 
+  /**
+   * Property specifying if the descriptor cache of the class resolver is shared with all other
+   * contexts using the same class loader and enabling this property, so that a class is resolved
+   * and introspected only once for all of them. Only contexts configured alike should share their
+   * descriptors; contexts using a mapping always keep a cache of their own.
+   * 
+   * Possible values: - false (default) - true
+   * 
+   * <pre>
+   * org.castor.xml.class-resolver.share-cache = false
+   * </pre>
+   * 
+   * @since 1.4.2
+   */
+  public static final String SHARE_DESCRIPTOR_CACHE = "org.castor.xml.class-resolver.share-cache";
+
   /**
    * The property name for enabling collection wrapping. The property controls whether or not
    * collections (arrays, vectors, etc) should be wrapped in a container element. For example:
@@ -405,6 +467,21 @@ public class XMLProperties extends AbstractProperties {
   public static final String WRAP_COLLECTIONS_PROPERTY =
       "org.exolab.castor.xml.introspector.wrapCollections";
 
+  /**
+   * Property specifying whether the introspector treats properties of type
+   * {@link java.nio.ByteBuffer} or {@link java.io.InputStream} as binary content, written as base64
+   * text. When disabled, such properties are introspected as before and an InputStream is never
+   * read during marshalling.
+   * 
+   * Possible values: - false (default) - true
+   * 
+   * <pre>
+   * org.exolab.castor.xml.introspector.binaryProperties
+   * </pre>
+   */
+  public static final String INTROSPECT_BINARY_PROPERTIES =
+      "org.exolab.castor.xml.introspector.binaryProperties";
+
   /**
    * Property that allows to specify whether the validation for &lt;xs:integer&gt; should accept the
    * old 'int/Integer' members as well; default to false.
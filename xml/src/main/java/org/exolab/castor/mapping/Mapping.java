@@ -25,6 +25,7 @@ import java.util.Set;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.castor.core.util.Messages;
+import org.castor.mapping.MappingCache;
 import org.castor.mapping.MappingSource;
 import org.exolab.castor.mapping.xml.MappingRoot;
 import org.exolab.castor.net.util.URIUtils;
@@ -85,6 +86,9 @@ public final class Mapping {
   /** The entity resolver to use. May be null. */
   private DTDResolver _resolver = new DTDResolver();
 
+  /** The cache of precompiled mappings to use. May be null. */
+  private MappingCache _cache;
+
   // --------------------------------------------------------------------------
 
   /**
@@ -159,6 +163,28 @@ public final class Mapping {
     return _classLoader;
   }
 
+  /**
+   * Returns the cache of precompiled mappings used when loading this mapping.
+   *
+   * @return The mapping cache, or null if none is used.
+   * @since 1.4.2
+   */
+  public MappingCache getCache() {
+    return _cache;
+  }
+
+  /**
+   * Sets the cache of precompiled mappings. When a cache is set, the mapping sources are read and
+   * hashed before being loaded; if the cache holds an entry for that content, the mapping is taken
+   * from it instead of being unmarshalled, otherwise the unmarshalled mapping is stored in it.
+   *
+   * @param cache The mapping cache to use, null for none.
+   * @since 1.4.2
+   */
+  public void setCache(final MappingCache cache) {
+    _cache = cache;
+  }
+
   /**
    * Sets the entity resolver. The entity resolver can be used to resolve external entities and
    * cached documents that are used from within mapping files.
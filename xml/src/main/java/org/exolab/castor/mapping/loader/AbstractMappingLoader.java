@@ -136,6 +136,10 @@ public abstract class AbstractMappingLoader extends AbstractMappingLoader2 {
   /** Map of field handlers associated by their name. */
   private final Map<String, FieldHandler> _fieldHandlers = new HashMap<String, FieldHandler>();
 
+  /** Accessor factories shared by all field handlers of a class, associated by that class. */
+  private final Map<Class<?>, AccessorFactory> _accessorFactories =
+      new HashMap<Class<?>, AccessorFactory>();
+
   /**
    * Constructs a new mapping helper. This constructor is used by a derived class.
    *
@@ -716,11 +720,14 @@ public abstract class AbstractMappingLoader extends AbstractMappingLoader2 {
         }
         Object obj = Array.newInstance(fldType, 0);
         collectionType = obj.getClass();
+        // -- arrays of some primitives have a dedicated handler
+        collectionHandler = CollectionHandlers.getHandler(collectionType);
       }
     }
 
 
     FieldHandlerImpl handler = null;
+    AccessorFactory accessorFactory = getAccessorFactory(javaClass);
 
     // If get/set methods not specified, use field names to determine them.
     if (fldMap.getDirect()) {
@@ -850,7 +857,7 @@ public abstract class AbstractMappingLoader extends AbstractMappingLoader2 {
 
       // Create handler
       handler = new FieldHandlerImpl(fieldName, getArray, setArray, getMethod, setMethod,
-          typeInfoRef.typeInfo);
+          typeInfoRef.typeInfo, accessorFactory);
 
       if (setMethod != null) {
         if (setMethod.getName().startsWith(ADD_METHOD_PREFIX)) {
@@ -938,8 +945,8 @@ public abstract class AbstractMappingLoader extends AbstractMappingLoader2 {
       }
 
       // Create handler
-      handler =
-          new FieldHandlerImpl(fieldName, null, null, getMethod, setMethod, typeInfoRef.typeInfo);
+      handler = new FieldHandlerImpl(fieldName, null, null, getMethod, setMethod,
+          typeInfoRef.typeInfo, accessorFactory);
 
       if (setMethod != null) {
         if (setMethod.getName().startsWith(ADD_METHOD_PREFIX)) {
@@ -1000,6 +1007,21 @@ public abstract class AbstractMappingLoader extends AbstractMappingLoader2 {
     return handler;
   }
 
+  /**
+   * Returns the {@link AccessorFactory} shared by the field handlers of the given class.
+   *
+   * @param javaClass The class the field handlers are created for.
+   * @return The {@link AccessorFactory} for the given class.
+   */
+  protected final AccessorFactory getAccessorFactory(final Class<?> javaClass) {
+    AccessorFactory accessorFactory = _accessorFactories.get(javaClass);
+    if (accessorFactory == null) {
+      accessorFactory = new AccessorFactory();
+      _accessorFactories.put(javaClass, accessorFactory);
+    }
+    return accessorFactory;
+  }
+
   private static boolean isAbstract(final Class<?> cls) {
     return ((cls.getModifiers() & Modifier.ABSTRACT) != 0);
   }
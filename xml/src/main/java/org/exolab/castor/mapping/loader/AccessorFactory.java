@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.mapping.loader;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates and caches the {@link MethodAccessor}s used by {@link FieldHandlerImpl}. The mapping
+ * loaders and the {@link org.exolab.castor.xml.Introspector} use one factory per class descriptor
+ * they build, so that accessors shared by several fields (e.g. the getters of a nested field path
+ * like <tt>address.street</tt> and <tt>address.city</tt>) are only created once.
+ * <p>
+ * Accessors are backed by {@link java.lang.invoke.MethodHandle}s where the method is reachable
+ * through {@link MethodHandles#publicLookup()}, and fall back to plain reflection otherwise.
+ * 
+ * @since 1.4.2
+ */
+public final class AccessorFactory {
+
+  /** Accessors created so far, by method. */
+  private final Map<Method, MethodAccessor> _accessors =
+      new ConcurrentHashMap<Method, MethodAccessor>();
+
+  /**
+   * Returns the accessor for the given method, creating it on first request.
+   * 
+   * @param method An accessor method, may be <code>null</code>.
+   * @return The accessor, or <code>null</code> if <code>method</code> is <code>null</code>.
+   */
+  public MethodAccessor getAccessor(final Method method) {
+    if (method == null) {
+      return null;
+    }
+    MethodAccessor accessor = _accessors.get(method);
+    if (accessor == null) {
+      accessor = createAccessor(method);
+      _accessors.put(method, accessor);
+    }
+    return accessor;
+  }
+
+  /**
+   * Returns the accessors for the given method sequence.
+   * 
+   * @param methods A sequence of accessor methods, may be <code>null</code>.
+   * @return The accessors, or <code>null</code> if <code>methods</code> is <code>null</code>.
+   */
+  public MethodAccessor[] getAccessors(final Method[] methods) {
+    if (methods == null) {
+      return null;
+    }
+    MethodAccessor[] accessors = new MethodAccessor[methods.length];
+    for (int i = 0; i < methods.length; i++) {
+      accessors[i] = getAccessor(methods[i]);
+    }
+    return accessors;
+  }
+
+  private static MethodAccessor createAccessor(final Method method) {
+    int parameterCount = method.getParameterTypes().length;
+    if (!Modifier.isStatic(method.getModifiers()) && parameterCount <= 1) {
+      try {
+        MethodHandle handle = MethodHandles.publicLookup().unreflect(method);
+        return new MethodHandleMethodAccessor(method, handle);
+      } catch (IllegalAccessException e) {
+        // not reachable through the public lookup, use reflection (and its access checks)
+      }
+    }
+    return new ReflectionMethodAccessor(method);
+  }
+}
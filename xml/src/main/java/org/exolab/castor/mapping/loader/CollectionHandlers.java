@@ -134,13 +134,7 @@ public final class CollectionHandlers {
    * @return true if the given class has an associated CollectionHandler, otherwise false.
    */
   public static boolean hasHandler(Class<?> javaClass) {
-    // -- Adjust javaClass for arrays, needed for arrays of
-    // -- primitives, except for byte[] which shouldn't
-    // -- use a collection handler
-    if (javaClass.isArray()) {
-      if (javaClass.getComponentType() != Byte.TYPE)
-        javaClass = Object[].class;
-    }
+    javaClass = getArrayHandlerType(javaClass);
 
     for (Info info : _info) {
       if (info.getJavaClass().isAssignableFrom(javaClass)) {
@@ -163,13 +157,7 @@ public final class CollectionHandlers {
    *         defined.
    */
   public static String getCollectionName(Class<?> javaClass) {
-    // -- Adjust javaClass for arrays, needed for arrays of
-    // -- primitives, except for byte[] which shouldn't
-    // -- use a collection handler
-    if (javaClass.isArray()) {
-      if (javaClass.getComponentType() != Byte.TYPE)
-        javaClass = Object[].class;
-    }
+    javaClass = getArrayHandlerType(javaClass);
 
     // -- First check direct class equality, to provide a better match
     // -- (for example in JDK 1.2 a Vector is also a Collection)
@@ -194,13 +182,7 @@ public final class CollectionHandlers {
    * @throws MappingException The collection class is not supported
    */
   public static CollectionHandler getHandler(Class<?> javaClass) throws MappingException {
-    // -- Adjust javaClass for arrays, needed for arrays of
-    // -- primitives, except for byte[] which shouldn't
-    // -- use a collection handler
-    if (javaClass.isArray()) {
-      if (javaClass.getComponentType() != Byte.TYPE)
-        javaClass = Object[].class;
-    }
+    javaClass = getArrayHandlerType(javaClass);
 
     // -- First check direct class equality, to provide a better match
     // -- (for example in JDK 1.2 a Vector is also a Collection)
@@ -216,6 +198,28 @@ public final class CollectionHandlers {
     throw new MappingException("mapping.noCollectionHandler", javaClass.getName());
   }
 
+  /**
+   * Adjusts the given class for arrays, needed for arrays of primitives, except for byte[] which
+   * shouldn't use a collection handler. Arrays of primitives with a dedicated handler are kept,
+   * all other arrays are handled as <code>Object[]</code>.
+   * 
+   * @param javaClass the class to search collection handlers for
+   * @return the class to look up the collection handler with
+   */
+  private static Class<?> getArrayHandlerType(final Class<?> javaClass) {
+    if (!javaClass.isArray() || javaClass.getComponentType() == Byte.TYPE) {
+      return javaClass;
+    }
+    if (javaClass.getComponentType().isPrimitive()) {
+      for (Info info : _info) {
+        if (info.getJavaClass() == javaClass) {
+          return javaClass;
+        }
+      }
+    }
+    return Object[].class;
+  }
+
   /**
    * Returns true if the collection requires get/set methods. <tt>java.util</tt> collections only
    * require a get method, but an array collection required both get and set methods.
@@ -58,7 +58,8 @@ import org.exolab.castor.util.IteratorEnumeration;
 
 /**
  * A field handler that knows how to get/set the values of a field directly or through the get/set
- * methods. Uses reflection.
+ * methods. Accessor methods are invoked through {@link MethodAccessor}s obtained from an
+ * {@link AccessorFactory}; fields are accessed using reflection.
  * <p>
  * Note: the field Java type is obtained from {@link TypeInfo#getFieldType()}, but if the field is a
  * collection, the actual field/accessor type is obtained from {@link TypeInfo#getCollectionHandler}
@@ -93,56 +94,62 @@ public final class FieldHandlerImpl<T> extends AbstractFieldHandler<T> {
    */
   private final Field _field;
 
+  /**
+   * The factory providing the accessors for the methods below. Created on demand if not supplied by
+   * the caller.
+   */
+  private AccessorFactory _accessorFactory;
+
   /**
    * The sequence of methods used to obtain the nested field. May be null.
    */
-  private Method[] _getSequence;
+  private MethodAccessor[] _getSequence;
 
   /**
    * The sequence of methods used to create the nested object. May be null.
    */
-  private Method[] _setSequence;
+  private MethodAccessor[] _setSequence;
 
   /**
    * The method used to "incrementally" set the value of this field. This is only used if the field
    * is a collection
    */
-  private Method _addMethod;
+  private MethodAccessor _addMethod;
 
   /**
    * The method used to enumerate entries of a container.
    */
-  private Method _enumMethod;
+  private MethodAccessor _enumMethod;
 
   /**
    * The method used to iterate over a container.
    */
-  private Method _iterMethod;
+  private MethodAccessor _iterMethod;
 
   /**
    * The method used to obtain the value of this field. May be null.
    */
-  private Method _getMethod;
+  private MethodAccessor _getMethod;
 
   /**
    * The method used to set the value of this field. May be null.
    */
-  private Method _setMethod;
+  private MethodAccessor _setMethod;
 
   /**
    * The method used to check if the value of this field exists. May be null.
    */
-  private Method _hasMethod;
+  private MethodAccessor _hasMethod;
 
   /**
    * The method used to delete the value of this field. May be null.
    */
-  private Method _deleteMethod;
+  private MethodAccessor _deleteMethod;
 
   /**
    * The method used to create a new instance of the field.
    */
-  private Method _createMethod;
+  private MethodAccessor _createMethod;
 
   /**
    * The Java field name.
@@ -249,6 +256,30 @@ public final class FieldHandlerImpl<T> extends AbstractFieldHandler<T> {
    */
   public FieldHandlerImpl(String fieldName, Method[] getSequence, Method[] setSequence,
       Method getMethod, Method setMethod, TypeInfo typeInfo) throws MappingException {
+    this(fieldName, getSequence, setSequence, getMethod, setMethod, typeInfo,
+        new AccessorFactory());
+  }
+
+  /**
+   * Construct a new field handler for the specified field that is accessed through the accessor
+   * methods (get/set), obtaining the {@link MethodAccessor}s from the given factory. Handlers for
+   * the fields of one class should share one factory.
+   * 
+   * @param fieldName The field being described
+   * @param getSequence The sequence of methods used to obtain a nested field, may be null
+   * @param setSequence The sequence of methods used to create a nested object, may be null
+   * @param getMethod The method used to retrieve the field value, must accept no parameters and
+   *        have a return type castable to the field type
+   * @param setMethod The method used to set the field value, must accept a single parameter that is
+   *        castable to the field type
+   * @param typeInfo Type information
+   * @param accessorFactory The factory to obtain {@link MethodAccessor}s from
+   * @throws MappingException If the get or set method are not public, are static, or do not specify
+   *         the proper types
+   */
+  public FieldHandlerImpl(String fieldName, Method[] getSequence, Method[] setSequence,
+      Method getMethod, Method setMethod, TypeInfo typeInfo, AccessorFactory accessorFactory)
+      throws MappingException {
     _handler = null;
     _field = null;
     if (fieldName == null)
@@ -259,8 +290,9 @@ public final class FieldHandlerImpl<T> extends AbstractFieldHandler<T> {
     // throw new IllegalArgumentException(
     // "Both arguments 'getMethod' and 'setMethod' are null" );
 
-    _getSequence = getSequence;
-    _setSequence = setSequence;
+    _accessorFactory = accessorFactory;
+    _getSequence = accessorFactory.getAccessors(getSequence);
+    _setSequence = accessorFactory.getAccessors(setSequence);
 
     if (setMethod != null) {
       // -- might be an "add" method
@@ -358,16 +390,16 @@ public final class FieldHandlerImpl<T> extends AbstractFieldHandler<T> {
       } else if (_enumMethod != null) {
         // If there is an enumeration method supplied, return the
         // enumeration.
-        value = (T) _enumMethod.invoke(object, (Object[]) null);
+        value = (T) _enumMethod.invoke(object);
       } else if (_iterMethod != null) {
         // If there is an iterator method supplied, wrap it in an
         // enumeration.
         value =
-            (T) new IteratorEnumeration((Iterator<T>) _iterMethod.invoke(object, (Object[]) null));
+            (T) new IteratorEnumeration((Iterator<T>) _iterMethod.invoke(object));
       } else if (_getMethod != null) {
         if (_getSequence != null) {
           for (int i = 0; i < _getSequence.length; i++) {
-            object = _getSequence[i].invoke(object, (Object[]) null);
+            object = _getSequence[i].invoke(object);
             if (object == null) {
               break;
             }
@@ -379,11 +411,11 @@ public final class FieldHandlerImpl<T> extends AbstractFieldHandler<T> {
         // If field has 'has' method, false means field is null and do not
         // attempt to
         // call getValue. Otherwise, ????
-        if (object == null || (_hasMethod != null
-            && !((Boolean) _hasMethod.invoke(object, (Object[]) null)).booleanValue())) {
+        if (object == null
+            || (_hasMethod != null && !((Boolean) _hasMethod.invoke(object)).booleanValue())) {
           value = null;
         } else {
-          value = (T) _getMethod.invoke(object, (Object[]) null);
+          value = (T) _getMethod.invoke(object);
         }
       } else {
         value = null;
@@ -456,7 +488,7 @@ public final class FieldHandlerImpl<T> extends AbstractFieldHandler<T> {
         } else {
 
           // -- either add or set
-          Method setter = selectWriteMethod(value);
+          MethodAccessor setter = selectWriteMethod(value);
 
           if (setter != null) {
             if (_getSequence != null) {
@@ -464,7 +496,7 @@ public final class FieldHandlerImpl<T> extends AbstractFieldHandler<T> {
                 Object last;
 
                 last = object;
-                object = _getSequence[i].invoke(object, (Object[]) null);
+                object = _getSequence[i].invoke(object);
                 if (object == null) {
                   // if the value is not null, we must instantiate
                   // the object in the sequence
@@ -472,15 +504,15 @@ public final class FieldHandlerImpl<T> extends AbstractFieldHandler<T> {
                     break;
                   }
                   object = Types.newInstance(_getSequence[i].getReturnType());
-                  _setSequence[i].invoke(last, new Object[] {object});
+                  _setSequence[i].invoke(last, object);
                 }
               }
             }
             if (object != null) {
               if (value == null && _deleteMethod != null) {
-                _deleteMethod.invoke(object, (Object[]) null);
+                _deleteMethod.invoke(object);
               } else {
-                setter.invoke(object, new Object[] {value == null ? _default : value});
+                setter.invoke(object, value == null ? _default : value);
               }
             }
           }
@@ -545,8 +577,8 @@ public final class FieldHandlerImpl<T> extends AbstractFieldHandler<T> {
         } else if (_getMethod != null) {
           if (_getSequence != null)
             for (int i = 0; i < _getSequence.length; i++)
-              object = _getSequence[i].invoke(object, (Object[]) null);
-          collect = _getMethod.invoke(object, (Object[]) null);
+              object = _getSequence[i].invoke(object);
+          collect = _getMethod.invoke(object);
 
           // If we deal with a collection who is an array of primitive
           // and that has not been instantiated, we have to handle the
@@ -588,7 +620,7 @@ public final class FieldHandlerImpl<T> extends AbstractFieldHandler<T> {
             collect = tmp;
 
           if (setCollection && (_setMethod != null))
-            _setMethod.invoke(object, new Object[] {collect});
+            _setMethod.invoke(object, collect);
         }
       } catch (IllegalAccessException except) {
         // This should never happen
@@ -612,15 +644,15 @@ public final class FieldHandlerImpl<T> extends AbstractFieldHandler<T> {
         else if (_setMethod != null) {
           if (_getSequence != null)
             for (int i = 0; i < _getSequence.length; i++) {
-              object = _getSequence[i].invoke(object, (Object[]) null);
+              object = _getSequence[i].invoke(object);
               if (object == null)
                 break;
             }
           if (object != null) {
             if (_deleteMethod != null)
-              _deleteMethod.invoke(object, (Object[]) null);
+              _deleteMethod.invoke(object);
             else
-              _setMethod.invoke(object, new Object[] {_default});
+              _setMethod.invoke(object, _default);
           }
         }
         // If the field has no set method, ignore it.
@@ -655,11 +687,11 @@ public final class FieldHandlerImpl<T> extends AbstractFieldHandler<T> {
         } else if (_getMethod != null) {
           if (_getSequence != null)
             for (int i = 0; i < _getSequence.length; i++)
-              object = _getSequence[i].invoke(object, (Object[]) null);
-          collect = _getMethod.invoke(object, (Object[]) null);
+              object = _getSequence[i].invoke(object);
+          collect = _getMethod.invoke(object);
           collect = _colHandler.clear(collect);
           if (collect != null && _setMethod != null)
-            _setMethod.invoke(object, new Object[] {collect});
+            _setMethod.invoke(object, collect);
         }
       } catch (IllegalAccessException except) {
         // This should never happen
@@ -708,7 +740,10 @@ public final class FieldHandlerImpl<T> extends AbstractFieldHandler<T> {
     // If we have a create method and parent object, call the create method.
     if (_createMethod != null && parent != null) {
       try {
-        return (T) _createMethod.invoke(parent, args);
+        if (args == null || args.length == 0) {
+          return (T) _createMethod.invoke(parent);
+        }
+        return (T) _createMethod.getMethod().invoke(parent, args);
       } catch (IllegalAccessException except) {
         // This should never happen
         throw new IllegalStateException(
@@ -757,7 +792,7 @@ public final class FieldHandlerImpl<T> extends AbstractFieldHandler<T> {
     if (method.getParameterTypes().length != 0)
       throw new MappingException("mapping.createMethodNoParam", method,
           method.getDeclaringClass().getName());
-    _createMethod = method;
+    _createMethod = getAccessorFactory().getAccessor(method);
   }
 
   /**
@@ -774,7 +809,7 @@ public final class FieldHandlerImpl<T> extends AbstractFieldHandler<T> {
       if (hasMethod.getParameterTypes().length != 0)
         throw new MappingException("mapping.createMethodNoParam", hasMethod,
             hasMethod.getDeclaringClass().getName());
-      _hasMethod = hasMethod;
+      _hasMethod = getAccessorFactory().getAccessor(hasMethod);
     }
 
     if (deleteMethod != null) {
@@ -785,7 +820,7 @@ public final class FieldHandlerImpl<T> extends AbstractFieldHandler<T> {
       if (deleteMethod.getParameterTypes().length != 0)
         throw new MappingException("mapping.createMethodNoParam", deleteMethod,
             deleteMethod.getDeclaringClass().getName());
-      _deleteMethod = deleteMethod;
+      _deleteMethod = getAccessorFactory().getAccessor(deleteMethod);
     }
   }
 
@@ -801,7 +836,7 @@ public final class FieldHandlerImpl<T> extends AbstractFieldHandler<T> {
     if (method.getParameterTypes().length != 0)
       throw new MappingException("mapping.readMethodHasParam", method,
           method.getDeclaringClass().getName());
-    _getMethod = method;
+    _getMethod = getAccessorFactory().getAccessor(method);
   }
 
   /**
@@ -816,7 +851,7 @@ public final class FieldHandlerImpl<T> extends AbstractFieldHandler<T> {
     if (method.getParameterTypes().length != 1)
       throw new MappingException("mapping.writeMethodNoParam", method,
           method.getDeclaringClass().getName());
-    _setMethod = method;
+    _setMethod = getAccessorFactory().getAccessor(method);
   }
 
   /**
@@ -831,7 +866,7 @@ public final class FieldHandlerImpl<T> extends AbstractFieldHandler<T> {
     if (method.getParameterTypes().length != 1)
       throw new MappingException("mapping.writeMethodNoParam", method,
           method.getDeclaringClass().getName());
-    _addMethod = method;
+    _addMethod = getAccessorFactory().getAccessor(method);
 
     // -- make sure add method is not the same as the set method
     if (_addMethod == _setMethod)
@@ -851,7 +886,7 @@ public final class FieldHandlerImpl<T> extends AbstractFieldHandler<T> {
       throw new MappingException("mapping.readMethodHasParam", method,
           method.getDeclaringClass().getName());
 
-    _enumMethod = method;
+    _enumMethod = getAccessorFactory().getAccessor(method);
   }
 
   /**
@@ -866,7 +901,7 @@ public final class FieldHandlerImpl<T> extends AbstractFieldHandler<T> {
       throw new MappingException("mapping.readMethodHasParam", method,
           method.getDeclaringClass().getName());
 
-    _iterMethod = method;
+    _iterMethod = getAccessorFactory().getAccessor(method);
   }
 
   /**
@@ -875,7 +910,7 @@ public final class FieldHandlerImpl<T> extends AbstractFieldHandler<T> {
    * 
    * @return the selected write method
    **/
-  private Method selectWriteMethod(Object value) {
+  private MethodAccessor selectWriteMethod(Object value) {
     if (_setMethod != null) {
 
       if (_addMethod == null)
@@ -889,7 +924,7 @@ public final class FieldHandlerImpl<T> extends AbstractFieldHandler<T> {
       }
 
       // -- check value's class type
-      Class paramType = _setMethod.getParameterTypes()[0];
+      Class<?> paramType = _setMethod.getParameterType();
 
       if (paramType.isAssignableFrom(value.getClass()))
         return _setMethod;
@@ -899,6 +934,19 @@ public final class FieldHandlerImpl<T> extends AbstractFieldHandler<T> {
 
   } // -- selectWriteMethod
 
+  /**
+   * Returns the factory used to obtain {@link MethodAccessor}s, creating one if none has been
+   * supplied at construction time.
+   * 
+   * @return The {@link AccessorFactory} of this handler.
+   */
+  private AccessorFactory getAccessorFactory() {
+    if (_accessorFactory == null) {
+      _accessorFactory = new AccessorFactory();
+    }
+    return _accessorFactory;
+  }
+
   /**
    * Return true if the field is a collection.
    */
@@ -906,6 +954,17 @@ public final class FieldHandlerImpl<T> extends AbstractFieldHandler<T> {
     return (_colHandler != null);
   }
 
+  /**
+   * Returns the collection handler values are added to the field with, or null if the field is not
+   * a collection or values are added through an add method.
+   * 
+   * @return the collection handler used by {@link #setValue(Object, Object)}, or null
+   * @since 1.4.2
+   */
+  public CollectionHandler<T> getCollectionHandler() {
+    return (_addMethod == null) ? _colHandler : null;
+  }
+
   public String toString() {
     return _fieldName;
   }
@@ -41,8 +41,11 @@ import java.util.Enumeration;
 import java.util.NoSuchElementException;
 import org.exolab.castor.mapping.CollectionHandler;
 import org.exolab.castor.mapping.loader.collection.handler.ArrayCollectionHandler;
+import org.exolab.castor.mapping.loader.collection.handler.DoubleArrayCollectionHandler;
 import org.exolab.castor.mapping.loader.collection.handler.EnumerateCollectionHandler;
 import org.exolab.castor.mapping.loader.collection.handler.HashtableCollectionHandler;
+import org.exolab.castor.mapping.loader.collection.handler.IntArrayCollectionHandler;
+import org.exolab.castor.mapping.loader.collection.handler.LongArrayCollectionHandler;
 import org.exolab.castor.mapping.loader.collection.handler.VectorCollectionHandler;
 
 import java.lang.reflect.*;
@@ -67,6 +70,13 @@ public final class J1CollectionHandlers {
             // For array (any)
             new CollectionHandlers.Info("array", Object[].class, true,
                 new ArrayCollectionHandler()),
+            // For arrays of primitives, stored without reflection
+            new CollectionHandlers.Info("array", int[].class, true,
+                new IntArrayCollectionHandler()),
+            new CollectionHandlers.Info("array", long[].class, true,
+                new LongArrayCollectionHandler()),
+            new CollectionHandlers.Info("array", double[].class, true,
+                new DoubleArrayCollectionHandler()),
             // For Vector (1.1)
             new CollectionHandlers.Info("vector", Vector.class, false,
                 new VectorCollectionHandler()),
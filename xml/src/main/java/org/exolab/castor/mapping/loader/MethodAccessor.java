@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.mapping.loader;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Invokes a single accessor method (getter, setter, adder, has/delete/create method) on behalf of
+ * a {@link FieldHandlerImpl}. Implementations follow the contract of
+ * {@link Method#invoke(Object, Object...)}: an argument that does not match the method signature
+ * raises an {@link IllegalArgumentException}, and anything thrown by the accessor itself is wrapped
+ * in an {@link InvocationTargetException}.
+ * <p>
+ * Instances are obtained through an {@link AccessorFactory}.
+ * 
+ * @since 1.4.2
+ */
+public abstract class MethodAccessor {
+
+  /** The accessor method. */
+  private final Method _method;
+
+  /** The return type of the accessor method, cached as {@link Method} clones it on every call. */
+  private final Class<?> _returnType;
+
+  /** The type of the single parameter, or <code>null</code> if the method takes none. */
+  private final Class<?> _parameterType;
+
+  /**
+   * Creates an accessor for the given method.
+   * 
+   * @param method The accessor method.
+   */
+  protected MethodAccessor(final Method method) {
+    _method = method;
+    _returnType = method.getReturnType();
+    Class<?>[] parameterTypes = method.getParameterTypes();
+    _parameterType = (parameterTypes.length == 1) ? parameterTypes[0] : null;
+  }
+
+  /**
+   * Returns the accessor method.
+   * 
+   * @return The accessor method.
+   */
+  public final Method getMethod() {
+    return _method;
+  }
+
+  /**
+   * Returns the return type of the accessor method.
+   * 
+   * @return The return type of the accessor method.
+   */
+  public final Class<?> getReturnType() {
+    return _returnType;
+  }
+
+  /**
+   * Returns the type of the single parameter of the accessor method.
+   * 
+   * @return The parameter type, or <code>null</code> if the accessor takes no parameter.
+   */
+  public final Class<?> getParameterType() {
+    return _parameterType;
+  }
+
+  /**
+   * Invokes an accessor that takes no parameter.
+   * 
+   * @param target The object to invoke the accessor on.
+   * @return The (boxed) return value, <code>null</code> for <code>void</code> methods.
+   * @throws IllegalAccessException If the accessor is not accessible.
+   * @throws InvocationTargetException If the accessor throws an exception.
+   */
+  public abstract Object invoke(Object target)
+      throws IllegalAccessException, InvocationTargetException;
+
+  /**
+   * Invokes an accessor that takes a single parameter.
+   * 
+   * @param target The object to invoke the accessor on.
+   * @param argument The argument, will be unboxed for primitive parameters.
+   * @return The (boxed) return value, <code>null</code> for <code>void</code> methods.
+   * @throws IllegalAccessException If the accessor is not accessible.
+   * @throws InvocationTargetException If the accessor throws an exception.
+   */
+  public abstract Object invoke(Object target, Object argument)
+      throws IllegalAccessException, InvocationTargetException;
+
+  public String toString() {
+    return _method.toString();
+  }
+}
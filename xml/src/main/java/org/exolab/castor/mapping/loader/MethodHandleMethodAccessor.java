@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.mapping.loader;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * {@link MethodAccessor} backed by a {@link MethodHandle} adapted to an all-<code>Object</code>
+ * signature. Compared to {@link Method#invoke(Object, Object...)} this neither allocates an
+ * argument array nor re-checks access on every call.
+ * <p>
+ * Receiver and argument are checked up front so that a mismatch is reported exactly as reflection
+ * would report it ({@link NullPointerException} for a <code>null</code> receiver,
+ * {@link IllegalArgumentException} otherwise); whatever the handle throws afterwards originates
+ * from the accessor itself and is wrapped in an {@link InvocationTargetException}.
+ * 
+ * @since 1.4.2
+ */
+final class MethodHandleMethodAccessor extends MethodAccessor {
+
+  /** The handle adapted to type <tt>(Object)Object</tt> or <tt>(Object,Object)Object</tt>. */
+  private final MethodHandle _handle;
+
+  /** Class declaring the accessor; the receiver has to be an instance of it. */
+  private final Class<?> _declaringClass;
+
+  /** Wrapper type of the parameter, equals the parameter type for reference types. */
+  private final Class<?> _boxedParameterType;
+
+  MethodHandleMethodAccessor(final Method method, final MethodHandle handle) {
+    super(method);
+    _handle = handle.asType(handle.type().generic());
+    _declaringClass = method.getDeclaringClass();
+    Class<?> parameterType = getParameterType();
+    _boxedParameterType = (parameterType == null) ? null
+        : MethodType.methodType(parameterType).wrap().returnType();
+  }
+
+  public Object invoke(final Object target) throws InvocationTargetException {
+    checkTarget(target);
+    if (_boxedParameterType != null) {
+      throw new IllegalArgumentException("wrong number of arguments");
+    }
+    try {
+      return (Object) _handle.invokeExact(target);
+    } catch (Throwable t) {
+      throw new InvocationTargetException(t);
+    }
+  }
+
+  public Object invoke(final Object target, final Object argument)
+      throws InvocationTargetException {
+    checkTarget(target);
+    checkArgument(argument);
+    try {
+      return (Object) _handle.invokeExact(target, argument);
+    } catch (Throwable t) {
+      throw new InvocationTargetException(t);
+    }
+  }
+
+  private void checkTarget(final Object target) {
+    if (!_declaringClass.isInstance(target)) {
+      if (target == null) {
+        throw new NullPointerException();
+      }
+      throw new IllegalArgumentException("object is not an instance of declaring class");
+    }
+  }
+
+  private void checkArgument(final Object argument) {
+    if (_boxedParameterType == null) {
+      throw new IllegalArgumentException("wrong number of arguments");
+    }
+    if (argument == null) {
+      if (getParameterType().isPrimitive()) {
+        throw new IllegalArgumentException("null passed for primitive parameter");
+      }
+    } else if (!_boxedParameterType.isInstance(argument)
+        && !isWidening(getParameterType(), argument.getClass())) {
+      throw new IllegalArgumentException("argument type mismatch");
+    }
+  }
+
+  /**
+   * Checks whether a value of the given wrapper type can be passed to a parameter of the given
+   * primitive type through a widening primitive conversion (JLS 5.1.2), as reflection permits.
+   * 
+   * @param primitive The parameter type.
+   * @param wrapper The class of the argument.
+   * @return <code>true</code> if the conversion is permitted.
+   */
+  private static boolean isWidening(final Class<?> primitive, final Class<?> wrapper) {
+    if (!primitive.isPrimitive()) {
+      return false;
+    }
+    if (wrapper == Byte.class) {
+      return primitive == Short.TYPE || primitive == Integer.TYPE || primitive == Long.TYPE
+          || primitive == Float.TYPE || primitive == Double.TYPE;
+    }
+    if (wrapper == Short.class || wrapper == Character.class) {
+      return primitive == Integer.TYPE || primitive == Long.TYPE || primitive == Float.TYPE
+          || primitive == Double.TYPE;
+    }
+    if (wrapper == Integer.class) {
+      return primitive == Long.TYPE || primitive == Float.TYPE || primitive == Double.TYPE;
+    }
+    if (wrapper == Long.class) {
+      return primitive == Float.TYPE || primitive == Double.TYPE;
+    }
+    if (wrapper == Float.class) {
+      return primitive == Double.TYPE;
+    }
+    return false;
+  }
+}
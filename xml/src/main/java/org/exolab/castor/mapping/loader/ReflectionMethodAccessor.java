@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.mapping.loader;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * {@link MethodAccessor} that calls {@link Method#invoke(Object, Object...)}. Used whenever no
+ * {@link java.lang.invoke.MethodHandle} can be obtained for an accessor, e.g. for public methods
+ * declared by a non-public class.
+ * 
+ * @since 1.4.2
+ */
+final class ReflectionMethodAccessor extends MethodAccessor {
+
+  ReflectionMethodAccessor(final Method method) {
+    super(method);
+  }
+
+  public Object invoke(final Object target)
+      throws IllegalAccessException, InvocationTargetException {
+    return getMethod().invoke(target, (Object[]) null);
+  }
+
+  public Object invoke(final Object target, final Object argument)
+      throws IllegalAccessException, InvocationTargetException {
+    return getMethod().invoke(target, new Object[] {argument});
+  }
+}
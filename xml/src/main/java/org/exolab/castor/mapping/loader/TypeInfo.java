@@ -131,7 +131,7 @@ public class TypeInfo<T> {
         // -- needs to be base64 encoded/decoded.
         if (fieldType.getComponentType() != Byte.TYPE) {
           try {
-            colHandler = CollectionHandlers.getHandler(Object[].class);
+            colHandler = CollectionHandlers.getHandler(fieldType);
           } catch (Exception e) {
             // -- If we make it here, there was probably something wrong
             // -- with loading the J1CollectionHandlers class...
@@ -44,6 +44,7 @@ import java.util.Vector;
 
 import org.castor.core.util.Messages;
 import org.exolab.castor.types.Duration;
+import org.exolab.castor.util.ConstructorCache;
 
 /**
  * Type information. Can be used to map between short type names (such as 'int') and actual Java
@@ -271,7 +272,7 @@ public class Types {
    */
   public static Object newInstance(Class<?> type) throws IllegalStateException {
     try {
-      return type.newInstance();
+      return ConstructorCache.newInstance(type);
     } catch (IllegalAccessException except) {
       // This should never happen unless byte code changed all of a sudden
       throw new IllegalStateException(
@@ -404,7 +405,7 @@ public class Types {
   private static Constructor<?> findConstructor(Class<?> type, Object[] args)
       throws NoSuchMethodException {
 
-    Constructor<?>[] constructors = type.getConstructors();
+    Constructor<?>[] constructors = ConstructorCache.getConstructors(type);
     Constructor<?> cons = null;
     int rank = 0;
 
@@ -0,0 +1,25 @@
+package org.exolab.castor.mapping.loader.collection.handler;
+
+/**
+ * Collection handler for <code>double[]</code>.
+ *
+ * @since 1.4.2
+ */
+public final class DoubleArrayCollectionHandler extends PrimitiveArrayCollectionHandler<Double> {
+
+  public DoubleArrayCollectionHandler() {
+    super(Double.TYPE);
+  }
+
+  protected void set(final Object array, final int index, final Object value) {
+    ((double[]) array)[index] = ((Number) value).doubleValue();
+  }
+
+  protected Double get(final Object array, final int index) {
+    return ((double[]) array)[index];
+  }
+
+  protected void append(final StringBuilder buffer, final Object array, final int index) {
+    buffer.append(((double[]) array)[index]);
+  }
+}
@@ -0,0 +1,25 @@
+package org.exolab.castor.mapping.loader.collection.handler;
+
+/**
+ * Collection handler for <code>int[]</code>.
+ *
+ * @since 1.4.2
+ */
+public final class IntArrayCollectionHandler extends PrimitiveArrayCollectionHandler<Integer> {
+
+  public IntArrayCollectionHandler() {
+    super(Integer.TYPE);
+  }
+
+  protected void set(final Object array, final int index, final Object value) {
+    ((int[]) array)[index] = ((Number) value).intValue();
+  }
+
+  protected Integer get(final Object array, final int index) {
+    return ((int[]) array)[index];
+  }
+
+  protected void append(final StringBuilder buffer, final Object array, final int index) {
+    buffer.append(((int[]) array)[index]);
+  }
+}
@@ -0,0 +1,25 @@
+package org.exolab.castor.mapping.loader.collection.handler;
+
+/**
+ * Collection handler for <code>long[]</code>.
+ *
+ * @since 1.4.2
+ */
+public final class LongArrayCollectionHandler extends PrimitiveArrayCollectionHandler<Long> {
+
+  public LongArrayCollectionHandler() {
+    super(Long.TYPE);
+  }
+
+  protected void set(final Object array, final int index, final Object value) {
+    ((long[]) array)[index] = ((Number) value).longValue();
+  }
+
+  protected Long get(final Object array, final int index) {
+    return ((long[]) array)[index];
+  }
+
+  protected void append(final StringBuilder buffer, final Object array, final int index) {
+    buffer.append(((long[]) array)[index]);
+  }
+}
@@ -0,0 +1,257 @@
+package org.exolab.castor.mapping.loader.collection.handler;
+
+import java.lang.reflect.Array;
+import java.util.Enumeration;
+import java.util.NoSuchElementException;
+
+import org.exolab.castor.mapping.CollectionHandler;
+import org.exolab.castor.mapping.loader.CollectionHandlers;
+
+/**
+ * Collection handler for arrays of a primitive type. Elements are stored into and read from the
+ * primitive array directly instead of through reflection, an array of the component type is
+ * appended as a whole, and a {@link Buffer} accumulates a large number of values with amortized
+ * growth before they are added at once.
+ *
+ * @param <T> the wrapper type of the array elements
+ * @since 1.4.2
+ */
+public abstract class PrimitiveArrayCollectionHandler<T> implements CollectionHandler<T> {
+
+  /** The initial capacity of a {@link Buffer}. */
+  private static final int INITIAL_CAPACITY = 16;
+
+  /** The primitive component type of the arrays handled. */
+  private final Class<?> _componentType;
+
+  /**
+   * Creates a handler for arrays of the given primitive type.
+   *
+   * @param componentType the primitive component type of the arrays handled
+   */
+  protected PrimitiveArrayCollectionHandler(final Class<?> componentType) {
+    _componentType = componentType;
+  }
+
+  /**
+   * Returns the primitive component type of the arrays handled.
+   *
+   * @return the primitive component type of the arrays handled
+   */
+  public final Class<?> getComponentType() {
+    return _componentType;
+  }
+
+  /**
+   * Stores the given wrapper value into the array at the given index.
+   *
+   * @param array the array of the component type
+   * @param index the index to store the value at
+   * @param value the wrapper value to store
+   */
+  protected abstract void set(Object array, int index, Object value);
+
+  /**
+   * Returns the wrapper value of the array element at the given index.
+   *
+   * @param array the array of the component type
+   * @param index the index of the element
+   * @return the element as its wrapper value
+   */
+  protected abstract T get(Object array, int index);
+
+  /**
+   * Appends the string representation of the array element at the given index.
+   *
+   * @param buffer the buffer to append to
+   * @param array the array of the component type
+   * @param index the index of the element
+   */
+  protected abstract void append(StringBuilder buffer, Object array, int index);
+
+  /**
+   * Appends the string representations of all elements of the array, separated by a single
+   * space, without creating wrapper values.
+   *
+   * @param buffer the buffer to append to
+   * @param collection the array of the component type
+   */
+  public void appendElements(final StringBuilder buffer, final Object collection) {
+    Object array = checkArray(collection);
+    int length = Array.getLength(array);
+    for (int i = 0; i < length; i++) {
+      if (i > 0) {
+        buffer.append(' ');
+      }
+      append(buffer, array, i);
+    }
+  }
+
+  /**
+   * Adds the given value to the array. The value is either a single element, as its wrapper
+   * type, or an array of the component type whose elements are all appended.
+   */
+  public Object add(final Object collection, final T object) {
+    if (object.getClass().getComponentType() == _componentType) {
+      return addElements(collection, object);
+    }
+    Object array = checkArray(collection);
+    int length = Array.getLength(array);
+    Object newArray = copyOf(array, length, length + 1);
+    set(newArray, length, object);
+    return newArray;
+  }
+
+  /**
+   * Appends all elements of the given array to the array.
+   *
+   * @param collection the array of the component type, or null
+   * @param elements the array of the component type holding the elements to append
+   * @return the new array holding the elements of both
+   */
+  public Object addElements(final Object collection, final Object elements) {
+    Object array = checkArray(collection);
+    int length = Array.getLength(array);
+    int count = Array.getLength(checkArray(elements));
+    Object newArray = copyOf(array, length, length + count);
+    System.arraycopy(elements, 0, newArray, length, count);
+    return newArray;
+  }
+
+  public Enumeration<T> elements(final Object collection) {
+    if (collection == null) {
+      return new CollectionHandlers.EmptyEnumerator<T>();
+    }
+    return new PrimitiveArrayEnumerator(checkArray(collection));
+  }
+
+  public int size(final Object collection) {
+    if (collection == null) {
+      return 0;
+    }
+    return Array.getLength(checkArray(collection));
+  }
+
+  public Object clear(final Object collection) {
+    if (collection == null) {
+      return null;
+    }
+    checkArray(collection);
+    return Array.newInstance(_componentType, 0);
+  }
+
+  /**
+   * Creates a buffer accumulating elements for an array handled by this handler.
+   *
+   * @return a new, empty buffer
+   */
+  public Buffer newBuffer() {
+    return new Buffer();
+  }
+
+  public String toString() {
+    return _componentType.getName() + "[]";
+  }
+
+  /**
+   * Returns the given collection as an array of the component type, or an empty array if null.
+   */
+  private Object checkArray(final Object collection) {
+    if (collection == null) {
+      return Array.newInstance(_componentType, 0);
+    }
+    if (collection.getClass().getComponentType() != _componentType) {
+      String err = "PrimitiveArrayCollectionHandler#add: type mismatch, expecting an array of "
+          + _componentType.getName() + ", instead received: " + collection.getClass().getName();
+      throw new IllegalArgumentException(err);
+    }
+    return collection;
+  }
+
+  /**
+   * Returns a new array of the component type holding the first elements of the given array.
+   */
+  private Object copyOf(final Object array, final int count, final int length) {
+    Object newArray = Array.newInstance(_componentType, length);
+    System.arraycopy(array, 0, newArray, 0, count);
+    return newArray;
+  }
+
+  /**
+   * Accumulates the elements of an array, growing its storage geometrically rather than by one
+   * element per value.
+   */
+  public final class Buffer {
+
+    /** The storage, of which the first {@link #_size} elements are in use. */
+    private Object _array = Array.newInstance(_componentType, INITIAL_CAPACITY);
+
+    /** The number of elements accumulated. */
+    private int _size;
+
+    /**
+     * Appends the given wrapper value.
+     *
+     * @param value the value to append
+     */
+    public void add(final Object value) {
+      int capacity = Array.getLength(_array);
+      if (_size == capacity) {
+        _array = copyOf(_array, _size, capacity + (capacity >> 1));
+      }
+      set(_array, _size++, value);
+    }
+
+    /**
+     * Returns the number of elements accumulated.
+     *
+     * @return the number of elements accumulated
+     */
+    public int size() {
+      return _size;
+    }
+
+    /**
+     * Returns the accumulated elements as an array of the component type of exact length.
+     *
+     * @return the accumulated elements
+     */
+    public Object toArray() {
+      if (_size == Array.getLength(_array)) {
+        return _array;
+      }
+      return copyOf(_array, _size, _size);
+    }
+  }
+
+  /**
+   * Enumerates the elements of an array of the component type.
+   */
+  private final class PrimitiveArrayEnumerator implements Enumeration<T> {
+
+    /** The array enumerated. */
+    private final Object _array;
+
+    /** The length of the array. */
+    private final int _length;
+
+    /** The index of the next element. */
+    private int _index;
+
+    PrimitiveArrayEnumerator(final Object array) {
+      _array = array;
+      _length = Array.getLength(array);
+    }
+
+    public boolean hasMoreElements() {
+      return _index < _length;
+    }
+
+    public T nextElement() {
+      if (_index >= _length) {
+        throw new NoSuchElementException();
+      }
+      return get(_array, _index++);
+    }
+  }
+}
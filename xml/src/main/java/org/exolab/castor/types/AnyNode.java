@@ -36,9 +36,12 @@
 package org.exolab.castor.types;
 
 import java.io.StringWriter;
-import java.util.Stack;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 import org.castor.xml.BackwardCompatibilityContext;
+import org.castor.xml.InternalContext;
 import org.exolab.castor.xml.Serializer;
 import org.exolab.castor.xml.util.AnyNode2SAX;
 
@@ -117,6 +120,12 @@ public final class AnyNode implements java.io.Serializable {
    */
   private AnyNode _firstChildNode = null;
 
+  /**
+   * The last node of the sibling chain starting at this node, as last seen by
+   * {@link #appendSibling(AnyNode)}, used to append siblings (and thus children) in constant time.
+   * Not serialized; it is recomputed lazily when missing or stale.
+   */
+  private transient AnyNode _lastSiblingNode = null;
 
   /**
    * the local name of the current node.
@@ -133,15 +142,6 @@ public final class AnyNode implements java.io.Serializable {
    */
   private String _prefix;
 
-  /**
-   * A stack used for avoiding endless loop in toString()
-   */
-  private static Stack<AnyNode> _elements;
-
-  /**
-   * The namespace context used in the toString()
-   */
-
   /**
    * The value of this node defined as follow:
    * <ul>
@@ -513,7 +513,7 @@ public final class AnyNode implements java.io.Serializable {
    * @return the String representation of this AnyNode.
    */
   public String toString() {
-    Serializer serializer = new BackwardCompatibilityContext().getSerializer();
+    Serializer serializer = SerializerContext.CONTEXT.getSerializer();
     if (serializer == null) {
       throw new RuntimeException("Unable to obtain serializer");
     }
@@ -534,17 +534,20 @@ public final class AnyNode implements java.io.Serializable {
   }
 
   private String privateToString() {
-    StringBuilder sb = new StringBuilder(4096);
-
-    if (_elements == null) {
-      _elements = new Stack<>();
-    }
-
-    // check the Stack too see if we have
-    // already proceed the node
-    if (_elements.search(this) == -1) {
-      _elements.push(this);
+    StringBuilder sb = new StringBuilder(256);
+    privateToString(sb, Collections.newSetFromMap(new IdentityHashMap<AnyNode, Boolean>()));
+    return sb.toString();
+  }
 
+  /**
+   * Appends the String representation of this node to the given buffer.
+   * 
+   * @param sb the buffer to append to.
+   * @param ancestors the elements currently being written, used to avoid endless loops.
+   */
+  private void privateToString(final StringBuilder sb, final Set<AnyNode> ancestors) {
+    // check the ancestors to see if we are already processing the node
+    if (ancestors.add(this)) {
       if (this.getNodeType() == ELEMENT) {
         // open the tag
         sb.append('<');
@@ -579,7 +582,7 @@ public final class AnyNode implements java.io.Serializable {
         if (tempNode != null) {
           sb.append('>');
           while (tempNode != null) {
-            sb.append(tempNode.privateToString());
+            tempNode.privateToString(sb, ancestors);
             tempNode = tempNode.getNextSibling();
           }
           // close the tag
@@ -590,8 +593,8 @@ public final class AnyNode implements java.io.Serializable {
       } else {
         sb.append(this.getStringValue());
       }
+      ancestors.remove(this);
     }
-    return sb.toString();
   }// toString()
 
   /**
@@ -612,16 +615,20 @@ public final class AnyNode implements java.io.Serializable {
       throw new UnsupportedOperationException(err);
     }
 
-    if (_nextSiblingNode == null) {
-      // if we already have a TEXT node -> merge
-      if ((node.getNodeType() == TEXT) && (this.getNodeType() == TEXT)) {
-        mergeTextNode(this, node);
-      } else {
-        _nextSiblingNode = node;
-      }
+    // the cached tail may lag behind if siblings were appended through another node of the chain
+    AnyNode last = (_lastSiblingNode != null) ? _lastSiblingNode : this;
+    while (last._nextSiblingNode != null) {
+      last = last._nextSiblingNode;
+    }
+
+    // if we already have a TEXT node -> merge
+    if ((node.getNodeType() == TEXT) && (last.getNodeType() == TEXT)) {
+      mergeTextNode(last, node);
     } else {
-      _nextSiblingNode.appendSibling(node);
+      last._nextSiblingNode = node;
+      last = node;
     }
+    _lastSiblingNode = last;
   }
 
   /**
@@ -651,4 +658,13 @@ public final class AnyNode implements java.io.Serializable {
     node2 = null;
   }
 
+  /**
+   * Holds the context used by {@link #toString()}, created on first use and shared afterwards;
+   * obtaining a serializer from it does not modify it.
+   */
+  private static final class SerializerContext {
+    /** The shared context. */
+    static final InternalContext CONTEXT = new BackwardCompatibilityContext();
+  }
+
 }
@@ -39,7 +39,7 @@ package org.exolab.castor.types;
 
 import java.text.ParseException;
 import java.util.Calendar;
-import java.util.GregorianCalendar;
+import java.util.TimeZone;
 
 /**
  * Describe an XML Schema Date.
@@ -96,12 +96,11 @@ public class Date extends DateTimeBase {
    * @param dateRef the java.util.Date to use to construct a new org.exolab.castor.types.Date
    */
   public Date(java.util.Date dateRef) {
-    GregorianCalendar tempCalendar = new GregorianCalendar();
-    tempCalendar.setTime(dateRef);
+    Calendar tempCalendar = DateTimeCodec.getCalendar(dateRef, TimeZone.getDefault());
     setCentury((short) (tempCalendar.get(Calendar.YEAR) / 100));
     setYear((short) (tempCalendar.get(Calendar.YEAR) % 100));
 
-    // we need to add 1 to the Month value returned by GregorianCalendar
+    // we need to add 1 to the Month value returned by Calendar
     // because 0<MONTH<11 (i.e January is 0)
     setMonth((short) (tempCalendar.get(Calendar.MONTH) + 1));
     setDay((short) tempCalendar.get(Calendar.DAY_OF_MONTH));
@@ -165,10 +164,8 @@ public class Date extends DateTimeBase {
    * @return a local date representing this Date.
    */
   public java.util.Date toDate() {
-    Calendar calendar =
-        new GregorianCalendar(getCentury() * 100 + getYear(), getMonth() - 1, getDay());
-    setDateFormatTimeZone(calendar);
-    return calendar.getTime();
+    return DateTimeCodec.toDate(DateTimeCodec.getTimeZone(this), getCentury() * 100 + getYear(),
+        getMonth(), getDay(), 0, 0, 0, 0);
   } // toDate()
 
   /**
@@ -17,7 +17,7 @@ package org.exolab.castor.types;
 
 import java.text.ParseException;
 import java.util.Calendar;
-import java.util.GregorianCalendar;
+import java.util.TimeZone;
 
 /**
  * Describe an XML schema DateTime.
@@ -78,12 +78,11 @@ public class DateTime extends DateTimeBase {
    * @param dateRef a java.util.Date to convert.
    */
   public DateTime(java.util.Date dateRef) {
-    GregorianCalendar tempCalendar = new GregorianCalendar();
-    tempCalendar.setTime(dateRef);
+    Calendar tempCalendar = DateTimeCodec.getCalendar(dateRef, TimeZone.getDefault());
 
     setCentury((short) (tempCalendar.get(Calendar.YEAR) / 100));
     setYear((short) (tempCalendar.get(Calendar.YEAR) % 100));
-    // In GregorianCalendar, 0 <= Month <= 11; January == 0
+    // In Calendar, 0 <= Month <= 11; January == 0
     setMonth((short) (tempCalendar.get(Calendar.MONTH) + 1));
     setDay((short) tempCalendar.get(Calendar.DAY_OF_MONTH));
 
@@ -173,11 +172,8 @@ public class DateTime extends DateTimeBase {
    * @return a local java.util.Date representing this DateTime.
    */
   public java.util.Date toDate() {
-    Calendar calendar = new GregorianCalendar(getCentury() * 100 + getYear(), getMonth() - 1,
-        getDay(), getHour(), getMinute(), getSeconds());
-    calendar.set(Calendar.MILLISECOND, getMilli());
-    setDateFormatTimeZone(calendar);
-    return calendar.getTime();
+    return DateTimeCodec.toDate(DateTimeCodec.getTimeZone(this), getCentury() * 100 + getYear(),
+        getMonth(), getDay(), getHour(), getMinute(), getSeconds(), getMilli());
   } // toDate()
 
   /**
@@ -228,6 +224,19 @@ public class DateTime extends DateTimeBase {
     return parseDateTimeInternal(str, new DateTime());
   }
 
+  /**
+   * Parses a character sequence into a new DateTime instance. The characters are read in place,
+   * without copying them into a String first.
+   *
+   * @param str the character sequence to parse
+   * @return a new DateTime instance with the value of the parsed characters.
+   * @throws ParseException If the characters to parse do not follow the right format
+   * @since 1.4.2
+   */
+  public static DateTime parseDateTime(CharSequence str) throws ParseException {
+    return parseDateTimeInternal(str, new DateTime());
+  }
+
   /**
    * Parses a String into the provided DateTime instance (or a new DateTime instance if the one
    * provided is null) and assigns that value to the DateTime instance given.
@@ -238,7 +247,8 @@ public class DateTime extends DateTimeBase {
    * @return the DateTime instance with the value of the parsed string.
    * @throws ParseException If the string to parse does not follow the right format
    */
-  private static DateTime parseDateTimeInternal(String str, DateTime result) throws ParseException {
+  private static DateTime parseDateTimeInternal(CharSequence str, DateTime result)
+      throws ParseException {
     if (str == null) {
       throw new IllegalArgumentException("The string to be parsed must not be null.");
     }
@@ -247,25 +257,23 @@ public class DateTime extends DateTimeBase {
       result = new DateTime();
     }
 
-    char[] chars = str.toCharArray();
-
-    if (chars.length < 19) {
+    if (str.length() < 19) {
       throw new ParseException(BAD_DATE + str + "\nDateTime is not long enough", 0);
     }
 
     int idx = 0;
-    idx = parseYear(str, result, chars, idx, BAD_DATE);
-    idx = parseMonth(str, result, chars, idx, BAD_DATE);
-    idx = parseDay(str, result, chars, idx, BAD_DATE);
+    idx = parseYear(str, result, idx, BAD_DATE);
+    idx = parseMonth(str, result, idx, BAD_DATE);
+    idx = parseDay(str, result, idx, BAD_DATE);
 
-    if (chars[idx] != 'T') {
+    if (idx >= str.length() || str.charAt(idx) != 'T') {
       throw new ParseException(BAD_DATE + str + "\n 'T' " + DateTimeBase.WRONGLY_PLACED, idx);
     }
 
     idx++;
 
-    idx = parseTime(str, result, chars, idx, BAD_DATE);
-    parseTimeZone(str, result, chars, idx, BAD_DATE);
+    idx = parseTime(str, result, idx, BAD_DATE);
+    parseTimeZone(str, result, idx, BAD_DATE);
 
     return result;
   } // parse
@@ -1064,23 +1064,50 @@ public abstract class DateTimeBase implements java.io.Serializable, Cloneable {
 
   ////////////// COMMON CODE USED BY EXTENDING CLASSES ///////////////////////
 
+  // The variants taking a char array read the given string directly; the array is not used.
+
   protected static int parseYear(final String str, final DateTimeBase result, final char[] chars,
       final int index, final String complaint) throws ParseException {
+    return parseYear(str, result, index, complaint);
+  }
+
+  protected static int parseMonth(final String str, final DateTimeBase result, final char[] chars,
+      final int index, final String complaint) throws ParseException {
+    return parseMonth(str, result, index, complaint);
+  }
+
+  protected static int parseDay(final String str, final DateTimeBase result, final char[] chars,
+      final int index, final String complaint) throws ParseException {
+    return parseDay(str, result, index, complaint);
+  }
+
+  protected static int parseTime(final String str, final DateTimeBase result, final char[] chars,
+      final int index, final String complaint) throws ParseException {
+    return parseTime(str, result, index, complaint);
+  }
+
+  protected static int parseTimeZone(final String str, final DateTimeBase result,
+      final char[] chars, final int index, final String complaint) throws ParseException {
+    return parseTimeZone(str, result, index, complaint);
+  }
+
+  protected static int parseYear(final CharSequence str, final DateTimeBase result,
+      final int index, final String complaint) throws ParseException {
     int idx = index;
 
-    if (chars[idx] == '-') {
+    if (str.charAt(idx) == '-') {
       idx++;
       result.setNegative();
     }
 
-    if (str.length() < idx + 4 || !Character.isDigit(chars[idx])
-        || !Character.isDigit(chars[idx + 1]) || !Character.isDigit(chars[idx + 2])
-        || !Character.isDigit(chars[idx + 3])) {
+    if (str.length() < idx + 4 || !Character.isDigit(str.charAt(idx))
+        || !Character.isDigit(str.charAt(idx + 1)) || !Character.isDigit(str.charAt(idx + 2))
+        || !Character.isDigit(str.charAt(idx + 3))) {
       throw new ParseException(complaint + str + "\nThe Year must be 4 digits long", idx);
     }
 
-    short value1 = (short) ((chars[idx] - '0') * 10 + (chars[idx + 1] - '0'));
-    short value2 = (short) ((chars[idx + 2] - '0') * 10 + (chars[idx + 3] - '0'));
+    short value1 = (short) ((str.charAt(idx) - '0') * 10 + (str.charAt(idx + 1) - '0'));
+    short value2 = (short) ((str.charAt(idx + 2) - '0') * 10 + (str.charAt(idx + 3) - '0'));
 
     if (value1 == 0 && value2 == 0) {
       throw new ParseException(complaint + str + "\n'0000' is not allowed as a year.", idx);
@@ -1094,51 +1121,51 @@ public abstract class DateTimeBase implements java.io.Serializable, Cloneable {
     return idx;
   }
 
-  protected static int parseMonth(final String str, final DateTimeBase result, final char[] chars,
+  protected static int parseMonth(final CharSequence str, final DateTimeBase result,
       final int index, final String complaint) throws ParseException {
     int idx = index;
 
-    if (chars[idx] != '-') {
+    if (str.charAt(idx) != '-') {
       throw new ParseException(complaint + str + "\n '-' " + DateTimeBase.WRONGLY_PLACED, idx);
     }
 
     idx++;
 
-    if (str.length() < idx + 2 || !Character.isDigit(chars[idx])
-        || !Character.isDigit(chars[idx + 1])) {
+    if (str.length() < idx + 2 || !Character.isDigit(str.charAt(idx))
+        || !Character.isDigit(str.charAt(idx + 1))) {
       throw new ParseException(complaint + str + "\nThe Month must be 2 digits long", idx);
     }
 
-    short value1 = (short) ((chars[idx] - '0') * 10 + (chars[idx + 1] - '0'));
+    short value1 = (short) ((str.charAt(idx) - '0') * 10 + (str.charAt(idx + 1) - '0'));
     result.setMonth(value1);
 
     idx += 2;
     return idx;
   }
 
-  protected static int parseDay(final String str, final DateTimeBase result, final char[] chars,
+  protected static int parseDay(final CharSequence str, final DateTimeBase result,
       final int index, final String complaint) throws ParseException {
     int idx = index;
 
-    if (chars[idx] != '-') {
+    if (str.charAt(idx) != '-') {
       throw new ParseException(complaint + str + "\n '-' " + DateTimeBase.WRONGLY_PLACED, idx);
     }
 
     idx++;
 
-    if (str.length() < idx + 2 || !Character.isDigit(chars[idx])
-        || !Character.isDigit(chars[idx + 1])) {
+    if (str.length() < idx + 2 || !Character.isDigit(str.charAt(idx))
+        || !Character.isDigit(str.charAt(idx + 1))) {
       throw new ParseException(complaint + str + "\nThe Day must be 2 digits long", idx);
     }
 
-    short value1 = (short) ((chars[idx] - '0') * 10 + (chars[idx + 1] - '0'));
+    short value1 = (short) ((str.charAt(idx) - '0') * 10 + (str.charAt(idx + 1) - '0'));
     result.setDay(value1);
 
     idx += 2;
     return idx;
   }
 
-  protected static int parseTime(final String str, final DateTimeBase result, final char[] chars,
+  protected static int parseTime(final CharSequence str, final DateTimeBase result,
       final int index, final String complaint) throws ParseException {
     int idx = index;
 
@@ -1147,13 +1174,13 @@ public abstract class DateTimeBase implements java.io.Serializable, Cloneable {
           complaint + str + "\nA Time field must be at least 8 characters long", idx);
     }
 
-    if (!Character.isDigit(chars[idx]) || !Character.isDigit(chars[idx + 1])) {
+    if (!Character.isDigit(str.charAt(idx)) || !Character.isDigit(str.charAt(idx + 1))) {
       throw new ParseException(complaint + str + "\nThe Hour must be 2 digits long", idx);
     }
 
     short hour;
 
-    hour = (short) ((chars[idx] - '0') * 10 + (chars[idx + 1] - '0'));
+    hour = (short) ((str.charAt(idx) - '0') * 10 + (str.charAt(idx + 1) - '0'));
 
     boolean isHourOfValue24 = false;
     if (hour == 24) {
@@ -1169,17 +1196,17 @@ public abstract class DateTimeBase implements java.io.Serializable, Cloneable {
     idx += 2;
 
     // Minutes
-    if (chars[idx] != ':') {
+    if (str.charAt(idx) != ':') {
       throw new ParseException(complaint + str + "\n ':#1' " + DateTimeBase.WRONGLY_PLACED, idx);
     }
 
     idx++;
 
-    if (!Character.isDigit(chars[idx]) || !Character.isDigit(chars[idx + 1])) {
+    if (!Character.isDigit(str.charAt(idx)) || !Character.isDigit(str.charAt(idx + 1))) {
       throw new ParseException(complaint + str + "\nThe Minute must be 2 digits long", idx);
     }
 
-    short minutes = (short) ((chars[idx] - '0') * 10 + (chars[idx + 1] - '0'));
+    short minutes = (short) ((str.charAt(idx) - '0') * 10 + (str.charAt(idx + 1) - '0'));
 
     if (isHourOfValue24 && minutes != 0) {
       throw new ParseException(
@@ -1191,17 +1218,17 @@ public abstract class DateTimeBase implements java.io.Serializable, Cloneable {
     idx += 2;
 
     // Seconds
-    if (chars[idx] != ':') {
+    if (str.charAt(idx) != ':') {
       throw new ParseException(complaint + str + "\n ':#2' " + DateTimeBase.WRONGLY_PLACED, idx);
     }
 
     idx++;
 
-    if (!Character.isDigit(chars[idx]) || !Character.isDigit(chars[idx + 1])) {
+    if (!Character.isDigit(str.charAt(idx)) || !Character.isDigit(str.charAt(idx + 1))) {
       throw new ParseException(complaint + str + "\nThe Second must be 2 digits long", idx);
     }
 
-    short seconds = (short) ((chars[idx] - '0') * 10 + (chars[idx + 1] - '0'));
+    short seconds = (short) ((str.charAt(idx) - '0') * 10 + (str.charAt(idx + 1) - '0'));
     if (isHourOfValue24 && seconds != 0) {
       throw new ParseException(
           complaint + str + "\nWhen an hour of 24 is used, seconds must be strictly of value 00.",
@@ -1211,13 +1238,13 @@ public abstract class DateTimeBase implements java.io.Serializable, Cloneable {
 
     idx += 2;
 
-    if (idx < chars.length && chars[idx] == '.') {
+    if (idx < str.length() && str.charAt(idx) == '.') {
       idx++;
 
       long decimalValue = 0;
       long powerOfTen = 1;
-      while (idx < chars.length && Character.isDigit(chars[idx])) {
-        decimalValue = decimalValue * 10 + (chars[idx] - '0');
+      while (idx < str.length() && Character.isDigit(str.charAt(idx))) {
+        decimalValue = decimalValue * 10 + (str.charAt(idx) - '0');
         powerOfTen *= 10;
         idx++;
       }
@@ -1236,33 +1263,33 @@ public abstract class DateTimeBase implements java.io.Serializable, Cloneable {
     return idx;
   }
 
-  protected static int parseTimeZone(final String str, final DateTimeBase result,
-      final char[] chars, final int index, final String complaint) throws ParseException {
+  protected static int parseTimeZone(final CharSequence str, final DateTimeBase result,
+      final int index, final String complaint) throws ParseException {
     // If we're at the end of the string, there's no time zone to parse
-    if (index >= chars.length) {
+    if (index >= str.length()) {
       return index;
     }
 
     int idx = index;
 
-    if (chars[idx] == 'Z') {
+    if (str.charAt(idx) == 'Z') {
       result.setUTC();
       return ++idx;
     }
 
-    if (chars[idx] == '+' || chars[idx] == '-') {
-      if (chars[idx] == '-') {
+    if (str.charAt(idx) == '+' || str.charAt(idx) == '-') {
+      if (str.charAt(idx) == '-') {
         result.setZoneNegative(true);
       }
       idx++;
-      if (idx + 5 > chars.length || chars[idx + 2] != ':' || !Character.isDigit(chars[idx])
-          || !Character.isDigit(chars[idx + 1]) || !Character.isDigit(chars[idx + 3])
-          || !Character.isDigit(chars[idx + 4])) {
+      if (idx + 5 > str.length() || str.charAt(idx + 2) != ':'
+          || !Character.isDigit(str.charAt(idx)) || !Character.isDigit(str.charAt(idx + 1))
+          || !Character.isDigit(str.charAt(idx + 3)) || !Character.isDigit(str.charAt(idx + 4))) {
         throw new ParseException(complaint + str + "\nTimeZone must have the format (+/-)hh:mm",
             idx);
       }
-      short value1 = (short) ((chars[idx] - '0') * 10 + (chars[idx + 1] - '0'));
-      short value2 = (short) ((chars[idx + 3] - '0') * 10 + (chars[idx + 4] - '0'));
+      short value1 = (short) ((str.charAt(idx) - '0') * 10 + (str.charAt(idx + 1) - '0'));
+      short value2 = (short) ((str.charAt(idx + 3) - '0') * 10 + (str.charAt(idx + 4) - '0'));
       result.setZone(value1, value2);
       idx += 5;
     }
@@ -1301,16 +1328,7 @@ public abstract class DateTimeBase implements java.io.Serializable, Cloneable {
       return;
     }
 
-    int offset = (this.getZoneMinute() + this.getZoneHour() * 60) * 60 * 1000;
-    offset = isZoneNegative() ? -offset : offset;
-
-    SimpleTimeZone timeZone = new SimpleTimeZone(0, "UTC");
-    timeZone.setRawOffset(offset);
-    String[] availableIDs = TimeZone.getAvailableIDs(offset);
-    if (availableIDs != null && availableIDs.length > 0) {
-      timeZone.setID(availableIDs[0]);
-    }
-    calendar.setTimeZone(timeZone);
+    calendar.setTimeZone((TimeZone) DateTimeCodec.getTimeZone(this).clone());
   }
 
   protected void appendDateString(StringBuffer result) {
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.types;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shared conversion support between the XML Schema date/time types and <code>java.util.Date</code>.
+ * <p>
+ * Conversions are done on a calendar that is kept per thread and reset before every use, so no
+ * calendar or <code>SimpleDateFormat</code> is created per value. Time zones for fixed offsets
+ * are created once and shared. All methods are thread-safe.
+ *
+ * @since 1.4.2
+ */
+public final class DateTimeCodec {
+
+  /** The calendar of the current thread. */
+  private static final ThreadLocal<GregorianCalendar> CALENDAR =
+      new ThreadLocal<GregorianCalendar>() {
+        @Override
+        protected GregorianCalendar initialValue() {
+          return new GregorianCalendar();
+        }
+      };
+
+  /** Time zones created for fixed offsets, keyed by the offset in milliseconds. */
+  private static final ConcurrentMap<Integer, TimeZone> ZONES =
+      new ConcurrentHashMap<Integer, TimeZone>();
+
+  /**
+   * Not instantiable.
+   */
+  private DateTimeCodec() {
+    // only static methods
+  }
+
+  /**
+   * Returns the calendar of the current thread, cleared and set to the given time zone. The
+   * calendar must not be kept or handed out, as the next call on the same thread reuses it.
+   *
+   * @param zone the time zone to use.
+   * @return the cleared calendar of the current thread.
+   */
+  public static Calendar getCalendar(final TimeZone zone) {
+    GregorianCalendar calendar = CALENDAR.get();
+    calendar.clear();
+    calendar.setTimeZone(zone);
+    return calendar;
+  }
+
+  /**
+   * Returns the calendar of the current thread, set to the given time zone and the given date.
+   * The calendar must not be kept or handed out, as the next call on the same thread reuses it.
+   *
+   * @param date the date to set.
+   * @param zone the time zone to use.
+   * @return the calendar of the current thread.
+   */
+  public static Calendar getCalendar(final Date date, final TimeZone zone) {
+    GregorianCalendar calendar = CALENDAR.get();
+    calendar.setTimeZone(zone);
+    calendar.setTime(date);
+    return calendar;
+  }
+
+  /**
+   * Returns a time zone with the given fixed offset from UTC. The instance is shared and must not
+   * be modified.
+   *
+   * @param offset the offset from UTC in milliseconds.
+   * @return a time zone with the given offset.
+   */
+  public static TimeZone getTimeZone(final int offset) {
+    Integer key = Integer.valueOf(offset);
+    TimeZone zone = ZONES.get(key);
+    if (zone == null) {
+      zone = new SimpleTimeZone(offset, "UTC");
+      String[] availableIDs = TimeZone.getAvailableIDs(offset);
+      if (availableIDs != null && availableIDs.length > 0) {
+        zone.setID(availableIDs[0]);
+      }
+      TimeZone existing = ZONES.putIfAbsent(key, zone);
+      if (existing != null) {
+        zone = existing;
+      }
+    }
+    return zone;
+  }
+
+  /**
+   * Returns the time zone of the given date/time: its fixed offset if it has one, the default
+   * time zone otherwise.
+   *
+   * @param dateTime the date/time to get the time zone for.
+   * @return the time zone of the given date/time.
+   */
+  public static TimeZone getTimeZone(final DateTimeBase dateTime) {
+    if (!dateTime.isUTC()) {
+      return TimeZone.getDefault();
+    }
+    int offset = (dateTime.getZoneMinute() + dateTime.getZoneHour() * 60) * 60 * 1000;
+    return getTimeZone(dateTime.isZoneNegative() ? -offset : offset);
+  }
+
+  /**
+   * Converts the given fields to a <code>java.util.Date</code>. Months are counted from 1.
+   *
+   * @param zone the time zone the fields are given in.
+   * @param year the year.
+   * @param month the month, from 1 to 12.
+   * @param day the day of the month.
+   * @param hour the hour of the day.
+   * @param minute the minute.
+   * @param second the second.
+   * @param millisecond the millisecond.
+   * @return the date represented by the given fields.
+   */
+  public static Date toDate(final TimeZone zone, final int year, final int month, final int day,
+      final int hour, final int minute, final int second, final int millisecond) {
+    Calendar calendar = getCalendar(zone);
+    calendar.set(year, month - 1, day, hour, minute, second);
+    calendar.set(Calendar.MILLISECOND, millisecond);
+    return calendar.getTime();
+  }
+
+  /**
+   * Appends the date and time held by the given calendar as <code>yyyy-MM-dd'T'HH:mm:ss</code>,
+   * followed by <code>.SSS</code> if milliseconds are requested. The era and the time zone are
+   * not written.
+   *
+   * @param buffer the buffer to append to.
+   * @param calendar the calendar holding the date.
+   * @param millis true if milliseconds are to be written.
+   */
+  public static void appendDateTime(final StringBuilder buffer, final Calendar calendar,
+      final boolean millis) {
+    appendPadded(buffer, calendar.get(Calendar.YEAR), 4);
+    buffer.append('-');
+    appendPadded(buffer, calendar.get(Calendar.MONTH) + 1, 2);
+    buffer.append('-');
+    appendPadded(buffer, calendar.get(Calendar.DAY_OF_MONTH), 2);
+    buffer.append('T');
+    appendPadded(buffer, calendar.get(Calendar.HOUR_OF_DAY), 2);
+    buffer.append(':');
+    appendPadded(buffer, calendar.get(Calendar.MINUTE), 2);
+    buffer.append(':');
+    appendPadded(buffer, calendar.get(Calendar.SECOND), 2);
+    if (millis) {
+      buffer.append('.');
+      appendPadded(buffer, calendar.get(Calendar.MILLISECOND), 3);
+    }
+  }
+
+  /**
+   * Appends the given non-negative value, padded with leading zeros to the given width.
+   *
+   * @param buffer the buffer to append to.
+   * @param value the value to append.
+   * @param width the minimum number of digits.
+   */
+  private static void appendPadded(final StringBuilder buffer, final int value, final int width) {
+    int limit = 10;
+    for (int i = 1; i < width; i++) {
+      if (value < limit) {
+        buffer.append('0');
+      }
+      limit *= 10;
+    }
+    buffer.append(value);
+  }
+
+}
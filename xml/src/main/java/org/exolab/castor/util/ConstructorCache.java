@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.exolab.castor.core.exceptions.CastorIllegalStateException;
+
+/**
+ * Per class cache of the constructors used to instantiate unmarshalled objects.
+ * <p>
+ * The default constructor of a public class is looked up once and bound to a method handle;
+ * constructors taking arguments are looked up once per list of argument types. Entries are kept
+ * with the class itself, so caching does not keep class loaders alive.
+ *
+ * @since 1.4.2
+ */
+public final class ConstructorCache {
+
+  /** The method type of a default constructor adapted to return Object. */
+  private static final MethodType DEFAULT_CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+  /** The cached constructors of every class. */
+  private static final ClassValue<Entry> ENTRIES = new ClassValue<Entry>() {
+    @Override
+    protected Entry computeValue(final Class<?> type) {
+      return new Entry(type);
+    }
+  };
+
+  /**
+   * Not instantiable.
+   */
+  private ConstructorCache() {
+    // only static methods
+  }
+
+  /**
+   * Creates a new instance of the given class by calling its default constructor. Fails in the
+   * same way as <code>Class.newInstance()</code>, except that checked exceptions thrown by the
+   * constructor are wrapped in a {@link CastorIllegalStateException}.
+   *
+   * @param type the class to instantiate
+   * @return the new instance
+   * @throws InstantiationException if the class cannot be instantiated
+   * @throws IllegalAccessException if the default constructor is not accessible
+   */
+  public static Object newInstance(final Class<?> type)
+      throws InstantiationException, IllegalAccessException {
+    MethodHandle constructor = ENTRIES.get(type)._defaultConstructor;
+    if (constructor == null) {
+      return newInstanceReflectively(type);
+    }
+    try {
+      return (Object) constructor.invokeExact();
+    } catch (RuntimeException | Error ex) {
+      throw ex;
+    } catch (Throwable ex) {
+      throw new CastorIllegalStateException(ex.getMessage(), ex);
+    }
+  }
+
+  /**
+   * Creates a new instance of a class whose default constructor is not publicly reachable through
+   * a method handle, reporting failures as <code>Class.newInstance()</code> does.
+   *
+   * @param type the class to instantiate
+   * @return the new instance
+   * @throws InstantiationException if the class cannot be instantiated
+   * @throws IllegalAccessException if the default constructor is not accessible
+   */
+  private static Object newInstanceReflectively(final Class<?> type)
+      throws InstantiationException, IllegalAccessException {
+    Constructor<?> constructor;
+    try {
+      constructor = type.getDeclaredConstructor();
+    } catch (NoSuchMethodException ex) {
+      InstantiationException exception = new InstantiationException(type.getName());
+      exception.initCause(ex);
+      throw exception;
+    }
+    try {
+      return constructor.newInstance();
+    } catch (InvocationTargetException ex) {
+      Throwable cause = ex.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new CastorIllegalStateException(cause.getMessage(), cause);
+    }
+  }
+
+  /**
+   * Returns the public constructor of the given class with the given parameter types, as
+   * <code>Class.getConstructor(Class...)</code> does.
+   *
+   * @param type the class whose constructor is requested
+   * @param argTypes the parameter types of the constructor
+   * @return the matching public constructor
+   * @throws NoSuchMethodException if no matching public constructor exists
+   */
+  public static Constructor<?> getConstructor(final Class<?> type, final Class<?>[] argTypes)
+      throws NoSuchMethodException {
+    Entry entry = ENTRIES.get(type);
+    List<Class<?>> key = Arrays.asList(argTypes.clone());
+    Constructor<?> constructor = entry._constructorsByTypes.get(key);
+    if (constructor == null) {
+      constructor = type.getConstructor(argTypes);
+      entry._constructorsByTypes.putIfAbsent(key, constructor);
+    }
+    return constructor;
+  }
+
+  /**
+   * Returns the public constructors of the given class, as <code>Class.getConstructors()</code>
+   * does. The array is shared and must not be modified.
+   *
+   * @param type the class whose constructors are requested
+   * @return the public constructors of the given class
+   */
+  public static Constructor<?>[] getConstructors(final Class<?> type) {
+    Entry entry = ENTRIES.get(type);
+    Constructor<?>[] constructors = entry._constructors;
+    if (constructors == null) {
+      constructors = type.getConstructors();
+      entry._constructors = constructors;
+    }
+    return constructors;
+  }
+
+  /**
+   * The cached constructors of a single class.
+   */
+  private static final class Entry {
+    /** The default constructor, or null if it is to be called reflectively. */
+    private final MethodHandle _defaultConstructor;
+
+    /** The public constructors, looked up on first use. */
+    private volatile Constructor<?>[] _constructors;
+
+    /** Public constructors already looked up by their parameter types. */
+    private final ConcurrentMap<List<Class<?>>, Constructor<?>> _constructorsByTypes =
+        new ConcurrentHashMap<List<Class<?>>, Constructor<?>>();
+
+    /**
+     * Looks up the default constructor of the given class.
+     *
+     * @param type the class to cache constructors for
+     */
+    Entry(final Class<?> type) {
+      MethodHandle constructor = null;
+      int modifiers = type.getModifiers();
+      if (Modifier.isPublic(modifiers) && !Modifier.isAbstract(modifiers) && !type.isInterface()
+          && !type.isArray() && !type.isPrimitive()) {
+        try {
+          constructor = MethodHandles.publicLookup()
+              .findConstructor(type, MethodType.methodType(void.class))
+              .asType(DEFAULT_CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+          // -- leave the reporting to newInstanceReflectively(Class)
+        }
+      }
+      _defaultConstructor = constructor;
+    }
+  }
+}
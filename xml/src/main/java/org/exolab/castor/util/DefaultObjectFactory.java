@@ -87,7 +87,7 @@ public class DefaultObjectFactory implements ObjectFactory {
       if (java.util.Date.class.isAssignableFrom(type)) {
         return handleDates(type);
       }
-      return type.newInstance();
+      return ConstructorCache.newInstance(type);
     }
 
     argTypes = checkArguments(argTypes, args);
@@ -111,7 +111,7 @@ public class DefaultObjectFactory implements ObjectFactory {
   private Object instantiateUsingConstructor(Class type, Class[] argTypes, Object[] args)
       throws InstantiationException, IllegalAccessException {
     try {
-      Constructor cons = type.getConstructor(argTypes);
+      Constructor<?> cons = ConstructorCache.getConstructor(type, argTypes);
       return cons.newInstance(args);
     } catch (java.lang.NoSuchMethodException nsmx) {
       String err = "unable to find matching public constructor for class: " + type.getName();
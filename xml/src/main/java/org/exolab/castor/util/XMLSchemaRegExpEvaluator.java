@@ -0,0 +1,239 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * An implementation of {@link RegExpEvaluator} that uses the Java Regular Expression library,
+ * translating the XML Schema regular expression syntax to the one of {@link Pattern} first:
+ * <ul>
+ * <li>expressions are implicitly anchored, and '^' and '$' are ordinary characters;</li>
+ * <li>'.' does not match carriage returns and line feeds only;</li>
+ * <li>\d, \w and \s (and their complements) follow the XML Schema definitions;</li>
+ * <li>the multi-character escapes \i, \I, \c and \C are supported;</li>
+ * <li>block escapes such as \p{IsBasicLatin} are mapped to Unicode blocks;</li>
+ * <li>character class subtraction ([a-z-[aeiou]]) is mapped to class intersection.</li>
+ * </ul>
+ * Compiled patterns are kept in a bounded cache shared by all instances, and a compiled pattern is
+ * safe to be matched against from multiple threads.
+ * 
+ * @since 1.4.2
+ */
+public class XMLSchemaRegExpEvaluator implements RegExpEvaluator {
+
+  /** Maximum number of compiled patterns kept in the shared cache. */
+  private static final int MAX_CACHED_PATTERNS = 1024;
+
+  /** Compiled patterns, keyed by XML Schema regular expression. */
+  private static final ConcurrentMap<String, Pattern> PATTERNS =
+      new ConcurrentHashMap<String, Pattern>();
+
+  /** XML name start characters (XML 1.0, fifth edition), without the enclosing brackets. */
+  private static final String NAME_START_CHARS = ":A-Z_a-z\\u00C0-\\u00D6\\u00D8-\\u00F6"
+      + "\\u00F8-\\u02FF\\u0370-\\u037D\\u037F-\\u1FFF\\u200C-\\u200D\\u2070-\\u218F"
+      + "\\u2C00-\\u2FEF\\u3001-\\uD7FF\\uF900-\\uFDCF\\uFDF0-\\uFFFD";
+
+  /** XML name characters (XML 1.0, fifth edition), without the enclosing brackets. */
+  private static final String NAME_CHARS =
+      NAME_START_CHARS + "\\-.0-9\\u00B7\\u0300-\\u036F\\u203F-\\u2040";
+
+  /**
+   * The compiled regular expression.
+   */
+  private Pattern _pattern;
+
+  /**
+   * Sets the regular expression to match against during a call to #matches
+   * 
+   * @param rexpr the regular expression
+   */
+  public void setExpression(final String rexpr) {
+    _pattern = (rexpr == null) ? null : compile(rexpr);
+  }
+
+  /**
+   * Returns true if the given String is matched by the regular expression of this RegExpEvaluator
+   * 
+   * @param value the String to check the production of
+   * @return true if the given string matches the regular expression of this RegExpEvaluator
+   * @see #setExpression
+   */
+  public boolean matches(final String value) {
+    if (_pattern != null) {
+      return _pattern.matcher(value).matches();
+    }
+    return true;
+  }
+
+  /**
+   * Returns the compiled {@link Pattern} for the given XML Schema regular expression, using the
+   * shared cache.
+   * 
+   * @param rexpr the XML Schema regular expression
+   * @return the compiled pattern
+   * @throws IllegalArgumentException if the expression is not valid
+   */
+  static Pattern compile(final String rexpr) {
+    Pattern pattern = PATTERNS.get(rexpr);
+    if (pattern == null) {
+      try {
+        pattern = Pattern.compile(translate(rexpr));
+      } catch (PatternSyntaxException ex) {
+        String err = "RegExp Syntax error: ";
+        err += ex.getMessage();
+        err += " ; error occured with the following " + "regular expression: " + rexpr;
+
+        throw new IllegalArgumentException(err, ex);
+      }
+      if (PATTERNS.size() >= MAX_CACHED_PATTERNS) {
+        PATTERNS.clear();
+      }
+      PATTERNS.putIfAbsent(rexpr, pattern);
+    }
+    return pattern;
+  }
+
+  /**
+   * Translates an XML Schema regular expression into the syntax of {@link Pattern}.
+   * 
+   * @param rexpr the XML Schema regular expression
+   * @return the equivalent Java regular expression
+   */
+  static String translate(final String rexpr) {
+    StringBuilder result = new StringBuilder(rexpr.length() + 16);
+    int length = rexpr.length();
+    // -- nesting level of character classes; > 0 while inside one
+    int classDepth = 0;
+    for (int i = 0; i < length; i++) {
+      char c = rexpr.charAt(i);
+      switch (c) {
+        case '\\':
+          if (i + 1 >= length) {
+            // -- let Pattern report the dangling escape
+            result.append(c);
+            break;
+          }
+          i = translateEscape(rexpr, i + 1, classDepth > 0, result);
+          break;
+        case '[':
+          if (classDepth > 0) {
+            // -- only valid as part of a subtraction, which is handled at '-'
+            result.append("\\[");
+            break;
+          }
+          ++classDepth;
+          result.append('[');
+          if ((i + 1 < length) && (rexpr.charAt(i + 1) == '^')) {
+            result.append('^');
+            ++i;
+          }
+          break;
+        case ']':
+          if (classDepth > 0) {
+            --classDepth;
+          }
+          result.append(']');
+          break;
+        case '-':
+          if ((classDepth > 0) && (i + 1 < length) && (rexpr.charAt(i + 1) == '[')) {
+            // -- class subtraction: [a-z-[aeiou]] => [a-z&&[^aeiou]]
+            ++classDepth;
+            ++i;
+            if ((i + 1 < length) && (rexpr.charAt(i + 1) == '^')) {
+              result.append("&&[");
+              ++i;
+            } else {
+              result.append("&&[^");
+            }
+          } else {
+            result.append(c);
+          }
+          break;
+        case '.':
+          result.append((classDepth > 0) ? "." : "[^\\n\\r]");
+          break;
+        case '^':
+        case '$':
+          result.append('\\').append(c);
+          break;
+        case '&':
+          result.append((classDepth > 0) ? "\\&" : "&");
+          break;
+        default:
+          result.append(c);
+          break;
+      }
+    }
+    return result.toString();
+  }
+
+  /**
+   * Translates the escape sequence starting at the given position (just after the backslash).
+   * 
+   * @return the position of the last character consumed
+   */
+  private static int translateEscape(final String rexpr, final int position,
+      final boolean inClass, final StringBuilder result) {
+    char c = rexpr.charAt(position);
+    switch (c) {
+      case 'd':
+        result.append("\\p{Nd}");
+        return position;
+      case 'D':
+        result.append("\\P{Nd}");
+        return position;
+      case 's':
+        result.append(inClass ? " \\t\\n\\r" : "[ \\t\\n\\r]");
+        return position;
+      case 'S':
+        result.append("[^ \\t\\n\\r]");
+        return position;
+      case 'w':
+        result.append("[^\\p{P}\\p{Z}\\p{C}]");
+        return position;
+      case 'W':
+        result.append(inClass ? "\\p{P}\\p{Z}\\p{C}" : "[\\p{P}\\p{Z}\\p{C}]");
+        return position;
+      case 'i':
+        result.append(inClass ? NAME_START_CHARS : "[" + NAME_START_CHARS + "]");
+        return position;
+      case 'I':
+        result.append("[^").append(NAME_START_CHARS).append(']');
+        return position;
+      case 'c':
+        result.append(inClass ? NAME_CHARS : "[" + NAME_CHARS + "]");
+        return position;
+      case 'C':
+        result.append("[^").append(NAME_CHARS).append(']');
+        return position;
+      case 'p':
+      case 'P':
+        // -- block escapes: \p{IsBasicLatin} => \p{InBasicLatin}
+        if (rexpr.startsWith("{Is", position + 1)) {
+          result.append('\\').append(c).append("{In");
+          return position + 3;
+        }
+        result.append('\\').append(c);
+        return position;
+      default:
+        result.append('\\').append(c);
+        return position;
+    }
+  }
+
+}
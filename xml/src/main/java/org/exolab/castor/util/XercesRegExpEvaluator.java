@@ -70,6 +70,11 @@ public class XercesRegExpEvaluator implements RegExpEvaluator {
 
   private Constructor<?> _constructor;
 
+  /**
+   * The matches(String) method of the regular expression class, looked up once.
+   */
+  private Method _matchesMethod;
+
   /**
    * Name of the actual class used for regular expression matching.
    */
@@ -84,12 +89,14 @@ public class XercesRegExpEvaluator implements RegExpEvaluator {
     Class<?> regexpClass = null;
     try {
       regexpClass = Class.forName(CLASS_NAME);
-      _constructor = regexpClass.getConstructor(new Class[] {String.class});
+      _constructor = regexpClass.getConstructor(new Class<?>[] {String.class});
+      _matchesMethod = regexpClass.getMethod("matches", new Class<?>[] {String.class});
       className = CLASS_NAME;
     } catch (ClassNotFoundException e) {
       try {
         regexpClass = Class.forName(OLD_CLASS_NAME);
-        _constructor = regexpClass.getConstructor(new Class[] {String.class});
+        _constructor = regexpClass.getConstructor(new Class<?>[] {String.class});
+        _matchesMethod = regexpClass.getMethod("matches", new Class<?>[] {String.class});
         className = OLD_CLASS_NAME;
       } catch (ClassNotFoundException e2) {
         LOG.error("Problem loading class " + this.className, e2);
@@ -145,15 +152,8 @@ public class XercesRegExpEvaluator implements RegExpEvaluator {
   public boolean matches(String value) {
     if (_regexp != null) {
       // return _regexp.matches(value);
-      Method method;
       try {
-        method = _regexp.getClass().getMethod("matches", new Class[] {String.class});
-        return ((Boolean) method.invoke(_regexp, new Object[] {value})).booleanValue();
-      } catch (SecurityException e) {
-        LOG.error("Security problem accessing matches(String) method of class " + this.className,
-            e);
-      } catch (NoSuchMethodException e) {
-        LOG.error("Method matches(String) of class " + this.className + " could not be found.", e);
+        return ((Boolean) _matchesMethod.invoke(_regexp, new Object[] {value})).booleanValue();
       } catch (IllegalArgumentException e) {
         LOG.error("Invalid argument provided to method matches(String) of class " + this.className,
             e);
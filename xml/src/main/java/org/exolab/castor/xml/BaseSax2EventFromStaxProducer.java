@@ -119,7 +119,9 @@ public abstract class BaseSax2EventFromStaxProducer implements SAX2EventAndError
    * @throws SAXException
    */
   void handleStartDocument() throws SAXException {
-    LOG.info("< handleStartDocument >");
+    if (LOG.isTraceEnabled()) {
+      LOG.trace("< handleStartDocument >");
+    }
 
     handleDocumentLocator();
 
@@ -135,7 +137,9 @@ public abstract class BaseSax2EventFromStaxProducer implements SAX2EventAndError
    * @throws SAXException
    */
   void handleEndDocument() throws SAXException {
-    LOG.info("< handleEndDocument >");
+    if (LOG.isTraceEnabled()) {
+      LOG.trace("< handleEndDocument >");
+    }
     contentHandler.endDocument();
 
   }
@@ -149,7 +153,9 @@ public abstract class BaseSax2EventFromStaxProducer implements SAX2EventAndError
    * @throws SAXException
    */
   void handleStartElement() throws SAXException {
-    LOG.info("< handleStartElement >");
+    if (LOG.isTraceEnabled()) {
+      LOG.trace("< handleStartElement >");
+    }
 
     QName qName = getQName();
     String localName = qName.getLocalPart();
@@ -174,7 +180,9 @@ public abstract class BaseSax2EventFromStaxProducer implements SAX2EventAndError
    * @throws SAXException
    */
   void handleEndElement() throws SAXException {
-    LOG.info("< handleEndElement >");
+    if (LOG.isTraceEnabled()) {
+      LOG.trace("< handleEndElement >");
+    }
 
     QName qName = getQName();
     String localName = qName.getLocalPart();
@@ -208,7 +216,9 @@ public abstract class BaseSax2EventFromStaxProducer implements SAX2EventAndError
    * @throws SAXException
    */
   void handleCharacters() throws SAXException {
-    LOG.info("< handleCharacters >");
+    if (LOG.isTraceEnabled()) {
+      LOG.trace("< handleCharacters >");
+    }
     char[] chars;
     chars = getCharacters();
 
@@ -239,8 +249,13 @@ public abstract class BaseSax2EventFromStaxProducer implements SAX2EventAndError
    * @return
    */
   boolean isIgnorableWhitespace(char[] chars, int start, int length) {
-    String string = new String(chars, start, length);
-    return string.trim().length() == 0;
+    // -- same notion of whitespace as String#trim()
+    for (int i = start; i < start + length; i++) {
+      if (chars[i] > ' ') {
+        return false;
+      }
+    }
+    return true;
   }
 
   /**
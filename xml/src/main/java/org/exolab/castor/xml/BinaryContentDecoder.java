@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+import org.castor.core.util.Base64Decoder;
+import org.castor.core.util.HexDecoder;
+
+/**
+ * Decodes the base64 or hexBinary text of an element while it is read, for
+ * {@link UnmarshalHandler}. The characters reported by the parser are collected in a window of
+ * {@link #WINDOW} significant characters, which is decoded into a growing byte sink whenever it
+ * is full, so that the text of the element is never buffered as a whole.
+ *
+ * @since 1.4.2
+ */
+final class BinaryContentDecoder {
+
+  /** Number of significant characters decoded at once, a multiple of 4 and of 2. */
+  private static final int WINDOW = 4 * 1024;
+
+  /** True for hexBinary, false for base64. */
+  private final boolean _hex;
+
+  /** The significant characters not decoded yet. */
+  private final char[] _window = new char[WINDOW];
+
+  /** The number of characters in the window. */
+  private int _count = 0;
+
+  /** True once the padding ending base64 content has been read. */
+  private boolean _padded = false;
+
+  /** True once a character other than whitespace has been read. */
+  private boolean _content = false;
+
+  /** The decoded bytes. */
+  private final Sink _bytes = new Sink();
+
+  /**
+   * Creates a decoder for the text of one element.
+   *
+   * @param hex true for hexBinary, false for base64
+   */
+  BinaryContentDecoder(final boolean hex) {
+    _hex = hex;
+  }
+
+  /**
+   * Decodes the given characters of the element text, keeping an incomplete group of characters
+   * for the next call. Whitespace is skipped, as is base64 content following its padding.
+   *
+   * @param ch the characters reported by the parser
+   * @param start the index of the first character
+   * @param length the number of characters
+   */
+  void append(final char[] ch, final int start, final int length) {
+    for (int i = start; i < start + length; i++) {
+      char c = ch[i];
+      if (c > ' ') {
+        _content = true;
+      }
+      if (_padded || !isSignificant(c)) {
+        continue;
+      }
+      if (c == '=' && !_hex) {
+        _padded = true;
+        continue;
+      }
+      _window[_count++] = c;
+      if (_count == WINDOW) {
+        decodeWindow();
+      }
+    }
+  }
+
+  /**
+   * Returns true if any character other than whitespace has been read.
+   *
+   * @return true if the element has text content
+   */
+  boolean hasContent() {
+    return _content;
+  }
+
+  /**
+   * Decodes the remaining characters and returns the decoded content as a value of the given
+   * binary type.
+   *
+   * @param type <code>byte[]</code>, or a {@link ByteBuffer} or {@link InputStream} type
+   * @return the decoded bytes, or a {@link ByteBuffer} or {@link InputStream} reading them
+   */
+  Object toBinaryValue(final Class<?> type) {
+    if (_count > 0) {
+      decodeWindow();
+    }
+    if ((type != null) && ByteBuffer.class.isAssignableFrom(type)) {
+      return _bytes.toByteBuffer();
+    }
+    if ((type != null) && InputStream.class.isAssignableFrom(type)) {
+      return _bytes.toInputStream();
+    }
+    return _bytes.toByteArray();
+  }
+
+  /**
+   * Returns true if the given character is decoded rather than skipped: a character of the base64
+   * alphabet or its padding, or any character other than whitespace in hexBinary content.
+   *
+   * @param c the character to check
+   * @return true if the character is decoded
+   */
+  private boolean isSignificant(final char c) {
+    if (_hex) {
+      return c != ' ' && c != '\t' && c != '\n' && c != '\r';
+    }
+    return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '+'
+        || c == '/' || c == '=';
+  }
+
+  /**
+   * Decodes the characters in the window into the sink and empties the window.
+   */
+  private void decodeWindow() {
+    CharBuffer chars = CharBuffer.wrap(_window, 0, _count);
+    byte[] decoded = _hex ? HexDecoder.decode(chars) : Base64Decoder.decode(chars);
+    _bytes.write(decoded, 0, decoded.length);
+    _count = 0;
+  }
+
+  /**
+   * The growing byte sink, whose content is wrapped rather than copied for {@link ByteBuffer} and
+   * {@link InputStream} values.
+   */
+  private static final class Sink extends ByteArrayOutputStream {
+
+    /**
+     * Returns a buffer reading the bytes written.
+     *
+     * @return a buffer over the bytes written
+     */
+    ByteBuffer toByteBuffer() {
+      return ByteBuffer.wrap(buf, 0, count).slice();
+    }
+
+    /**
+     * Returns a stream reading the bytes written.
+     *
+     * @return a stream over the bytes written
+     */
+    InputStream toInputStream() {
+      return new ByteArrayInputStream(buf, 0, count);
+    }
+  }
+}
@@ -18,7 +18,6 @@ import java.util.Locale;
 import java.util.ResourceBundle;
 
 import org.apache.commons.lang3.ArrayUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.xml.sax.ContentHandler;
@@ -63,10 +62,10 @@ public class CharactersProcessor {
   }
 
   public void compute(char[] ch, int start, int length) throws SAXException {
-    String string = new String(ch, start, length);
     if (LOG.isTraceEnabled()) {
-      String trace = MessageFormat.format(
-          resourceBundle.getString("unmarshalHandler.log.trace.characters"), new Object[] {string});
+      String trace =
+          MessageFormat.format(resourceBundle.getString("unmarshalHandler.log.trace.characters"),
+              new Object[] {new String(ch, start, length)});
       LOG.trace(trace);
     }
 
@@ -86,23 +85,38 @@ public class CharactersProcessor {
     }
 
     UnmarshalState state = _unmarshalHandler.getStateStack().getLastState();
-    // -- handle whitespace
+    // -- binary content is decoded as it is read, whitespace and all
+    if (state.getBinaryDecoder() != null) {
+      state.getBinaryDecoder().append(ch, start, length);
+      return;
+    }
+
+    // -- handle whitespace, working on the range [begin, end) of the given
+    // -- characters rather than on a copy of them
+    int begin = start;
+    int end = start + length;
     boolean removedTrailingWhitespace = false;
     boolean removedLeadingWhitespace = false;
     if (!state.isWhitespacePreserving() && !ArrayUtils.isEmpty(ch)) {
       removedTrailingWhitespace = Character.isWhitespace(ch[start + length - 1]);
       removedLeadingWhitespace = Character.isWhitespace(ch[start]);
-      string = string.trim();
+      // -- same as String#trim()
+      while (begin < end && ch[begin] <= ' ') {
+        begin++;
+      }
+      while (end > begin && ch[end - 1] <= ' ') {
+        end--;
+      }
     }
 
     if (state.getBuffer() == null) {
-      state.setBuffer(new StringBuffer());
+      state.setBuffer(_unmarshalHandler.acquireTextBuffer());
     } else {
       if (state.isWhitespacePreserving()) {
         state.setTrailingWhitespaceRemoved(false);
-        state.getBuffer().append(string);
+        state.getBuffer().append(ch, begin, end - begin);
         return;
-      } else if (StringUtils.isEmpty(string)) {
+      } else if (begin == end) {
         state.setTrailingWhitespaceRemoved(removedTrailingWhitespace);
         return;
       } else if (state.isTrailingWhitespaceRemoved() || removedLeadingWhitespace) {
@@ -110,6 +124,6 @@ public class CharactersProcessor {
       }
     }
     state.setTrailingWhitespaceRemoved(removedTrailingWhitespace);
-    state.getBuffer().append(string);
+    state.getBuffer().append(ch, begin, end - begin);
   }
 }
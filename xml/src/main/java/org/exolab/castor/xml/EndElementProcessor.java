@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.StringTokenizer;
 
@@ -27,6 +28,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.exolab.castor.mapping.FieldHandler;
 import org.exolab.castor.mapping.MapItem;
+import org.exolab.castor.mapping.loader.collection.handler.PrimitiveArrayCollectionHandler;
 import org.exolab.castor.xml.UnmarshalHandler.ArrayHandler;
 import org.exolab.castor.xml.util.XMLFieldDescriptorImpl;
 import org.xml.sax.ContentHandler;
@@ -112,7 +114,15 @@ public class EndElementProcessor {
     // -- * End Namespace Handling
 
     UnmarshalState state = _unmarshalHandler.getStateStack().removeLastState();
+    try {
+      compute(name, state);
+    } finally {
+      // -- the text of the state has been consumed or handed over by now
+      _unmarshalHandler.releaseTextBuffer(state);
+    }
+  }
 
+  private void compute(String name, UnmarshalState state) throws SAXException {
     // -- make sure we have the correct closing tag
     XMLFieldDescriptor descriptor = state.getFieldDescriptor();
 
@@ -124,7 +134,7 @@ public class EndElementProcessor {
         // -- check for possible characters added to
         // -- the container's state that should
         // -- really belong to the parent state
-        StringBuffer tmpBuffer = null;
+        StringBuilder tmpBuffer = null;
         if (state.getBuffer() != null) {
           if (!UnmarshalHandler.isWhitespace(state.getBuffer())) {
             if (state.getClassDescriptor().getContentDescriptor() == null) {
@@ -141,7 +151,7 @@ public class EndElementProcessor {
           if (state.getBuffer() == null)
             state.setBuffer(tmpBuffer);
           else
-            state.getBuffer().append(tmpBuffer.toString());
+            state.getBuffer().append(tmpBuffer);
         }
         _unmarshalHandler.endElement(name);
         return;
@@ -171,7 +181,7 @@ public class EndElementProcessor {
       // -- the following code needs to be improved as
       // -- for searching descriptors in this manner can
       // -- be slow
-      StringBuffer tmpBuffer = null;
+      StringBuilder tmpBuffer = null;
       if (state.getBuffer() != null) {
         if (!UnmarshalHandler.isWhitespace(state.getBuffer())) {
           tmpBuffer = state.getBuffer();
@@ -192,7 +202,7 @@ public class EndElementProcessor {
             if (targetState.getBuffer() == null)
               targetState.setBuffer(tmpBuffer);
             else
-              targetState.getBuffer().append(tmpBuffer.toString());
+              targetState.getBuffer().append(tmpBuffer);
           }
         }
       }
@@ -203,10 +213,7 @@ public class EndElementProcessor {
     }
 
     // -- check for special cases
-    boolean byteArray = false;
-    if (type.isArray()) {
-      byteArray = (type.getComponentType() == Byte.TYPE);
-    }
+    boolean byteArray = MarshalFramework.isBinary(type, descriptor);
 
     // -- If we don't have an instance object and the Class type
     // -- is not a primitive or a byte[] we must simply return
@@ -220,28 +227,32 @@ public class EndElementProcessor {
 
     if (state.isPrimitiveOrImmutable()) {
 
+      // -- the text is only copied into a String where one is needed, primitive
+      // -- values are converted from the buffered characters directly
+      StringBuilder text = state.getBuffer();
       String str = null;
 
-      if (state.getBuffer() != null) {
-        str = state.getBuffer().toString();
-        state.getBuffer().setLength(0);
-      }
-
       if (type == String.class && !((XMLFieldDescriptorImpl) descriptor).isDerivedFromXSList()) {
-        if (str != null)
-          state.setObject(str);
+        if (text != null)
+          state.setObject(text.toString());
         else if (state.isNil()) {
           state.setObject(null);
         } else {
           state.setObject("");
         }
       }
-      // -- special handling for byte[]
+      // -- special handling for byte[], usually decoded while the text was read
       else if (byteArray && !descriptor.isDerivedFromXSList()) {
-        if (str == null)
-          state.setObject(new byte[0]);
-        else {
-          state.setObject(_unmarshalHandler.decodeBinaryData(descriptor, str));
+        if (state.getBinaryDecoder() != null) {
+          state.setObject(state.getBinaryDecoder().toBinaryValue(type));
+        } else {
+          byte[] bytes;
+          if (text == null)
+            bytes = new byte[0];
+          else {
+            bytes = _unmarshalHandler.decodeBinaryData(descriptor, text);
+          }
+          state.setObject(MarshalFramework.toBinaryValue(type, bytes));
         }
       } else if (state.getConstructorArguments() != null) {
         state.setObject(
@@ -249,6 +260,9 @@ public class EndElementProcessor {
       } else if (descriptor.isMultivalued() && descriptor.getSchemaType() != null
           && descriptor.getSchemaType().equals("list")
           && ((XMLFieldDescriptorImpl) descriptor).isDerivedFromXSList()) {
+        if (text != null) {
+          str = text.toString();
+        }
         StringTokenizer attrValueTokenizer = new StringTokenizer(str);
         List<Object> primitives = new ArrayList<Object>();
         while (attrValueTokenizer.hasMoreTokens()) {
@@ -271,53 +285,44 @@ public class EndElementProcessor {
           state.setObject(null);
         } else {
           state.setObject(
-              _unmarshalHandler.toPrimitiveObject(type, str, state.getFieldDescriptor()));
+              _unmarshalHandler.toPrimitiveObject(type, text, state.getFieldDescriptor()));
         }
       }
+
+      if (text != null) {
+        text.setLength(0);
+      }
     } else if (ArrayHandler.class.isAssignableFrom(state.getType())) {
       state.setObject(((ArrayHandler) state.getObject()).getObject());
       state.setType(state.getObject().getClass());
 
     }
 
+    // -- check for binary character content, decoded while it was read
+    BinaryContentDecoder binaryDecoder = state.getBinaryDecoder();
+    if (!state.isPrimitiveOrImmutable() && (binaryDecoder != null) && binaryDecoder.hasContent()) {
+      XMLFieldDescriptor cdesc = state.getClassDescriptor().getContentDescriptor();
+      setContent(state, cdesc, binaryDecoder.toBinaryValue(cdesc.getFieldType()));
+    }
+
     // -- check for character content
     if ((state.getBuffer() != null) && (state.getBuffer().length() > 0)
         && (state.getClassDescriptor() != null)) {
       XMLFieldDescriptor cdesc = state.getClassDescriptor().getContentDescriptor();
       if (cdesc != null) {
-        Object value = state.getBuffer().toString();
-        if (MarshalFramework.isPrimitive(cdesc.getFieldType()))
-          value = _unmarshalHandler.toPrimitiveObject(cdesc.getFieldType(), (String) value,
+        Object value;
+        Class<?> valueType = cdesc.getFieldType();
+        if (MarshalFramework.isPrimitive(valueType))
+          value = _unmarshalHandler.toPrimitiveObject(valueType, state.getBuffer(),
               state.getFieldDescriptor());
-        else {
-          Class<?> valueType = cdesc.getFieldType();
-          // -- handle base64/hexBinary
-          if (valueType.isArray() && (valueType.getComponentType() == Byte.TYPE)) {
-            value = _unmarshalHandler.decodeBinaryData(descriptor, (String) value);
-          }
-        }
-
-        try {
-          FieldHandler handler = cdesc.getHandler();
-          boolean addObject = true;
-          if (_unmarshalHandler.isReuseObjects()) {
-            // -- check to see if we need to
-            // -- add the object or not
-            Object tmp = handler.getValue(state.getObject());
-            if (tmp != null) {
-              // -- Do not add object if values
-              // -- are equal
-              addObject = (!tmp.equals(value));
-            }
-          }
-          if (addObject)
-            handler.setValue(state.getObject(), value);
-        } catch (java.lang.IllegalStateException ise) {
-          String err = MessageFormat.format(
-              resourceBundle.getString("unmarshalHandler.error.unable.add.text"),
-              new Object[] {descriptor.getXMLName(), ise.toString()});
-          throw new SAXException(err, ise);
+        else if (MarshalFramework.isBinary(valueType, cdesc)) {
+          // -- handle base64/hexBinary, decoded from the buffered characters directly
+          value = MarshalFramework.toBinaryValue(valueType,
+              _unmarshalHandler.decodeBinaryData(descriptor, state.getBuffer()));
+        } else {
+          value = state.getBuffer().toString();
         }
+        setContent(state, cdesc, value);
       }
       // -- Handle references
       else if (descriptor.isReference()) {
@@ -337,6 +342,9 @@ public class EndElementProcessor {
       }
     }
 
+    // -- add the accumulated values of arrays of primitives
+    addPrimitiveArrays(name, state);
+
     // -- We're finished processing the object, so notify the
     // -- Listener (if any).
     Object stateObject = state.getObject();
@@ -502,13 +510,24 @@ public class EndElementProcessor {
           handler.resetValue(state.getObject());
         }
 
+        // -- values of arrays of primitives are accumulated, and added to
+        // -- the object at once when it is complete
+        PrimitiveArrayCollectionHandler<?> arrayHandler = null;
+        if (descriptor.isMultivalued()) {
+          arrayHandler = MarshalFramework.getPrimitiveArrayHandler(handler);
+        }
+
         if (descriptor.isMultivalued() && descriptor.getSchemaType() != null
             && descriptor.getSchemaType().equals("list")
             && ((XMLFieldDescriptorImpl) descriptor).isDerivedFromXSList()) {
           List<Object> values = (List<Object>) val;
           for (Object value : values) {
             // -- finally set the value!!
-            handler.setValue(state.getObject(), value);
+            if (arrayHandler != null) {
+              state.getPrimitiveArray(descriptor, arrayHandler).add(value);
+            } else {
+              handler.setValue(state.getObject(), value);
+            }
 
             // If there is a parent for this object, pass along
             // a notification that we've finished adding a child
@@ -518,7 +537,11 @@ public class EndElementProcessor {
         } else {
 
           // -- finally set the value!!
-          handler.setValue(state.getObject(), val);
+          if (arrayHandler != null) {
+            state.getPrimitiveArray(descriptor, arrayHandler).add(val);
+          } else {
+            handler.setValue(state.getObject(), val);
+          }
 
           // If there is a parent for this object, pass along
           // a notification that we've finished adding a child
@@ -558,4 +581,66 @@ public class EndElementProcessor {
     }
 
   }
+
+  /**
+   * Sets the text content of the object of the given state.
+   * 
+   * @param state the state of the object the content belongs to
+   * @param cdesc the descriptor of the content field
+   * @param value the content
+   * @throws SAXException if the content cannot be set
+   */
+  private void setContent(final UnmarshalState state, final XMLFieldDescriptor cdesc,
+      final Object value) throws SAXException {
+    try {
+      @SuppressWarnings("unchecked")
+      FieldHandler<Object> handler = cdesc.getHandler();
+      boolean addObject = true;
+      if (_unmarshalHandler.isReuseObjects()) {
+        // -- check to see if we need to
+        // -- add the object or not
+        Object tmp = handler.getValue(state.getObject());
+        if (tmp != null) {
+          // -- Do not add object if values
+          // -- are equal
+          addObject = (!tmp.equals(value));
+        }
+      }
+      if (addObject)
+        handler.setValue(state.getObject(), value);
+    } catch (java.lang.IllegalStateException ise) {
+      String err = MessageFormat.format(
+          resourceBundle.getString("unmarshalHandler.error.unable.add.text"),
+          new Object[] {state.getFieldDescriptor().getXMLName(), ise.toString()});
+      throw new SAXException(err, ise);
+    }
+  }
+
+  /**
+   * Adds the values accumulated for the array of primitives fields of the object of the given
+   * state, each array as a whole.
+   * 
+   * @param name the name of the element ended
+   * @param state the state of the object the values belong to
+   * @throws SAXException if the values cannot be added
+   */
+  private void addPrimitiveArrays(final String name, final UnmarshalState state)
+      throws SAXException {
+    Map<XMLFieldDescriptor, PrimitiveArrayCollectionHandler<?>.Buffer> primitiveArrays =
+        state.removePrimitiveArrays();
+    if (primitiveArrays == null) {
+      return;
+    }
+    for (Map.Entry<XMLFieldDescriptor, PrimitiveArrayCollectionHandler<?>.Buffer> entry :
+        primitiveArrays.entrySet()) {
+      try {
+        entry.getKey().getHandler().setValue(state.getObject(), entry.getValue().toArray());
+      } catch (RuntimeException ex) {
+        String err = MessageFormat.format(
+            resourceBundle.getString("unmarshalHandler.error.unable.add.element"),
+            new Object[] {entry.getKey().getXMLName(), name, ex.toString()});
+        throw new SAXException(err, ex);
+      }
+    }
+  }
 }
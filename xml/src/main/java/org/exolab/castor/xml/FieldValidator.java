@@ -244,7 +244,7 @@ public class FieldValidator extends Validator {
               occurence = i + 1;
               _validator.validate(Array.get(value, i), context);
             }
-          } else {
+          } else if (!context.isShallow()) {
             for (int i = 0; i < size; i++) {
               super.validate(Array.get(value, i), context);
             }
@@ -337,6 +337,10 @@ public class FieldValidator extends Validator {
    */
   private void validateInstance(final ValidationContext context, final Object value)
       throws ValidationException {
+    if (context.isShallow() && (_validator == null || _validator instanceof Validator)) {
+      // -- complex values are validated by the caller, e.g. as they are marshalled
+      return;
+    }
     if (_validator != null) {
       _validator.validate(value, context);
     } else {
@@ -36,10 +36,12 @@ package org.exolab.castor.xml;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.io.InputStream;
 import java.io.PrintWriter;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.Hashtable;
@@ -56,6 +58,7 @@ import org.exolab.castor.mapping.FieldHandlerFactory;
 import org.exolab.castor.mapping.GeneralizedFieldHandler;
 import org.exolab.castor.mapping.MappingException;
 import org.exolab.castor.mapping.TypeConvertor;
+import org.exolab.castor.mapping.loader.AccessorFactory;
 import org.exolab.castor.mapping.loader.CollectionHandlers;
 import org.exolab.castor.mapping.loader.FieldHandlerImpl;
 import org.exolab.castor.mapping.loader.TypeInfo;
@@ -163,6 +166,12 @@ public final class Introspector implements PropertyChangeListener {
    */
   private boolean _saveMapKeys = true;
 
+  /**
+   * A flag indicating that properties of type ByteBuffer or InputStream are introspected as binary
+   * content. Off by default, so that introspecting a bean never reads one of its streams.
+   */
+  private boolean _binaryProperties = false;
+
   /**
    * Specifies class loader to be used.
    */
@@ -202,6 +211,9 @@ public final class Introspector implements PropertyChangeListener {
           .getBooleanProperty(XMLProperties.WRAP_COLLECTIONS_PROPERTY).booleanValue();
       _saveMapKeys =
           _internalContext.getBooleanProperty(XMLProperties.SAVE_MAP_KEYS).booleanValue();
+      Boolean binaryProperties =
+          _internalContext.getBooleanProperty(XMLProperties.INTROSPECT_BINARY_PROPERTIES);
+      _binaryProperties = (binaryProperties != null) && binaryProperties.booleanValue();
     }
   } // -- init
 
@@ -295,6 +307,7 @@ public final class Introspector implements PropertyChangeListener {
     // --------------------------/
 
     XMLClassDescriptorImpl classDesc = new IntrospectedXMLClassDescriptor(c);
+    AccessorFactory accessorFactory = new AccessorFactory();
 
     Method[] methods = c.getMethods();
     List<XMLFieldDescriptorImpl> dateDescriptors = new ArrayList<>(3);
@@ -544,7 +557,7 @@ public final class Introspector implements PropertyChangeListener {
       boolean customHandler = false;
       try {
         handler = new FieldHandlerImpl(methodSet._fieldName, null, null, methodSet._get,
-            methodSet._set, typeInfo);
+            methodSet._set, typeInfo, accessorFactory);
         // -- clean up
         if (methodSet._add != null)
           ((FieldHandlerImpl) handler).setAddMethod(methodSet._add);
@@ -961,6 +974,18 @@ public final class Introspector implements PropertyChangeListener {
     _saveMapKeys = saveMapKeys;
   } // -- setSaveMapKeys
 
+  /**
+   * Sets whether or not properties of type {@link ByteBuffer} or {@link InputStream} should be
+   * treated as binary content and written as base64 text. This is false by default, in which case
+   * such properties are introspected like any other class.
+   *
+   * @param binaryProperties a boolean that when true indicates ByteBuffer and InputStream
+   *        properties hold binary content.
+   */
+  public void setBinaryProperties(boolean binaryProperties) {
+    _binaryProperties = binaryProperties;
+  } // -- setBinaryProperties
+
   /**
    * Converts the given xml name to a Java name.
    * 
@@ -1022,6 +1047,11 @@ public final class Introspector implements PropertyChangeListener {
       fieldDesc.setMatches(xmlName + " *");
     }
 
+    // -- buffer or stream content is written as base64 text
+    if (isBinaryProperty(type)) {
+      fieldDesc.setSchemaType(MarshalFramework.BASE64_TYPE);
+    }
+
     return fieldDesc;
   } // -- createFieldDescriptor
 
@@ -1121,11 +1151,15 @@ public final class Introspector implements PropertyChangeListener {
    * @param type the Class type to test
    * @return true if we are allowed to create a descriptor for a given class type
    **/
-  private static boolean isDescriptable(Class type) {
+  private boolean isDescriptable(Class<?> type) {
     // -- make sure type is not Void, or Class;
     if (type == Void.class || type == Class.class)
       return false;
 
+    // -- binary content is written as base64 text
+    if (isBinaryProperty(type))
+      return true;
+
     // -- check whether it is a Java 5.0 enum
     float javaVersion =
         Float.valueOf(System.getProperty("java.specification.version")).floatValue();
@@ -1166,6 +1200,19 @@ public final class Introspector implements PropertyChangeListener {
     return true;
   } // -- isDescriptable
 
+  /**
+   * Returns true if a property of the given class type is introspected as binary content, which
+   * requires binary properties to be enabled.
+   * 
+   * @param type the Class type to test
+   * @return true if the given class type is a ByteBuffer or InputStream and binary properties are
+   *         enabled
+   **/
+  private boolean isBinaryProperty(Class<?> type) {
+    return _binaryProperties
+        && (ByteBuffer.class.isAssignableFrom(type) || InputStream.class.isAssignableFrom(type));
+  } // -- isBinaryProperty
+
   /**
    * Returns true if the given class should be treated as a primitive type
    * 
@@ -1268,6 +1315,10 @@ public final class Introspector implements PropertyChangeListener {
         throw new IllegalArgumentException(
             "The value for '" + XMLProperties.PRIMITIVE_NODE_TYPE + "' must be of type String");
       }
+    } else if (event.getPropertyName().equals(XMLProperties.INTROSPECT_BINARY_PROPERTIES)) {
+      Object value = event.getNewValue();
+      this.setBinaryProperties(
+          (value != null) && Boolean.valueOf(value.toString()).booleanValue());
     }
   }
 
@@ -35,6 +35,9 @@
 
 package org.exolab.castor.xml;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -43,6 +46,7 @@ import java.util.Map;
 import java.util.List;
 import java.util.Set;
 
+import org.castor.core.util.HexDecoder;
 import org.castor.xml.BackwardCompatibilityContext;
 import org.castor.xml.InternalContext;
 import org.castor.xml.AbstractInternalContext;
@@ -50,8 +54,11 @@ import org.castor.xml.JavaNaming;
 import org.exolab.castor.mapping.ClassDescriptor;
 import org.exolab.castor.mapping.CollectionHandler;
 import org.exolab.castor.mapping.FieldDescriptor;
+import org.exolab.castor.mapping.FieldHandler;
 import org.exolab.castor.mapping.MappingException;
 import org.exolab.castor.mapping.loader.CollectionHandlers;
+import org.exolab.castor.mapping.loader.FieldHandlerImpl;
+import org.exolab.castor.mapping.loader.collection.handler.PrimitiveArrayCollectionHandler;
 import org.exolab.castor.util.ReflectionUtil;
 
 
@@ -149,6 +156,11 @@ abstract class MarshalFramework {
    */
   static final String QNAME_NAME = "QName";
 
+  /**
+   * The schema type of base64 encoded binary content.
+   */
+  static final String BASE64_TYPE = "base64Binary";
+
   /**
    * An empty array of field descriptors.
    */
@@ -293,6 +305,69 @@ abstract class MarshalFramework {
 
   } // -- isPrimitive
 
+  /**
+   * Returns true if values of the given class are written as base64 or hexBinary text. A
+   * <code>byte[]</code> always is; a {@link ByteBuffer} or {@link InputStream} only if the field
+   * declares a binary schema type, as mapped fields with such a type and introspected fields with
+   * {@link org.castor.xml.XMLProperties#INTROSPECT_BINARY_PROPERTIES} enabled do. Their content
+   * is encoded without first being copied into an array.
+   * 
+   * @param type the Class to check
+   * @param descriptor the descriptor of the field holding the value, may be null
+   * @return true if the given class holds binary content
+   */
+  static boolean isBinary(final Class<?> type, final XMLFieldDescriptor descriptor) {
+    if (type == null) {
+      return false;
+    }
+    if (type.isArray()) {
+      return type.getComponentType() == Byte.TYPE;
+    }
+    if (!ByteBuffer.class.isAssignableFrom(type) && !InputStream.class.isAssignableFrom(type)) {
+      return false;
+    }
+    if (descriptor == null) {
+      return false;
+    }
+    String schemaType = descriptor.getSchemaType();
+    return BASE64_TYPE.equals(schemaType) || HexDecoder.DATA_TYPE.equals(schemaType);
+  } // -- isBinary
+
+  /**
+   * Returns the given decoded bytes as a value of the given binary type.
+   * 
+   * @param type the binary type, see {@link #isBinary(Class, XMLFieldDescriptor)}
+   * @param bytes the decoded bytes
+   * @return the bytes themselves, or a {@link ByteBuffer} or {@link InputStream} reading them
+   */
+  static Object toBinaryValue(final Class<?> type, final byte[] bytes) {
+    if ((type != null) && ByteBuffer.class.isAssignableFrom(type)) {
+      return ByteBuffer.wrap(bytes);
+    }
+    if ((type != null) && InputStream.class.isAssignableFrom(type)) {
+      return new ByteArrayInputStream(bytes);
+    }
+    return bytes;
+  } // -- toBinaryValue
+
+  /**
+   * Returns the handler that adds values to the array of primitives the given field handler
+   * stores values in, or null if the field is not such an array or is set otherwise.
+   * 
+   * @param handler the field handler to check
+   * @return the primitive array handler used by the given field handler, or null
+   */
+  static PrimitiveArrayCollectionHandler<?> getPrimitiveArrayHandler(
+      final FieldHandler<?> handler) {
+    if (handler instanceof FieldHandlerImpl) {
+      CollectionHandler<?> colHandler = ((FieldHandlerImpl<?>) handler).getCollectionHandler();
+      if (colHandler instanceof PrimitiveArrayCollectionHandler) {
+        return (PrimitiveArrayCollectionHandler<?>) colHandler;
+      }
+    }
+    return null;
+  } // -- getPrimitiveArrayHandler
+
   /**
    * Returns true if the given class should be treated as an enum type. This method will return true
    * for all Java 5 (or later) enums, and for enum-style classes.
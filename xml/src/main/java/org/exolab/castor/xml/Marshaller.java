@@ -39,11 +39,14 @@
 package org.exolab.castor.xml;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashSet;
@@ -57,6 +60,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.castor.core.util.Base64Encoder;
+import org.castor.core.util.IdentitySet;
 import org.castor.core.util.HexDecoder;
 import org.castor.core.util.Messages;
 import org.castor.mapping.BindingType;
@@ -73,6 +77,7 @@ import org.exolab.castor.mapping.MappingException;
 import org.exolab.castor.mapping.MappingLoader;
 import org.exolab.castor.mapping.handlers.MapHandlers;
 import org.exolab.castor.mapping.loader.CollectionHandlers;
+import org.exolab.castor.mapping.loader.collection.handler.PrimitiveArrayCollectionHandler;
 import org.exolab.castor.types.AnyNode;
 import org.exolab.castor.util.SafeStack;
 import org.exolab.castor.xml.descriptors.RootArrayDescriptor;
@@ -159,6 +164,17 @@ public class Marshaller extends MarshalFramework {
    */
   private static final StringClassDescriptor STRING_CLASS_DESCRIPTOR = new StringClassDescriptor();
 
+  /**
+   * Number of bytes encoded at a time when writing binary content; a multiple of 3, so that every
+   * window but the last one is base64 encoded without padding.
+   */
+  private static final int BINARY_WINDOW = 3 * 1024;
+
+  /**
+   * The (stateless) Validator used for inline validation.
+   */
+  private static final Validator VALIDATOR = new Validator();
+
   // ----------------------------/
   // - Private member variables -/
   // ----------------------------/
@@ -208,7 +224,13 @@ public class Marshaller extends MarshalFramework {
   /**
    * A stack of parent objects...to prevent circular references from being marshaled.
    **/
-  private Stack _parents = new SafeStack();
+  private final AncestorStack _parents = new AncestorStack();
+
+  /**
+   * Whether the object graph is known to be free of cycles, in which case the stack of parent
+   * objects is not maintained.
+   */
+  private boolean _assumeAcyclic = false;
 
   /**
    * A list of ProcessingInstructions to output upon marshalling of the document.
@@ -260,6 +282,24 @@ public class Marshaller extends MarshalFramework {
    */
   private boolean _validate = false;
 
+  /**
+   * Whether validation is performed inline, i.e. object by object as the object graph is
+   * marshalled, instead of in a separate pass over the whole graph up front.
+   */
+  private boolean _inlineValidation = false;
+
+  /**
+   * The {@link ValidationContext} used for inline validation during the current marshal call;
+   * null if no inline validation is in progress.
+   */
+  private ValidationContext _validationContext = null;
+
+  /**
+   * The Writer the serializer has been configured with, used to buffer output during inline
+   * validation; null if marshalling to any other kind of destination.
+   */
+  private Writer _writer = null;
+
   /**
    * Set of full class names of proxy interfaces. If the class to be marshalled implements one of
    * them the superclass will be marshalled instead of the class itself.
@@ -460,11 +500,12 @@ public class Marshaller extends MarshalFramework {
       throw new RuntimeException("Unable to obtain serializer");
 
     _serializer.setOutputCharStream(out);
+    _writer = out;
 
     // -- Due to a Xerces Serializer bug that doesn't allow declaring
     // -- multiple prefixes to the same namespace, we use the old
     // -- DocumentHandler format and process namespaces ourselves
-    _handler = new DocumentHandlerAdapter(_serializer.asDocumentHandler());
+    _handler = createSerializerHandler();
 
     if (_handler == null) {
       String err = Messages.format(SERIALIZER_NOT_SAX_CAPABLE, _serializer.getClass().getName());
@@ -556,8 +597,12 @@ public class Marshaller extends MarshalFramework {
    */
   private void deriveProperties() {
     _validate = getInternalContext().marshallingValidation();
+    _inlineValidation = "inline".equalsIgnoreCase(
+        getInternalContext().getStringProperty(XMLProperties.MARSHALLING_VALIDATION_MODE));
     _saveMapKeys =
         getInternalContext().getBooleanProperty(XMLProperties.SAVE_MAP_KEYS).booleanValue();
+    _assumeAcyclic = Boolean.TRUE
+        .equals(getInternalContext().getBooleanProperty(XMLProperties.MARSHALLING_ASSUME_ACYCLIC));
 
     String prop = getInternalContext().getStringProperty(XMLProperties.PROXY_INTERFACES);
     if (prop != null) {
@@ -810,6 +855,32 @@ public class Marshaller extends MarshalFramework {
     return _validate;
   }
 
+  /**
+   * Sets whether the object graph to marshal is known to be free of cycles. If so, the Marshaller
+   * does not keep track of the objects currently being marshalled, which it otherwise does to
+   * prevent circular references from being marshalled endlessly. By default cycles are checked for.
+   * <p>
+   * <b>Note:</b> marshalling an object graph that does contain a cycle with this flag set will not
+   * terminate normally.
+   *
+   * @param assumeAcyclic true if the object graph is known to be free of cycles.
+   * @since 1.4.2
+   */
+  public void setAssumeAcyclic(final boolean assumeAcyclic) {
+    _assumeAcyclic = assumeAcyclic;
+  }
+
+  /**
+   * Returns whether the object graph to marshal is assumed to be free of cycles.
+   *
+   * @return true if cycles are not checked for.
+   * @since 1.4.2
+   * @see #setAssumeAcyclic(boolean)
+   */
+  public boolean getAssumeAcyclic() {
+    return _assumeAcyclic;
+  }
+
   /**
    * If True the marshaller will use the 'xsi:type' attribute to marshall a field value that
    * extended the defined field type. Default is True.
@@ -931,28 +1002,101 @@ public class Marshaller extends MarshalFramework {
       } catch (SAXException e) {
         throw new MarshalException(e);
       }
+    } else if (_validate && _inlineValidation) {
+      _validationContext = new ValidationContext();
+      _validationContext.setInternalContext(getInternalContext());
+      _validationContext.setShallow(true);
+      final int scopes = namespacesStack.getNamespaceScopeCount();
+      final int depth = _depth;
+      try {
+        if (_writer != null) {
+          marshalBuffered(object);
+        } else {
+          marshalRoot(object);
+        }
+      } catch (ValidationException vx) {
+        // -- unwind the state left behind by the interrupted marshalling
+        _parents.clear();
+        while (namespacesStack.getNamespaceScopeCount() > scopes) {
+          namespacesStack.removeNamespaceScope();
+        }
+        _depth = depth;
+        throw vx;
+      } finally {
+        _validationContext.cleanup();
+        _validationContext = null;
+      }
     } else {
       validate(object);
-      MarshalState mstate = new MarshalState(object, "root");
-      if (_asDocument) {
-        try {
-          _handler.startDocument();
-          // -- handle processing instructions
-          for (int i = 0; i < _processingInstructions.size(); i++) {
-            ProcessingInstruction pi = _processingInstructions.get(i);
-            _handler.processingInstruction(pi.getTarget(), pi.getData());
-          }
-          marshal(object, null, _handler, mstate);
-          _handler.endDocument();
-        } catch (SAXException sx) {
-          throw new MarshalException(sx);
+      marshalRoot(object);
+    }
+
+  } // -- marshal
+
+  /**
+   * Marshals the given (root) Object, surrounding it with the document events if required.
+   *
+   * @param object The Object to marshal.
+   * @throws MarshalException If marshalling fails.
+   * @throws ValidationException If inline validation fails.
+   */
+  private void marshalRoot(final Object object) throws MarshalException, ValidationException {
+    MarshalState mstate = new MarshalState(object, "root");
+    if (_asDocument) {
+      try {
+        _handler.startDocument();
+        // -- handle processing instructions
+        for (int i = 0; i < _processingInstructions.size(); i++) {
+          ProcessingInstruction pi = _processingInstructions.get(i);
+          _handler.processingInstruction(pi.getTarget(), pi.getData());
         }
-      } else {
         marshal(object, null, _handler, mstate);
+        _handler.endDocument();
+      } catch (SAXException sx) {
+        throw new MarshalException(sx);
       }
+    } else {
+      marshal(object, null, _handler, mstate);
     }
+  }
 
-  } // -- marshal
+  /**
+   * Marshals the given Object into a buffer, which is copied to the Writer of this Marshaller only
+   * once the whole object graph has been marshalled (and validated) successfully. Like with the
+   * separate validation pass, nothing is written if the object graph is invalid.
+   *
+   * @param object The Object to marshal.
+   * @throws MarshalException If marshalling fails.
+   * @throws ValidationException If inline validation fails.
+   */
+  private void marshalBuffered(final Object object) throws MarshalException, ValidationException {
+    final Writer writer = _writer;
+    final StringWriter buffer = new StringWriter();
+    try {
+      redirectSerializer(buffer);
+      try {
+        marshalRoot(object);
+      } finally {
+        redirectSerializer(writer);
+      }
+      writer.write(buffer.toString());
+      writer.flush();
+    } catch (IOException iox) {
+      throw new MarshalException(iox);
+    }
+  }
+
+  /**
+   * Points the serializer to the given Writer, without changing the Writer this Marshaller has
+   * been configured with.
+   *
+   * @param out The Writer the serializer should write to.
+   * @throws IOException If the serializer cannot be set up.
+   */
+  private void redirectSerializer(final Writer out) throws IOException {
+    _serializer.setOutputCharStream(out);
+    _handler = createSerializerHandler();
+  }
 
   /**
    * Marshals the given object, using the given descriptor and document handler.
@@ -1010,12 +1154,13 @@ public class Marshaller extends MarshalFramework {
 
     // -- add object to stack so we don't potentially get into
     // -- an endlessloop
-    if (_parents.search(object) >= 0) {
-      return;
+    if (!_assumeAcyclic) {
+      if (_parents.contains(object)) {
+        return;
+      }
+      _parents.push(object);
     }
 
-    _parents.push(object);
-
     final boolean isNil = (object instanceof NilObject);
 
     Class<?> cls = null;
@@ -1041,9 +1186,7 @@ public class Marshaller extends MarshalFramework {
       cls = ((NilObject) object).getClassDescriptor().getJavaClass();
     }
 
-    boolean byteArray = false;
-    if (cls.isArray())
-      byteArray = (cls.getComponentType() == Byte.TYPE);
+    boolean byteArray = isBinary(cls, descriptor);
 
     boolean atRoot = false;
     if (descriptor == null) {
@@ -1091,6 +1234,10 @@ public class Marshaller extends MarshalFramework {
         // -- check to see if we need to save the xsi:type
         // -- for this class
         Class<?> fieldType = descriptor.getFieldType();
+        if (byteArray && !cls.isArray() && fieldType.isAssignableFrom(cls)) {
+          // -- a buffer or stream implementation of the declared binary type
+          fieldType = cls;
+        }
         if (cls != fieldType) {
           while (fieldType.isArray()) {
             fieldType = fieldType.getComponentType();
@@ -1214,11 +1361,20 @@ public class Marshaller extends MarshalFramework {
 
           throw new MarshalException(MarshalException.BASE_CLASS_OR_VOID_ERR);
         }
-        _parents.pop();
+        if (!_assumeAcyclic) {
+          _parents.pop();
+        }
         return;
       }
     }
 
+    // -- validate this object's own fields; the objects it refers to
+    // -- are validated as they are marshalled in turn
+    if (_validationContext != null && !isNil && classDesc != STRING_CLASS_DESCRIPTOR
+        && !(classDesc instanceof RootArrayDescriptor)) {
+      VALIDATOR.validate(object, classDesc, _validationContext);
+    }
+
     // -- handle auto-naming by class
     if (autoNameByClass) {
       if (classDesc.getXMLName() != null) {
@@ -1646,7 +1802,7 @@ public class Marshaller extends MarshalFramework {
         }
 
         // -- declare all necesssary namespaces
-        namespacesStack.getCurrentNamespaceScope().sendStartEvents(handler);
+        namespacesStack.sendStartEvents(handler);
         // -- Make sure qName is not null
         if (qName == null) {
           // -- hopefully this never happens, but if it does, it means
@@ -1753,14 +1909,10 @@ public class Marshaller extends MarshalFramework {
 
           char[] chars = null;
           Class<?> objType = obj.getClass();
-          if (objType.isArray() && (objType.getComponentType() == Byte.TYPE)) {
+          if (isBinary(objType, cdesc)) {
             // -- handle base64/hexbinary content
             final String schemaType = descriptor.getSchemaType();
-            if (HexDecoder.DATA_TYPE.equals(schemaType)) {
-              chars = new String(HexDecoder.encode((byte[]) obj)).toCharArray();
-            } else {
-              chars = Base64Encoder.encode((byte[]) obj);
-            }
+            binaryCharacters(handler, obj, HexDecoder.DATA_TYPE.equals(schemaType));
           } else {
             // -- all other types
             String str = obj.toString();
@@ -1794,18 +1946,9 @@ public class Marshaller extends MarshalFramework {
         // -- Base64Encoding / HexBinary
         String schemaType = descriptor.getSchemaType();
         String componentType = descriptor.getComponentType();
-        char[] chars = new char[0];
-        if ((descriptor.isMultivalued() && HexDecoder.DATA_TYPE.equals(componentType))
-            || HexDecoder.DATA_TYPE.equals(schemaType)) {
-          chars = new String(HexDecoder.encode((byte[]) object)).toCharArray();
-        } else {
-          chars = Base64Encoder.encode((byte[]) object);
-        }
-        try {
-          handler.characters(chars, 0, chars.length);
-        } catch (org.xml.sax.SAXException sx) {
-          throw new MarshalException(sx);
-        }
+        binaryCharacters(handler, object,
+            (descriptor.isMultivalued() && HexDecoder.DATA_TYPE.equals(componentType))
+                || HexDecoder.DATA_TYPE.equals(schemaType));
       }
       /* special case for Strings and primitives */
       else if (isPrimitive(cls)) {
@@ -2071,14 +2214,16 @@ public class Marshaller extends MarshalFramework {
       if (!containerField) {
         handler.endElement(nsURI, name, qName);
         // -- undeclare all necesssary namespaces
-        namespacesStack.getCurrentNamespaceScope().sendEndEvents(handler);
+        namespacesStack.sendEndEvents(handler);
       }
     } catch (org.xml.sax.SAXException sx) {
       throw new MarshalException(sx);
     }
 
     --_depth;
-    _parents.pop();
+    if (!_assumeAcyclic) {
+      _parents.pop();
+    }
     if (!atRoot) {
       namespacesStack.removeNamespaceScope();
     }
@@ -2388,7 +2533,7 @@ public class Marshaller extends MarshalFramework {
         // -- Due to a Xerces Serializer bug that doesn't allow declaring
         // -- multiple prefixes to the same namespace, we use the old
         // -- DocumentHandler format and process namespaces ourselves
-        _handler = new DocumentHandlerAdapter(_serializer.asDocumentHandler());
+        _handler = createSerializerHandler();
       } catch (java.io.IOException iox) {
         // -- we can ignore this exception since it shouldn't
         // -- happen. If _serializer is not null, it means
@@ -2624,6 +2769,15 @@ public class Marshaller extends MarshalFramework {
       } catch (MappingException mx) {
         throw new MarshalException(mx);
       }
+      // -- arrays of primitives are written without wrapping their elements
+      if (colHandler instanceof PrimitiveArrayCollectionHandler) {
+        if (colHandler.size(value) == 0) {
+          return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        ((PrimitiveArrayCollectionHandler<?>) colHandler).appendElements(sb, value);
+        return sb;
+      }
       enumeration = colHandler.elements(value);
     }
     if (enumeration.hasMoreElements()) {
@@ -2648,6 +2802,87 @@ public class Marshaller extends MarshalFramework {
   }
 
 
+  /**
+   * Writes the given binary content as base64 or hexBinary characters. The content is encoded in
+   * windows of {@link #BINARY_WINDOW} bytes, each passed to the handler as soon as it is encoded,
+   * so that neither the complete encoded text nor, for streams, the complete content is ever held
+   * in memory. An {@link InputStream} is read to its end but not closed; a {@link ByteBuffer} is
+   * read from its position to its limit without changing either.
+   * 
+   * @param handler the ContentHandler to write to
+   * @param value a <code>byte[]</code>, {@link ByteBuffer} or {@link InputStream}
+   * @param hex true for hexBinary, false for base64
+   * @throws MarshalException if the handler or the stream fails
+   */
+  private void binaryCharacters(final ContentHandler handler, final Object value,
+      final boolean hex) throws MarshalException {
+    char[] chars = new char[hex ? BINARY_WINDOW * 2 : BINARY_WINDOW / 3 * 4];
+    try {
+      if (value instanceof byte[]) {
+        byte[] bytes = (byte[]) value;
+        for (int off = 0; off < bytes.length; off += BINARY_WINDOW) {
+          int len = Math.min(BINARY_WINDOW, bytes.length - off);
+          encodeWindow(handler, bytes, off, len, chars, hex);
+        }
+      } else if (value instanceof ByteBuffer) {
+        ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+        byte[] window = buffer.hasArray() ? buffer.array() : new byte[BINARY_WINDOW];
+        while (buffer.hasRemaining()) {
+          int len = Math.min(BINARY_WINDOW, buffer.remaining());
+          if (buffer.hasArray()) {
+            int off = buffer.arrayOffset() + buffer.position();
+            encodeWindow(handler, window, off, len, chars, hex);
+            buffer.position(buffer.position() + len);
+          } else {
+            buffer.get(window, 0, len);
+            encodeWindow(handler, window, 0, len, chars, hex);
+          }
+        }
+      } else {
+        InputStream in = (InputStream) value;
+        byte[] window = new byte[BINARY_WINDOW];
+        int len;
+        do {
+          // -- fill the whole window, so that only the last one may need padding
+          len = 0;
+          int read = 0;
+          while (len < BINARY_WINDOW && (read = in.read(window, len, BINARY_WINDOW - len)) >= 0) {
+            len += read;
+          }
+          if (len > 0) {
+            encodeWindow(handler, window, 0, len, chars, hex);
+          }
+        } while (len == BINARY_WINDOW);
+      }
+    } catch (IOException iox) {
+      throw new MarshalException(iox);
+    } catch (SAXException sx) {
+      throw new MarshalException(sx);
+    }
+  }
+
+  /**
+   * Encodes a window of binary content and passes the characters to the handler.
+   * 
+   * @param handler the ContentHandler to write to
+   * @param bytes the bytes to encode
+   * @param off the offset of the first byte to encode
+   * @param len the number of bytes to encode
+   * @param chars the character array to encode into
+   * @param hex true for hexBinary, false for base64
+   * @throws SAXException if the handler fails
+   */
+  private static void encodeWindow(final ContentHandler handler, final byte[] bytes, final int off,
+      final int len, final char[] chars, final boolean hex) throws SAXException {
+    int count;
+    if (hex) {
+      count = HexDecoder.encode(bytes, off, len, chars, 0);
+    } else {
+      count = Base64Encoder.encode(bytes, off, len, chars, 0);
+    }
+    handler.characters(chars, 0, count);
+  }
+
   /**
    * Encode binary data.
    * 
@@ -2840,6 +3075,53 @@ public class Marshaller extends MarshalFramework {
   }
 
 
+  /**
+   * The stack of objects currently being marshalled, from the root object down to the current one.
+   * Membership is tested by identity, in constant time rather than by scanning the stack.
+   */
+  static final class AncestorStack {
+    /** The objects in the order they have been pushed. */
+    private final List<Object> _stack = new ArrayList<Object>();
+
+    /** The same objects, for identity-based lookup. */
+    private final IdentitySet _members = new IdentitySet();
+
+    /**
+     * Returns true if the given object (and not just an equal one) is on this stack.
+     *
+     * @param object the object to look for.
+     * @return true if the given object is on this stack.
+     */
+    boolean contains(final Object object) {
+      return _members.contains(object);
+    }
+
+    /**
+     * Pushes the given object, which must not be on this stack already.
+     *
+     * @param object the object to push.
+     */
+    void push(final Object object) {
+      _stack.add(object);
+      _members.add(object);
+    }
+
+    /**
+     * Removes the most recently pushed object from this stack.
+     */
+    void pop() {
+      _members.remove(_stack.remove(_stack.size() - 1));
+    }
+
+    /**
+     * Removes all objects from this stack.
+     */
+    void clear() {
+      _stack.clear();
+      _members.clear();
+    }
+  }
+
   static class MarshalState {
     private String _xpath = null;
     private XMLFieldDescriptor[] _nestedAtts = null;
@@ -2923,6 +3205,24 @@ public class Marshaller extends MarshalFramework {
    */
   public void setContentHandler(final ContentHandler contentHandler) {
     _handler = contentHandler;
+    _writer = null;
+  }
+
+  /**
+   * Returns a {@link ContentHandler} writing to the current serializer. Serializers whose
+   * document handler is a {@link ContentHandler} already are used directly; others are wrapped
+   * into a {@link DocumentHandlerAdapter}.
+   *
+   * @return the ContentHandler to use for marshalling to the serializer.
+   * @throws IOException if the serializer cannot be set up
+   */
+  @SuppressWarnings("deprecation")
+  private ContentHandler createSerializerHandler() throws IOException {
+    DocumentHandler handler = _serializer.asDocumentHandler();
+    if (handler instanceof ContentHandler) {
+      return (ContentHandler) handler;
+    }
+    return new DocumentHandlerAdapter(handler);
   }
 
   /**
@@ -2933,7 +3233,7 @@ public class Marshaller extends MarshalFramework {
       // -- Due to a Xerces Serializer bug that doesn't allow declaring
       // -- multiple prefixes to the same namespace, we use the old
       // -- DocumentHandler format and process namespaces ourselves
-      _handler = new DocumentHandlerAdapter(_serializer.asDocumentHandler());
+      _handler = createSerializerHandler();
     } catch (IOException iox) {
       // -- we can ignore this exception since it shouldn't
       // -- happen. If _serializer is not null, it means
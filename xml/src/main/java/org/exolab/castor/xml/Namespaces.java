@@ -106,6 +106,34 @@ public final class Namespaces {
     if (prefix == null)
       prefix = "";
 
+    if (isBuiltIn(prefix, uri)) {
+      // -- just ignore it (it's already supported internally)
+      return;
+    }
+
+    // adds the namespace
+    Namespace namespace;
+    if (namespaceMap.containsKey(prefix)) {
+      namespaceMap.get(prefix).setUri(uri);
+    } else {
+      namespace = new Namespace(prefix, uri);
+      namespaces.add(namespace);
+      namespaceMap.put(prefix, namespace);
+    }
+  }
+
+  /**
+   * Checks the given namespace declaration against the reserved 'xml' prefix and namespace.
+   * 
+   * @param prefix the namespace prefix, not null
+   * @param uri the namespace URI to be associated with the given prefix
+   * @return true if the declaration binds the 'xml' prefix to the XML namespace, which is always
+   *         declared and need not be added
+   * 
+   * @throws IllegalArgumentException if the declaration binds the 'xml' prefix or the XML namespace
+   *         otherwise
+   */
+  static boolean isBuiltIn(String prefix, String uri) {
     // -- Make sure prefix is not equal to "xml"
     if (XML_NAMESPACE_PREFIX.equalsIgnoreCase(prefix)) {
       if (!XML_NAMESPACE.equals(uri)) {
@@ -113,9 +141,7 @@ public final class Namespaces {
             "The prefix 'xml' is reserved (XML 1.0 Specification) " + "and cannot be declared.";
         throw new IllegalArgumentException(err);
       }
-      // -- if we make it here, just ignore it (it's already supported
-      // internally)
-      return;
+      return true;
     }
     // -- make sure URI is not equal to the XML 1.0 namespace
     else if (XML_NAMESPACE.equals(uri)) {
@@ -123,16 +149,7 @@ public final class Namespaces {
       err += "' is reserved (XML 1.0 Specification) and cannot be declared.";
       throw new IllegalArgumentException(err);
     }
-
-    // adds the namespace
-    Namespace namespace;
-    if (namespaceMap.containsKey(prefix)) {
-      namespaceMap.get(prefix).setUri(uri);
-    } else {
-      namespace = new Namespace(prefix, uri);
-      namespaces.add(namespace);
-      namespaceMap.put(prefix, namespace);
-    }
+    return false;
   }
 
   /**
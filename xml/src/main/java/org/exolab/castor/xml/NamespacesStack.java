@@ -13,18 +13,29 @@
  */
 package org.exolab.castor.xml;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Enumeration;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.castor.core.util.Assert;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
 import org.xml.sax.helpers.AttributeListImpl;
 
 /**
  * This class is an actual namespace stack implementation, responsible for adding and removing
  * namespace scopes, as well as resolving namespace urls and prefixes by traversing all the
  * namespace stack.
+ * <p>
+ * The declarations of all scopes are kept in a pair of parallel prefix and URI arrays, and every
+ * scope is represented by the index of its first declaration only. Adding or removing a scope
+ * without declarations therefore neither allocates nor copies anything, which is the common case
+ * for documents declaring their namespaces at the root element. Prefixes looked up by namespace
+ * URI are cached until the declarations change.
  * 
  * @author <a href="mailto:jmnarloch AT gmail DOT com">Jakub Narloch</a>
  * @since 1.3.3
@@ -40,9 +51,48 @@ public class NamespacesStack {
   private static final String DEFAULT_NAMESPACE = "";
 
   /**
-   * Represents a stack of namespaces.
+   * The initial number of declarations and scopes that can be held without growing.
    */
-  private List<Namespaces> namespaceStack = new ArrayList<Namespaces>();
+  private static final int INITIAL_CAPACITY = 16;
+
+  private static final String CDATA = "CDATA";
+
+  private static final String XMLNS = "xmlns";
+
+  /**
+   * The prefixes of all declared namespaces, from the outermost to the current scope.
+   */
+  private String[] prefixes = new String[INITIAL_CAPACITY];
+
+  /**
+   * The namespace uris of all declared namespaces, in the same order as the prefixes.
+   */
+  private String[] uris = new String[INITIAL_CAPACITY];
+
+  /**
+   * The number of declared namespaces.
+   */
+  private int size;
+
+  /**
+   * The index of the first declaration of every scope, from the outermost to the current scope.
+   */
+  private int[] scopes = new int[INITIAL_CAPACITY];
+
+  /**
+   * The number of scopes.
+   */
+  private int depth;
+
+  /**
+   * The namespace prefixes already looked up per namespace uri.
+   */
+  private final Map<String, String> prefixCache = new HashMap<String, String>();
+
+  /**
+   * The non default namespace prefixes already looked up per namespace uri.
+   */
+  private final Map<String, String> nonDefaultPrefixCache = new HashMap<String, String>();
 
   /**
    * Adds a namespace to current scope.
@@ -51,10 +101,27 @@ public class NamespacesStack {
    * @param namespaceUri the namespace uri
    */
   public void addNamespace(String namespacePrefix, String namespaceUri) {
-    Namespaces namespaces = getCurrentNamespaceScope();
-    if (namespaces != null) {
-      namespaces.addNamespace(namespacePrefix, namespaceUri);
+    Assert.notNull(namespaceUri, "Namespace URI must not be null");
+    if (namespacePrefix == null) {
+      namespacePrefix = DEFAULT_NAMESPACE;
+    }
+    if (Namespaces.isBuiltIn(namespacePrefix, namespaceUri)) {
+      return;
     }
+
+    int index = indexOfLocalPrefix(namespacePrefix);
+    if (index >= 0) {
+      uris[index] = namespaceUri;
+    } else {
+      if (size == prefixes.length) {
+        prefixes = Arrays.copyOf(prefixes, size * 2);
+        uris = Arrays.copyOf(uris, size * 2);
+      }
+      prefixes[size] = namespacePrefix;
+      uris[size] = namespaceUri;
+      size++;
+    }
+    clearCaches();
   }
 
   /**
@@ -72,7 +139,18 @@ public class NamespacesStack {
    * @param namespacePrefix the prefix of the namespace to remove
    */
   public void removeNamespace(String namespacePrefix) {
-    getCurrentNamespaceScope().removeNamespace(namespacePrefix);
+    if (namespacePrefix == null) {
+      return;
+    }
+    int index = indexOfLocalPrefix(namespacePrefix);
+    if (index >= 0) {
+      size--;
+      System.arraycopy(prefixes, index + 1, prefixes, index, size - index);
+      System.arraycopy(uris, index + 1, uris, index, size - index);
+      prefixes[size] = null;
+      uris[size] = null;
+      clearCaches();
+    }
   }
 
   /**
@@ -84,11 +162,21 @@ public class NamespacesStack {
    *         given prefix
    */
   public String getNamespaceURI(String namespacePrefix) {
-    String namespaceUri = null;
-    for (int ind = namespaceStack.size() - 1; ind >= 0 && namespaceUri == null; ind--) {
-      namespaceUri = namespaceStack.get(ind).getNamespaceURI(namespacePrefix);
+    if (depth == 0) {
+      return null;
     }
-    return namespaceUri;
+    if (namespacePrefix == null) {
+      namespacePrefix = DEFAULT_NAMESPACE;
+    }
+    for (int index = size - 1; index >= 0; index--) {
+      if (namespacePrefix.equals(prefixes[index])) {
+        return uris[index];
+      }
+    }
+    if (Namespaces.XML_NAMESPACE_PREFIX.equals(namespacePrefix)) {
+      return Namespaces.XML_NAMESPACE;
+    }
+    return null;
   }
 
   /**
@@ -100,11 +188,13 @@ public class NamespacesStack {
    */
   @SuppressWarnings("deprecation")
   public void declareAsAttributes(AttributeListImpl attributeList, boolean localOnly) {
-    getCurrentNamespaceScope().declareAsAttributes(attributeList);
+    ensureScope();
+    declareAsAttributes(attributeList, scopes[depth - 1], size);
     if (!localOnly) {
-      for (int ind = namespaceStack.size() - 1; ind >= 0; ind--) {
-
-        namespaceStack.get(ind).declareAsAttributes(attributeList);
+      int end = size;
+      for (int ind = depth - 1; ind >= 0; ind--) {
+        declareAsAttributes(attributeList, scopes[ind], end);
+        end = scopes[ind];
       }
     }
   }
@@ -126,11 +216,8 @@ public class NamespacesStack {
    * @return the
    */
   public String getNamespacePrefix(String namespaceUri) {
-    String namespacePrefix = null;
-    for (int ind = namespaceStack.size() - 1; ind >= 0 && namespacePrefix == null; ind--) {
-      namespacePrefix = namespaceStack.get(ind).getNamespacePrefix(namespaceUri);
-    }
-    return namespacePrefix;
+    Assert.notNull(namespaceUri, "Namespace URI must not be null.");
+    return getNamespacePrefix(namespaceUri, prefixCache, false);
   }
 
   /**
@@ -141,11 +228,8 @@ public class NamespacesStack {
    * @return the
    */
   public String getNonDefaultNamespacePrefix(String namespaceUri) {
-    String namespacePrefix = null;
-    for (int ind = namespaceStack.size() - 1; ind >= 0 && namespacePrefix == null; ind--) {
-      namespacePrefix = namespaceStack.get(ind).getNonDefaultNamespacePrefix(namespaceUri);
-    }
-    return namespacePrefix;
+    Assert.notNull(namespaceUri, "Namespace URI must not be null.");
+    return getNamespacePrefix(namespaceUri, nonDefaultPrefixCache, true);
   }
 
   /**
@@ -154,15 +238,45 @@ public class NamespacesStack {
    * @return the enumeration of namespace prefixes
    */
   public Enumeration<String> getLocalNamespacePrefixes() {
-    Namespaces namespaces = getCurrentNamespaceScope();
-    return namespaces != null ? namespaces.getLocalNamespacePrefixes() : null;
+    ensureScope();
+    return Collections.enumeration(
+        Arrays.asList(Arrays.copyOfRange(prefixes, scopes[depth - 1], size)));
+  }
+
+  /**
+   * Calls the given ContentHandler's startPrefixMapping method for each namespace declared in
+   * current scope.
+   * 
+   * @param handler the ContentHandler
+   * @throws SAXException if the ContentHandler fails
+   */
+  public void sendStartEvents(ContentHandler handler) throws SAXException {
+    for (int index = depth > 0 ? scopes[depth - 1] : size; index < size; index++) {
+      handler.startPrefixMapping(prefixes[index], uris[index]);
+    }
+  }
+
+  /**
+   * Calls the given ContentHandler's endPrefixMapping method for each namespace declared in
+   * current scope.
+   * 
+   * @param handler the ContentHandler
+   * @throws SAXException if the ContentHandler fails
+   */
+  public void sendEndEvents(ContentHandler handler) throws SAXException {
+    for (int index = depth > 0 ? scopes[depth - 1] : size; index < size; index++) {
+      handler.endPrefixMapping(prefixes[index]);
+    }
   }
 
   /**
    * Adds a new namespace scope.
    */
   public void addNewNamespaceScope() {
-    namespaceStack.add(new Namespaces());
+    if (depth == scopes.length) {
+      scopes = Arrays.copyOf(scopes, depth * 2);
+    }
+    scopes[depth++] = size;
   }
 
   /**
@@ -170,22 +284,133 @@ public class NamespacesStack {
    */
   public void removeNamespaceScope() {
     // removes the current namespace
-    if (!namespaceStack.isEmpty()) {
-      namespaceStack.remove(namespaceStack.size() - 1);
+    if (depth > 0) {
+      int start = scopes[--depth];
+      if (start < size) {
+        Arrays.fill(prefixes, start, size, null);
+        Arrays.fill(uris, start, size, null);
+        size = start;
+        clearCaches();
+      }
     } else {
       this.logger.error("Trying to remove a namespaces scope from an empty stack of Namespaces");
     }
   }
 
   /**
-   * Retrieves the current namespace scope.
+   * Retrieves the number of namespace scopes.
+   * 
+   * @return the number of namespace scopes
+   * @since 1.4.2
+   */
+  public int getNamespaceScopeCount() {
+    return depth;
+  }
+
+  /**
+   * Retrieves a copy of the current namespace scope, holding the namespaces declared in it. Changes
+   * to the returned instance do not affect this stack; use the methods of this class to declare or
+   * remove namespaces.
    * 
-   * @return the current namespace scope.
+   * @return a copy of the current namespace scope.
    */
   public Namespaces getCurrentNamespaceScope() {
-    if (namespaceStack.isEmpty()) {
+    ensureScope();
+    Namespaces namespaces = new Namespaces();
+    for (int index = scopes[depth - 1]; index < size; index++) {
+      namespaces.addNamespace(prefixes[index], uris[index]);
+    }
+    return namespaces;
+  }
+
+  /**
+   * Adds a namespace scope if there is none yet.
+   */
+  private void ensureScope() {
+    if (depth == 0) {
       addNewNamespaceScope();
     }
-    return namespaceStack.get(namespaceStack.size() - 1);
+  }
+
+  /**
+   * Returns the index of the declaration of the given prefix in current scope, adding a scope if
+   * there is none yet.
+   * 
+   * @param namespacePrefix the namespace prefix
+   * @return the index of the declaration, or -1 if the prefix is not declared in current scope
+   */
+  private int indexOfLocalPrefix(String namespacePrefix) {
+    ensureScope();
+    for (int index = scopes[depth - 1]; index < size; index++) {
+      if (namespacePrefix.equals(prefixes[index])) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Retrieves the namespace prefix for the given namespace uri, looking at the scopes from the
+   * current to the outermost one and, within a scope, at the declarations in their order.
+   * 
+   * @param namespaceUri the namespace uri
+   * @param cache the prefixes already looked up
+   * @param nonDefault whether to ignore the default namespace
+   * @return the namespace prefix, or null if the namespace uri is not declared
+   */
+  private String getNamespacePrefix(String namespaceUri, Map<String, String> cache,
+      boolean nonDefault) {
+    if (depth == 0) {
+      return null;
+    }
+    if (Namespaces.XML_NAMESPACE.equals(namespaceUri)) {
+      return Namespaces.XML_NAMESPACE_PREFIX;
+    }
+    String namespacePrefix = cache.get(namespaceUri);
+    if (namespacePrefix != null || cache.containsKey(namespaceUri)) {
+      return namespacePrefix;
+    }
+    int end = size;
+    for (int ind = depth - 1; ind >= 0 && namespacePrefix == null; ind--) {
+      for (int index = scopes[ind]; index < end; index++) {
+        if (namespaceUri.equals(uris[index])
+            && (!nonDefault || prefixes[index].length() > 0)) {
+          namespacePrefix = prefixes[index];
+          break;
+        }
+      }
+      end = scopes[ind];
+    }
+    cache.put(namespaceUri, namespacePrefix);
+    return namespacePrefix;
+  }
+
+  /**
+   * Declares the given range of namespaces as attributes.
+   * 
+   * @param attributeList the list of attributes to fill in
+   * @param start the index of the first namespace to declare
+   * @param end the index after the last namespace to declare
+   */
+  private void declareAsAttributes(AttributeListImpl attributeList, int start, int end) {
+    for (int index = start; index < end; index++) {
+      if (prefixes[index].length() > 0) {
+        attributeList.addAttribute(XMLNS + ':' + prefixes[index], CDATA, uris[index]);
+      } else {
+        attributeList.addAttribute(XMLNS, CDATA, uris[index]);
+      }
+    }
+  }
+
+  /**
+   * Discards the prefixes looked up so far, after the declarations have changed.
+   */
+  private void clearCaches() {
+    if (!prefixCache.isEmpty()) {
+      prefixCache.clear();
+    }
+    if (!nonDefaultPrefixCache.isEmpty()) {
+      nonDefaultPrefixCache.clear();
+    }
   }
 }
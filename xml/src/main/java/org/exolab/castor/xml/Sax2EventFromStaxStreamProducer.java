@@ -1,6 +1,7 @@
 package org.exolab.castor.xml;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import javax.xml.namespace.QName;
@@ -13,7 +14,6 @@ import org.apache.commons.logging.LogFactory;
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
-import org.xml.sax.helpers.AttributesImpl;
 
 public class Sax2EventFromStaxStreamProducer extends BaseSax2EventFromStaxProducer {
 
@@ -24,8 +24,15 @@ public class Sax2EventFromStaxStreamProducer extends BaseSax2EventFromStaxProduc
 
   private XMLStreamReader streamReader;
 
+  /**
+   * Live view of the attributes of the current start element, handed to the content handler
+   * instead of a copy.
+   */
+  private final StaxStreamAttributes attributes;
+
   public Sax2EventFromStaxStreamProducer(XMLStreamReader streamReader) {
     this.streamReader = streamReader;
+    this.attributes = new StaxStreamAttributes(streamReader);
   }
 
   public void start() throws SAXException {
@@ -60,23 +67,89 @@ public class Sax2EventFromStaxStreamProducer extends BaseSax2EventFromStaxProduc
     return streamReader.getText().toCharArray();
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Reads the element name from the stream reader directly, without creating a {@link QName}.
+   * </p>
+   */
   @Override
-  void handleSpace() throws SAXException {
-    LOG.info("< handleSpace >");
-    String string = streamReader.getText();
+  void handleStartElement() throws SAXException {
+    if (LOG.isTraceEnabled()) {
+      LOG.trace("< handleStartElement >");
+    }
+    String localName = streamReader.getLocalName();
+    String uri = getNonEmpty(streamReader.getNamespaceURI());
+    String qNameString = getQName(streamReader.getPrefix(), localName);
 
-    char[] chars;
-    chars = new char[string.length()];
-    chars = string.toCharArray();
-    getContentHandler().ignorableWhitespace(chars, 0, chars.length);
+    doStartPrefixMapping();
+
+    getContentHandler().startElement(uri, localName, qNameString, attributes);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Reads the element name from the stream reader directly, without creating a {@link QName}.
+   * </p>
+   */
+  @Override
+  void handleEndElement() throws SAXException {
+    if (LOG.isTraceEnabled()) {
+      LOG.trace("< handleEndElement >");
+    }
+    String localName = streamReader.getLocalName();
+    String uri = getNonEmpty(streamReader.getNamespaceURI());
+    String qNameString = getQName(streamReader.getPrefix(), localName);
+
+    getContentHandler().endElement(uri, localName, qNameString);
+
+    doEndPrefixMapping();
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Passes the stream reader's own character buffer on, instead of a copy of the text.
+   * </p>
+   */
+  @Override
+  void handleCharacters() throws SAXException {
+    if (LOG.isTraceEnabled()) {
+      LOG.trace("< handleCharacters >");
+    }
+    char[] chars = streamReader.getTextCharacters();
+    int start = streamReader.getTextStart();
+    int length = streamReader.getTextLength();
+
+    if (isIgnorableWhitespace(chars, start, length)) {
+      getContentHandler().ignorableWhitespace(chars, start, length);
+    } else {
+      getContentHandler().characters(chars, start, length);
+    }
+  }
+
+  @Override
+  void handleSpace() throws SAXException {
+    if (LOG.isTraceEnabled()) {
+      LOG.trace("< handleSpace >");
+    }
+    getContentHandler().ignorableWhitespace(streamReader.getTextCharacters(),
+        streamReader.getTextStart(), streamReader.getTextLength());
   }
 
   @Override
   void doStartPrefixMapping() throws SAXException {
-    LOG.info("< doStartPrefixMapping >");
-    Integer nsCounter = streamReader.getNamespaceCount();
+    if (LOG.isTraceEnabled()) {
+      LOG.trace("< doStartPrefixMapping >");
+    }
+    int nsCounter = streamReader.getNamespaceCount();
+    if (nsCounter == 0) {
+      getPrefixes().push(Collections.<String>emptyList());
+      return;
+    }
 
-    List<String> prefixList = new LinkedList<String>();
+    List<String> prefixList = new ArrayList<String>(nsCounter);
 
     for (int i = 0; i < nsCounter; i++) {
       String prefix = getNonEmpty(streamReader.getNamespacePrefix(i));
@@ -100,21 +173,7 @@ public class Sax2EventFromStaxStreamProducer extends BaseSax2EventFromStaxProduc
 
   @Override
   Attributes getAttributes() {
-
-    Integer attCounter = streamReader.getAttributeCount();
-    AttributesImpl atts = new AttributesImpl();
-    for (int i = 0; i < attCounter; i++) {
-      QName qName = streamReader.getAttributeName(i);
-      String uri = qName.getNamespaceURI();
-      String localName = qName.getLocalPart();
-      String prefix = qName.getPrefix();
-      String qNameString = getQName(prefix, localName);
-      String type = streamReader.getAttributeType(i);
-      String value = streamReader.getAttributeValue(i);
-      atts.addAttribute(uri, localName, qNameString, type, value);
-    }
-
-    return atts;
+    return attributes;
   }
 
   @Override
@@ -24,6 +24,7 @@ import org.castor.xml.XMLProperties;
 import org.exolab.castor.mapping.ExtendedFieldHandler;
 import org.exolab.castor.mapping.FieldHandler;
 import org.exolab.castor.mapping.loader.FieldHandlerImpl;
+import org.exolab.castor.util.ConstructorCache;
 import org.exolab.castor.xml.MarshalFramework.InheritanceMatch;
 import org.exolab.castor.xml.MarshalFramework.InternalXMLClassDescriptor;
 import org.exolab.castor.xml.UnmarshalHandler.Arguments;
@@ -423,7 +424,7 @@ public class StartElementProcessor {
       else {
         Class containerClass = descriptor.getFieldType();
         try {
-          containerObject = containerClass.newInstance();
+          containerObject = ConstructorCache.newInstance(containerClass);
         } catch (Exception ex) {
           throw new SAXException(ex);
         }
@@ -591,14 +592,15 @@ public class StartElementProcessor {
         }
       }
 
-      boolean byteArray = false;
-      if (cls.isArray())
-        byteArray = (cls.getComponentType() == Byte.TYPE);
+      boolean byteArray = MarshalFramework.isBinary(cls, descriptor);
 
       // -- check for immutable
       if (MarshalFramework.isPrimitive(cls) || descriptor.isImmutable() || byteArray) {
         state.setObject(null);
         state.setPrimitiveOrImmutable(true);
+        if (byteArray && !descriptor.isDerivedFromXSList()) {
+          state.setBinaryDecoder(_unmarshalHandler.createBinaryDecoder(descriptor));
+        }
         // -- handle immutable types, such as java.util.Locale
         if (descriptor.isImmutable()) {
           if (classDesc == null)
@@ -680,6 +682,7 @@ public class StartElementProcessor {
       classDesc = _unmarshalHandler.getClassDescriptor(cls);
     }
     state.setClassDescriptor(classDesc);
+    _unmarshalHandler.prepareBinaryContent(state);
 
     if ((state.getObject() == null) && (!state.isPrimitiveOrImmutable())) {
       String err =
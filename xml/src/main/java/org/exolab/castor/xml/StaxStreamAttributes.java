@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.xml;
+
+import javax.xml.stream.XMLStreamReader;
+
+import org.xml.sax.Attributes;
+
+/**
+ * A SAX {@link Attributes} view of the attributes of the start element an {@link XMLStreamReader}
+ * is currently positioned at. Nothing is copied; the view reflects whichever element the reader is
+ * positioned at, and hence is only valid for the duration of a single
+ * {@link org.xml.sax.ContentHandler#startElement(String, String, String, Attributes)} call.
+ *
+ * @since 1.4.2
+ */
+final class StaxStreamAttributes implements Attributes {
+
+  /** The XMLStreamReader whose current attributes are exposed. */
+  private final XMLStreamReader _reader;
+
+  /**
+   * Creates a view of the attributes of the given XMLStreamReader.
+   *
+   * @param reader the XMLStreamReader whose current attributes are exposed.
+   */
+  StaxStreamAttributes(final XMLStreamReader reader) {
+    _reader = reader;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.xml.sax.Attributes#getLength()
+   */
+  public int getLength() {
+    return _reader.getAttributeCount();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.xml.sax.Attributes#getURI(int)
+   */
+  public String getURI(final int index) {
+    if (!isValid(index)) {
+      return null;
+    }
+    String uri = _reader.getAttributeNamespace(index);
+    return (uri == null) ? "" : uri;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.xml.sax.Attributes#getLocalName(int)
+   */
+  public String getLocalName(final int index) {
+    return isValid(index) ? _reader.getAttributeLocalName(index) : null;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.xml.sax.Attributes#getQName(int)
+   */
+  public String getQName(final int index) {
+    if (!isValid(index)) {
+      return null;
+    }
+    String prefix = _reader.getAttributePrefix(index);
+    String localName = _reader.getAttributeLocalName(index);
+    if (prefix == null || prefix.length() == 0) {
+      return localName;
+    }
+    return prefix + ":" + localName;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.xml.sax.Attributes#getType(int)
+   */
+  public String getType(final int index) {
+    return isValid(index) ? _reader.getAttributeType(index) : null;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.xml.sax.Attributes#getValue(int)
+   */
+  public String getValue(final int index) {
+    return isValid(index) ? _reader.getAttributeValue(index) : null;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.xml.sax.Attributes#getIndex(java.lang.String, java.lang.String)
+   */
+  public int getIndex(final String uri, final String localName) {
+    int count = _reader.getAttributeCount();
+    for (int i = 0; i < count; i++) {
+      if (localName.equals(_reader.getAttributeLocalName(i)) && uri.equals(getURI(i))) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.xml.sax.Attributes#getIndex(java.lang.String)
+   */
+  public int getIndex(final String qName) {
+    int count = _reader.getAttributeCount();
+    for (int i = 0; i < count; i++) {
+      if (matchesQName(i, qName)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.xml.sax.Attributes#getType(java.lang.String, java.lang.String)
+   */
+  public String getType(final String uri, final String localName) {
+    return getType(getIndex(uri, localName));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.xml.sax.Attributes#getType(java.lang.String)
+   */
+  public String getType(final String qName) {
+    return getType(getIndex(qName));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.xml.sax.Attributes#getValue(java.lang.String, java.lang.String)
+   */
+  public String getValue(final String uri, final String localName) {
+    return getValue(getIndex(uri, localName));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.xml.sax.Attributes#getValue(java.lang.String)
+   */
+  public String getValue(final String qName) {
+    return getValue(getIndex(qName));
+  }
+
+  /**
+   * Returns true if the given index denotes an attribute of the current element.
+   *
+   * @param index the index to check.
+   * @return true if the index is within range.
+   */
+  private boolean isValid(final int index) {
+    return index >= 0 && index < _reader.getAttributeCount();
+  }
+
+  /**
+   * Returns true if the qualified name of the attribute at the given index equals the given name,
+   * without building the qualified name.
+   *
+   * @param index the index of the attribute.
+   * @param qName the qualified name to compare with.
+   * @return true if the names are equal.
+   */
+  private boolean matchesQName(final int index, final String qName) {
+    String prefix = _reader.getAttributePrefix(index);
+    String localName = _reader.getAttributeLocalName(index);
+    if (prefix == null || prefix.length() == 0) {
+      return qName.equals(localName);
+    }
+    return qName.length() == prefix.length() + 1 + localName.length() && qName.startsWith(prefix)
+        && qName.charAt(prefix.length()) == ':' && qName.endsWith(localName);
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.xml;
+
+/**
+ * {@link OutputFormat} implementation used by the {@link StreamingXMLSerializerFactory}. Unlike the
+ * Xerces-based output formats, this class holds its settings itself and is not backed by an
+ * underlying (JDK-internal) format object.
+ * 
+ * @since 1.4.2
+ */
+public class StreamingOutputFormat implements OutputFormat {
+
+  /** The default encoding used when none has been set. */
+  public static final String DEFAULT_ENCODING = "UTF-8";
+
+  /** The default XML version used when none has been set. */
+  public static final String DEFAULT_VERSION = "1.0";
+
+  private String _method = XML;
+
+  private boolean _indenting = false;
+
+  private boolean _preserveSpace = false;
+
+  private String _doctypePublic = null;
+
+  private String _doctypeSystem = null;
+
+  private boolean _omitXMLDeclaration = false;
+
+  private boolean _omitDocumentType = false;
+
+  private String _encoding = DEFAULT_ENCODING;
+
+  private String _version = DEFAULT_VERSION;
+
+  /**
+   * @see org.exolab.castor.xml.OutputFormat#setMethod(java.lang.String) {@inheritDoc}
+   */
+  public void setMethod(final String method) {
+    _method = method;
+  }
+
+  /**
+   * Returns the serialization method.
+   * 
+   * @return the serialization method.
+   */
+  public String getMethod() {
+    return _method;
+  }
+
+  /**
+   * @see org.exolab.castor.xml.OutputFormat#setIndenting(boolean) {@inheritDoc}
+   */
+  public void setIndenting(final boolean indent) {
+    _indenting = indent;
+  }
+
+  /**
+   * Indicates whether the XML output should be indented.
+   * 
+   * @return true if the XML output should be indented.
+   */
+  public boolean isIndenting() {
+    return _indenting;
+  }
+
+  /**
+   * @see org.exolab.castor.xml.OutputFormat#setPreserveSpace(boolean) {@inheritDoc}
+   */
+  public void setPreserveSpace(final boolean preserveSpace) {
+    _preserveSpace = preserveSpace;
+  }
+
+  /**
+   * Indicates whether white space should be preserved.
+   * 
+   * @return true if white space should be preserved.
+   */
+  public boolean isPreserveSpace() {
+    return _preserveSpace;
+  }
+
+  /**
+   * Returns this instance, as there's no underlying format object.
+   * 
+   * @see org.exolab.castor.xml.OutputFormat#getFormat()
+   */
+  public Object getFormat() {
+    return this;
+  }
+
+  /**
+   * @see org.exolab.castor.xml.OutputFormat#setDoctype(java.lang.String, java.lang.String)
+   *      {@inheritDoc}
+   */
+  public void setDoctype(final String type1, final String type2) {
+    _doctypePublic = type1;
+    _doctypeSystem = type2;
+  }
+
+  /**
+   * Returns the public DOCTYPE identifier.
+   * 
+   * @return the public DOCTYPE identifier, or null if not set.
+   */
+  public String getDoctypePublic() {
+    return _doctypePublic;
+  }
+
+  /**
+   * Returns the system DOCTYPE identifier.
+   * 
+   * @return the system DOCTYPE identifier, or null if not set.
+   */
+  public String getDoctypeSystem() {
+    return _doctypeSystem;
+  }
+
+  /**
+   * @see org.exolab.castor.xml.OutputFormat#setOmitXMLDeclaration(boolean) {@inheritDoc}
+   */
+  public void setOmitXMLDeclaration(final boolean omitXMLDeclaration) {
+    _omitXMLDeclaration = omitXMLDeclaration;
+  }
+
+  /**
+   * Indicates whether the XML declaration should be omitted.
+   * 
+   * @return true if the XML declaration should be omitted.
+   */
+  public boolean getOmitXMLDeclaration() {
+    return _omitXMLDeclaration;
+  }
+
+  /**
+   * @see org.exolab.castor.xml.OutputFormat#setOmitDocumentType(boolean) {@inheritDoc}
+   */
+  public void setOmitDocumentType(final boolean omitDocumentType) {
+    _omitDocumentType = omitDocumentType;
+  }
+
+  /**
+   * Indicates whether the DOCTYPE declaration should be omitted.
+   * 
+   * @return true if the DOCTYPE declaration should be omitted.
+   */
+  public boolean getOmitDocumentType() {
+    return _omitDocumentType;
+  }
+
+  /**
+   * @see org.exolab.castor.xml.OutputFormat#setEncoding(java.lang.String) {@inheritDoc}
+   */
+  public void setEncoding(final String encoding) {
+    _encoding = (encoding == null) ? DEFAULT_ENCODING : encoding;
+  }
+
+  /**
+   * Returns the encoding to use.
+   * 
+   * @return the encoding to use.
+   */
+  public String getEncoding() {
+    return _encoding;
+  }
+
+  /**
+   * @see org.exolab.castor.xml.OutputFormat#setVersion(java.lang.String) {@inheritDoc}
+   */
+  public void setVersion(final String version) {
+    _version = (version == null) ? DEFAULT_VERSION : version;
+  }
+
+  /**
+   * Returns the XML document version to be output.
+   * 
+   * @return the XML document version.
+   */
+  public String getVersion() {
+    return _version;
+  }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.xml;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import org.xml.sax.DocumentHandler;
+
+/**
+ * {@link Serializer} implementation writing XML straight to a {@link Writer} or
+ * {@link OutputStream}. The {@link DocumentHandler} returned by {@link #asDocumentHandler()} also
+ * implements {@link org.xml.sax.ContentHandler}, which allows the {@link Marshaller} to feed it SAX
+ * 2 events directly.
+ * 
+ * @see StreamingXMLSerializerFactory
+ * @since 1.4.2
+ */
+public class StreamingSerializer implements Serializer {
+
+  /** The output format in use. */
+  private StreamingOutputFormat _format = new StreamingOutputFormat();
+
+  /** The character stream to write to, if set. */
+  private Writer _writer;
+
+  /** The byte stream to write to, if set. */
+  private OutputStream _output;
+
+  /**
+   * @see org.exolab.castor.xml.Serializer#setOutputCharStream(java.io.Writer) {@inheritDoc}
+   */
+  public void setOutputCharStream(final Writer out) {
+    _writer = out;
+    _output = null;
+  }
+
+  /**
+   * @see org.exolab.castor.xml.Serializer#setOutputByteStream(java.io.OutputStream) {@inheritDoc}
+   */
+  public void setOutputByteStream(final OutputStream output) {
+    _output = output;
+    _writer = null;
+  }
+
+  /**
+   * @see org.exolab.castor.xml.Serializer#setOutputFormat(org.exolab.castor.xml.OutputFormat)
+   *      {@inheritDoc}
+   */
+  public void setOutputFormat(final OutputFormat format) {
+    if (format == null) {
+      _format = new StreamingOutputFormat();
+    } else if (format.getFormat() instanceof StreamingOutputFormat) {
+      _format = (StreamingOutputFormat) format.getFormat();
+    } else {
+      throw new IllegalArgumentException(
+          "Output format " + format.getClass().getName() + " is not supported by "
+              + getClass().getName() + "; use StreamingXMLSerializerFactory.getOutputFormat().");
+    }
+  }
+
+  /**
+   * @see org.exolab.castor.xml.Serializer#asDocumentHandler() {@inheritDoc}
+   */
+  @SuppressWarnings("deprecation")
+  public DocumentHandler asDocumentHandler() throws IOException {
+    Writer out = _writer;
+    if (out == null) {
+      if (_output == null) {
+        throw new IllegalStateException("No output stream or writer has been set.");
+      }
+      out = new OutputStreamWriter(_output, _format.getEncoding());
+    }
+    return new StreamingXMLWriter(out, _format);
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.xml;
+
+/**
+ * {@link XMLSerializerFactory} implementation that returns Castor's own streaming
+ * {@link Serializer}, which writes XML directly to a {@link java.io.Writer} or
+ * {@link java.io.OutputStream} without relying on the Xerces instance shipped with the JRE.
+ * 
+ * To use it, set <tt>org.exolab.castor.xml.serializer.factory</tt> to
+ * <tt>org.exolab.castor.xml.StreamingXMLSerializerFactory</tt> in a custom
+ * <tt>castor.properties</tt>.
+ * 
+ * @since 1.4.2
+ */
+public class StreamingXMLSerializerFactory implements XMLSerializerFactory {
+
+  /**
+   * @see org.exolab.castor.xml.XMLSerializerFactory#getSerializer() {@inheritDoc}
+   */
+  public Serializer getSerializer() {
+    return new StreamingSerializer();
+  }
+
+  /**
+   * @see org.exolab.castor.xml.XMLSerializerFactory#getOutputFormat() {@inheritDoc}
+   */
+  public OutputFormat getOutputFormat() {
+    return new StreamingOutputFormat();
+  }
+}
@@ -0,0 +1,679 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.xml;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.xml.sax.AttributeList;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.DocumentHandler;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+
+/**
+ * Writes SAX events as XML text to a {@link Writer}. Output goes through a reusable character
+ * buffer; characters are escaped using precomputed tables for the ASCII range and a per-encoding
+ * limit above which characters are written as character references.
+ * <p>
+ * Both {@link DocumentHandler} and {@link ContentHandler} are implemented. When used as a
+ * {@link ContentHandler}, namespace declarations reported through
+ * {@link #startPrefixMapping(String, String)} are written as <tt>xmlns</tt> attributes of the next
+ * start tag, the same way {@link org.exolab.castor.xml.util.DocumentHandlerAdapter} does.
+ * 
+ * @see StreamingSerializer
+ * @since 1.4.2
+ */
+@SuppressWarnings("deprecation")
+final class StreamingXMLWriter implements DocumentHandler, ContentHandler {
+
+  /** Size of the character buffer used in front of the output writer. */
+  private static final int BUFFER_SIZE = 8192;
+
+  /** Number of spaces used per nesting level when indenting. */
+  private static final int INDENT = 4;
+
+  /** The line separator used in output. */
+  private static final char LINE_SEPARATOR = '\n';
+
+  /** Character class of a character that can be written as is. */
+  private static final byte PLAIN = 0;
+
+  /** Character class of a character that has to be replaced by an entity or reference. */
+  private static final byte ESCAPE = 1;
+
+  /** Character class of a character that is not allowed in XML. */
+  private static final byte INVALID = 2;
+
+  /** Number of (ASCII) characters covered by the escaping tables. */
+  private static final int TABLE_SIZE = 0x80;
+
+  /** Character classes for text content. */
+  private static final byte[] TEXT_CLASSES = new byte[TABLE_SIZE];
+
+  /** Character classes for attribute values. */
+  private static final byte[] ATTRIBUTE_CLASSES = new byte[TABLE_SIZE];
+
+  /** Replacement strings for the ASCII characters that need to be escaped. */
+  private static final String[] ESCAPES = new String[TABLE_SIZE];
+
+  /** Highest character that can be written unescaped, keyed by (upper case) encoding name. */
+  private static final ConcurrentMap<String, Integer> ENCODING_LIMITS =
+      new ConcurrentHashMap<String, Integer>();
+
+  /** Limit value indicating that a {@link CharsetEncoder} has to be asked. */
+  private static final int USE_ENCODER = -1;
+
+  static {
+    for (int i = 0; i < 0x20; i++) {
+      TEXT_CLASSES[i] = INVALID;
+      ATTRIBUTE_CLASSES[i] = INVALID;
+      ESCAPES[i] = "&#x" + Integer.toHexString(i) + ";";
+    }
+    TEXT_CLASSES['\t'] = PLAIN;
+    TEXT_CLASSES['\n'] = PLAIN;
+    TEXT_CLASSES['\r'] = ESCAPE;
+    TEXT_CLASSES['<'] = ESCAPE;
+    TEXT_CLASSES['>'] = ESCAPE;
+    TEXT_CLASSES['&'] = ESCAPE;
+
+    ATTRIBUTE_CLASSES['\t'] = ESCAPE;
+    ATTRIBUTE_CLASSES['\n'] = ESCAPE;
+    ATTRIBUTE_CLASSES['\r'] = ESCAPE;
+    ATTRIBUTE_CLASSES['<'] = ESCAPE;
+    ATTRIBUTE_CLASSES['&'] = ESCAPE;
+    ATTRIBUTE_CLASSES['"'] = ESCAPE;
+
+    ESCAPES['<'] = "&lt;";
+    ESCAPES['>'] = "&gt;";
+    ESCAPES['&'] = "&amp;";
+    ESCAPES['"'] = "&quot;";
+  }
+
+  /** The writer to write to. */
+  private final Writer _out;
+
+  /** The output buffer, owned by this writer alone. */
+  private final char[] _buffer = new char[BUFFER_SIZE];
+
+  /** Number of characters currently held in the buffer. */
+  private int _position = 0;
+
+  /** Highest character that can be written unescaped, or {@link #USE_ENCODER}. */
+  private final int _limit;
+
+  /** Encoder used to test characters above the ASCII range, if required by the encoding. */
+  private final CharsetEncoder _encoder;
+
+  private final boolean _indenting;
+
+  private final boolean _omitXMLDeclaration;
+
+  private final boolean _omitDocumentType;
+
+  private final String _doctypePublic;
+
+  private final String _doctypeSystem;
+
+  private final String _encoding;
+
+  private final String _version;
+
+  /** Current element nesting depth. */
+  private int _depth = 0;
+
+  /** Whether the start tag of the current element still awaits its closing '&gt;'. */
+  private boolean _startTagOpen = false;
+
+  /** Per nesting level: whether the element contains text (no indentation inside). */
+  private boolean[] _hasText = new boolean[16];
+
+  /** Per nesting level: whether the element contains child elements. */
+  private boolean[] _hasChildren = new boolean[16];
+
+  /** Whether anything has been written yet. */
+  private boolean _started = false;
+
+  /** Whether the output is positioned at the start of a line. */
+  private boolean _atLineStart = true;
+
+  /** Scratch buffer used to escape attribute values. */
+  private char[] _scratch = new char[64];
+
+  /** Whether the document element (and the DOCTYPE declaration) has been written. */
+  private boolean _rootWritten = false;
+
+  /** Processing instructions preceding the document element, while held back. */
+  private List<String[]> _preRoot = null;
+
+  /** Namespace prefixes declared for the next start tag. */
+  private String[] _nsPrefixes = new String[4];
+
+  /** Namespace URIs declared for the next start tag. */
+  private String[] _nsURIs = new String[4];
+
+  /** Number of namespace declarations pending for the next start tag. */
+  private int _nsCount = 0;
+
+  /**
+   * Creates an instance writing to the given {@link Writer}.
+   * 
+   * @param out the writer to write to.
+   * @param format the output format to use.
+   */
+  StreamingXMLWriter(final Writer out, final StreamingOutputFormat format) {
+    _out = out;
+    _indenting = format.isIndenting();
+    _omitXMLDeclaration = format.getOmitXMLDeclaration();
+    _omitDocumentType = format.getOmitDocumentType();
+    _doctypePublic = format.getDoctypePublic();
+    _doctypeSystem = format.getDoctypeSystem();
+    _encoding = format.getEncoding();
+    _version = format.getVersion();
+    _limit = getEncodingLimit(_encoding);
+    _encoder = (_limit == USE_ENCODER) ? Charset.forName(_encoding).newEncoder() : null;
+  }
+
+  /**
+   * Returns the highest character of the given encoding that can be written without using a
+   * character reference, or {@link #USE_ENCODER} if this cannot be expressed as a single limit.
+   */
+  private static int getEncodingLimit(final String encoding) {
+    String key = encoding.toUpperCase(Locale.ENGLISH);
+    Integer limit = ENCODING_LIMITS.get(key);
+    if (limit == null) {
+      int value;
+      if (key.startsWith("UTF-") || key.startsWith("UTF") || key.startsWith("UNICODE")) {
+        value = Character.MAX_VALUE;
+      } else if (key.equals("ISO-8859-1") || key.equals("ISO8859_1") || key.equals("LATIN1")) {
+        value = 0xFF;
+      } else if (key.equals("US-ASCII") || key.equals("ASCII")) {
+        value = 0x7F;
+      } else {
+        value = USE_ENCODER;
+      }
+      limit = Integer.valueOf(value);
+      ENCODING_LIMITS.putIfAbsent(key, limit);
+    }
+    return limit.intValue();
+  }
+
+  // --------------------------------------------------------------------------------
+  // document level events
+  // --------------------------------------------------------------------------------
+
+  /**
+   * @see org.xml.sax.DocumentHandler#setDocumentLocator(org.xml.sax.Locator)
+   */
+  public void setDocumentLocator(final Locator locator) {
+    // -- not needed
+  }
+
+  /**
+   * @see org.xml.sax.DocumentHandler#startDocument()
+   */
+  public void startDocument() throws SAXException {
+    if (!_omitXMLDeclaration) {
+      write("<?xml version=\"");
+      write(_version);
+      write("\" encoding=\"");
+      write(_encoding);
+      write("\"?>");
+      write(LINE_SEPARATOR);
+      _atLineStart = true;
+    }
+    _started = true;
+  }
+
+  /**
+   * @see org.xml.sax.DocumentHandler#endDocument()
+   */
+  public void endDocument() throws SAXException {
+    _rootWritten = true;
+    writePreRoot();
+    closeStartTag();
+    flush();
+  }
+
+  /**
+   * @see org.xml.sax.DocumentHandler#processingInstruction(java.lang.String, java.lang.String)
+   */
+  public void processingInstruction(final String target, final String data) throws SAXException {
+    if (!_rootWritten && (_depth == 0) && !_omitDocumentType && (_doctypeSystem != null)) {
+      // -- the DOCTYPE declaration needs the name of the document element, so processing
+      // -- instructions preceding it are held back until that name is known
+      if (_preRoot == null) {
+        _preRoot = new ArrayList<String[]>();
+      }
+      _preRoot.add(new String[] {target, data});
+      return;
+    }
+    closeStartTag();
+    startMarkup();
+    write("<?");
+    write(target);
+    if ((data != null) && (data.length() > 0)) {
+      write(' ');
+      write(data);
+    }
+    write("?>");
+  }
+
+  // --------------------------------------------------------------------------------
+  // elements
+  // --------------------------------------------------------------------------------
+
+  /**
+   * @see org.xml.sax.DocumentHandler#startElement(java.lang.String, org.xml.sax.AttributeList)
+   */
+  public void startElement(final String name, final AttributeList atts) throws SAXException {
+    writeStartTag(name);
+    if (atts != null) {
+      for (int i = 0; i < atts.getLength(); i++) {
+        writeAttribute(atts.getName(i), atts.getValue(i));
+      }
+    }
+  }
+
+  /**
+   * @see org.xml.sax.ContentHandler#startElement(java.lang.String, java.lang.String,
+   *      java.lang.String, org.xml.sax.Attributes)
+   */
+  public void startElement(final String uri, final String localName, final String qName,
+      final Attributes atts) throws SAXException {
+    writeStartTag(((qName == null) || (qName.length() == 0)) ? localName : qName);
+    for (int i = 0; i < _nsCount; i++) {
+      String prefix = _nsPrefixes[i];
+      if (prefix.length() == 0) {
+        writeAttribute("xmlns", _nsURIs[i]);
+      } else {
+        writeAttribute("xmlns:" + prefix, _nsURIs[i]);
+      }
+      _nsPrefixes[i] = null;
+      _nsURIs[i] = null;
+    }
+    _nsCount = 0;
+    if (atts != null) {
+      for (int i = 0; i < atts.getLength(); i++) {
+        String name = atts.getQName(i);
+        writeAttribute(((name == null) || (name.length() == 0)) ? atts.getLocalName(i) : name,
+            atts.getValue(i));
+      }
+    }
+  }
+
+  /**
+   * @see org.xml.sax.DocumentHandler#endElement(java.lang.String)
+   */
+  public void endElement(final String name) throws SAXException {
+    if (_startTagOpen) {
+      write("/>");
+      _startTagOpen = false;
+    } else {
+      if (_indenting && _hasChildren[_depth] && !_hasText[_depth]) {
+        breakLine(_depth - 1);
+      }
+      write("</");
+      write(name);
+      write('>');
+    }
+    --_depth;
+    if (_depth == 0) {
+      if (_indenting) {
+        write(LINE_SEPARATOR);
+        _atLineStart = true;
+      }
+      flush();
+    }
+  }
+
+  /**
+   * @see org.xml.sax.ContentHandler#endElement(java.lang.String, java.lang.String,
+   *      java.lang.String)
+   */
+  public void endElement(final String uri, final String localName, final String qName)
+      throws SAXException {
+    endElement(((qName == null) || (qName.length() == 0)) ? localName : qName);
+  }
+
+  /**
+   * @see org.xml.sax.ContentHandler#startPrefixMapping(java.lang.String, java.lang.String)
+   */
+  public void startPrefixMapping(final String prefix, final String uri) throws SAXException {
+    String key = (prefix == null) ? "" : prefix;
+    if ("xml".equalsIgnoreCase(key)) {
+      return;
+    }
+    for (int i = 0; i < _nsCount; i++) {
+      if (_nsPrefixes[i].equals(key)) {
+        _nsURIs[i] = uri;
+        return;
+      }
+    }
+    if (_nsCount == _nsPrefixes.length) {
+      String[] prefixes = new String[_nsCount * 2];
+      String[] uris = new String[_nsCount * 2];
+      System.arraycopy(_nsPrefixes, 0, prefixes, 0, _nsCount);
+      System.arraycopy(_nsURIs, 0, uris, 0, _nsCount);
+      _nsPrefixes = prefixes;
+      _nsURIs = uris;
+    }
+    _nsPrefixes[_nsCount] = key;
+    _nsURIs[_nsCount] = uri;
+    ++_nsCount;
+  }
+
+  /**
+   * @see org.xml.sax.ContentHandler#endPrefixMapping(java.lang.String)
+   */
+  public void endPrefixMapping(final String prefix) throws SAXException {
+    // -- nothing to do, namespace declarations are written with the start tag
+  }
+
+  /**
+   * @see org.xml.sax.ContentHandler#skippedEntity(java.lang.String)
+   */
+  public void skippedEntity(final String name) throws SAXException {
+    // -- nothing to do
+  }
+
+  // --------------------------------------------------------------------------------
+  // character data
+  // --------------------------------------------------------------------------------
+
+  /**
+   * @see org.xml.sax.DocumentHandler#characters(char[], int, int)
+   */
+  public void characters(final char[] ch, final int start, final int length) throws SAXException {
+    closeStartTag();
+    _atLineStart = false;
+    _hasText[_depth] = true;
+    writeEscaped(ch, start, length, TEXT_CLASSES);
+  }
+
+  /**
+   * @see org.xml.sax.DocumentHandler#ignorableWhitespace(char[], int, int)
+   */
+  public void ignorableWhitespace(final char[] ch, final int start, final int length)
+      throws SAXException {
+    closeStartTag();
+    _atLineStart = false;
+    _hasText[_depth] = true;
+    writeEscaped(ch, start, length, TEXT_CLASSES);
+  }
+
+  // --------------------------------------------------------------------------------
+  // helpers
+  // --------------------------------------------------------------------------------
+
+  /**
+   * Writes the start of a start tag, preceded by the DOCTYPE declaration for the document element
+   * and by indentation if required.
+   */
+  private void writeStartTag(final String name) throws SAXException {
+    closeStartTag();
+    if (!_rootWritten) {
+      _rootWritten = true;
+      if (!_omitDocumentType && (_doctypeSystem != null)) {
+        writeDoctype(name);
+        writePreRoot();
+      }
+    }
+    if (_depth > 0) {
+      _hasChildren[_depth] = true;
+    }
+    startMarkup();
+
+    ++_depth;
+    if (_depth == _hasText.length) {
+      boolean[] hasText = new boolean[_depth * 2];
+      boolean[] hasChildren = new boolean[_depth * 2];
+      System.arraycopy(_hasText, 0, hasText, 0, _depth);
+      System.arraycopy(_hasChildren, 0, hasChildren, 0, _depth);
+      _hasText = hasText;
+      _hasChildren = hasChildren;
+    }
+    _hasText[_depth] = false;
+    _hasChildren[_depth] = false;
+
+    write('<');
+    write(name);
+    _startTagOpen = true;
+  }
+
+  /**
+   * Writes the processing instructions held back until the DOCTYPE declaration was written.
+   */
+  private void writePreRoot() throws SAXException {
+    if (_preRoot != null) {
+      List<String[]> instructions = _preRoot;
+      _preRoot = null;
+      for (String[] instruction : instructions) {
+        processingInstruction(instruction[0], instruction[1]);
+      }
+    }
+  }
+
+  /**
+   * Writes the DOCTYPE declaration for the given document element.
+   */
+  private void writeDoctype(final String rootName) throws SAXException {
+    write("<!DOCTYPE ");
+    write(rootName);
+    if (_doctypePublic != null) {
+      write(" PUBLIC \"");
+      write(_doctypePublic);
+      write("\" \"");
+    } else {
+      write(" SYSTEM \"");
+    }
+    write(_doctypeSystem);
+    write("\">");
+    write(LINE_SEPARATOR);
+    _atLineStart = true;
+  }
+
+  /**
+   * Writes a single attribute of the currently open start tag.
+   */
+  private void writeAttribute(final String name, final String value) throws SAXException {
+    write(' ');
+    write(name);
+    write("=\"");
+    if (value != null) {
+      int length = value.length();
+      if (length > _scratch.length) {
+        _scratch = new char[Math.max(length, _scratch.length * 2)];
+      }
+      value.getChars(0, length, _scratch, 0);
+      writeEscaped(_scratch, 0, length, ATTRIBUTE_CLASSES);
+    }
+    write('"');
+  }
+
+  /**
+   * Closes a pending start tag.
+   */
+  private void closeStartTag() throws SAXException {
+    if (_startTagOpen) {
+      write('>');
+      _startTagOpen = false;
+    }
+  }
+
+  /**
+   * Moves to a new (indented) line before markup, if indenting and the current element does not
+   * contain text.
+   */
+  private void startMarkup() throws SAXException {
+    if (_indenting && !_hasText[_depth]) {
+      if (_depth > 0) {
+        breakLine(_depth);
+      } else if (_started && !_atLineStart) {
+        write(LINE_SEPARATOR);
+      }
+    }
+    _started = true;
+    _atLineStart = false;
+  }
+
+  /**
+   * Writes a line break followed by the indentation for the given nesting level.
+   */
+  private void breakLine(final int level) throws SAXException {
+    write(LINE_SEPARATOR);
+    for (int i = level * INDENT; i > 0; i--) {
+      write(' ');
+    }
+  }
+
+  /**
+   * Writes the given characters, escaping them as required by the given character classes.
+   */
+  private void writeEscaped(final char[] ch, final int start, final int length,
+      final byte[] classes) throws SAXException {
+    int end = start + length;
+    int plain = start;
+    for (int i = start; i < end; i++) {
+      char c = ch[i];
+      if (c < TABLE_SIZE) {
+        byte cls = classes[c];
+        if (cls == PLAIN) {
+          continue;
+        }
+        if (cls == INVALID) {
+          throw invalidCharacter(c);
+        }
+        write(ch, plain, i - plain);
+        write(ESCAPES[c]);
+        plain = i + 1;
+      } else if (Character.isHighSurrogate(c)) {
+        if ((i + 1 >= end) || !Character.isLowSurrogate(ch[i + 1])) {
+          throw invalidCharacter(c);
+        }
+        if (!canEncode(c, ch[i + 1])) {
+          write(ch, plain, i - plain);
+          writeCharacterReference(Character.toCodePoint(c, ch[i + 1]));
+          plain = i + 2;
+        }
+        ++i;
+      } else if (Character.isLowSurrogate(c) || (c == '\uFFFE') || (c == '\uFFFF')) {
+        throw invalidCharacter(c);
+      } else if ((c > _limit) && ((_encoder == null) || !_encoder.canEncode(c))) {
+        write(ch, plain, i - plain);
+        writeCharacterReference(c);
+        plain = i + 1;
+      }
+    }
+    write(ch, plain, end - plain);
+  }
+
+  /**
+   * Indicates whether the given surrogate pair can be written without a character reference.
+   */
+  private boolean canEncode(final char high, final char low) {
+    if (_limit == Character.MAX_VALUE) {
+      return true;
+    }
+    if (_encoder == null) {
+      return false;
+    }
+    return _encoder.canEncode(new String(new char[] {high, low}));
+  }
+
+  private void writeCharacterReference(final int codePoint) throws SAXException {
+    write("&#x");
+    write(Integer.toHexString(codePoint));
+    write(';');
+  }
+
+  private SAXException invalidCharacter(final char c) {
+    return new SAXException(new IOException("The character '" + c
+        + "' (0x" + Integer.toHexString(c) + ") is an invalid XML character"));
+  }
+
+  private void write(final char c) throws SAXException {
+    if (_position == _buffer.length) {
+      flushBuffer();
+    }
+    _buffer[_position++] = c;
+  }
+
+  private void write(final String s) throws SAXException {
+    int length = s.length();
+    int offset = 0;
+    while (offset < length) {
+      if (_position == _buffer.length) {
+        flushBuffer();
+      }
+      int count = Math.min(length - offset, _buffer.length - _position);
+      s.getChars(offset, offset + count, _buffer, _position);
+      _position += count;
+      offset += count;
+    }
+  }
+
+  private void write(final char[] ch, final int start, final int length) throws SAXException {
+    if (length == 0) {
+      return;
+    }
+    if (length > _buffer.length - _position) {
+      flushBuffer();
+      if (length > _buffer.length) {
+        try {
+          _out.write(ch, start, length);
+        } catch (IOException e) {
+          throw new SAXException(e);
+        }
+        return;
+      }
+    }
+    System.arraycopy(ch, start, _buffer, _position, length);
+    _position += length;
+  }
+
+  /**
+   * Writes the content of the buffer to the underlying writer.
+   */
+  private void flushBuffer() throws SAXException {
+    if (_position > 0) {
+      try {
+        _out.write(_buffer, 0, _position);
+      } catch (IOException e) {
+        throw new SAXException(e);
+      }
+      _position = 0;
+    }
+  }
+
+  /**
+   * Writes the content of the buffer to the underlying writer, and flushes the latter.
+   */
+  private void flush() throws SAXException {
+    flushBuffer();
+    try {
+      _out.flush();
+    } catch (IOException e) {
+      throw new SAXException(e);
+    }
+  }
+}
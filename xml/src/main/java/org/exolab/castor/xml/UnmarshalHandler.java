@@ -44,9 +44,11 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.IdentityHashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.ResourceBundle;
@@ -61,6 +63,7 @@ import org.castor.xml.InternalContext;
 import org.exolab.castor.mapping.ClassDescriptor;
 import org.exolab.castor.mapping.FieldHandler;
 import org.exolab.castor.mapping.MapItem;
+import org.exolab.castor.mapping.loader.collection.handler.PrimitiveArrayCollectionHandler;
 import org.exolab.castor.util.DefaultObjectFactory;
 import org.exolab.castor.util.ObjectFactory;
 import org.exolab.castor.xml.descriptors.PrimitivesClassDescriptor;
@@ -231,6 +234,42 @@ public final class UnmarshalHandler extends MarshalFramework
 
   private AttributeSetBuilder _attributeSetFactory = null;
 
+  /** Processor for the characters() callback; it holds no state of its own. */
+  private final CharactersProcessor _charactersProcessor = new CharactersProcessor(this);
+
+  /** Processor for the endElement() callback; it holds no state of its own. */
+  private final EndElementProcessor _endElementProcessor = new EndElementProcessor(this);
+
+  /** Processor for the startElement() callback; it holds no state of its own. */
+  private final StartElementProcessor _startElementProcessor = new StartElementProcessor(this);
+
+  /**
+   * Text buffers of finished elements, reused for the character content of later elements.
+   */
+  private final ArrayDeque<StringBuilder> _textBuffers = new ArrayDeque<>();
+
+  /**
+   * Wrapped class descriptors already resolved by this handler, keyed by class. A
+   * <code>null</code> value records a class without a descriptor.
+   */
+  private final Map<Class<?>, XMLClassDescriptor> _descriptorsByClass = new HashMap<>();
+
+  /**
+   * Wrapped class descriptors already resolved by this handler, keyed by class loader and class
+   * name. A <code>null</code> value records a class name without a descriptor.
+   */
+  private final Map<ClassLoader, Map<String, XMLClassDescriptor>> _descriptorsByName =
+      new IdentityHashMap<>();
+
+  /** Classes already loaded through the handler's own class loader, keyed by class name. */
+  private final Map<String, Class<?>> _classesByName = new HashMap<>();
+
+  /** The maximum number of text buffers kept for reuse. */
+  private static final int MAX_POOLED_TEXT_BUFFERS = 16;
+
+  /** The capacity above which a text buffer is not kept for reuse. */
+  private static final int MAX_POOLED_TEXT_BUFFER_CAPACITY = 8192;
+
   // ----------------/
   // - Constructors -/
   // ----------------/
@@ -314,6 +353,7 @@ public final class UnmarshalHandler extends MarshalFramework
    **/
   public void setClassLoader(ClassLoader loader) {
     _loader = loader;
+    _classesByName.clear();
   } // -- setClassLoader
 
   /**
@@ -458,7 +498,7 @@ public final class UnmarshalHandler extends MarshalFramework
   // -----------------------------------/
 
   public void characters(char[] ch, int start, int length) throws SAXException {
-    new CharactersProcessor(this).compute(ch, start, length);
+    _charactersProcessor.compute(ch, start, length);
   } // -- characters
 
 
@@ -470,7 +510,7 @@ public final class UnmarshalHandler extends MarshalFramework
 
 
   public void endElement(String name) throws org.xml.sax.SAXException {
-    new EndElementProcessor(this).compute(name);
+    _endElementProcessor.compute(name);
   } // -- endElement
 
   /**
@@ -478,14 +518,13 @@ public final class UnmarshalHandler extends MarshalFramework
    * 
    * @param descriptor {@link XMLFieldDescriptor} instance for the field whose value requires
    *        decoding.
-   * @param binaryData The binary data value to be decoded
+   * @param binaryData The binary data value to be decoded, read in place
    * @return Decode data.
    */
-  byte[] decodeBinaryData(final XMLFieldDescriptor descriptor, final String binaryData) {
+  byte[] decodeBinaryData(final XMLFieldDescriptor descriptor, final CharSequence binaryData) {
     // -- Base64/HexBinary decoding
     byte[] decodedValue;
-    if ((descriptor.isMultivalued() && HexDecoder.DATA_TYPE.equals(descriptor.getComponentType()))
-        || HexDecoder.DATA_TYPE.equals(descriptor.getSchemaType())) {
+    if (isHexBinary(descriptor)) {
       decodedValue = HexDecoder.decode(binaryData);
     } else {
       decodedValue = Base64Decoder.decode(binaryData);
@@ -493,6 +532,48 @@ public final class UnmarshalHandler extends MarshalFramework
     return decodedValue;
   }
 
+  /**
+   * Creates the decoder of the binary text of an element, decoding it while it is read.
+   * 
+   * @param descriptor {@link XMLFieldDescriptor} instance for the field whose value requires
+   *        decoding.
+   * @return a decoder for hexBinary or base64 text
+   */
+  BinaryContentDecoder createBinaryDecoder(final XMLFieldDescriptor descriptor) {
+    return new BinaryContentDecoder(isHexBinary(descriptor));
+  }
+
+  /**
+   * Lets the given state decode the binary text content of its object while it is read, unless the
+   * content is located in child elements, whose text is handed over when they end.
+   * 
+   * @param state the state of an element just started, with its class descriptor set
+   */
+  void prepareBinaryContent(final UnmarshalState state) {
+    XMLClassDescriptor classDesc = state.getClassDescriptor();
+    if (state.isPrimitiveOrImmutable() || (classDesc == null)) {
+      return;
+    }
+    XMLFieldDescriptor cdesc = classDesc.getContentDescriptor();
+    if ((cdesc != null) && (cdesc.getLocationPath() == null)
+        && MarshalFramework.isBinary(cdesc.getFieldType(), cdesc)) {
+      state.setBinaryDecoder(createBinaryDecoder(state.getFieldDescriptor()));
+    }
+  }
+
+  /**
+   * Returns true if the binary values of the given field are written as hexBinary rather than
+   * base64 text.
+   * 
+   * @param descriptor the descriptor of a binary field
+   * @return true for hexBinary
+   */
+  private boolean isHexBinary(final XMLFieldDescriptor descriptor) {
+    return (descriptor.isMultivalued()
+        && HexDecoder.DATA_TYPE.equals(descriptor.getComponentType()))
+        || HexDecoder.DATA_TYPE.equals(descriptor.getSchemaType());
+  }
+
   /**
    * <p>
    * ContentHandler#endElement
@@ -555,9 +636,9 @@ public final class UnmarshalHandler extends MarshalFramework
       _anyNodeHandler.ignorableWhitespace(ch, start, length);
     } else {
       UnmarshalState state = _stateStack.getLastState();
-      if (state.isWhitespacePreserving()) {
+      if (state.isWhitespacePreserving() && state.getBinaryDecoder() == null) {
         if (state.getBuffer() == null)
-          state.setBuffer(new StringBuffer());
+          state.setBuffer(acquireTextBuffer());
         state.getBuffer().append(ch, start, length);
       }
     }
@@ -793,7 +874,7 @@ public final class UnmarshalHandler extends MarshalFramework
    */
   void startElementProcessing(String name, String namespace, AttributeSet atts)
       throws SAXException {
-    new StartElementProcessor(this).compute(name, namespace, atts);
+    _startElementProcessor.compute(name, namespace, atts);
   }
 
   void processFirstElement(String name, String namespace, AttributeSet atts, String xmlSpace)
@@ -982,6 +1063,7 @@ public final class UnmarshalHandler extends MarshalFramework
       _topState.setObject(_topObject);
     }
 
+    prepareBinaryContent(_topState);
     _stateStack.pushState(_topState);
 
     if (!_topState.isPrimitiveOrImmutable()) {
@@ -1610,7 +1692,21 @@ public final class UnmarshalHandler extends MarshalFramework
     }
 
     // -- if this is an multi-value attribute
-    if (descriptor.isMultivalued()) {
+    PrimitiveArrayCollectionHandler<?> arrayHandler = null;
+    if (descriptor.isMultivalued() && isPrimative && !isQName) {
+      arrayHandler = getPrimitiveArrayHandler(handler);
+    }
+    if (arrayHandler != null) {
+      // -- the values of an array of primitives are added at once
+      PrimitiveArrayCollectionHandler<?>.Buffer buffer = arrayHandler.newBuffer();
+      StringTokenizer attrValueTokenizer = new StringTokenizer(attValue);
+      while (attrValueTokenizer.hasMoreTokens()) {
+        buffer.add(toPrimitiveObject(type, attrValueTokenizer.nextToken(), descriptor));
+      }
+      if (buffer.size() > 0) {
+        handler.setValue(parent, buffer.toArray());
+      }
+    } else if (descriptor.isMultivalued()) {
       StringTokenizer attrValueTokenizer = new StringTokenizer(attValue);
       while (attrValueTokenizer.hasMoreTokens()) {
         attValue = attrValueTokenizer.nextToken();
@@ -1832,13 +1928,7 @@ public final class UnmarshalHandler extends MarshalFramework
   private XMLClassDescriptor getClassDescriptor(String className) throws SAXException {
     Class<?> type = null;
     try {
-      // -- use specified ClassLoader if necessary
-      if (_loader != null) {
-        type = _loader.loadClass(className);
-      }
-      // -- no loader available use Class.forName
-      else
-        type = Class.forName(className);
+      type = loadClass(className, null);
     } catch (ClassNotFoundException cnfe) {
       return null;
     }
@@ -1870,6 +1960,10 @@ public final class UnmarshalHandler extends MarshalFramework
       return null;
     }
 
+    if (_descriptorsByClass.containsKey(cls)) {
+      return _descriptorsByClass.get(cls);
+    }
+
     // TODO Joachim
     // if (_cdResolver == null)
     // _cdResolver = (XMLClassDescriptorResolver)
@@ -1885,13 +1979,12 @@ public final class UnmarshalHandler extends MarshalFramework
     }
 
     if (classDesc != null) {
-      return new InternalXMLClassDescriptor(classDesc);
-    }
-
-    if (LOG.isDebugEnabled()) {
+      classDesc = new InternalXMLClassDescriptor(classDesc);
+    } else if (LOG.isDebugEnabled()) {
       LOG.debug(ERROR_DID_NOT_FIND_CLASSDESCRIPTOR + cls.getName());
     }
 
+    _descriptorsByClass.put(cls, classDesc);
     return classDesc;
   }
 
@@ -1909,6 +2002,14 @@ public final class UnmarshalHandler extends MarshalFramework
     // ClassDescriptorResolverFactory.createClassDescriptorResolver(BindingType.XML);
 
 
+    Map<String, XMLClassDescriptor> descriptors = _descriptorsByName.get(loader);
+    if (descriptors == null) {
+      descriptors = new HashMap<>();
+      _descriptorsByName.put(loader, descriptors);
+    } else if (descriptors.containsKey(className)) {
+      return descriptors.get(className);
+    }
+
     XMLClassDescriptor classDesc = null;
     try {
       classDesc = getInternalContext().getXMLClassDescriptorResolver().resolve(className, loader);
@@ -1918,13 +2019,12 @@ public final class UnmarshalHandler extends MarshalFramework
 
 
     if (classDesc != null) {
-      return new InternalXMLClassDescriptor(classDesc);
-    }
-
-    if (LOG.isDebugEnabled()) {
+      classDesc = new InternalXMLClassDescriptor(classDesc);
+    } else if (LOG.isDebugEnabled()) {
       LOG.debug(ERROR_DID_NOT_FIND_CLASSDESCRIPTOR + className);
     }
 
+    descriptors.put(className, classDesc);
     return classDesc;
   } // -- getClassDescriptor
 
@@ -1978,6 +2078,34 @@ public final class UnmarshalHandler extends MarshalFramework
   } // -- className
 
 
+  /**
+   * Returns an empty buffer for the character content of an element, reusing the buffer of a
+   * finished element if one is available.
+   * 
+   * @return an empty text buffer
+   */
+  StringBuilder acquireTextBuffer() {
+    StringBuilder buffer = _textBuffers.poll();
+    return (buffer != null) ? buffer : new StringBuilder();
+  }
+
+  /**
+   * Takes the text buffer of a finished element back for reuse.
+   * 
+   * @param state the state of the finished element
+   */
+  void releaseTextBuffer(final UnmarshalState state) {
+    StringBuilder buffer = state.getBuffer();
+    if (buffer != null) {
+      state.setBuffer(null);
+      if (_textBuffers.size() < MAX_POOLED_TEXT_BUFFERS
+          && buffer.capacity() <= MAX_POOLED_TEXT_BUFFER_CAPACITY) {
+        buffer.setLength(0);
+        _textBuffers.push(buffer);
+      }
+    }
+  }
+
   /**
    * Checks the given StringBuffer to determine if it only contains whitespace.
    *
@@ -2010,11 +2138,17 @@ public final class UnmarshalHandler extends MarshalFramework
     // -- use passed in loader
     if (loader != null)
       return loader.loadClass(className);
-    // -- use internal loader
-    else if (_loader != null)
-      return _loader.loadClass(className);
-    // -- no loader available use Class.forName
-    return Class.forName(className);
+    Class<?> type = _classesByName.get(className);
+    if (type == null) {
+      // -- use internal loader
+      if (_loader != null)
+        type = _loader.loadClass(className);
+      // -- no loader available use Class.forName
+      else
+        type = Class.forName(className);
+      _classesByName.put(className, type);
+    }
+    return type;
   } // -- loadClass
 
   /**
@@ -2056,18 +2190,18 @@ public final class UnmarshalHandler extends MarshalFramework
   }
 
   /**
-   * Converts a String to the given primitive object type.
+   * Converts characters to the given primitive object type.
    *
-   * @param type the class type of the primitive in which to convert the String to
-   * @param value the String to convert to a primitive
+   * @param type the class type of the primitive in which to convert the characters to
+   * @param value the characters to convert to a primitive
    * @param fieldDesc Descriptor for the given field (value)
    * @return the new primitive Object
    * @exception SAXException If the String cannot be converted to a primitive object type
    */
-  Object toPrimitiveObject(final Class<?> type, final String value,
+  Object toPrimitiveObject(final Class<?> type, final CharSequence value,
       final XMLFieldDescriptor fieldDesc) throws SAXException {
     try {
-      return toPrimitiveObject(type, value);
+      return PrimitiveObjectFactory.getInstance().getObject(type, value);
     } catch (Exception ex) {
       UnmarshalState state = _stateStack.getLastState();
       if (state != null) {
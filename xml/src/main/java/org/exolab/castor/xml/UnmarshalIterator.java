@@ -0,0 +1,203 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.xml;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.castor.core.exceptions.CastorRuntimeException;
+import org.xml.sax.SAXException;
+
+/**
+ * An {@link Iterator} unmarshalling the elements of a given name from an {@link XMLStreamReader},
+ * one at a time. Only the element currently being unmarshalled is held in memory; the document
+ * around it is skipped, so that documents of any size can be processed in constant memory.
+ * <p>
+ * As {@link Iterator} methods cannot throw checked exceptions, a {@link MarshalException} is
+ * reported as the cause of a {@link CastorRuntimeException}. Validation errors are reported as the
+ * cause of that MarshalException, as they are by
+ * {@link Unmarshaller#unmarshal(org.xml.sax.InputSource)}.
+ *
+ * @param <T> the type of the objects unmarshalled.
+ * @see Unmarshaller#iterate(XMLStreamReader, Class, String)
+ * @since 1.4.2
+ */
+final class UnmarshalIterator<T> implements Iterator<T> {
+
+  /** The Unmarshaller providing the configuration for each element unmarshalled. */
+  private final Unmarshaller _unmarshaller;
+
+  /** The XMLStreamReader to read from. */
+  private final XMLStreamReader _reader;
+
+  /** Whether the XMLStreamReader should be closed once the document has been read. */
+  private final boolean _closeReader;
+
+  /** The type of the objects unmarshalled. */
+  private final Class<T> _itemType;
+
+  /** The local name of the elements to unmarshal. */
+  private final String _elementName;
+
+  /** Replays the events of a single element to an {@link UnmarshalHandler}. */
+  private final Sax2EventFromStaxStreamProducer _producer;
+
+  /**
+   * The namespace declarations (prefix and URI pairs) of the elements enclosing the current
+   * position, per element, so that they can be passed on to each element unmarshalled.
+   */
+  private final List<List<String[]>> _namespaces = new ArrayList<List<String[]>>();
+
+  /** Whether the reader is positioned at the start of an element to unmarshal. */
+  private boolean _positioned = false;
+
+  /** Whether the end of the document has been reached. */
+  private boolean _finished = false;
+
+  /**
+   * Creates a new UnmarshalIterator.
+   *
+   * @param unmarshaller the Unmarshaller providing the configuration.
+   * @param reader the XMLStreamReader to read from.
+   * @param closeReader whether to close the reader once the document has been read.
+   * @param itemType the type of the objects unmarshalled.
+   * @param elementName the local name of the elements to unmarshal.
+   */
+  UnmarshalIterator(final Unmarshaller unmarshaller, final XMLStreamReader reader,
+      final boolean closeReader, final Class<T> itemType, final String elementName) {
+    _unmarshaller = unmarshaller;
+    _reader = reader;
+    _closeReader = closeReader;
+    _itemType = itemType;
+    _elementName = elementName;
+    _producer = new Sax2EventFromStaxStreamProducer(reader);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see java.util.Iterator#hasNext()
+   */
+  public boolean hasNext() {
+    if (_positioned) {
+      return true;
+    }
+    if (_finished) {
+      return false;
+    }
+    try {
+      int eventType = _reader.getEventType();
+      while (true) {
+        if (eventType == XMLStreamConstants.START_ELEMENT) {
+          if (_elementName.equals(_reader.getLocalName())) {
+            _positioned = true;
+            return true;
+          }
+          pushNamespaces();
+        } else if (eventType == XMLStreamConstants.END_ELEMENT) {
+          if (!_namespaces.isEmpty()) {
+            _namespaces.remove(_namespaces.size() - 1);
+          }
+        } else if (eventType == XMLStreamConstants.END_DOCUMENT) {
+          finish();
+          return false;
+        }
+        if (!_reader.hasNext()) {
+          finish();
+          return false;
+        }
+        eventType = _reader.next();
+      }
+    } catch (XMLStreamException e) {
+      throw new CastorRuntimeException(new MarshalException(e));
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see java.util.Iterator#next()
+   */
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    _positioned = false;
+
+    UnmarshalHandler handler = _unmarshaller.createHandler(_itemType, null);
+    _producer.setContentHandler(handler);
+    _producer.setErrorHandler(handler);
+    handler.setDocumentLocator(_producer.getSAXLocator(_reader.getLocation()));
+    try {
+      for (List<String[]> declarations : _namespaces) {
+        for (String[] declaration : declarations) {
+          handler.startPrefixMapping(declaration[0], declaration[1]);
+        }
+      }
+      // -- replays the events up to the matching end element
+      _producer.start();
+      _reader.next();
+    } catch (SAXException sx) {
+      try {
+        _unmarshaller.convertSAXExceptionToMarshalException(handler, sx);
+      } catch (MarshalException mx) {
+        throw new CastorRuntimeException(mx);
+      }
+    } catch (XMLStreamException e) {
+      throw new CastorRuntimeException(new MarshalException(e));
+    }
+    return _itemType.cast(handler.getObject());
+  }
+
+  /**
+   * Not supported.
+   *
+   * @throws UnsupportedOperationException always.
+   */
+  public void remove() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Records the namespace declarations of the start element the reader is positioned at.
+   */
+  private void pushNamespaces() {
+    int count = _reader.getNamespaceCount();
+    List<String[]> declarations = new ArrayList<String[]>(count);
+    for (int i = 0; i < count; i++) {
+      String prefix = _reader.getNamespacePrefix(i);
+      declarations.add(new String[] {(prefix == null) ? "" : prefix, _reader.getNamespaceURI(i)});
+    }
+    _namespaces.add(declarations);
+  }
+
+  /**
+   * Marks the end of the document as reached, closing the reader if required.
+   *
+   * @throws XMLStreamException if the reader cannot be closed.
+   */
+  private void finish() throws XMLStreamException {
+    _finished = true;
+    _namespaces.clear();
+    if (_closeReader) {
+      _reader.close();
+    }
+  }
+}
@@ -36,9 +36,12 @@
 package org.exolab.castor.xml;
 
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
+import org.exolab.castor.mapping.loader.collection.handler.PrimitiveArrayCollectionHandler;
 
 /**
  * The state information class for the UnmarshalHandler.
@@ -61,7 +64,10 @@ public class UnmarshalState {
   private String _elementName = null;
 
   /** Characters read in during unmarshalling. */
-  private StringBuffer _buffer = null;
+  private StringBuilder _buffer = null;
+
+  /** Decodes binary content while it is read, instead of buffering its characters. */
+  private BinaryContentDecoder _binaryDecoder = null;
 
   /**
    * The key for the object. This may be null if no key or identity has been specified.
@@ -88,6 +94,10 @@ public class UnmarshalState {
   /** The list of *used* field descriptors. */
   private Set<XMLFieldDescriptor> _markedList = new HashSet<XMLFieldDescriptor>();
 
+  /** The values of arrays of primitives not yet added to the object, by field descriptor. */
+  private Map<XMLFieldDescriptor, PrimitiveArrayCollectionHandler<?>.Buffer> _primitiveArrays =
+      null;
+
   /** Is this a derived field? */
   private boolean _derived = false;
 
@@ -126,6 +136,7 @@ public class UnmarshalState {
     setLocation("");
     setElementName(null);
     setBuffer(null);
+    setBinaryDecoder(null);
     setKey(null);
     setNil(false);
     setObject(null);
@@ -136,6 +147,7 @@ public class UnmarshalState {
     if (_markedList != null) {
       _markedList.clear();
     }
+    _primitiveArrays = null;
     setDerived(false);
     setWrapper(false);
     setTargetState(null);
@@ -167,6 +179,41 @@ public class UnmarshalState {
     return _markedList.contains(descriptor);
   }
 
+  /**
+   * Returns the buffer accumulating the values of the given array of primitives field, creating it
+   * if necessary.
+   * 
+   * @param descriptor the XMLFieldDescriptor of the field
+   * @param handler the handler of the array the field stores values in
+   * @return the buffer accumulating the values of the field
+   */
+  PrimitiveArrayCollectionHandler<?>.Buffer getPrimitiveArray(XMLFieldDescriptor descriptor,
+      PrimitiveArrayCollectionHandler<?> handler) {
+    if (_primitiveArrays == null) {
+      _primitiveArrays =
+          new LinkedHashMap<XMLFieldDescriptor, PrimitiveArrayCollectionHandler<?>.Buffer>();
+    }
+    PrimitiveArrayCollectionHandler<?>.Buffer buffer = _primitiveArrays.get(descriptor);
+    if (buffer == null) {
+      buffer = handler.newBuffer();
+      _primitiveArrays.put(descriptor, buffer);
+    }
+    return buffer;
+  }
+
+  /**
+   * Returns the buffers accumulating values of array of primitives fields and removes them from
+   * this state.
+   * 
+   * @return the buffers by field descriptor, or null if there are none
+   */
+  Map<XMLFieldDescriptor, PrimitiveArrayCollectionHandler<?>.Buffer> removePrimitiveArrays() {
+    Map<XMLFieldDescriptor, PrimitiveArrayCollectionHandler<?>.Buffer> primitiveArrays =
+        _primitiveArrays;
+    _primitiveArrays = null;
+    return primitiveArrays;
+  }
+
   void setFieldDescriptor(XMLFieldDescriptor fieldDesc) {
     _fieldDescriptor = fieldDesc;
   }
@@ -223,14 +270,22 @@ public class UnmarshalState {
     return _elementName;
   }
 
-  void setBuffer(StringBuffer buffer) {
+  void setBuffer(StringBuilder buffer) {
     _buffer = buffer;
   }
 
-  StringBuffer getBuffer() {
+  StringBuilder getBuffer() {
     return _buffer;
   }
 
+  void setBinaryDecoder(BinaryContentDecoder binaryDecoder) {
+    _binaryDecoder = binaryDecoder;
+  }
+
+  BinaryContentDecoder getBinaryDecoder() {
+    return _binaryDecoder;
+  }
+
   void setDerived(boolean derived) {
     _derived = derived;
   }
@@ -35,13 +35,17 @@
 
 package org.exolab.castor.xml;
 
+import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.io.Reader;
+import java.io.UnsupportedEncodingException;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.StringTokenizer;
 
 import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.Source;
 import javax.xml.transform.dom.DOMSource;
@@ -332,8 +336,19 @@ public class Unmarshaller {
    * @return the new UnmarshalHandler
    **/
   public UnmarshalHandler createHandler() {
+    return createHandler(_class, _instanceObj);
+  } // -- createHandler
+
+  /**
+   * Creates and initalizes an UnmarshalHandler for the given root class and root object.
+   * 
+   * @param rootClass the class of the root object, may be null.
+   * @param rootObject the instance to unmarshal into, may be null.
+   * @return the new UnmarshalHandler
+   **/
+  UnmarshalHandler createHandler(final Class<?> rootClass, final Object rootObject) {
 
-    UnmarshalHandler handler = new UnmarshalHandler(_internalContext, _class);
+    UnmarshalHandler handler = new UnmarshalHandler(_internalContext, rootClass);
 
     handler.setClearCollections(_clearCollections);
     handler.setReuseObjects(_reuseObjects);
@@ -358,8 +373,8 @@ public class Unmarshaller {
       }
     }
 
-    if (_instanceObj != null) {
-      handler.setRootObject(_instanceObj);
+    if (rootObject != null) {
+      handler.setRootObject(rootObject);
     }
     if (_idResolver != null)
       handler.setIDResolver(_idResolver);
@@ -667,7 +682,7 @@ public class Unmarshaller {
 
     // -- First try XMLReader
     try {
-      reader = _internalContext.getXMLReader();
+      reader = _internalContext.acquireXMLReader();
       if (entityResolver != null) {
         reader.setEntityResolver(entityResolver);
       }
@@ -692,6 +707,7 @@ public class Unmarshaller {
         reader.setContentHandler(handler);
         reader.setErrorHandler(handler);
         reader.parse(source);
+        _internalContext.releaseXMLReader(reader);
       } else {
         parser.setDocumentHandler(handler);
         parser.setErrorHandler(handler);
@@ -750,6 +766,74 @@ public class Unmarshaller {
     return unmarshal(BaseSax2EventFromStaxProducer.createSax2EventFromStax(streamReader));
   }
 
+  /**
+   * Returns an {@link Iterator} unmarshalling the elements with the given local name, one at a
+   * time, as instances of the given type. Only the element currently being unmarshalled is held in
+   * memory, which allows processing documents too large to be unmarshalled as a whole, such as a
+   * root element with millions of repeating child elements. Matching elements nested within a
+   * matching element are unmarshalled as part of the latter.
+   * <p>
+   * Each element is unmarshalled as if it was the root element of a document of its own, using the
+   * configuration of this Unmarshaller, apart from the {@link #setClass(Class) class} and
+   * {@link #setObject(Object) object} to unmarshal into. Hence ID references can only be resolved
+   * within an element. The namespace declarations of the enclosing elements are in scope. Errors
+   * are reported as a {@link org.castor.core.exceptions.CastorRuntimeException} with a
+   * {@link MarshalException} as its cause; as for {@link #unmarshal(InputSource)}, a validation
+   * error is the cause of that MarshalException.
+   * 
+   * @param <T> the type of the objects unmarshalled.
+   * @param streamReader the StAX {@link XMLStreamReader} to read XML from; it is read up to the end
+   *        of the document as the iterator is advanced.
+   * @param itemType the type of the objects unmarshalled.
+   * @param elementName the local name of the elements to unmarshal.
+   * @return an Iterator over the unmarshalled objects.
+   * @since 1.4.2
+   */
+  public <T> Iterator<T> iterate(final XMLStreamReader streamReader, final Class<T> itemType,
+      final String elementName) {
+    return new UnmarshalIterator<T>(this, streamReader, false, itemType, elementName);
+  }
+
+  /**
+   * Returns an {@link Iterator} unmarshalling the elements with the given local name, one at a
+   * time, as instances of the given type. The XML is read through a StAX {@link XMLStreamReader}
+   * created for the given {@link InputSource}. As with the SAX parser, a character stream takes
+   * precedence over a byte stream, and the encoding of the InputSource, if set, overrides the one
+   * declared by the document.
+   * 
+   * @param <T> the type of the objects unmarshalled.
+   * @param source the InputSource to read the XML from.
+   * @param itemType the type of the objects unmarshalled.
+   * @param elementName the local name of the elements to unmarshal.
+   * @return an Iterator over the unmarshalled objects.
+   * @throws MarshalException if no XMLStreamReader can be created for the InputSource.
+   * @see #iterate(XMLStreamReader, Class, String)
+   * @since 1.4.2
+   */
+  public <T> Iterator<T> iterate(final InputSource source, final Class<T> itemType,
+      final String elementName) throws MarshalException {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    XMLStreamReader streamReader;
+    try {
+      if (source.getCharacterStream() != null) {
+        streamReader = factory.createXMLStreamReader(source.getSystemId(),
+            source.getCharacterStream());
+      } else if (source.getByteStream() != null && source.getEncoding() != null) {
+        streamReader = factory.createXMLStreamReader(source.getSystemId(),
+            new InputStreamReader(source.getByteStream(), source.getEncoding()));
+      } else if (source.getByteStream() != null) {
+        streamReader = factory.createXMLStreamReader(source.getSystemId(), source.getByteStream());
+      } else {
+        streamReader = factory.createXMLStreamReader(new StreamSource(source.getSystemId()));
+      }
+    } catch (UnsupportedEncodingException e) {
+      throw new MarshalException(e);
+    } catch (XMLStreamException e) {
+      throw new MarshalException(e);
+    }
+    return new UnmarshalIterator<T>(this, streamReader, true, itemType, elementName);
+  }
+
   /**
    * Unmarshals objects of this {@link Unmarshaller}'s class type. <br/>
    * The class must specify the proper access methods (setters/getters) in order for instances of
@@ -823,7 +907,7 @@ public class Unmarshaller {
    * @param sex The {@link SAXException} instance
    * @throws MarshalException The {@link MarshalException} instance derived from the SAX exception.
    */
-  private void convertSAXExceptionToMarshalException(UnmarshalHandler handler, SAXException sex)
+  void convertSAXExceptionToMarshalException(UnmarshalHandler handler, SAXException sex)
       throws MarshalException {
     Exception except = sex.getException();
     if (except == null) {
@@ -62,6 +62,12 @@ public class ValidationContext {
    */
   private boolean _failFast = true;
 
+  /**
+   * A flag to indicate shallow validation. When true, validators check the fields of the object
+   * handed to them, but do not descend into the objects referenced by those fields.
+   */
+  private boolean _shallow = false;
+
   /** The List of objects marked as validated. */
   private final Set<Object> _validated = new HashSet<>();
 
@@ -130,6 +136,30 @@ public class ValidationContext {
     _failFast = failFast;
   }
 
+  /**
+   * Returns true if only the object handed to a validator is checked, without descending into the
+   * (complex) objects referenced by its fields.
+   *
+   * @return true if shallow validation is enabled.
+   * @since 1.4.2
+   */
+  public boolean isShallow() {
+    return _shallow;
+  }
+
+  /**
+   * Sets the shallow flag. Shallow validation is disabled by default. When enabled, field
+   * validators still check occurrences, required values and simple-typed values, but leave the
+   * validation of referenced complex objects to the caller; the {@link Marshaller} uses this to
+   * validate each object as it is marshalled, instead of walking the object graph twice.
+   *
+   * @param shallow true to restrict validation to the object handed to a validator.
+   * @since 1.4.2
+   */
+  public void setShallow(final boolean shallow) {
+    _shallow = shallow;
+  }
+
   /**
    * Checks whether an object has already been validated.
    * 
@@ -131,6 +131,23 @@ public class Validator implements ClassValidator {
       return;
     }
 
+    validate(object, classDesc, context);
+
+    // checkUnresolvedIdrefs(context);
+
+  }
+
+  /**
+   * Validates the given Object against the given, already resolved class descriptor.
+   *
+   * @param object the Object to validate
+   * @param classDesc the XMLClassDescriptor describing the object's class
+   * @param context the ValidationContext to use during validation.
+   * @throws ValidationException if validation fails.
+   * @since 1.4.2
+   */
+  public void validate(final Object object, final XMLClassDescriptor classDesc,
+      final ValidationContext context) throws ValidationException {
     XMLFieldDescriptor fieldDesc = null;
 
     try {
@@ -172,9 +189,6 @@ public class Validator implements ClassValidator {
       }
       throw vx;
     }
-
-    // checkUnresolvedIdrefs(context);
-
   }
 
   public void checkUnresolvedIdrefs(ValidationContext context) throws ValidationException {
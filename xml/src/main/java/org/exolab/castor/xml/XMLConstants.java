@@ -55,4 +55,10 @@ public interface XMLConstants {
 
   /** name of the class descriptor resolver file. */
   String PKG_CDR_LIST_FILE = ".castor.cdr";
+
+  /**
+   * suffix of the keys of the class descriptor resolver file that map a class name to the XML name
+   * of its descriptor, as in <code>com.acme.Order@xmlName=order</code>.
+   */
+  String PKG_CDR_XML_NAME_SUFFIX = "@xmlName";
 }
@@ -28,6 +28,9 @@ package org.exolab.castor.xml;
  * {@link XercesXMLSerializerFactory}, which will use a separately downloaded Xerces instance, and
  * not the one shipped with the JRE itself.
  * 
+ * The {@link StreamingXMLSerializerFactory} does not depend on Xerces at all and writes XML
+ * directly to the output stream or writer.
+ * 
  * @author <a href="mailto:werner DOT guttmann AT gmx DOT net">Werner Guttmann</a>
  * @version $Revision$ $Date: 2006-04-25 16:09:10 -0600 (Tue, 25 Apr 2006) $
  * 
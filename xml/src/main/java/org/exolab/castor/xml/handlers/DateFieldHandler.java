@@ -36,7 +36,6 @@ package org.exolab.castor.xml.handlers;
 
 import java.lang.reflect.Array;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
@@ -47,6 +46,7 @@ import java.util.TimeZone;
 
 import org.exolab.castor.mapping.FieldHandler;
 import org.exolab.castor.types.DateTime;
+import org.exolab.castor.types.DateTimeCodec;
 import org.exolab.castor.xml.XMLFieldHandler;
 
 /**
@@ -356,26 +356,15 @@ public class DateFieldHandler extends XMLFieldHandler {
    * @return the formatted string
    */
   protected static String format(final Date date) {
-    final SimpleDateFormat formatter;
-    if (_suppressMillis) {
-      formatter = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
-    } else {
-      formatter = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS");
-    }
-
-    /* ensure the formatter does not use the default system timezone */
-    formatter.setTimeZone(_timezone);
-
-    GregorianCalendar cal = new GregorianCalendar();
-    cal.setTime(date);
-    cal.setTimeZone(_timezone);
+    /* ensure the calendar does not use the default system timezone */
+    Calendar cal = DateTimeCodec.getCalendar(date, _timezone);
 
     StringBuilder buffer = new StringBuilder(DEFAULT_DATE_LENGTH);
     if (cal.get(Calendar.ERA) == GregorianCalendar.BC) {
       buffer.append('-');
     }
 
-    buffer.append(formatter.format(date));
+    DateTimeCodec.appendDateTime(buffer, cal, !_suppressMillis);
     formatTimeZone(cal, buffer);
     return buffer.toString();
   } // -- format
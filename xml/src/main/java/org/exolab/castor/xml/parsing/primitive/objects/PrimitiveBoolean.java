@@ -42,4 +42,30 @@ class PrimitiveBoolean extends PrimitiveObject {
         " A value of >" + value + "< cannot be converted to a boolean value.");
   }
 
+  @Override
+  Object getObject(Class<?> type, CharSequence value, int begin, int end) {
+    int length = end - begin;
+    if ((length == 1 && value.charAt(begin) == '1')
+        || (length == 4 && matches(value, begin, "true"))) {
+      return Boolean.TRUE;
+    }
+    if ((length == 1 && value.charAt(begin) == '0')
+        || (length == 5 && matches(value, begin, "false"))) {
+      return Boolean.FALSE;
+    }
+    return super.getObject(type, value, begin, end);
+  }
+
+  /**
+   * Checks whether the characters starting at the given index are the given lower case literal.
+   */
+  private static boolean matches(CharSequence value, int begin, String literal) {
+    for (int i = 0; i < literal.length(); i++) {
+      if (value.charAt(begin + i) != literal.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
 }
@@ -33,4 +33,12 @@ class PrimitiveByte extends PrimitiveObject {
     return Byte.valueOf(Byte.parseByte(value));
   }
 
+  @Override
+  Object getObject(Class<?> type, CharSequence value, int begin, int end) {
+    if (isPlainDecimal(value, begin, end, 2)) {
+      return Byte.valueOf((byte) parseDecimal(value, begin, end));
+    }
+    return super.getObject(type, value, begin, end);
+  }
+
 }
@@ -33,4 +33,12 @@ class PrimitiveInteger extends PrimitiveObject {
     return Integer.valueOf(Integer.parseInt(value));
   };
 
+  @Override
+  Object getObject(Class<?> type, CharSequence value, int begin, int end) {
+    if (isPlainDecimal(value, begin, end, 9)) {
+      return Integer.valueOf((int) parseDecimal(value, begin, end));
+    }
+    return super.getObject(type, value, begin, end);
+  }
+
 }
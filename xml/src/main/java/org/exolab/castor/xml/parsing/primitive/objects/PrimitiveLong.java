@@ -33,4 +33,12 @@ class PrimitiveLong extends PrimitiveObject {
     return Long.valueOf(Long.parseLong(value));
   }
 
+  @Override
+  Object getObject(Class<?> type, CharSequence value, int begin, int end) {
+    if (isPlainDecimal(value, begin, end, 18)) {
+      return Long.valueOf(parseDecimal(value, begin, end));
+    }
+    return super.getObject(type, value, begin, end);
+  }
+
 }
@@ -34,4 +34,66 @@ class PrimitiveObject {
   Object getObject(Class<?> type, String value) {
     return value;
   }
+
+  /**
+   * Object that matches given Class and the given range of characters. Handlers that can read the
+   * characters in place override this method; by default the range is converted to a String and
+   * passed to {@link #getObject(Class, String)}.
+   *
+   * @param type type of object which should be instantiated
+   * @param value characters of the object which should be instantiated
+   * @param begin index of the first character to use
+   * @param end index after the last character to use
+   *
+   * @return Object
+   */
+  Object getObject(Class<?> type, CharSequence value, int begin, int end) {
+    return getObject(type, value.subSequence(begin, end).toString());
+  }
+
+  /**
+   * Checks whether the given range holds an optional sign followed by 1 to maxDigits ASCII digits,
+   * in which case {@link #parseDecimal(CharSequence, int, int)} cannot overflow a long and gives
+   * the same result as the parse methods of the JDK.
+   *
+   * @param value the characters to check
+   * @param begin index of the first character to check
+   * @param end index after the last character to check
+   * @param maxDigits the maximum number of digits
+   * @return true if the range is a plain decimal number
+   */
+  static boolean isPlainDecimal(CharSequence value, int begin, int end, int maxDigits) {
+    int i = begin;
+    if (i < end && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+      i++;
+    }
+    if (i == end || end - i > maxDigits) {
+      return false;
+    }
+    for (; i < end; i++) {
+      char ch = value.charAt(i);
+      if (ch < '0' || ch > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Parses a range accepted by {@link #isPlainDecimal(CharSequence, int, int, int)}.
+   *
+   * @param value the characters to parse
+   * @param begin index of the first character to parse
+   * @param end index after the last character to parse
+   * @return the parsed value
+   */
+  static long parseDecimal(CharSequence value, int begin, int end) {
+    boolean negative = value.charAt(begin) == '-';
+    int i = (negative || value.charAt(begin) == '+') ? begin + 1 : begin;
+    long result = 0;
+    for (; i < end; i++) {
+      result = result * 10 + (value.charAt(i) - '0');
+    }
+    return negative ? -result : result;
+  }
 }
@@ -19,60 +19,57 @@ import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.Map;
 
-import org.apache.commons.logging.Log;
-import org.apache.commons.logging.LogFactory;
-
 /**
  * This class is used as a factory to get an instance of a class with a given value.
  */
 public class PrimitiveObjectFactory {
 
-  private Map<Class<?>, Class<? extends PrimitiveObject>> typeHandlers =
-      new HashMap<Class<?>, Class<? extends PrimitiveObject>>();
+  /**
+   * The handlers by type. Handlers do not hold any state, so a single instance of each is shared.
+   */
+  private final Map<Class<?>, PrimitiveObject> typeHandlers =
+      new HashMap<Class<?>, PrimitiveObject>();
 
-  private final Log logger = LogFactory.getLog(this.getClass());
+  /** The handler used for types without a specific handler. */
+  private final PrimitiveObject defaultHandler = new PrimitiveObject();
 
-  private static PrimitiveObjectFactory primitiveObjectFactory;
+  private static final PrimitiveObjectFactory primitiveObjectFactory =
+      new PrimitiveObjectFactory();
 
-  public static synchronized PrimitiveObjectFactory getInstance() {
-    if (primitiveObjectFactory == null) {
-      primitiveObjectFactory = new PrimitiveObjectFactory();
-    }
+  public static PrimitiveObjectFactory getInstance() {
     return primitiveObjectFactory;
   }
 
   private PrimitiveObjectFactory() {
-    typeHandlers.put(String.class, PrimitiveString.class);
+    register(new PrimitiveString(), String.class);
 
-    typeHandlers.put(Enum.class, PrimitiveEnum.class);
+    register(new PrimitiveEnum(), Enum.class);
 
-    typeHandlers.put(Integer.TYPE, PrimitiveInteger.class);
-    typeHandlers.put(Integer.class, PrimitiveInteger.class);
+    register(new PrimitiveInteger(), Integer.TYPE, Integer.class);
 
-    typeHandlers.put(Boolean.TYPE, PrimitiveBoolean.class);
-    typeHandlers.put(Boolean.class, PrimitiveBoolean.class);
+    register(new PrimitiveBoolean(), Boolean.TYPE, Boolean.class);
 
-    typeHandlers.put(Double.TYPE, PrimitiveDouble.class);
-    typeHandlers.put(Double.class, PrimitiveDouble.class);
+    register(new PrimitiveDouble(), Double.TYPE, Double.class);
 
-    typeHandlers.put(Long.TYPE, PrimitiveLong.class);
-    typeHandlers.put(Long.class, PrimitiveLong.class);
+    register(new PrimitiveLong(), Long.TYPE, Long.class);
 
-    typeHandlers.put(Character.TYPE, PrimitiveChar.class);
-    typeHandlers.put(Character.class, PrimitiveChar.class);
+    register(new PrimitiveChar(), Character.TYPE, Character.class);
 
-    typeHandlers.put(Short.TYPE, PrimitiveShort.class);
-    typeHandlers.put(Short.class, PrimitiveShort.class);
+    register(new PrimitiveShort(), Short.TYPE, Short.class);
 
-    typeHandlers.put(Float.TYPE, PrimitiveFloat.class);
-    typeHandlers.put(Float.class, PrimitiveFloat.class);
+    register(new PrimitiveFloat(), Float.TYPE, Float.class);
 
-    typeHandlers.put(Byte.TYPE, PrimitiveByte.class);
-    typeHandlers.put(Byte.class, PrimitiveByte.class);
+    register(new PrimitiveByte(), Byte.TYPE, Byte.class);
 
-    typeHandlers.put(BigInteger.class, PrimitiveBigInteger.class);
+    register(new PrimitiveBigInteger(), BigInteger.class);
 
-    typeHandlers.put(BigDecimal.class, PrimitiveBigDecimal.class);
+    register(new PrimitiveBigDecimal(), BigDecimal.class);
+  }
+
+  private void register(PrimitiveObject handler, Class<?>... types) {
+    for (Class<?> type : types) {
+      typeHandlers.put(type, handler);
+    }
   }
 
   /**
@@ -84,10 +81,6 @@ public class PrimitiveObjectFactory {
 
     PrimitiveObject handler = lookupHandler(type);
 
-    if (handler == null) {
-      handler = getDefaultHandler();
-    }
-
     if (type != String.class) {
       value = trimNumericValues(value);
     }
@@ -95,40 +88,57 @@ public class PrimitiveObjectFactory {
     return handler.getObject(type, value);
   }
 
+  /**
+   * Returns an instantiated Object for the given characters. Unlike {@link #getObject(Class,
+   * String)}, this does not require the characters to be copied into a String first: handlers
+   * for integral and boolean types read them in place.
+   * 
+   * @param type type of object which should be instantiated
+   * @param value characters of the object which should be instantiated, can be null
+   * @return Object
+   */
+  public Object getObject(Class<?> type, CharSequence value) {
+    if (value == null || value instanceof String) {
+      return getObject(type, (String) value);
+    }
+
+    PrimitiveObject handler = lookupHandler(type);
+
+    int begin = 0;
+    int end = value.length();
+    if (type != String.class) {
+      // -- same as String#trim()
+      while (begin < end && value.charAt(begin) <= ' ') {
+        begin++;
+      }
+      while (end > begin && value.charAt(end - 1) <= ' ') {
+        end--;
+      }
+    }
+
+    return handler.getObject(type, value, begin, end);
+  }
+
   /**
    * Looks up a handler from the map for the given type. <br>
-   * Returns null if there isn't any suitable handler.
+   * Returns the default handler if there isn't any suitable handler.
    * 
    * @param type
    * @return a handler to instantiate the given class
    */
   private PrimitiveObject lookupHandler(Class<?> type) {
 
-    PrimitiveObject instance = null;
-
     if (type == null) {
-      return null;
+      return defaultHandler;
     }
 
-    Class<? extends PrimitiveObject> result = typeHandlers.get(type);
+    PrimitiveObject result = typeHandlers.get(type);
 
     if (result == null) {
       result = typeHandlers.get(type.getSuperclass());
     }
 
-    if (result != null) {
-      try {
-        instance = result.newInstance();
-      } catch (InstantiationException e) {
-        this.logger.error("Problem instantiating an instance of " + result.getName());
-        e.printStackTrace();
-      } catch (IllegalAccessException e) {
-        this.logger.error("Problem accessing default constructor of " + result.getName());
-        e.printStackTrace();
-      }
-    }
-
-    return instance;
+    return (result != null) ? result : defaultHandler;
   }
 
   /**
@@ -145,13 +155,4 @@ public class PrimitiveObjectFactory {
     return value.trim();
   }
 
-  /**
-   * returns a default Handler for Object instantiation
-   * 
-   * @return primitiveObject Primitive
-   */
-  private PrimitiveObject getDefaultHandler() {
-    return new PrimitiveObject();
-  }
-
 }
@@ -33,4 +33,12 @@ class PrimitiveShort extends PrimitiveObject {
     return Short.valueOf(Short.parseShort(value));
   }
 
+  @Override
+  Object getObject(Class<?> type, CharSequence value, int begin, int end) {
+    if (isPlainDecimal(value, begin, end, 4)) {
+      return Short.valueOf((short) parseDecimal(value, begin, end));
+    }
+    return super.getObject(type, value, begin, end);
+  }
+
 }
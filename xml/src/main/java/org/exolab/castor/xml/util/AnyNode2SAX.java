@@ -34,7 +34,9 @@
  */
 package org.exolab.castor.xml.util;
 
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 import org.exolab.castor.types.AnyNode;
 import org.exolab.castor.xml.EventProducer;
@@ -56,8 +58,11 @@ public class AnyNode2SAX implements EventProducer {
   private AnyNode _node;
   /** The Document Handler. */
   private DocumentHandler _handler;
-  /** The stack to store the elements. */
-  private HashSet _elements;
+  /** The elements currently being processed, used to avoid endless loops. */
+  private final Set<AnyNode> _elements =
+      Collections.newSetFromMap(new IdentityHashMap<AnyNode, Boolean>());
+  /** Buffer reused to report the content of TEXT nodes. */
+  private char[] _chars = new char[0];
 
   /**
    * Represents the namespace stack.
@@ -87,7 +92,6 @@ public class AnyNode2SAX implements EventProducer {
    * @param namespacesStack the namespace stack
    */
   public AnyNode2SAX(final AnyNode node, final NamespacesStack namespacesStack) {
-    _elements = new HashSet();
     _node = node;
     this.namespacesStack = namespacesStack != null ? namespacesStack : new NamespacesStack();
   }
@@ -130,12 +134,12 @@ public class AnyNode2SAX implements EventProducer {
       throw new IllegalArgumentException();
     }
 
-    // -- so we don't potentially get into an endlessloop
-    if (!_elements.add(node)) {
-      return;
-    }
-
     if (node.getNodeType() == AnyNode.ELEMENT) {
+      // -- so we don't potentially get into an endlessloop
+      if (!_elements.add(node)) {
+        return;
+      }
+
       String name = node.getLocalName();
 
       // -- retrieve the attributes and handle them
@@ -219,6 +223,7 @@ public class AnyNode2SAX implements EventProducer {
       try {
         handler.endElement(qName);
         namespacesStack.removeNamespaceScope();
+        _elements.remove(node);
       } catch (org.xml.sax.SAXException sx) {
         throw new SAXException(sx);
       }
@@ -227,9 +232,13 @@ public class AnyNode2SAX implements EventProducer {
       if (node.getNodeType() == AnyNode.TEXT) {
         String value = node.getStringValue();
         if (value != null && value.length() > 0) {
-          char[] chars = value.toCharArray();
+          int length = value.length();
+          if (_chars.length < length) {
+            _chars = new char[length];
+          }
+          value.getChars(0, length, _chars, 0);
           try {
-            handler.characters(chars, 0, chars.length);
+            handler.characters(_chars, 0, length);
           } catch (org.xml.sax.SAXException sx) {
             throw new SAXException(sx);
           }
@@ -35,7 +35,8 @@
  */
 package org.exolab.castor.xml.util;
 
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Set;
 
 import org.exolab.castor.types.AnyNode;
@@ -59,8 +60,11 @@ public class AnyNode2SAX2 {
   private AnyNode _node;
   /** The Content Handler. */
   private ContentHandler _handler;
-  /** The stack to store the elements. */
-  private Set<AnyNode> _elements;
+  /** The elements currently being processed, used to avoid endless loops. */
+  private final Set<AnyNode> _elements =
+      Collections.newSetFromMap(new IdentityHashMap<AnyNode, Boolean>());
+  /** Buffer reused to report the content of TEXT nodes. */
+  private char[] _chars = new char[0];
   /** The namespace stack. */
   private NamespacesStack namespacesStack;
 
@@ -87,7 +91,6 @@ public class AnyNode2SAX2 {
    * @param namespacesStack a namespace context
    */
   public AnyNode2SAX2(final AnyNode node, final NamespacesStack namespacesStack) {
-    _elements = new HashSet<AnyNode>();
     _node = node;
     this.namespacesStack = namespacesStack != null ? namespacesStack : new NamespacesStack();
   }
@@ -136,12 +139,12 @@ public class AnyNode2SAX2 {
       throw new IllegalArgumentException();
     }
 
-    // -- so we don't potentially get into an endlessloop
-    if (!_elements.add(node)) {
-      return;
-    }
-
     if (node.getNodeType() == AnyNode.ELEMENT) {
+      // -- so we don't potentially get into an endlessloop
+      if (!_elements.add(node)) {
+        return;
+      }
+
       // -- node local name
       String name = node.getLocalName();
 
@@ -240,6 +243,7 @@ public class AnyNode2SAX2 {
       try {
         handler.endElement(nsURI, name, qName);
         namespacesStack.removeNamespaceScope();
+        _elements.remove(node);
 
         // -- retrieve the namespaces declaration and handle them
         tempNode = node.getFirstNamespace();
@@ -259,9 +263,13 @@ public class AnyNode2SAX2 {
       if (node.getNodeType() == AnyNode.TEXT) {
         String value = node.getStringValue();
         if ((value != null) && (value.length() > 0)) {
-          char[] chars = value.toCharArray();
+          int length = value.length();
+          if (_chars.length < length) {
+            _chars = new char[length];
+          }
+          value.getChars(0, length, _chars, 0);
           try {
-            handler.characters(chars, 0, chars.length);
+            handler.characters(_chars, 0, length);
           } catch (org.xml.sax.SAXException sx) {
             throw new SAXException(sx);
           }
@@ -86,6 +86,16 @@ public final class DefaultNaming extends AbstractXMLNaming implements XMLNaming
     }
   }
 
+  /**
+   * Returns the style of this DefaultNaming.
+   * 
+   * @return the style, DefaultNaming.LOWER_CASE_STYLE or DefaultNaming.MIXED_CASE_STYLE
+   * @since 1.4.2
+   */
+  public short getStyle() {
+    return _style;
+  }
+
   /**
    * Creates the XML Name for the given class. It would be nearly impossible for this method to
    * please every one, so I picked common "de-facto" XML naming conventions. This can be overridden
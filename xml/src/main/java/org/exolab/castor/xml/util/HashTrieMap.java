@@ -0,0 +1,495 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.xml.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An immutable map organized as a hash array mapped trie. Adding or removing a key returns a new
+ * map that shares all but the nodes on the path to that key with the original one, so that an
+ * update costs O(log32 n) instead of copying all entries.
+ * <p>
+ * Keys must not be <code>null</code>; values may be.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @since 1.4.2
+ */
+final class HashTrieMap<K, V> {
+  /** The number of hash bits consumed by each level of the trie. */
+  private static final int BITS = 5;
+
+  /** The mask selecting the hash bits of one level. */
+  private static final int MASK = (1 << BITS) - 1;
+
+  /** Marks a key that is not mapped, as <code>null</code> is a valid value. */
+  private static final Object NOT_FOUND = new Object();
+
+  /** The empty map. */
+  @SuppressWarnings("rawtypes")
+  private static final HashTrieMap EMPTY = new HashTrieMap(null, 0);
+
+  /** The root node, <code>null</code> for the empty map. */
+  private final Node _root;
+
+  /** The number of entries. */
+  private final int _size;
+
+  /**
+   * Creates a map.
+   *
+   * @param root the root node
+   * @param size the number of entries
+   */
+  private HashTrieMap(final Node root, final int size) {
+    _root = root;
+    _size = size;
+  }
+
+  /**
+   * Returns the empty map.
+   *
+   * @param <K> the type of the keys
+   * @param <V> the type of the values
+   * @return the empty map
+   */
+  @SuppressWarnings("unchecked")
+  static <K, V> HashTrieMap<K, V> empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Returns the value mapped to the given key.
+   *
+   * @param key the key
+   * @return the value, or <code>null</code> if the key is not mapped
+   */
+  @SuppressWarnings("unchecked")
+  V get(final Object key) {
+    if (_root == null) {
+      return null;
+    }
+    Object value = _root.find(0, hash(key), key);
+    return (value == NOT_FOUND) ? null : (V) value;
+  }
+
+  /**
+   * Checks whether the given key is mapped.
+   *
+   * @param key the key
+   * @return <code>true</code> if the key is mapped
+   */
+  boolean containsKey(final Object key) {
+    return (_root != null) && (_root.find(0, hash(key), key) != NOT_FOUND);
+  }
+
+  /**
+   * Returns a map that additionally maps the given key to the given value, replacing any value
+   * mapped to the key before.
+   *
+   * @param key the key
+   * @param value the value
+   * @return the extended map, or this map if the key is mapped to the same value already
+   */
+  HashTrieMap<K, V> plus(final K key, final V value) {
+    int hash = hash(key);
+    boolean[] added = new boolean[1];
+    Node root = (_root == null) ? BitmapNode.EMPTY.put(0, hash, key, value, added)
+        : _root.put(0, hash, key, value, added);
+    if (root == _root) {
+      return this;
+    }
+    return new HashTrieMap<K, V>(root, added[0] ? _size + 1 : _size);
+  }
+
+  /**
+   * Returns a map without the given key.
+   *
+   * @param key the key
+   * @return the reduced map, or this map if the key is not mapped
+   */
+  HashTrieMap<K, V> minus(final Object key) {
+    if (_root == null) {
+      return this;
+    }
+    Node root = _root.remove(0, hash(key), key);
+    if (root == _root) {
+      return this;
+    }
+    return (root == null) ? HashTrieMap.<K, V>empty() : new HashTrieMap<K, V>(root, _size - 1);
+  }
+
+  /**
+   * Returns the number of entries.
+   *
+   * @return the number of entries
+   */
+  int size() {
+    return _size;
+  }
+
+  /**
+   * Checks whether this map has no entries.
+   *
+   * @return <code>true</code> if this map has no entries
+   */
+  boolean isEmpty() {
+    return _size == 0;
+  }
+
+  /**
+   * Returns the keys of this map.
+   *
+   * @return a new list of all keys, in no particular order
+   */
+  @SuppressWarnings("unchecked")
+  List<K> keys() {
+    List<Object> keys = new ArrayList<Object>(_size);
+    if (_root != null) {
+      _root.collectKeys(keys);
+    }
+    return (List<K>) keys;
+  }
+
+  /**
+   * Computes the hash of a key, spreading the higher bits to the lower levels of the trie.
+   *
+   * @param key the key
+   * @return the hash
+   */
+  private static int hash(final Object key) {
+    int hash = key.hashCode();
+    return hash ^ (hash >>> 16);
+  }
+
+  /**
+   * Returns the bit of the given hash at the given level.
+   *
+   * @param hash the hash
+   * @param shift the number of hash bits consumed by the levels above
+   * @return the bit
+   */
+  private static int bit(final int hash, final int shift) {
+    return 1 << ((hash >>> shift) & MASK);
+  }
+
+  /**
+   * A node of the trie. Nodes are never modified once they are created.
+   */
+  private abstract static class Node {
+    /**
+     * Finds the value of a key.
+     *
+     * @param shift the number of hash bits consumed by the levels above
+     * @param hash the hash of the key
+     * @param key the key
+     * @return the value, or {@link HashTrieMap#NOT_FOUND}
+     */
+    abstract Object find(int shift, int hash, Object key);
+
+    /**
+     * Returns a node that additionally maps the given key to the given value.
+     *
+     * @param shift the number of hash bits consumed by the levels above
+     * @param hash the hash of the key
+     * @param key the key
+     * @param value the value
+     * @param added set to <code>true</code> if the key was not mapped before
+     * @return the new node, or this node if it maps the key to the same value already
+     */
+    abstract Node put(int shift, int hash, Object key, Object value, boolean[] added);
+
+    /**
+     * Returns a node without the given key.
+     *
+     * @param shift the number of hash bits consumed by the levels above
+     * @param hash the hash of the key
+     * @param key the key
+     * @return the new node, this node if the key is not mapped, or <code>null</code> if the node
+     *         becomes empty
+     */
+    abstract Node remove(int shift, int hash, Object key);
+
+    /**
+     * Adds the keys of this node and its children to the given list.
+     *
+     * @param keys the list to add to
+     */
+    abstract void collectKeys(List<Object> keys);
+  }
+
+  /**
+   * A node holding the entries and child nodes of up to 32 hash slots. The slots in use are marked
+   * in a bitmap; each one takes two elements of the array: the key and the value of an entry, or
+   * <code>null</code> and a child node.
+   */
+  private static final class BitmapNode extends Node {
+    /** The node without any slots in use. */
+    static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+    /** The slots in use. */
+    private final int _bitmap;
+
+    /** The keys and values or child nodes of the slots in use. */
+    private final Object[] _array;
+
+    /**
+     * Creates a node.
+     *
+     * @param bitmap the slots in use
+     * @param array the keys and values or child nodes of the slots in use
+     */
+    BitmapNode(final int bitmap, final Object[] array) {
+      _bitmap = bitmap;
+      _array = array;
+    }
+
+    /**
+     * Returns the array index of the slot of the given bit.
+     *
+     * @param bit the bit of the slot
+     * @return the index of its key in the array
+     */
+    private int index(final int bit) {
+      return 2 * Integer.bitCount(_bitmap & (bit - 1));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    Object find(final int shift, final int hash, final Object key) {
+      int bit = bit(hash, shift);
+      if ((_bitmap & bit) == 0) {
+        return NOT_FOUND;
+      }
+      int index = index(bit);
+      Object slotKey = _array[index];
+      if (slotKey == null) {
+        return ((Node) _array[index + 1]).find(shift + BITS, hash, key);
+      }
+      return key.equals(slotKey) ? _array[index + 1] : NOT_FOUND;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    Node put(final int shift, final int hash, final Object key, final Object value,
+        final boolean[] added) {
+      int bit = bit(hash, shift);
+      int index = index(bit);
+      if ((_bitmap & bit) == 0) {
+        Object[] array = new Object[_array.length + 2];
+        System.arraycopy(_array, 0, array, 0, index);
+        array[index] = key;
+        array[index + 1] = value;
+        System.arraycopy(_array, index, array, index + 2, _array.length - index);
+        added[0] = true;
+        return new BitmapNode(_bitmap | bit, array);
+      }
+
+      Object slotKey = _array[index];
+      Object slotValue = _array[index + 1];
+      if (slotKey == null) {
+        Node child = ((Node) slotValue).put(shift + BITS, hash, key, value, added);
+        return (child == slotValue) ? this : replace(index, null, child);
+      }
+      if (key.equals(slotKey)) {
+        return (value == slotValue) ? this : replace(index, slotKey, value);
+      }
+      added[0] = true;
+      return replace(index, null,
+          createNode(shift + BITS, slotKey, slotValue, hash, key, value));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    Node remove(final int shift, final int hash, final Object key) {
+      int bit = bit(hash, shift);
+      if ((_bitmap & bit) == 0) {
+        return this;
+      }
+      int index = index(bit);
+      Object slotKey = _array[index];
+      if (slotKey == null) {
+        Node child = (Node) _array[index + 1];
+        Node reduced = child.remove(shift + BITS, hash, key);
+        if (reduced == child) {
+          return this;
+        }
+        if (reduced != null) {
+          return replace(index, null, reduced);
+        }
+      } else if (!key.equals(slotKey)) {
+        return this;
+      }
+
+      if (_bitmap == bit) {
+        return null;
+      }
+      Object[] array = new Object[_array.length - 2];
+      System.arraycopy(_array, 0, array, 0, index);
+      System.arraycopy(_array, index + 2, array, index, _array.length - index - 2);
+      return new BitmapNode(_bitmap & ~bit, array);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    void collectKeys(final List<Object> keys) {
+      for (int i = 0; i < _array.length; i += 2) {
+        if (_array[i] == null) {
+          ((Node) _array[i + 1]).collectKeys(keys);
+        } else {
+          keys.add(_array[i]);
+        }
+      }
+    }
+
+    /**
+     * Returns a copy of this node with the given slot replaced.
+     *
+     * @param index the index of the key of the slot
+     * @param key the new key, <code>null</code> for a child node
+     * @param value the new value or child node
+     * @return the new node
+     */
+    private BitmapNode replace(final int index, final Object key, final Object value) {
+      Object[] array = _array.clone();
+      array[index] = key;
+      array[index + 1] = value;
+      return new BitmapNode(_bitmap, array);
+    }
+
+    /**
+     * Creates a node holding two entries whose hashes are equal up to the given level.
+     *
+     * @param shift the number of hash bits consumed by the levels above the new node
+     * @param key1 the key of the first entry
+     * @param value1 the value of the first entry
+     * @param hash2 the hash of the key of the second entry
+     * @param key2 the key of the second entry
+     * @param value2 the value of the second entry
+     * @return the new node
+     */
+    private static Node createNode(final int shift, final Object key1, final Object value1,
+        final int hash2, final Object key2, final Object value2) {
+      int hash1 = hash(key1);
+      if (hash1 == hash2) {
+        return new CollisionNode(hash1, new Object[] {key1, value1, key2, value2});
+      }
+      boolean[] added = new boolean[1];
+      return EMPTY.put(shift, hash1, key1, value1, added).put(shift, hash2, key2, value2, added);
+    }
+  }
+
+  /**
+   * A node holding the entries of keys with the same hash, as key and value pairs.
+   */
+  private static final class CollisionNode extends Node {
+    /** The hash of all keys. */
+    private final int _hash;
+
+    /** The keys and values. */
+    private final Object[] _array;
+
+    /**
+     * Creates a node.
+     *
+     * @param hash the hash of all keys
+     * @param array the keys and values
+     */
+    CollisionNode(final int hash, final Object[] array) {
+      _hash = hash;
+      _array = array;
+    }
+
+    /**
+     * Returns the array index of the given key.
+     *
+     * @param key the key
+     * @return the index, or -1 if the key is not mapped
+     */
+    private int index(final Object key) {
+      for (int i = 0; i < _array.length; i += 2) {
+        if (key.equals(_array[i])) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    Object find(final int shift, final int hash, final Object key) {
+      int index = (hash == _hash) ? index(key) : -1;
+      return (index < 0) ? NOT_FOUND : _array[index + 1];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    Node put(final int shift, final int hash, final Object key, final Object value,
+        final boolean[] added) {
+      if (hash != _hash) {
+        // -- move this node one level down, next to the new entry
+        return new BitmapNode(bit(_hash, shift), new Object[] {null, this}).put(shift, hash, key,
+            value, added);
+      }
+      int index = index(key);
+      if (index >= 0) {
+        if (_array[index + 1] == value) {
+          return this;
+        }
+        Object[] array = _array.clone();
+        array[index + 1] = value;
+        return new CollisionNode(_hash, array);
+      }
+      Object[] array = new Object[_array.length + 2];
+      System.arraycopy(_array, 0, array, 0, _array.length);
+      array[_array.length] = key;
+      array[_array.length + 1] = value;
+      added[0] = true;
+      return new CollisionNode(_hash, array);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    Node remove(final int shift, final int hash, final Object key) {
+      int index = (hash == _hash) ? index(key) : -1;
+      if (index < 0) {
+        return this;
+      }
+      if (_array.length == 2) {
+        return null;
+      }
+      Object[] array = new Object[_array.length - 2];
+      System.arraycopy(_array, 0, array, 0, index);
+      System.arraycopy(_array, index + 2, array, index, _array.length - index - 2);
+      return new CollisionNode(_hash, array);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    void collectKeys(final List<Object> keys) {
+      for (int i = 0; i < _array.length; i += 2) {
+        keys.add(_array[i]);
+      }
+    }
+  }
+}
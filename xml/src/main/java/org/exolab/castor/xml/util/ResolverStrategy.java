@@ -106,7 +106,7 @@ public interface ResolverStrategy {
      * 
      * @param descriptors a Map of className (String) and XMLClassDescriptor pairs
      */
-    void addAllDescriptors(Map descriptors);
+    void addAllDescriptors(Map<String, ? extends ClassDescriptor> descriptors);
 
     /**
      * Gets the descriptor that is mapped to the given class name.
@@ -116,5 +116,38 @@ public interface ResolverStrategy {
      *         stored in this cache.
      */
     XMLClassDescriptor getDescriptor(String className);
+
+    /**
+     * Adds factories creating the descriptors of classes when they are first looked up, instead of
+     * the descriptors themselves. A factory is not added for a class name a descriptor is already
+     * known for, and is dropped when a descriptor for its class name is added.
+     * 
+     * @param factories the descriptor factories by the class names they create descriptors for
+     * @since 1.4.2
+     */
+    void addDescriptorFactories(Map<String, DescriptorFactory> factories);
+  }
+
+  /**
+   * Creates the descriptor of a single class, once resolver results are asked for it.
+   * 
+   * @since 1.4.2
+   */
+  public interface DescriptorFactory {
+    /**
+     * Creates the descriptor.
+     * 
+     * @return the new descriptor, or <code>null</code> if it cannot be created
+     */
+    XMLClassDescriptor createDescriptor();
+
+    /**
+     * Returns the XML name of the descriptor this factory creates, so that lookups by XML name
+     * only create the descriptors with that name.
+     * 
+     * @return the XML name, or <code>null</code> if it is not known before the descriptor is
+     *         created
+     */
+    String getXMLName();
   }
 }
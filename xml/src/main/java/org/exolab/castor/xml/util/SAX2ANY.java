@@ -34,6 +34,8 @@
  */
 package org.exolab.castor.xml.util;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Stack;
 
 import org.exolab.castor.types.AnyNode;
@@ -101,6 +103,17 @@ public class SAX2ANY implements ContentHandler, DocumentHandler, ErrorHandler {
 
   private boolean _wsPreserve = false;
 
+  /**
+   * Character data received since the last element boundary; it is turned into a single TEXT node
+   * once the next element starts or ends.
+   */
+  private final StringBuilder _text = new StringBuilder();
+
+  /**
+   * The element and attribute names seen so far, so that repeated names share one instance.
+   */
+  private final Map<String, String> _names = new HashMap<>();
+
   /**
    * Default constructor
    */
@@ -173,6 +186,7 @@ public class SAX2ANY implements ContentHandler, DocumentHandler, ErrorHandler {
    * Implementation of {@link org.xml.sax.DocumentHandler#startElement}
    */
   public void startElement(String name, AttributeList atts) throws SAXException {
+    flushText();
     _character = false;
     String qName;
     String value;
@@ -234,6 +248,7 @@ public class SAX2ANY implements ContentHandler, DocumentHandler, ErrorHandler {
    */
   public void startElement(String namespaceURI, String localName, String qName, Attributes atts)
       throws SAXException {
+    flushText();
     AnyNode tempNode;
 
     // --SAX2 Parser has not processed the namespaces so we need to do it.
@@ -318,6 +333,7 @@ public class SAX2ANY implements ContentHandler, DocumentHandler, ErrorHandler {
   }
 
   public void endElement(String namespaceURI, String localName, String qName) throws SAXException {
+    flushText();
     _character = false;
     String name = null;
     // -- if namespace processing is disabled then the localName might be null, in that case
@@ -349,16 +365,24 @@ public class SAX2ANY implements ContentHandler, DocumentHandler, ErrorHandler {
   }
 
   public void characters(char[] ch, int start, int length) throws SAXException {
-    // create a Text Node
-    String temp = new String(ch, start, length);
     // skip whitespaces
-    if (isWhitespace(temp) && !_wsPreserve && !_character)
+    if (!_wsPreserve && !_character && isWhitespace(ch, start, length))
       return;
-    AnyNode tempNode = new AnyNode(AnyNode.TEXT, null, null, null, temp);
-    _node.addChild(tempNode);
+    // the Text Node is created once the character section ends
+    _text.append(ch, start, length);
     _character = true;
   }
 
+  /**
+   * Adds the buffered character data, if any, as a TEXT node to the current node.
+   */
+  private void flushText() {
+    if (_text.length() > 0) {
+      _node.addChild(new AnyNode(AnyNode.TEXT, null, null, null, _text.toString()));
+      _text.setLength(0);
+    }
+  }
+
 
   /**************************************************************************/
   // implementation of ErrorHandler
@@ -388,14 +412,16 @@ public class SAX2ANY implements ContentHandler, DocumentHandler, ErrorHandler {
   }
 
   /**
-   * Checks the given String to determine if it only contains whitespace.
+   * Checks the given characters to determine if they only contain whitespace.
    *
-   * @param string the String to check
-   * @return true if the only whitespace characters were found in the given StringBuffer
+   * @param chars the characters to check
+   * @param start the start position in the array
+   * @param length the number of characters to check
+   * @return true if the only whitespace characters were found in the given range
    */
-  private boolean isWhitespace(String string) {
-    for (int i = 0; i < string.length(); i++) {
-      char ch = string.charAt(i);
+  private boolean isWhitespace(char[] chars, int start, int length) {
+    for (int i = start; i < start + length; i++) {
+      char ch = chars[i];
       switch (ch) {
         case ' ':
         case '\n':
@@ -418,10 +444,26 @@ public class SAX2ANY implements ContentHandler, DocumentHandler, ErrorHandler {
   private String getLocalPart(String ncName) {
     int idx = ncName.indexOf(':');
     if (idx >= 0)
-      return ncName.substring(idx + 1);
-    return ncName;
+      return intern(ncName.substring(idx + 1));
+    return intern(ncName);
   } // -- getLocalPart
 
+  /**
+   * Returns the instance of the given name already used by this handler, so that the nodes built
+   * for repeating elements and attributes do not each hold a copy of the same name.
+   * 
+   * @param name the name to share.
+   * @return the shared instance of the name.
+   */
+  private String intern(String name) {
+    String shared = _names.get(name);
+    if (shared == null) {
+      _names.put(name, name);
+      shared = name;
+    }
+    return shared;
+  } // -- intern
+
   private void createNodeElement(String namespaceURI, String localName, String qName) {
 
     String prefix = null;
@@ -437,7 +479,7 @@ public class SAX2ANY implements ContentHandler, DocumentHandler, ErrorHandler {
     // -- if namespace processing is disabled then the localName might be null, in that case
     // -- we use the localpart of the QName
     if (localName != null && localName.length() > 0)
-      name = localName;
+      name = intern(localName);
     else
       name = getLocalPart(qName);
 
@@ -0,0 +1,513 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.xml.util;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.castor.xml.InternalContext;
+import org.castor.xml.JavaNaming;
+import org.castor.xml.XMLNaming;
+import org.castor.xml.XMLProperties;
+import org.exolab.castor.mapping.ClassDescriptor;
+import org.exolab.castor.xml.XMLClassDescriptor;
+
+/**
+ * A descriptor cache shared by all {@link XMLClassDescriptorResolverImpl} instances that use the
+ * same class loader and introspection properties and have enabled
+ * {@link org.castor.xml.XMLProperties#SHARE_DESCRIPTOR_CACHE}.
+ * <p>
+ * The cached descriptors are held in an immutable snapshot. Readers use the current snapshot
+ * without any locking; writers derive an extended snapshot and publish it by an atomic swap,
+ * retrying if another writer published first. The maps of a snapshot are {@link HashTrieMap}s, so
+ * that deriving a snapshot only copies the trie nodes on the paths to the changed keys, not all
+ * entries.
+ * 
+ * @since 1.4.2
+ */
+final class SharedDescriptorCache implements XMLClassDescriptorResolverImpl.DescriptorCache {
+  /** Logger to be used by SharedDescriptorCache. */
+  private static final Log LOG = LogFactory.getLog(SharedDescriptorCache.class);
+
+  /** Some fixed text to detect errors... */
+  private static final String INTERNAL_CONTAINER_NAME = "-error-if-this-is-used-";
+
+  /**
+   * The properties of a context the descriptors created by introspection depend on, besides the
+   * XML naming, the Java naming and the primitive node type.
+   */
+  private static final String[] KEY_PROPERTIES = {XMLProperties.WRAP_COLLECTIONS_PROPERTY,
+      XMLProperties.SAVE_MAP_KEYS, XMLProperties.INTROSPECT_BINARY_PROPERTIES};
+
+  /**
+   * The shared caches by class loader and properties key. A cache is only referenced weakly, so
+   * that it is released together with the last resolver using it; its descriptors would otherwise
+   * keep the class loader reachable.
+   */
+  private static final Map<ClassLoader, Map<String, WeakReference<SharedDescriptorCache>>> CACHES =
+      new WeakHashMap<ClassLoader, Map<String, WeakReference<SharedDescriptorCache>>>();
+
+  /** The current snapshot of the cached descriptors. */
+  private final AtomicReference<Snapshot> _snapshot = new AtomicReference<Snapshot>(Snapshot.EMPTY);
+
+  /**
+   * Creates an empty cache.
+   */
+  private SharedDescriptorCache() {
+    super();
+  }
+
+  /**
+   * Returns the cache shared by the resolvers using the given class loader and properties,
+   * creating it if necessary.
+   * 
+   * @param loader the class loader of the resolver, may be null
+   * @param propertiesKey the key of the properties of the resolver, as returned by
+   *        {@link #getPropertiesKey(InternalContext)}
+   * @return the cache for the given class loader and properties
+   */
+  static synchronized SharedDescriptorCache forClassLoader(final ClassLoader loader,
+      final String propertiesKey) {
+    Map<String, WeakReference<SharedDescriptorCache>> caches = CACHES.get(loader);
+    if (caches == null) {
+      caches = new HashMap<String, WeakReference<SharedDescriptorCache>>();
+      CACHES.put(loader, caches);
+    }
+    WeakReference<SharedDescriptorCache> reference = caches.get(propertiesKey);
+    SharedDescriptorCache cache = (reference == null) ? null : reference.get();
+    if (cache == null) {
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("New shared descriptor cache for class loader: " + loader + " and properties: "
+            + propertiesKey);
+      }
+      cache = new SharedDescriptorCache();
+      caches.put(propertiesKey, new WeakReference<SharedDescriptorCache>(cache));
+    }
+    return cache;
+  }
+
+  /**
+   * Returns a key of the properties of the given context that descriptors created by
+   * introspection depend on. Only resolvers with equal keys share a cache, so that no resolver
+   * gets descriptors introspected with a different naming or collection wrapping.
+   * 
+   * @param internalContext the context of the resolver
+   * @return the key of its properties
+   */
+  static String getPropertiesKey(final InternalContext internalContext) {
+    StringBuilder key = new StringBuilder();
+    XMLNaming xmlNaming = internalContext.getXMLNaming();
+    key.append((xmlNaming == null) ? null : xmlNaming.getClass().getName());
+    if (xmlNaming instanceof DefaultNaming) {
+      key.append(':').append(((DefaultNaming) xmlNaming).getStyle());
+    }
+    JavaNaming javaNaming = internalContext.getJavaNaming();
+    key.append(',').append((javaNaming == null) ? null : javaNaming.getClass().getName());
+    key.append(',').append(internalContext.getPrimitiveNodeType());
+    for (String property : KEY_PROPERTIES) {
+      key.append(',').append(internalContext.getBooleanProperty(property));
+    }
+    return key.toString();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  public void addDescriptor(final String className, final XMLClassDescriptor descriptor) {
+    if ((className == null) || (className.length() == 0)) {
+      String message = "Class name to insert ClassDescriptor must not be null";
+      LOG.warn(message);
+      throw new IllegalArgumentException(message);
+    }
+    publish(Collections.singletonMap(className, descriptor));
+  }
+
+  /**
+   * {@inheritDoc} All descriptors are published at once.
+   */
+  public void addAllDescriptors(final Map<String, ? extends ClassDescriptor> descriptors) {
+    if ((descriptors == null) || (descriptors.isEmpty())) {
+      LOG.debug("Called addAllDescriptors with null or empty descriptor map");
+      return;
+    }
+    publish(descriptors);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  public XMLClassDescriptor getDescriptor(final String className) {
+    if ((className == null) || (className.length() == 0)) {
+      return null;
+    }
+    Snapshot snapshot = _snapshot.get();
+    if (snapshot._missingTypes.containsKey(className)) {
+      return null;
+    }
+    XMLClassDescriptor descriptor = (XMLClassDescriptor) snapshot._typeMap.get(className);
+    if ((descriptor == null) && snapshot._factories.contains(className)) {
+      createDescriptors(Collections.singleton(className));
+      descriptor = (XMLClassDescriptor) _snapshot.get()._typeMap.get(className);
+    }
+    return descriptor;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  public void addDescriptorFactories(
+      final Map<String, ResolverStrategy.DescriptorFactory> factories) {
+    if ((factories == null) || factories.isEmpty()) {
+      return;
+    }
+    Snapshot current;
+    Snapshot extended;
+    do {
+      current = _snapshot.get();
+      extended = current;
+      for (Map.Entry<String, ResolverStrategy.DescriptorFactory> entry : factories.entrySet()) {
+        extended = extended.addFactory(entry.getKey(), entry.getValue());
+      }
+    } while (!_snapshot.compareAndSet(current, extended));
+  }
+
+  /**
+   * {@inheritDoc} Of the descriptors not created yet, only those with the given XML name and those
+   * whose XML name is not known before they exist are created.
+   */
+  public List<ClassDescriptor> getDescriptors(final String xmlName) {
+    Factories factories = _snapshot.get()._factories;
+    if (!factories.isEmpty()) {
+      createDescriptors(factories.getClassNames(xmlName));
+    }
+
+    List<ClassDescriptor> list =
+        (xmlName == null) ? null : _snapshot.get()._xmlNameMap.get(xmlName);
+    if (list == null) {
+      return new ArrayList<ClassDescriptor>();
+    }
+    return new ArrayList<ClassDescriptor>(list);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  public boolean isMissingDescriptor(final String className) {
+    return (className != null) && _snapshot.get()._missingTypes.containsKey(className);
+  }
+
+  /**
+   * Removes all descriptors from this cache, for all resolvers sharing it.
+   */
+  void clear() {
+    _snapshot.set(Snapshot.EMPTY);
+  }
+
+  /**
+   * Publishes a snapshot extended by the given descriptors, a <code>null</code> descriptor marking
+   * its class name as missing.
+   * 
+   * @param descriptors the descriptors by class name
+   */
+  private void publish(final Map<?, ?> descriptors) {
+    Snapshot current;
+    Snapshot extended;
+    do {
+      current = _snapshot.get();
+      extended = current;
+      for (Map.Entry<?, ?> entry : descriptors.entrySet()) {
+        extended = extended.add((String) entry.getKey(), (XMLClassDescriptor) entry.getValue());
+      }
+    } while (!_snapshot.compareAndSet(current, extended));
+  }
+
+  /**
+   * Creates the descriptors of the given class names by their factories and publishes them at
+   * once. Descriptors are created by one thread at a time, so that each factory is only used once.
+   * 
+   * @param classNames the class names to create descriptors for
+   */
+  private synchronized void createDescriptors(final Collection<String> classNames) {
+    Factories factories = _snapshot.get()._factories;
+    Map<String, XMLClassDescriptor> created = new HashMap<String, XMLClassDescriptor>();
+    for (String className : classNames) {
+      ResolverStrategy.DescriptorFactory factory = factories.get(className);
+      if (factory != null) {
+        created.put(className, factory.createDescriptor());
+      }
+    }
+    if (created.isEmpty()) {
+      return;
+    }
+
+    Snapshot current;
+    Snapshot extended;
+    do {
+      current = _snapshot.get();
+      extended = current;
+      for (Map.Entry<String, XMLClassDescriptor> entry : created.entrySet()) {
+        if ((entry.getValue() == null) || extended._typeMap.containsKey(entry.getKey())) {
+          extended = extended.removeFactory(entry.getKey());
+        } else {
+          extended = extended.add(entry.getKey(), entry.getValue());
+        }
+      }
+    } while (!_snapshot.compareAndSet(current, extended));
+  }
+
+  /**
+   * The cached descriptors at one point in time. A snapshot is never modified; adding to it
+   * returns a new snapshot sharing most of its structure.
+   */
+  private static final class Snapshot {
+    /** The snapshot without any descriptors. */
+    static final Snapshot EMPTY = new Snapshot(HashTrieMap.<String, ClassDescriptor>empty(),
+        HashTrieMap.<String, List<ClassDescriptor>>empty(), HashTrieMap.<String, Boolean>empty(),
+        Factories.EMPTY);
+
+    /** Map of cached descriptors with the class names they describe as key. */
+    private final HashTrieMap<String, ClassDescriptor> _typeMap;
+
+    /** Map of cached descriptors with their XML names as key. */
+    private final HashTrieMap<String, List<ClassDescriptor>> _xmlNameMap;
+
+    /** Class names a descriptor is not available for, all mapped to <code>true</code>. */
+    private final HashTrieMap<String, Boolean> _missingTypes;
+
+    /** The factories of descriptors not created yet. */
+    private final Factories _factories;
+
+    /**
+     * Creates a snapshot.
+     * 
+     * @param typeMap the descriptors by class name
+     * @param xmlNameMap the descriptors by XML name
+     * @param missingTypes the class names without a descriptor
+     * @param factories the descriptor factories
+     */
+    private Snapshot(final HashTrieMap<String, ClassDescriptor> typeMap,
+        final HashTrieMap<String, List<ClassDescriptor>> xmlNameMap,
+        final HashTrieMap<String, Boolean> missingTypes, final Factories factories) {
+      _typeMap = typeMap;
+      _xmlNameMap = xmlNameMap;
+      _missingTypes = missingTypes;
+      _factories = factories;
+    }
+
+    /**
+     * Returns a snapshot with the given descriptor added, or the class name marked as missing if
+     * the descriptor is <code>null</code>, and without the factory of the class name. The
+     * descriptor is mapped with its XML name as well, unless that is empty or the internal
+     * container name.
+     * 
+     * @param className The class name to be used for mapping the given descriptor.
+     * @param descriptor The descriptor to be mapped.
+     * @return the extended snapshot
+     */
+    Snapshot add(final String className, final XMLClassDescriptor descriptor) {
+      Factories factories = _factories.minus(className);
+      if (descriptor == null) {
+        return new Snapshot(_typeMap, _xmlNameMap, _missingTypes.plus(className, Boolean.TRUE),
+            factories);
+      }
+
+      HashTrieMap<String, List<ClassDescriptor>> xmlNameMap = _xmlNameMap;
+      String xmlName = descriptor.getXMLName();
+      if ((xmlName != null) && (xmlName.length() > 0)
+          && !INTERNAL_CONTAINER_NAME.equals(xmlName)) {
+        List<ClassDescriptor> descriptorList = xmlNameMap.get(xmlName);
+        if (descriptorList == null) {
+          xmlNameMap =
+              xmlNameMap.plus(xmlName, Collections.<ClassDescriptor>singletonList(descriptor));
+        } else if (!descriptorList.contains(descriptor)) {
+          List<ClassDescriptor> extended =
+              new ArrayList<ClassDescriptor>(descriptorList.size() + 1);
+          extended.addAll(descriptorList);
+          extended.add(descriptor);
+          xmlNameMap = xmlNameMap.plus(xmlName, Collections.unmodifiableList(extended));
+        }
+      }
+      return new Snapshot(_typeMap.plus(className, (ClassDescriptor) descriptor), xmlNameMap,
+          _missingTypes.minus(className), factories);
+    }
+
+    /**
+     * Returns a snapshot with the given factory added, unless a descriptor is known for the class
+     * name already.
+     * 
+     * @param className the class name the factory creates a descriptor for
+     * @param factory the factory
+     * @return the extended snapshot, or this snapshot if a descriptor is known
+     */
+    Snapshot addFactory(final String className,
+        final ResolverStrategy.DescriptorFactory factory) {
+      if (_typeMap.containsKey(className)) {
+        return this;
+      }
+      return new Snapshot(_typeMap, _xmlNameMap, _missingTypes.minus(className),
+          _factories.plus(className, factory));
+    }
+
+    /**
+     * Returns a snapshot without the factory of the given class name.
+     * 
+     * @param className the class name
+     * @return the reduced snapshot
+     */
+    Snapshot removeFactory(final String className) {
+      Factories factories = _factories.minus(className);
+      return (factories == _factories) ? this
+          : new Snapshot(_typeMap, _xmlNameMap, _missingTypes, factories);
+    }
+  }
+
+  /**
+   * The factories of descriptors not created yet, by class name and by the XML name of the
+   * descriptors they create. Like a snapshot, they are never modified.
+   */
+  private static final class Factories {
+    /** No factories. */
+    static final Factories EMPTY =
+        new Factories(HashTrieMap.<String, ResolverStrategy.DescriptorFactory>empty(),
+            HashTrieMap.<String, HashTrieMap<String, Boolean>>empty(),
+            HashTrieMap.<String, Boolean>empty());
+
+    /** The factories by the class names they create descriptors for. */
+    private final HashTrieMap<String, ResolverStrategy.DescriptorFactory> _byClassName;
+
+    /** The class names of the factories by the XML names of their descriptors. */
+    private final HashTrieMap<String, HashTrieMap<String, Boolean>> _classNamesByXMLName;
+
+    /** The class names of the factories that do not know the XML names of their descriptors. */
+    private final HashTrieMap<String, Boolean> _classNamesWithoutXMLName;
+
+    /**
+     * Creates the factories.
+     * 
+     * @param byClassName the factories by class name
+     * @param classNamesByXMLName the class names of the factories by XML name
+     * @param classNamesWithoutXMLName the class names of the factories without XML name
+     */
+    private Factories(final HashTrieMap<String, ResolverStrategy.DescriptorFactory> byClassName,
+        final HashTrieMap<String, HashTrieMap<String, Boolean>> classNamesByXMLName,
+        final HashTrieMap<String, Boolean> classNamesWithoutXMLName) {
+      _byClassName = byClassName;
+      _classNamesByXMLName = classNamesByXMLName;
+      _classNamesWithoutXMLName = classNamesWithoutXMLName;
+    }
+
+    /**
+     * Returns true if there are no factories.
+     * 
+     * @return true if there are no factories
+     */
+    boolean isEmpty() {
+      return _byClassName.isEmpty();
+    }
+
+    /**
+     * Returns true if there is a factory for the given class name.
+     * 
+     * @param className the class name
+     * @return true if there is a factory for it
+     */
+    boolean contains(final String className) {
+      return _byClassName.containsKey(className);
+    }
+
+    /**
+     * Returns the factory for the given class name.
+     * 
+     * @param className the class name
+     * @return the factory, or null if there is none
+     */
+    ResolverStrategy.DescriptorFactory get(final String className) {
+      return _byClassName.get(className);
+    }
+
+    /**
+     * Returns the class names of the factories that may create a descriptor with the given XML
+     * name: those creating descriptors with that name and those not knowing the name.
+     * 
+     * @param xmlName the XML name, may be null
+     * @return the class names
+     */
+    Collection<String> getClassNames(final String xmlName) {
+      HashTrieMap<String, Boolean> named =
+          (xmlName == null) ? null : _classNamesByXMLName.get(xmlName);
+      if (named == null) {
+        return _classNamesWithoutXMLName.keys();
+      }
+      List<String> classNames = new ArrayList<String>(named.keys());
+      classNames.addAll(_classNamesWithoutXMLName.keys());
+      return classNames;
+    }
+
+    /**
+     * Returns these factories with the given one added, replacing the factory for the same class
+     * name.
+     * 
+     * @param className the class name the factory creates a descriptor for
+     * @param factory the factory
+     * @return the extended factories
+     */
+    Factories plus(final String className, final ResolverStrategy.DescriptorFactory factory) {
+      Factories base = minus(className);
+      String xmlName = factory.getXMLName();
+      if (xmlName == null) {
+        return new Factories(base._byClassName.plus(className, factory), base._classNamesByXMLName,
+            base._classNamesWithoutXMLName.plus(className, Boolean.TRUE));
+      }
+      HashTrieMap<String, Boolean> named = base._classNamesByXMLName.get(xmlName);
+      if (named == null) {
+        named = HashTrieMap.empty();
+      }
+      return new Factories(base._byClassName.plus(className, factory),
+          base._classNamesByXMLName.plus(xmlName, named.plus(className, Boolean.TRUE)),
+          base._classNamesWithoutXMLName);
+    }
+
+    /**
+     * Returns these factories without the factory for the given class name.
+     * 
+     * @param className the class name
+     * @return the reduced factories, or these factories if there is no factory for the class name
+     */
+    Factories minus(final String className) {
+      ResolverStrategy.DescriptorFactory factory = _byClassName.get(className);
+      if (factory == null) {
+        return this;
+      }
+      String xmlName = factory.getXMLName();
+      if (xmlName == null) {
+        return new Factories(_byClassName.minus(className), _classNamesByXMLName,
+            _classNamesWithoutXMLName.minus(className));
+      }
+      HashTrieMap<String, Boolean> named = _classNamesByXMLName.get(xmlName).minus(className);
+      return new Factories(_byClassName.minus(className),
+          named.isEmpty() ? _classNamesByXMLName.minus(xmlName)
+              : _classNamesByXMLName.plus(xmlName, named),
+          _classNamesWithoutXMLName);
+    }
+  }
+}
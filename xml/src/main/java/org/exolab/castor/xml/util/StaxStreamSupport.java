@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.xml.util;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Helper methods for the stream methods of generated classes, which write and read their content
+ * through StAX streams with the element and attribute names in the generated code instead of
+ * class descriptors.
+ *
+ * @since 1.4.2
+ */
+public final class StaxStreamSupport {
+
+  /**
+   * Not instantiable.
+   */
+  private StaxStreamSupport() {
+    // only static methods
+  }
+
+  /**
+   * Writes the start tag of an element, declaring its namespace as the default namespace unless
+   * it already is.
+   *
+   * @param writer the writer to write to
+   * @param namespace the namespace of the element, or null if none
+   * @param localName the local name of the element
+   * @throws XMLStreamException if the writer fails
+   */
+  public static void writeStartElement(final XMLStreamWriter writer, final String namespace,
+      final String localName) throws XMLStreamException {
+    String uri = (namespace == null) ? XMLConstants.NULL_NS_URI : namespace;
+    String current = writer.getNamespaceContext().getNamespaceURI(XMLConstants.DEFAULT_NS_PREFIX);
+    writer.writeStartElement(XMLConstants.DEFAULT_NS_PREFIX, localName, uri);
+    if (!uri.equals((current == null) ? XMLConstants.NULL_NS_URI : current)) {
+      writer.writeDefaultNamespace(uri);
+      writer.setDefaultNamespace(uri);
+    }
+  }
+
+  /**
+   * Writes an element holding only the given text.
+   *
+   * @param writer the writer to write to
+   * @param namespace the namespace of the element, or null if none
+   * @param localName the local name of the element
+   * @param text the text content of the element
+   * @throws XMLStreamException if the writer fails
+   */
+  public static void writeElement(final XMLStreamWriter writer, final String namespace,
+      final String localName, final String text) throws XMLStreamException {
+    writeStartElement(writer, namespace, localName);
+    writer.writeCharacters(text);
+    writer.writeEndElement();
+  }
+
+  /**
+   * Moves the reader to the start tag of the next element, unless it already is at one, skipping
+   * the start of the document as well as any whitespace, comments and processing instructions.
+   *
+   * @param reader the reader to move
+   * @throws XMLStreamException if the reader fails or no start tag follows
+   */
+  public static void nextStartElement(final XMLStreamReader reader) throws XMLStreamException {
+    while (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.END_ELEMENT || event == XMLStreamConstants.END_DOCUMENT) {
+        throw new XMLStreamException("Expected the start of an element", reader.getLocation());
+      }
+    }
+  }
+
+  /**
+   * Moves the reader to the start tag of the next element like
+   * {@link #nextStartElement(XMLStreamReader)}, and checks that the element has the given name.
+   *
+   * @param reader the reader to move
+   * @param namespace the expected namespace of the element, or null if none
+   * @param localName the expected local name of the element
+   * @throws XMLStreamException if the reader fails, no start tag follows or the element has a
+   *         different name
+   */
+  public static void nextStartElement(final XMLStreamReader reader, final String namespace,
+      final String localName) throws XMLStreamException {
+    nextStartElement(reader);
+    if (!localName.equals(reader.getLocalName()) || !hasNamespace(reader, namespace)) {
+      throw new XMLStreamException("Expected element '" + localName + "' in namespace '"
+          + ((namespace == null) ? XMLConstants.NULL_NS_URI : namespace) + "' but found '"
+          + reader.getName() + "'", reader.getLocation());
+    }
+  }
+
+  /**
+   * Checks whether the element at whose start tag the reader is has the given namespace.
+   *
+   * @param reader the reader positioned at a start tag
+   * @param namespace the namespace, or null if none
+   * @return true if the element has the given namespace, or none if it is null or empty
+   */
+  public static boolean hasNamespace(final XMLStreamReader reader, final String namespace) {
+    String uri = reader.getNamespaceURI();
+    if (uri == null || uri.length() == 0) {
+      return namespace == null || namespace.length() == 0;
+    }
+    return uri.equals(namespace);
+  }
+
+  /**
+   * Moves the reader from the start tag of an element past all of its content, to its end tag.
+   *
+   * @param reader the reader positioned at the start tag of the element to skip
+   * @throws XMLStreamException if the reader fails
+   */
+  public static void skipElement(final XMLStreamReader reader) throws XMLStreamException {
+    int depth = 1;
+    while (depth > 0) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        ++depth;
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        --depth;
+      }
+    }
+  }
+
+  /**
+   * Parses an <code>xsd:boolean</code> value, which is one of <code>true</code>,
+   * <code>false</code>, <code>1</code> and <code>0</code>, surrounded by optional whitespace.
+   *
+   * @param value the value to parse
+   * @return the boolean value
+   * @throws IllegalArgumentException if the value is not a boolean value
+   */
+  public static boolean parseBoolean(final String value) {
+    String trimmed = value.trim();
+    if ("true".equals(trimmed) || "1".equals(trimmed)) {
+      return true;
+    }
+    if ("false".equals(trimmed) || "0".equals(trimmed)) {
+      return false;
+    }
+    throw new IllegalArgumentException("Invalid boolean value: " + value);
+  }
+}
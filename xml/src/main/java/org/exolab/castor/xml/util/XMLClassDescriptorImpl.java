@@ -39,6 +39,7 @@
 package org.exolab.castor.xml.util;
 
 import java.lang.reflect.Array;
+import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -47,6 +48,8 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.exolab.castor.mapping.AbstractFieldHandler;
 import org.exolab.castor.mapping.AccessMode;
@@ -95,12 +98,24 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
 
   private static final String WILDCARD = "*";
 
+  /** Marker cached in the lookup index for names that have no matching descriptor. */
+  private static final Object NO_MATCH = new Object();
+
+  /** Upper bound for the number of lookups memoized per descriptor. */
+  private static final int MAX_CACHED_LOOKUPS = 512;
+
   /** The set of attribute descriptors. */
   private XMLFieldDescriptors _attributes = null;
 
   /** Cached attribute descriptors for improved performance. */
   private XMLFieldDescriptor[] _attArray = null;
 
+  /**
+   * Index of resolved {@link #getFieldDescriptor(String, String, NodeType)} lookups, bound to the
+   * attribute and element arrays it was built from.
+   */
+  private volatile FieldLookupIndex _lookupIndex = null;
+
   /** The Class that this ClassDescriptor describes. */
   private Class<?> _class = null;
 
@@ -159,6 +174,24 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
    */
   private final List<XMLFieldDescriptor> _sequenceOfElements = new ArrayList<XMLFieldDescriptor>();
 
+  /**
+   * The fields validated by {@link #validateFacets(Object, ValidationContext)} instead of their
+   * field validators, by their field names, or null if there are none.
+   */
+  private Map<String, XMLFieldDescriptor> _inlineValidatedFields;
+
+  /**
+   * True until the field descriptors whose creation has been deferred by
+   * {@link #deferFieldDescriptors()} are created.
+   */
+  private volatile boolean _fieldsDeferred = false;
+
+  /** True while {@link #createFieldDescriptors()} is being called. */
+  private boolean _creatingFields = false;
+
+  /** The fields added by the running call of {@link #createFieldDescriptors()}, or null. */
+  private List<XMLFieldDescriptor> _createdFields;
+
   private List<String> _substitutes = new LinkedList<String>();
 
   /** Map holding the properties set and read by Natures. */
@@ -229,6 +262,7 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
     if (descriptor == null) {
       return false;
     }
+    ensureFieldDescriptors();
 
     if (_attributes.contains(descriptor)) {
       return true;
@@ -257,6 +291,7 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
    * @return the XMLFieldDescriptor for the member that should be marshalled as text content.
    */
   public XMLFieldDescriptor getContentDescriptor() {
+    ensureFieldDescriptors();
     return _contentDescriptor;
   } // getContentDescriptor
 
@@ -281,6 +316,7 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
   public void checkDescriptorForCorrectOrderWithinSequence(
       final XMLFieldDescriptor elementDescriptor, UnmarshalState parentState, String xmlName)
       throws ValidationException {
+    ensureFieldDescriptors();
     if (_compositor == SEQUENCE && !_sequenceOfElements.isEmpty()) {
 
       if (parentState.getExpectedIndex() == _sequenceOfElements.size()) {
@@ -395,12 +431,37 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
    * @return the matching descriptor, or null if no matching descriptor is available.
    */
   public XMLFieldDescriptor getFieldDescriptor(String name, String namespace, NodeType nodeType) {
+    XMLFieldDescriptor[] attributes = getAttributeArray();
+    XMLFieldDescriptor[] elements = getElementArray();
+
+    FieldLookupIndex index = _lookupIndex;
+    if ((index == null) || !index.isCurrent(attributes, elements)) {
+      index = new FieldLookupIndex(attributes, elements);
+      _lookupIndex = index;
+    }
+
+    LookupKey key = new LookupKey(name, namespace, nodeType);
+    Object cached = index.get(key);
+    if (cached != null) {
+      return (cached == NO_MATCH) ? null : (XMLFieldDescriptor) cached;
+    }
+
+    XMLFieldDescriptor result =
+        findFieldDescriptor(name, namespace, nodeType, attributes, elements);
+    index.put(key, (result == null) ? NO_MATCH : result);
+    return result;
+  } // -- getFieldDescriptor
+
+  /**
+   * Performs the actual (linear) search for {@link #getFieldDescriptor(String, String, NodeType)}
+   * against the given snapshot of attribute and element descriptors.
+   */
+  private XMLFieldDescriptor findFieldDescriptor(String name, final String namespace,
+      final NodeType nodeType, final XMLFieldDescriptor[] attributes,
+      final XMLFieldDescriptor[] elements) {
     boolean wild = ((nodeType == null) || _introspected);
     XMLFieldDescriptor result = null;
 
-    XMLFieldDescriptor[] attributes = _attArray;
-    XMLFieldDescriptor[] elements = _elemArray;
-
     // TODO: clean up location patch
     String location = null;
     if (name != null) {
@@ -413,8 +474,6 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
 
     if (wild || (nodeType == NodeType.Element)) {
 
-      if (elements == null)
-        elements = getElementArray();
 
       // if (_compositor == SEQUENCE && sequenceOfElements.size() > 0) {
       // XMLFieldDescriptor elementDescriptor = (XMLFieldDescriptor)
@@ -481,8 +540,6 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
 
     // -- handle attributes
     if (wild || (nodeType == NodeType.Attribute)) {
-      if (attributes == null)
-        attributes = getAttributeArray();
       for (int i = 0; i < attributes.length; i++) {
         XMLFieldDescriptor desc = attributes[i];
         if (desc == null)
@@ -495,8 +552,6 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
 
     // -- handle namespace node
     if (nodeType == NodeType.Namespace) {
-      if (attributes == null)
-        attributes = getAttributeArray();
       for (int i = 0; i < attributes.length; i++) {
         if (attributes[i] == null)
           continue;
@@ -509,8 +564,6 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
     // To handle container object, we need to check if an attribute of a
     // container field match this attribute
     if (nodeType == NodeType.Attribute) {
-      if (elements == null)
-        elements = getElementArray();
       for (int i = 0; i < elements.length; i++) {
         XMLFieldDescriptor desc = elements[i];
         if (desc.isContainer()) {
@@ -529,7 +582,7 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
 
     return null;
 
-  } // -- getFieldDescriptor
+  } // -- findFieldDescriptor
 
 
   /**
@@ -585,6 +638,7 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
    * @return true if any of the fields are container fields, otherwise false.
    */
   public boolean hasContainerFields() {
+    ensureFieldDescriptors();
     return (_containerCount > 0);
   } // -- hasContainerFields
 
@@ -599,6 +653,7 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
     if (descriptor == null)
       return false;
 
+    ensureFieldDescriptors();
     boolean removed = false;
     NodeType nodeType = descriptor.getNodeType();
     switch (nodeType.getType()) {
@@ -682,6 +737,7 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
    * ClassDescriptor, it will be added
    */
   public void setIdentity(XMLFieldDescriptor fieldDesc) {
+    ensureFieldDescriptors();
     if (fieldDesc != null) {
       if ((!_attributes.contains(fieldDesc)) && (!_elements.contains(fieldDesc))) {
         addFieldDescriptor(fieldDesc);
@@ -954,7 +1010,7 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
             fieldDesc = desc;
 
             FieldValidator fieldValidator = desc.getValidator();
-            if (fieldValidator != null) {
+            if (fieldValidator != null && !isValidatedInline(desc)) {
               fieldValidator.validate(object, context);
             }
           }
@@ -1022,8 +1078,105 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
         break;
     }
 
+    validateFacets(object, context);
   } // -- validate
 
+  /**
+   * Validates the fields of the given object that this descriptor validates itself instead of
+   * through their {@link FieldValidator}, as registered with
+   * {@link #addInlineValidatedField(XMLFieldDescriptor)}. Called by
+   * {@link #validate(Object, ValidationContext)} once the field validators have passed, for the
+   * fields declared by this descriptor only; inherited fields are checked by the descriptor that is
+   * extended. Descriptors generated with inline validation override this method, the default
+   * implementation does nothing.
+   * <p>
+   * A single violation is reported with the same message and location as by the type validator of
+   * the field. As these checks run after all field validators, an object with several violations
+   * may however report another one first.
+   *
+   * @param object the object to validate, an instance of the described class
+   * @param context the ValidationContext
+   * @throws ValidationException if the value of a field violates a facet of its type
+   * @since 1.4.2
+   */
+  protected void validateFacets(final Object object, final ValidationContext context)
+      throws ValidationException {
+    // -- no facets checked by the descriptor itself
+  }
+
+  /**
+   * Registers a field whose required value and facets are checked by
+   * {@link #validateFacets(Object, ValidationContext)}, so that its {@link FieldValidator} is no
+   * longer called during validation. The field validator is still used to describe the
+   * occurrences of the field.
+   *
+   * @param fieldDescriptor the descriptor of a field of this class
+   * @since 1.4.2
+   */
+  protected final void addInlineValidatedField(final XMLFieldDescriptor fieldDescriptor) {
+    if (_inlineValidatedFields == null) {
+      _inlineValidatedFields = new HashMap<String, XMLFieldDescriptor>();
+    }
+    _inlineValidatedFields.put(fieldDescriptor.getFieldName(), fieldDescriptor);
+  }
+
+  /**
+   * Validates a field registered with {@link #addInlineValidatedField(XMLFieldDescriptor)} through
+   * its {@link FieldValidator}, for {@link #validateFacets(Object, ValidationContext)} to report a
+   * missing value of a required field in the same way as other fields.
+   *
+   * @param object the object holding the field
+   * @param context the ValidationContext
+   * @param fieldName the name of the registered field, as given by
+   *        {@link XMLFieldDescriptor#getFieldName()}
+   * @throws ValidationException if the field validator reports a problem
+   * @since 1.4.2
+   */
+  protected final void validateRequiredField(final Object object, final ValidationContext context,
+      final String fieldName) throws ValidationException {
+    XMLFieldDescriptor fieldDescriptor = getInlineValidatedField(fieldName);
+    if (fieldDescriptor != null) {
+      callFieldValidator(object, context, fieldDescriptor);
+    }
+  }
+
+  /**
+   * Creates the exception reported by {@link #validateFacets(Object, ValidationContext)} for a
+   * field whose value violates a facet of its type, wrapped and located like the exceptions
+   * reported through the {@link FieldValidator} of the field.
+   *
+   * @param object the object holding the invalid field value
+   * @param fieldName the name of the registered field, as given by
+   *        {@link XMLFieldDescriptor#getFieldName()}
+   * @param message the description of the violated facet
+   * @return the exception to throw
+   * @since 1.4.2
+   */
+  protected final ValidationException createFacetException(final Object object,
+      final String fieldName, final String message) {
+    ValidationException cause = new ValidationException(message);
+    XMLFieldDescriptor fieldDescriptor = getInlineValidatedField(fieldName);
+    String err = MessageFormat.format(resourceBundle.getString("validatorField.error.exception"),
+        new Object[] {fieldName, object.getClass().getName()});
+    ValidationException exception = new ValidationException(err, cause);
+    if (fieldDescriptor != null && (fieldDescriptor.getNodeType() == NodeType.Attribute
+        || fieldDescriptor.getNodeType() == NodeType.Element)) {
+      addLocationInformation(fieldDescriptor, exception);
+    }
+    return exception;
+  }
+
+  /**
+   * Returns the descriptor of a field registered with
+   * {@link #addInlineValidatedField(XMLFieldDescriptor)}.
+   *
+   * @param fieldName the name of the field
+   * @return the descriptor of the field, or null if no such field is registered
+   */
+  private XMLFieldDescriptor getInlineValidatedField(final String fieldName) {
+    return _inlineValidatedFields == null ? null : _inlineValidatedFields.get(fieldName);
+  }
+
   /**
    * Validates agiven field of an object, as described by its {@link XMLFieldDescriptor} instance.
    * 
@@ -1035,6 +1188,35 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
    */
   private void validateField(final Object object, final ValidationContext context,
       final XMLFieldDescriptor fieldDescriptor) throws ValidationException {
+    if (!isValidatedInline(fieldDescriptor)) {
+      callFieldValidator(object, context, fieldDescriptor);
+    }
+  }
+
+  /**
+   * Returns true if the given field is validated by
+   * {@link #validateFacets(Object, ValidationContext)} instead of its {@link FieldValidator}.
+   *
+   * @param fieldDescriptor the descriptor of a field of this class
+   * @return true if the field is validated inline
+   */
+  private boolean isValidatedInline(final XMLFieldDescriptor fieldDescriptor) {
+    return _inlineValidatedFields != null
+        && _inlineValidatedFields.get(fieldDescriptor.getFieldName()) == fieldDescriptor;
+  }
+
+  /**
+   * Calls the {@link FieldValidator} of a field, adding location information to the exceptions it
+   * reports.
+   *
+   * @param object The parent object, whose field to validate.
+   * @param context The current {@link ValidationContext} instance.
+   * @param fieldDescriptor The {@link XMLFieldDescriptor} instance describing the field to
+   *        validate.
+   * @throws ValidationException If validation did report a problem.
+   */
+  private void callFieldValidator(final Object object, final ValidationContext context,
+      final XMLFieldDescriptor fieldDescriptor) throws ValidationException {
     FieldValidator fieldValidator = fieldDescriptor.getValidator();
     if (fieldValidator != null) {
       try {
@@ -1090,6 +1272,7 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
    * @return A list of fields
    */
   public FieldDescriptor[] getFields() {
+    ensureFieldDescriptors();
     int size = _attributes.size();
     size += _elements.size();
     if (_contentDescriptor != null)
@@ -1125,6 +1308,7 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
    * @return The identity field
    */
   public FieldDescriptor getIdentity() {
+    ensureFieldDescriptors();
     return _identity;
   } // -- getIdentity
 
@@ -1322,6 +1506,82 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
     this._extends = classDesc;
   } // -- setExtendsWithoutFlatten
 
+  /**
+   * Defers the creation of the field descriptors of this descriptor to
+   * {@link #createFieldDescriptors()}, which is then called once, when the fields are first
+   * accessed. Called by the constructors of descriptors that only describe the class itself up
+   * front, so that instantiating them stays cheap.
+   *
+   * @since 1.4.2
+   */
+  protected final void deferFieldDescriptors() {
+    _fieldsDeferred = true;
+  } // -- deferFieldDescriptors
+
+  /**
+   * Creates the field descriptors whose creation has been deferred by
+   * {@link #deferFieldDescriptors()}, adding them by
+   * {@link #addFieldDescriptor(XMLFieldDescriptor)}. A descriptor extending another one calls the
+   * implementation it overrides first, to add the inherited fields in the same order as an eagerly
+   * built descriptor. The default implementation creates no fields.
+   *
+   * @since 1.4.2
+   */
+  protected void createFieldDescriptors() {
+    // -- no field descriptors deferred
+  } // -- createFieldDescriptors
+
+  /**
+   * Creates the deferred field descriptors of this descriptor, unless they have been created
+   * already. Threads accessing the fields meanwhile wait until all of them are created; accesses
+   * made by {@link #createFieldDescriptors()} itself return at once. If the creation fails, the
+   * fields added so far are removed again and the next access tries again.
+   *
+   * @since 1.4.2
+   */
+  protected final void ensureFieldDescriptors() {
+    if (!_fieldsDeferred) {
+      return;
+    }
+    synchronized (this) {
+      if (!_fieldsDeferred || _creatingFields) {
+        return;
+      }
+      _creatingFields = true;
+      _createdFields = new ArrayList<XMLFieldDescriptor>();
+      boolean created = false;
+      try {
+        createFieldDescriptors();
+        created = true;
+      } finally {
+        if (!created) {
+          removeCreatedFields();
+        }
+        _creatingFields = false;
+        _createdFields = null;
+      }
+      _fieldsDeferred = false;
+    }
+  } // -- ensureFieldDescriptors
+
+  /**
+   * Removes the fields added by a failed call of {@link #createFieldDescriptors()}, so that the
+   * next call starts from the fields the descriptor had before.
+   */
+  private void removeCreatedFields() {
+    for (XMLFieldDescriptor descriptor : _createdFields) {
+      removeFieldDescriptor(descriptor);
+      _sequenceOfElements.remove(descriptor);
+      if (_identity == descriptor) {
+        _identity = null;
+      }
+      if (_inlineValidatedFields != null
+          && _inlineValidatedFields.get(descriptor.getFieldName()) == descriptor) {
+        _inlineValidatedFields.remove(descriptor.getFieldName());
+      }
+    }
+  }
+
   /**
    * Sets a flag to indicate whether or not this XMLClassDescriptorImpl was created via
    * introspection
@@ -1331,6 +1591,7 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
    */
   protected void setIntrospected(boolean introspected) {
     this._introspected = introspected;
+    _lookupIndex = null;
   } // -- setIntrospected
 
   // protected String toXMLName(String className) {
@@ -1356,6 +1617,7 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
     if (descriptor == null)
       return;
 
+    ensureFieldDescriptors();
     boolean added = false;
 
     NodeType nodeType = descriptor.getNodeType();
@@ -1384,6 +1646,9 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
     if ((added) && (relink)) {
       descriptor.setContainingClassDescriptor(this);
     }
+    if (added && _createdFields != null) {
+      _createdFields.add(descriptor);
+    }
 
   } // -- addFieldDescriptor
 
@@ -1392,6 +1657,7 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
     // -- create local reference to prevent possible
     // -- null pointer (_attArray could be re-set to null)
     // -- in multi-threaded environment
+    ensureFieldDescriptors();
     XMLFieldDescriptor[] descriptors = _attArray;
     if (descriptors == null) {
       descriptors = _attributes.toArray();
@@ -1404,6 +1670,7 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
     // -- create local reference to prevent possible
     // -- null pointer (_elemArray could be re-set to null)
     // -- in multi-threaded environment
+    ensureFieldDescriptors();
     XMLFieldDescriptor[] descriptors = _elemArray;
     if (descriptors == null) {
       descriptors = _elements.toArray();
@@ -1469,4 +1736,76 @@ public class XMLClassDescriptorImpl extends Validator implements XMLClassDescrip
     return _natures.contains(nature);
   }
 
+  /**
+   * Memoizes field descriptor lookups for one snapshot of the attribute and element arrays. Any
+   * mutation of the descriptor replaces those arrays, which makes the index stale.
+   */
+  private static final class FieldLookupIndex {
+    private final XMLFieldDescriptor[] _attributes;
+    private final XMLFieldDescriptor[] _elements;
+    private final ConcurrentMap<LookupKey, Object> _lookups =
+        new ConcurrentHashMap<LookupKey, Object>();
+
+    FieldLookupIndex(final XMLFieldDescriptor[] attributes, final XMLFieldDescriptor[] elements) {
+      _attributes = attributes;
+      _elements = elements;
+    }
+
+    boolean isCurrent(final XMLFieldDescriptor[] attributes, final XMLFieldDescriptor[] elements) {
+      return (_attributes == attributes) && (_elements == elements);
+    }
+
+    Object get(final LookupKey key) {
+      return _lookups.get(key);
+    }
+
+    void put(final LookupKey key, final Object value) {
+      // -- wildcard descriptors match any name; don't let arbitrary input grow the index
+      if (_lookups.size() < MAX_CACHED_LOOKUPS) {
+        _lookups.putIfAbsent(key, value);
+      }
+    }
+  }
+
+  /**
+   * Key of a field descriptor lookup: XML name (including any location path), namespace and node
+   * type.
+   */
+  private static final class LookupKey {
+    private final String _name;
+    private final String _namespace;
+    private final NodeType _nodeType;
+    private final int _hash;
+
+    LookupKey(final String name, final String namespace, final NodeType nodeType) {
+      _name = name;
+      _namespace = namespace;
+      _nodeType = nodeType;
+      int hash = (name == null) ? 0 : name.hashCode();
+      hash = 31 * hash + ((namespace == null) ? 0 : namespace.hashCode());
+      hash = 31 * hash + ((nodeType == null) ? 0 : nodeType.getType());
+      _hash = hash;
+    }
+
+    public int hashCode() {
+      return _hash;
+    }
+
+    public boolean equals(final Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (!(obj instanceof LookupKey)) {
+        return false;
+      }
+      LookupKey other = (LookupKey) obj;
+      return (_nodeType == other._nodeType) && equal(_name, other._name)
+          && equal(_namespace, other._namespace);
+    }
+
+    private static boolean equal(final String a, final String b) {
+      return (a == null) ? (b == null) : a.equals(b);
+    }
+  }
+
 }
@@ -38,16 +38,22 @@
  */
 package org.exolab.castor.xml.util;
 
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.castor.xml.InternalContext;
+import org.castor.xml.XMLProperties;
 import org.exolab.castor.mapping.ClassDescriptor;
 import org.exolab.castor.mapping.MappingLoader;
 import org.exolab.castor.xml.Introspector;
@@ -71,7 +77,17 @@ public class XMLClassDescriptorResolverImpl implements XMLClassDescriptorResolve
   /**
    * All resolved descriptors are kept here.
    */
-  private DescriptorCacheImpl _descriptorCache;
+  private DescriptorCache _descriptorCache;
+  /**
+   * A flag to signal if the descriptor cache is shared with other resolvers using the same class
+   * loader.
+   */
+  private boolean _shareDescriptorCache;
+  /**
+   * The key of the properties descriptors created by introspection depend on; only resolvers with
+   * equal keys share a descriptor cache.
+   */
+  private String _sharedCacheKey;
   /**
    * The MappingLoader instance to read descriptors from.
    */
@@ -119,6 +135,33 @@ public class XMLClassDescriptorResolverImpl implements XMLClassDescriptorResolve
     _loadPackageMappings = internalContext.getLoadPackageMapping();
     _introspector = internalContext.getIntrospector();
     _resolverStrategy = internalContext.getResolverStrategy();
+    _shareDescriptorCache = Boolean.TRUE
+        .equals(internalContext.getBooleanProperty(XMLProperties.SHARE_DESCRIPTOR_CACHE));
+    _sharedCacheKey = SharedDescriptorCache.getPropertiesKey(internalContext);
+    internalContext.addPropertyChangeListener(new PropertyChangeListener() {
+      public void propertyChange(final PropertyChangeEvent event) {
+        if (XMLProperties.SHARE_DESCRIPTOR_CACHE.equals(event.getPropertyName())) {
+          Object value = event.getNewValue();
+          _shareDescriptorCache = Boolean.TRUE.equals(value) || "true".equals(value);
+        }
+        _sharedCacheKey = SharedDescriptorCache.getPropertiesKey(internalContext);
+        selectDescriptorCache();
+      }
+    });
+    selectDescriptorCache();
+  }
+
+  /**
+   * Switches to the descriptor cache shared by all resolvers using the same class loader and
+   * introspection properties if sharing is enabled and no mapping is used, or back to a cache of
+   * its own otherwise.
+   */
+  private void selectDescriptorCache() {
+    if (_shareDescriptorCache && (_mappingLoader == null)) {
+      _descriptorCache = SharedDescriptorCache.forClassLoader(_classLoader, _sharedCacheKey);
+    } else if (_descriptorCache instanceof SharedDescriptorCache) {
+      _descriptorCache = new DescriptorCacheImpl();
+    }
   }
 
   /**
@@ -133,6 +176,7 @@ public class XMLClassDescriptorResolverImpl implements XMLClassDescriptorResolve
    */
   public void setClassLoader(final ClassLoader loader) {
     _classLoader = loader;
+    selectDescriptorCache();
   }
 
   /**
@@ -154,6 +198,7 @@ public class XMLClassDescriptorResolverImpl implements XMLClassDescriptorResolve
    */
   public void setMappingLoader(final MappingLoader mappingLoader) {
     _mappingLoader = mappingLoader;
+    selectDescriptorCache();
     if (mappingLoader != null) {
       for (ClassDescriptor classDescriptor : mappingLoader.getDescriptors()) {
         _descriptorCache.addDescriptor(classDescriptor.getJavaClass().getName(),
@@ -206,8 +251,9 @@ public class XMLClassDescriptorResolverImpl implements XMLClassDescriptorResolve
       return null;
     }
 
-    if (_descriptorCache.getDescriptor(type.getName()) != null) {
-      return _descriptorCache.getDescriptor(type.getName());
+    XMLClassDescriptor cached = _descriptorCache.getDescriptor(type.getName());
+    if (cached != null) {
+      return cached;
     }
 
     ClassLoader l = _classLoader;
@@ -238,8 +284,9 @@ public class XMLClassDescriptorResolverImpl implements XMLClassDescriptorResolve
       return null;
     }
 
-    if (_descriptorCache.getDescriptor(className) != null) {
-      return _descriptorCache.getDescriptor(className);
+    XMLClassDescriptor cached = _descriptorCache.getDescriptor(className);
+    if (cached != null) {
+      return cached;
     }
 
     ClassLoader l = _classLoader;
@@ -268,8 +315,9 @@ public class XMLClassDescriptorResolverImpl implements XMLClassDescriptorResolve
       return null;
     }
 
-    if (_descriptorCache.getDescriptor(className) != null) {
-      return _descriptorCache.getDescriptor(className);
+    XMLClassDescriptor cached = _descriptorCache.getDescriptor(className);
+    if (cached != null) {
+      return cached;
     }
 
     ClassLoader l = loader;
@@ -383,6 +431,12 @@ public class XMLClassDescriptorResolverImpl implements XMLClassDescriptorResolve
       throw new IllegalArgumentException(message);
     }
 
+    // -- the descriptors of the package are loaded with the domain class loader, too
+    ClassLoader l = _classLoader;
+    if (l == null) {
+      l = Thread.currentThread().getContextClassLoader();
+    }
+    getResolverStrategy().setProperty(ResolverStrategy.PROPERTY_CLASS_LOADER, l);
     getResolverStrategy().resolvePackage(_descriptorCache, packageName);
   }
 
@@ -431,23 +485,37 @@ public class XMLClassDescriptorResolverImpl implements XMLClassDescriptorResolve
    * 
    * @author <a href="mailto:stevendolg AT gxm DOT at">Steven Dolg</a>
    */
-  private static class DescriptorCacheImpl implements ResolverStrategy.ResolverResults {
+  private static class DescriptorCacheImpl implements DescriptorCache {
     /** Logger to be used by DescriptorCache. */
     private static final Log LOG2 = LogFactory.getLog(DescriptorCacheImpl.class);
     /** Some fixed text to detect errors... */
     private static final String INTERNAL_CONTAINER_NAME = "-error-if-this-is-used-";
 
-    /** List of class names a descriptor is not available for. */
-    private final List<String> _missingTypes;
+    /** Set of class names a descriptor is not available for. */
+    private final Set<String> _missingTypes;
 
     /** Map of cached descriptors with the class names they describe as key. */
-    private final Map<String, ClassDescriptor> _typeMap;
+    private final ConcurrentMap<String, ClassDescriptor> _typeMap;
+
+    /**
+     * Map of cached descriptors with their XML names as key. The lists stored are never modified
+     * once published; writers replace them with an extended copy.
+     */
+    private final ConcurrentMap<String, List<ClassDescriptor>> _xmlNameMap;
+
+    /** Map of factories of descriptors not created yet, with the class names as key. */
+    private final ConcurrentMap<String, ResolverStrategy.DescriptorFactory> _factories;
 
-    /** Map of cached descriptors with their XML names as key. */
-    private final Map<String, List<ClassDescriptor>> _xmlNameMap;
+    /** The class names of the factories by the XML names of the descriptors they create. */
+    private final ConcurrentMap<String, Set<String>> _factoriesByXMLName;
 
-    /** Lock used to isolate write accesses to the caches internal lists and maps. */
-    private final ReentrantReadWriteLock _lock;
+    /** The class names of the factories that do not know the XML names of their descriptors. */
+    private final Set<String> _factoriesWithoutXMLName;
+
+    /**
+     * Lock used to serialize write accesses to the caches internal maps. Readers never lock.
+     */
+    private final ReentrantLock _lock;
 
     /**
      * Default constructor.<br>
@@ -459,10 +527,14 @@ public class XMLClassDescriptorResolverImpl implements XMLClassDescriptorResolve
 
       LOG2.debug("New instance!");
 
-      _typeMap = new HashMap<String, ClassDescriptor>();
-      _xmlNameMap = new HashMap<String, List<ClassDescriptor>>();
-      _missingTypes = new ArrayList<String>();
-      _lock = new ReentrantReadWriteLock();
+      _typeMap = new ConcurrentHashMap<String, ClassDescriptor>();
+      _xmlNameMap = new ConcurrentHashMap<String, List<ClassDescriptor>>();
+      _factories = new ConcurrentHashMap<String, ResolverStrategy.DescriptorFactory>();
+      _factoriesByXMLName = new ConcurrentHashMap<String, Set<String>>();
+      _factoriesWithoutXMLName =
+          Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+      _missingTypes = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+      _lock = new ReentrantLock();
     } // --- DescriptorCacheImpl
 
     /**
@@ -489,8 +561,9 @@ public class XMLClassDescriptorResolverImpl implements XMLClassDescriptorResolve
       }
 
       // acquire write lock first
-      _lock.writeLock().lock();
+      _lock.lock();
       try {
+        removeFactory(className);
 
         if (descriptor == null) {
           if (LOG2.isDebugEnabled()) {
@@ -516,19 +589,21 @@ public class XMLClassDescriptorResolverImpl implements XMLClassDescriptorResolve
           return;
         }
 
-        // add new descriptor to the list for the corresponding XML name
+        // publish an extended copy of the list for the corresponding XML name
         List<ClassDescriptor> descriptorList = _xmlNameMap.get(xmlName);
         if (descriptorList == null) {
-          descriptorList = new ArrayList<ClassDescriptor>();
-          _xmlNameMap.put(xmlName, descriptorList);
-        }
-        if (!descriptorList.contains(descriptor)) {
-          descriptorList.add(descriptor);
+          _xmlNameMap.put(xmlName, Collections.<ClassDescriptor>singletonList(descriptor));
+        } else if (!descriptorList.contains(descriptor)) {
+          List<ClassDescriptor> extended =
+              new ArrayList<ClassDescriptor>(descriptorList.size() + 1);
+          extended.addAll(descriptorList);
+          extended.add(descriptor);
+          _xmlNameMap.put(xmlName, Collections.unmodifiableList(extended));
         }
 
         _missingTypes.remove(className);
       } finally {
-        _lock.writeLock().unlock();
+        _lock.unlock();
       }
     } // -- addDescriptor
 
@@ -540,41 +615,128 @@ public class XMLClassDescriptorResolverImpl implements XMLClassDescriptorResolve
      *         stored in this cache.
      */
     public XMLClassDescriptor getDescriptor(final String className) {
+      if ((className == null) || ("".equals(className)) || (_missingTypes.contains(className))) {
+        return null;
+      }
 
-      // acquire read lock which is released via finally block
-      _lock.readLock().lock();
-      try {
+      XMLClassDescriptor ret = (XMLClassDescriptor) _typeMap.get(className);
+      if ((ret == null) && !_factories.isEmpty() && _factories.containsKey(className)) {
+        ret = createDescriptor(className);
+      }
+      if (LOG2.isDebugEnabled()) {
+        LOG2.debug("Get descriptor for: " + className + " found: " + ret);
+      }
+      return ret;
+    } // -- getDescriptor
 
-        if ((className == null) || ("".equals(className)) || (_missingTypes.contains(className))) {
-          return null;
+    /**
+     * Creates the descriptor of the given class name by its factory and adds it to the cache,
+     * unless another thread has done so already.
+     * 
+     * @param className The class name to create a descriptor for.
+     * @return The descriptor mapped to the given name or <code>null</code> if it could not be
+     *         created.
+     */
+    private XMLClassDescriptor createDescriptor(final String className) {
+      _lock.lock();
+      try {
+        ResolverStrategy.DescriptorFactory factory = _factories.get(className);
+        if (factory == null) {
+          return (XMLClassDescriptor) _typeMap.get(className);
+        }
+        XMLClassDescriptor descriptor = factory.createDescriptor();
+        if (descriptor == null) {
+          removeFactory(className);
+        } else {
+          addDescriptor(className, descriptor);
         }
+        return descriptor;
+      } finally {
+        _lock.unlock();
+      }
+    } // -- createDescriptor
 
-        XMLClassDescriptor ret = (XMLClassDescriptor) _typeMap.get(className);
-        if (LOG2.isDebugEnabled()) {
-          LOG2.debug("Get descriptor for: " + className + " found: " + ret);
+    /**
+     * {@inheritDoc}
+     */
+    public void addDescriptorFactories(
+        final Map<String, ResolverStrategy.DescriptorFactory> factories) {
+      if ((factories == null) || factories.isEmpty()) {
+        return;
+      }
+      _lock.lock();
+      try {
+        for (String className : factories.keySet()) {
+          if (!_typeMap.containsKey(className)) {
+            removeFactory(className);
+            ResolverStrategy.DescriptorFactory factory = factories.get(className);
+            _factories.put(className, factory);
+            String xmlName = factory.getXMLName();
+            if (xmlName == null) {
+              _factoriesWithoutXMLName.add(className);
+            } else {
+              Set<String> classNames = _factoriesByXMLName.get(xmlName);
+              if (classNames == null) {
+                classNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+                _factoriesByXMLName.put(xmlName, classNames);
+              }
+              classNames.add(className);
+            }
+            _missingTypes.remove(className);
+          }
         }
-        return ret;
       } finally {
-        _lock.readLock().unlock();
+        _lock.unlock();
       }
-    } // -- getDescriptor
+    } // -- addDescriptorFactories
+
+    /**
+     * Removes the factory of the given class name, if any. Called with the write lock held.
+     * 
+     * @param className the class name
+     */
+    private void removeFactory(final String className) {
+      ResolverStrategy.DescriptorFactory factory = _factories.remove(className);
+      if (factory == null) {
+        return;
+      }
+      String xmlName = factory.getXMLName();
+      if (xmlName == null) {
+        _factoriesWithoutXMLName.remove(className);
+      } else {
+        Set<String> classNames = _factoriesByXMLName.get(xmlName);
+        classNames.remove(className);
+        if (classNames.isEmpty()) {
+          _factoriesByXMLName.remove(xmlName);
+        }
+      }
+    } // -- removeFactory
 
     /**
      * Gets a list of descriptors that have the given XML name.<br>
      * <br>
      * This method will return all previously cached descriptors with the given XML name regardless
-     * of their name space.
+     * of their name space. Of the descriptors not created yet, only those with the given XML name
+     * and those whose XML name is not known before they exist are created.
      * 
      * @param xmlName The XML name of the descriptors to get.
      * @return A list of descriptors with the given XML name or an empty list if no such descriptor
      *         is stored in this cache. This method will never return <code>null</code>!
      */
     public List<ClassDescriptor> getDescriptors(final String xmlName) {
+      if (!_factories.isEmpty()) {
+        for (String className : _factoriesWithoutXMLName) {
+          createDescriptor(className);
+        }
+        Set<String> classNames = (xmlName == null) ? null : _factoriesByXMLName.get(xmlName);
+        if (classNames != null) {
+          for (String className : classNames) {
+            createDescriptor(className);
+          }
+        }
+      }
 
-      // before accessing XML name map acquire read lock first
-      _lock.readLock().lock();
-      List<ClassDescriptor> list = _xmlNameMap.get(xmlName);
-      _lock.readLock().unlock();
+      List<ClassDescriptor> list = (xmlName == null) ? null : _xmlNameMap.get(xmlName);
 
       if (list == null) {
 
@@ -605,14 +767,7 @@ public class XMLClassDescriptorResolverImpl implements XMLClassDescriptorResolve
      * @see #addMissingDescriptor(String)
      */
     public boolean isMissingDescriptor(final String className) {
-
-      // before accessing list with missing types acquire read lock first
-      _lock.readLock().lock();
-      try {
-        return _missingTypes.contains(className);
-      } finally {
-        _lock.readLock().unlock();
-      }
+      return (className != null) && _missingTypes.contains(className);
     } // -- isMissingDescriptor
 
     /**
@@ -620,7 +775,7 @@ public class XMLClassDescriptorResolverImpl implements XMLClassDescriptorResolve
      * 
      * @param descriptors a Map of className (String) and XMLClassDescriptor pairs
      */
-    public void addAllDescriptors(final Map descriptors) {
+    public void addAllDescriptors(final Map<String, ? extends ClassDescriptor> descriptors) {
       if ((descriptors == null) || (descriptors.isEmpty())) {
         LOG2.debug("Called addAllDescriptors with null or empty descriptor map");
         return;
@@ -634,11 +789,36 @@ public class XMLClassDescriptorResolverImpl implements XMLClassDescriptorResolve
   } // -- DescriptorCacheImpl
 
   /**
-   * Cleans the descriptor cache.
+   * The descriptors cached by a resolver, either its own or shared with other resolvers.
+   */
+  interface DescriptorCache extends ResolverStrategy.ResolverResults {
+    /**
+     * Gets a list of descriptors that have the given XML name.
+     * 
+     * @param xmlName The XML name of the descriptors to get.
+     * @return A list of descriptors with the given XML name, never <code>null</code>.
+     */
+    List<ClassDescriptor> getDescriptors(String xmlName);
+
+    /**
+     * Checks whether the given class name was stated to have no descriptor.
+     * 
+     * @param className The class name to be checked.
+     * @return <code>true</code> if no descriptor is available for the given class name.
+     */
+    boolean isMissingDescriptor(String className);
+  }
+
+  /**
+   * Cleans the descriptor cache. A shared cache is cleaned for all resolvers sharing it.
    * 
    * @see org.exolab.castor.xml.XMLClassDescriptorResolver#cleanDescriptorCache()
    */
   public void cleanDescriptorCache() {
-    _descriptorCache = new DescriptorCacheImpl();
+    if (_descriptorCache instanceof SharedDescriptorCache) {
+      ((SharedDescriptorCache) _descriptorCache).clear();
+    } else {
+      _descriptorCache = new DescriptorCacheImpl();
+    }
   }
 } // -- ClassDescriptorResolverImpl
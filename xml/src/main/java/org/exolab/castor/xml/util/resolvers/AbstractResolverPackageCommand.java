@@ -52,12 +52,24 @@ public abstract class AbstractResolverPackageCommand implements ResolverPackageC
           "Now in resolve method: " + this.getClass().getName() + " resolving: " + packageName);
     }
 
+    return internalResolve(pName, getClassLoader(properties), properties);
+  }
+
+  /**
+   * Returns the class loader set in the given properties, or the class loader of this command if
+   * none is set.
+   * 
+   * @param properties the resolve properties to use
+   * @return the class loader to load classes of the resolved package with
+   * @since 1.4.2
+   */
+  protected final ClassLoader getClassLoader(final Map<?, ?> properties) {
     ClassLoader classLoader = (ClassLoader) properties.get(ResolverStrategy.PROPERTY_CLASS_LOADER);
     if (classLoader == null) {
       LOG.debug("No domain class loader set, taking it from class.getClassLoader().");
       classLoader = this.getClass().getClassLoader();
     }
-    return internalResolve(pName, classLoader, properties);
+    return classLoader;
   }
 
   /**
@@ -26,8 +26,11 @@ import java.util.Properties;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.exolab.castor.mapping.ClassDescriptor;
+import org.exolab.castor.util.ConstructorCache;
 import org.exolab.castor.xml.ResolverException;
+import org.exolab.castor.xml.XMLClassDescriptor;
 import org.exolab.castor.xml.XMLConstants;
+import org.exolab.castor.xml.util.ResolverStrategy;
 
 /**
  * Resolves a class by reading the package level class-descriptor-resolver file and loading all
@@ -87,6 +90,49 @@ public class ByCDR extends AbstractResolverPackageCommand {
       final ClassLoader classLoader, final Map properties) throws ResolverException {
 
     Map<String, ClassDescriptor> results = new HashMap<String, ClassDescriptor>();
+    Map<String, ResolverStrategy.DescriptorFactory> factories =
+        getFactories(packageName, classLoader);
+    for (Map.Entry<String, ResolverStrategy.DescriptorFactory> entry : factories.entrySet()) {
+      XMLClassDescriptor descriptor = entry.getValue().createDescriptor();
+      if (descriptor != null) {
+        results.put(entry.getKey(), descriptor);
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Reads the CDR file for the given package name like {@link #resolve(String, Map)}, but returns
+   * factories creating the descriptors listed in it instead of the descriptors. Neither the
+   * descriptor classes are loaded nor the descriptors are created before a factory is used, so
+   * that only the descriptors of classes actually looked up are created.
+   * 
+   * @param packageName the package to resolve
+   * @param properties the resolve properties to use
+   * @return a Map of class names and the factories creating their descriptors
+   * @throws ResolverException in case that the CDR file cannot be read
+   * @since 1.4.2
+   */
+  public Map<String, ResolverStrategy.DescriptorFactory> resolveFactories(
+      final String packageName, final Map<?, ?> properties) throws ResolverException {
+    String pName = (packageName == null) ? "" : packageName;
+    return getFactories(pName, getClassLoader(properties));
+  }
+
+  /**
+   * Creates a factory for each descriptor listed in the CDR file for the given package name, unless
+   * that package has been processed before.
+   * 
+   * @param packageName the package to resolve
+   * @param classLoader the class loader to load the CDR file and the descriptor classes with
+   * @return a Map of class names and the factories creating their descriptors
+   * @throws ResolverException in case that the CDR file cannot be read
+   */
+  private Map<String, ResolverStrategy.DescriptorFactory> getFactories(final String packageName,
+      final ClassLoader classLoader) throws ResolverException {
+
+    Map<String, ResolverStrategy.DescriptorFactory> results =
+        new HashMap<String, ResolverStrategy.DescriptorFactory>();
     if (!isEmptyPackageName(packageName) && _loadedPackages.contains(packageName)) {
       if (LOG.isDebugEnabled()) {
         LOG.debug("Package: " + packageName + " has already been loaded.");
@@ -108,25 +154,14 @@ public class ByCDR extends AbstractResolverPackageCommand {
 
       for (Object clazz : cdrList.keySet()) {
         String clazzName = (String) clazz;
-        String descriptorClassName = (String) cdrList.get(clazzName);
-        try {
-          Class<?> descriptorClass = classLoader.loadClass(descriptorClassName);
-          if (LOG.isDebugEnabled()) {
-            LOG.debug("Found descriptor: " + descriptorClass);
-          }
-          if (descriptorClass != null) {
-            ClassDescriptor instance = (ClassDescriptor) descriptorClass.newInstance();
-            results.put(clazzName, instance);
-          } else if (LOG.isDebugEnabled()) {
-            LOG.debug("Loading of descriptor class: " + descriptorClassName + " for class: "
-                + clazzName + " has failed - continue without");
-          }
-        } catch (Exception e) {
-          if (LOG.isDebugEnabled()) {
-            LOG.debug(
-                "Ignored problem at loading of: " + descriptorClassName + " with exception: " + e);
-          }
+        if (clazzName.endsWith(XMLConstants.PKG_CDR_XML_NAME_SUFFIX)) {
+          continue;
         }
+        String descriptorClassName = (String) cdrList.get(clazzName);
+        // -- CDR files generated before XML names were listed leave them unknown
+        String xmlName = cdrList.getProperty(clazzName + XMLConstants.PKG_CDR_XML_NAME_SUFFIX);
+        results.put(clazzName,
+            new DescriptorClassFactory(classLoader, clazzName, descriptorClassName, xmlName));
       }
     } catch (IOException iox) {
       String message = "Failed to load package: " + packageName + " with exception: " + iox;
@@ -135,4 +170,70 @@ public class ByCDR extends AbstractResolverPackageCommand {
     }
     return results;
   }
+
+  /**
+   * Creates a descriptor by loading and instantiating the descriptor class listed for a class in
+   * a CDR file.
+   */
+  private static final class DescriptorClassFactory implements ResolverStrategy.DescriptorFactory {
+    /** The class loader to load the descriptor class with. */
+    private final ClassLoader _classLoader;
+
+    /** The name of the class described. */
+    private final String _className;
+
+    /** The name of the descriptor class. */
+    private final String _descriptorClassName;
+
+    /** The XML name of the descriptor, or null if the CDR file does not list it. */
+    private final String _xmlName;
+
+    /**
+     * Creates a factory for the given descriptor class.
+     * 
+     * @param classLoader the class loader to load the descriptor class with
+     * @param className the name of the class described
+     * @param descriptorClassName the name of the descriptor class
+     * @param xmlName the XML name of the descriptor, or null if it is not known
+     */
+    DescriptorClassFactory(final ClassLoader classLoader, final String className,
+        final String descriptorClassName, final String xmlName) {
+      _classLoader = classLoader;
+      _className = className;
+      _descriptorClassName = descriptorClassName;
+      _xmlName = xmlName;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getXMLName() {
+      return _xmlName;
+    }
+
+    /**
+     * {@inheritDoc} A descriptor class that cannot be loaded or instantiated is ignored.
+     */
+    public XMLClassDescriptor createDescriptor() {
+      try {
+        Class<?> descriptorClass = _classLoader.loadClass(_descriptorClassName);
+        if (LOG.isDebugEnabled()) {
+          LOG.debug("Found descriptor: " + descriptorClass);
+        }
+        if (descriptorClass != null) {
+          return (XMLClassDescriptor) ConstructorCache.newInstance(descriptorClass);
+        }
+        if (LOG.isDebugEnabled()) {
+          LOG.debug("Loading of descriptor class: " + _descriptorClassName + " for class: "
+              + _className + " has failed - continue without");
+        }
+      } catch (Exception e) {
+        if (LOG.isDebugEnabled()) {
+          LOG.debug(
+              "Ignored problem at loading of: " + _descriptorClassName + " with exception: " + e);
+        }
+      }
+      return null;
+    }
+  }
 }
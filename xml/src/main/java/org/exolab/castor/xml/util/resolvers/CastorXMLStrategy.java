@@ -147,7 +147,7 @@ public class CastorXMLStrategy implements ResolverStrategy {
    */
   public void resolvePackage(final ResolverResults resolverResults, final String packageName)
       throws ResolverException {
-    resolverResults.addAllDescriptors(new ByCDR().resolve(packageName, _properties));
+    resolverResults.addDescriptorFactories(new ByCDR().resolveFactories(packageName, _properties));
     resolverResults.addAllDescriptors(new ByPackageMapping().resolve(packageName, _properties));
   }
 }
@@ -41,6 +41,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.ResourceBundle;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.exolab.castor.util.RegExpEvaluator;
 import org.exolab.castor.xml.ValidationContext;
 import org.exolab.castor.xml.ValidationException;
@@ -54,6 +56,12 @@ import org.exolab.castor.xml.ValidationException;
  */
 public abstract class PatternValidator {
 
+  /**
+   * The <a href="http://jakarta.apache.org/commons/logging/">Jakarta Commons Logging</a> instance
+   * used for all logging.
+   */
+  private static final Log LOG = LogFactory.getLog(PatternValidator.class);
+
   protected static ResourceBundle resourceBundle;
 
   static {
@@ -75,6 +83,12 @@ public abstract class PatternValidator {
    */
   private RegExpEvaluator _regex = null;
 
+  /**
+   * One regular expression evaluator per pattern, with its expression already set. Null until
+   * first needed, and reset whenever the patterns change.
+   */
+  private volatile RegExpEvaluator[] _evaluators = null;
+
   /**
    * Creates a new {@link PatternValidator} with no initial regular expression.
    */
@@ -137,6 +151,7 @@ public abstract class PatternValidator {
    */
   public void addPattern(final String pattern) {
     _patterns.add(pattern);
+    _evaluators = null;
   }
 
   /**
@@ -144,6 +159,7 @@ public abstract class PatternValidator {
    */
   public void clearPatterns() {
     _patterns.clear();
+    _evaluators = null;
   }
 
   /**
@@ -167,14 +183,18 @@ public abstract class PatternValidator {
           resourceBundle.getString("patternValidator.error.exception"));
     }
 
-    if (_regex == null) {
-      initEvaluator(context);
+    RegExpEvaluator[] evaluators = _evaluators;
+    if (evaluators == null) {
+      if (_regex == null) {
+        initEvaluator(context);
+      }
+      evaluators = createEvaluators();
+      _evaluators = evaluators;
     }
 
     // Loop over all patterns and return (success) if any one of them matches
-    for (String pattern : _patterns) {
-      _regex.setExpression(pattern);
-      if (_regex.matches(str)) {
+    for (int i = 0; i < evaluators.length; i++) {
+      if (evaluators[i].matches(str)) {
         return;
       }
     }
@@ -220,6 +240,31 @@ public abstract class PatternValidator {
     validate(object.toString(), context);
   }
 
+  /**
+   * Creates one evaluator per pattern, of the same type as the configured evaluator, so that each
+   * pattern is compiled only once rather than for every value validated.
+   * 
+   * @return the evaluators, in the order of the patterns
+   */
+  private RegExpEvaluator[] createEvaluators() {
+    RegExpEvaluator[] evaluators = new RegExpEvaluator[_patterns.size()];
+    int i = 0;
+    for (String pattern : _patterns) {
+      RegExpEvaluator evaluator;
+      try {
+        evaluator = _regex.getClass().getConstructor().newInstance();
+      } catch (ReflectiveOperationException e) {
+        // -- evaluator cannot be instantiated by us, fall back to re-setting the expression
+        LOG.warn("Cannot create an instance of " + _regex.getClass().getName()
+            + " per pattern; pattern '" + pattern + "' is compiled for every value validated.", e);
+        evaluator = new SharedRegExpEvaluator(_regex, pattern);
+      }
+      evaluator.setExpression(pattern);
+      evaluators[i++] = evaluator;
+    }
+    return evaluators;
+  }
+
   /**
    * Initializes the regular expression validator.
    * 
@@ -233,4 +278,29 @@ public abstract class PatternValidator {
     }
   }
 
+  /**
+   * Evaluator used when no dedicated evaluator can be created for a pattern: sets the pattern on
+   * the shared evaluator before every match.
+   */
+  private static final class SharedRegExpEvaluator implements RegExpEvaluator {
+    private final RegExpEvaluator _evaluator;
+    private String _expression;
+
+    SharedRegExpEvaluator(final RegExpEvaluator evaluator, final String expression) {
+      _evaluator = evaluator;
+      _expression = expression;
+    }
+
+    public void setExpression(final String rexpr) {
+      _expression = rexpr;
+    }
+
+    public boolean matches(final String value) {
+      synchronized (_evaluator) {
+        _evaluator.setExpression(_expression);
+        return _evaluator.matches(value);
+      }
+    }
+  }
+
 }
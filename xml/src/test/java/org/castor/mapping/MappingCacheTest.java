@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.castor.mapping;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.exolab.castor.mapping.Mapping;
+import org.exolab.castor.mapping.xml.ClassMapping;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappingCacheTest {
+
+  @Rule
+  public TemporaryFolder _folder = new TemporaryFolder();
+
+  @Test
+  public void testCachedMappingIsReused() throws Exception {
+    File dir = _folder.newFolder("cache");
+    File main =
+        write("main.xml", "<mapping><include href='inc.xml'/><class name='a.Main'/></mapping>");
+    write("inc.xml", "<mapping><class name='a.Included'/></mapping>");
+
+    assertEquals("[a.Included, a.Main]", load(main, dir).toString());
+    assertEquals(1, dir.list().length);
+
+    // replace the stored mapping to tell it apart from a freshly unmarshalled one
+    MappingCache cache = new MappingCache(dir);
+    String key = key(main);
+    MappingCache.Entry entry = cache.load(key);
+    assertNotNull(entry);
+    ClassMapping marker = new ClassMapping();
+    marker.setName("a.Marker");
+    entry.getRoot().addClassMapping(marker);
+    cache.store(key, entry.getRoot(), entry.getDependencies());
+
+    assertEquals("[a.Included, a.Main, a.Marker]", load(main, dir).toString());
+  }
+
+  @Test
+  public void testChangedIncludeIsReloaded() throws Exception {
+    File dir = _folder.newFolder("cache");
+    File main =
+        write("main.xml", "<mapping><include href='inc.xml'/><class name='a.Main'/></mapping>");
+    write("inc.xml", "<mapping><class name='a.Included'/></mapping>");
+    assertEquals("[a.Included, a.Main]", load(main, dir).toString());
+
+    write("inc.xml", "<mapping><class name='a.Changed'/></mapping>");
+    assertEquals("[a.Changed, a.Main]", load(main, dir).toString());
+  }
+
+  private File write(final String name, final String content) throws IOException {
+    File file = new File(_folder.getRoot(), name);
+    try (OutputStream out = new FileOutputStream(file)) {
+      out.write(content.getBytes("UTF-8"));
+    }
+    return file;
+  }
+
+  private String key(final File file) throws IOException {
+    return MappingCache.toHex(MappingCache.newDigest().digest(Files.readAllBytes(file.toPath())));
+  }
+
+  private List<String> load(final File file, final File dir) throws Exception {
+    Mapping mapping = new Mapping();
+    mapping.setCache(new MappingCache(dir));
+    mapping.loadMapping(file.toURI().toURL());
+    new MappingUnmarshaller().loadMappingOnly(mapping);
+
+    List<String> names = new ArrayList<>();
+    for (ClassMapping classMapping : mapping.getRoot().getClassMapping()) {
+      names.add(classMapping.getName());
+    }
+    return names;
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.castor.test.entity;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Domain entity with binary content, for testing the marshalling of base64 encoded values.
+ */
+public class Attachment {
+
+  /**
+   * Content as byte array.
+   */
+  private byte[] _data;
+
+  /**
+   * Content as byte buffer.
+   */
+  private ByteBuffer _buffer;
+
+  /**
+   * Content as stream.
+   */
+  private InputStream _stream;
+
+  /**
+   * Returns the content as byte array.
+   *
+   * @return the content as byte array.
+   */
+  public byte[] getData() {
+    return _data;
+  }
+
+  /**
+   * Sets the content as byte array.
+   *
+   * @param data the content as byte array.
+   */
+  public void setData(final byte[] data) {
+    this._data = data;
+  }
+
+  /**
+   * Returns the content as byte buffer.
+   *
+   * @return the content as byte buffer.
+   */
+  public ByteBuffer getBuffer() {
+    return _buffer;
+  }
+
+  /**
+   * Sets the content as byte buffer.
+   *
+   * @param buffer the content as byte buffer.
+   */
+  public void setBuffer(final ByteBuffer buffer) {
+    this._buffer = buffer;
+  }
+
+  /**
+   * Returns the content as stream.
+   *
+   * @return the content as stream.
+   */
+  public InputStream getStream() {
+    return _stream;
+  }
+
+  /**
+   * Sets the content as stream.
+   *
+   * @param stream the content as stream.
+   */
+  public void setStream(final InputStream stream) {
+    this._stream = stream;
+  }
+}
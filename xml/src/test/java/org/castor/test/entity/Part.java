@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.castor.test.entity;
+
+/**
+ * Domain entity that may refer to another part, for testing the marshalling of nested and cyclic
+ * object graphs.
+ */
+public class Part {
+
+  /**
+   * Part name.
+   */
+  private String _name;
+
+  /**
+   * The nested part.
+   */
+  private Part _part;
+
+  /**
+   * Returns the part name.
+   * 
+   * @return the part name.
+   */
+  public String getName() {
+    return _name;
+  }
+
+  /**
+   * Sets a new part name.
+   * 
+   * @param name a new part name.
+   */
+  public void setName(final String name) {
+    this._name = name;
+  }
+
+  /**
+   * Returns the nested part.
+   * 
+   * @return the nested part.
+   */
+  public Part getPart() {
+    return _part;
+  }
+
+  /**
+   * Sets the nested part.
+   * 
+   * @param part the nested part.
+   */
+  public void setPart(final Part part) {
+    this._part = part;
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.castor.test.entity;
+
+/**
+ * Domain entity with arrays of primitives, for testing the marshalling of their values.
+ */
+public class Series {
+
+  /**
+   * Counts.
+   */
+  private int[] _counts;
+
+  /**
+   * Time stamps.
+   */
+  private long[] _times;
+
+  /**
+   * Measured values.
+   */
+  private double[] _values;
+
+  /**
+   * Returns the counts.
+   *
+   * @return the counts.
+   */
+  public int[] getCounts() {
+    return _counts;
+  }
+
+  /**
+   * Sets the counts.
+   *
+   * @param counts the counts.
+   */
+  public void setCounts(final int[] counts) {
+    this._counts = counts;
+  }
+
+  /**
+   * Returns the time stamps.
+   *
+   * @return the time stamps.
+   */
+  public long[] getTimes() {
+    return _times;
+  }
+
+  /**
+   * Sets the time stamps.
+   *
+   * @param times the time stamps.
+   */
+  public void setTimes(final long[] times) {
+    this._times = times;
+  }
+
+  /**
+   * Returns the measured values.
+   *
+   * @return the measured values.
+   */
+  public double[] getValues() {
+    return _values;
+  }
+
+  /**
+   * Sets the measured values.
+   *
+   * @param values the measured values.
+   */
+  public void setValues(final double[] values) {
+    this._values = values;
+  }
+}
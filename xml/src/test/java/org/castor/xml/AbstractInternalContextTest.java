@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.castor.xml;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.StringReader;
+
+import org.junit.Test;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Test case for the XMLReader reuse of {@link AbstractInternalContext}.
+ */
+public class AbstractInternalContextTest {
+
+  @Test
+  public void releasedReaderIsReused() throws Exception {
+    AbstractInternalContext context = new AbstractInternalContext() {};
+    XMLReader reader = context.acquireXMLReader();
+    assertNotNull(reader);
+    reader.setContentHandler(new DefaultHandler());
+    reader.parse(new InputSource(new StringReader("<a/>")));
+    context.releaseXMLReader(reader);
+
+    XMLReader reused = context.acquireXMLReader();
+    assertSame(reader, reused);
+    assertNotSame(reader, context.acquireXMLReader());
+
+    // -- a reused reader must still be usable
+    reused.parse(new InputSource(new StringReader("<b><c/></b>")));
+  }
+
+  @Test
+  public void propertyChangeDiscardsPool() throws Exception {
+    AbstractInternalContext context = new AbstractInternalContext() {};
+    XMLReader reader = context.acquireXMLReader();
+    context.releaseXMLReader(reader);
+
+    context.setProperty(XMLProperties.NAMESPACES, true);
+    assertNotSame(reader, context.acquireXMLReader());
+  }
+
+  @Test
+  public void poolCanBeDisabled() throws Exception {
+    AbstractInternalContext context = new AbstractInternalContext() {};
+    context.setProperty(XMLProperties.PARSER_POOL_SIZE, "0");
+    XMLReader reader = context.acquireXMLReader();
+    context.releaseXMLReader(reader);
+    assertNotSame(reader, context.acquireXMLReader());
+  }
+}
@@ -0,0 +1,86 @@
+package org.exolab.castor.mapping.loader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.junit.Test;
+
+public class AccessorFactoryTest {
+
+  public static class Bean {
+    private long _value;
+
+    public long getValue() {
+      return _value;
+    }
+
+    public void setValue(long value) {
+      _value = value;
+    }
+
+    public boolean hasValue() {
+      return _value != 0;
+    }
+
+    public void fail() {
+      throw new IllegalStateException("failed");
+    }
+  }
+
+  private final AccessorFactory _factory = new AccessorFactory();
+
+  @Test
+  public void testAccessorsAreCached() throws Exception {
+    MethodAccessor accessor = _factory.getAccessor(Bean.class.getMethod("getValue"));
+    assertSame(accessor, _factory.getAccessor(Bean.class.getMethod("getValue")));
+    assertTrue(accessor instanceof MethodHandleMethodAccessor);
+    assertNull(_factory.getAccessor(null));
+  }
+
+  @Test
+  public void testGetAndSet() throws Exception {
+    Bean bean = new Bean();
+    MethodAccessor setter = _factory.getAccessor(Bean.class.getMethod("setValue", Long.TYPE));
+    MethodAccessor getter = _factory.getAccessor(Bean.class.getMethod("getValue"));
+    MethodAccessor has = _factory.getAccessor(Bean.class.getMethod("hasValue"));
+
+    assertEquals(Boolean.FALSE, has.invoke(bean));
+    assertNull(setter.invoke(bean, Long.valueOf(42L)));
+    assertEquals(Long.valueOf(42L), getter.invoke(bean));
+    assertEquals(Boolean.TRUE, has.invoke(bean));
+
+    // widening conversion, as permitted by reflection
+    setter.invoke(bean, Integer.valueOf(7));
+    assertEquals(Long.valueOf(7L), getter.invoke(bean));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullForPrimitiveParameter() throws Exception {
+    _factory.getAccessor(Bean.class.getMethod("setValue", Long.TYPE)).invoke(new Bean(), null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testArgumentTypeMismatch() throws Exception {
+    _factory.getAccessor(Bean.class.getMethod("setValue", Long.TYPE)).invoke(new Bean(), "42");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWrongTarget() throws Exception {
+    _factory.getAccessor(Bean.class.getMethod("getValue")).invoke("not a bean");
+  }
+
+  @Test
+  public void testAccessorExceptionIsWrapped() throws Exception {
+    try {
+      _factory.getAccessor(Bean.class.getMethod("fail")).invoke(new Bean());
+      fail("InvocationTargetException expected");
+    } catch (InvocationTargetException e) {
+      assertTrue(e.getTargetException() instanceof IllegalStateException);
+    }
+  }
+}
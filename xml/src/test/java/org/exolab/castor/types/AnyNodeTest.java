@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.exolab.castor.xml.util.SAX2ANY;
+import org.junit.Test;
+import org.xml.sax.helpers.AttributesImpl;
+
+public class AnyNodeTest {
+
+  @Test
+  public void testAddChildKeepsOrder() {
+    AnyNode root = new AnyNode(AnyNode.ELEMENT, "root", null, null, null);
+    for (int i = 0; i < 1000; i++) {
+      root.addChild(new AnyNode(AnyNode.ELEMENT, "e" + i, null, null, null));
+      if (i == 10) {
+        // children are moved below the attribute
+        root.addAttribute(new AnyNode(AnyNode.ATTRIBUTE, "a", null, null, "v"));
+      }
+    }
+    root.addChild(new AnyNode(AnyNode.TEXT, null, null, null, "x"));
+    root.addChild(new AnyNode(AnyNode.TEXT, null, null, null, "y"));
+
+    assertEquals("a", root.getFirstAttribute().getLocalName());
+    AnyNode child = root.getFirstChild();
+    for (int i = 0; i < 1000; i++) {
+      assertEquals("e" + i, child.getLocalName());
+      child = child.getNextSibling();
+    }
+    assertEquals(AnyNode.TEXT, child.getNodeType());
+    assertEquals("xy", child.getStringValue());
+    assertNull(child.getNextSibling());
+  }
+
+  @Test
+  public void testAppendSiblingKeepsOrder() {
+    AnyNode root = new AnyNode(AnyNode.ELEMENT, "root", null, null, null);
+    for (int i = 0; i < 1000; i++) {
+      root.addAttribute(new AnyNode(AnyNode.ATTRIBUTE, "a" + i, null, null, "v"));
+    }
+    AnyNode first = root.getFirstAttribute();
+    // -- linking through another node of the chain must not confuse the first node's tail
+    first.getNextSibling().appendSibling(new AnyNode(AnyNode.ATTRIBUTE, "b", null, null, "v"));
+    first.appendSibling(new AnyNode(AnyNode.ATTRIBUTE, "c", null, null, "v"));
+
+    AnyNode attribute = first;
+    for (int i = 0; i < 1000; i++) {
+      assertEquals("a" + i, attribute.getLocalName());
+      attribute = attribute.getNextSibling();
+    }
+    assertEquals("b", attribute.getLocalName());
+    assertEquals("c", attribute.getNextSibling().getLocalName());
+    assertNull(attribute.getNextSibling().getNextSibling());
+  }
+
+  @Test
+  public void testSAX2ANY() throws Exception {
+    SAX2ANY handler = new SAX2ANY();
+    char[] text = "<ab cd>".toCharArray();
+    handler.startElement("", "root", "root", new AttributesImpl());
+    handler.startElement("", "item", "item", new AttributesImpl());
+    handler.characters(text, 0, 3);
+    handler.characters(text, 3, 4);
+    handler.endElement("", "item", "item");
+    handler.startElement("", new String("item"), "item", new AttributesImpl());
+    handler.endElement("", "item", "item");
+    handler.endElement("", "root", "root");
+
+    AnyNode root = handler.getStartingNode();
+    AnyNode first = root.getFirstChild();
+    assertEquals("<ab cd>", first.getFirstChild().getStringValue());
+    assertNull(first.getFirstChild().getNextSibling());
+    assertSame(first.getLocalName(), first.getNextSibling().getLocalName());
+    assertEquals("<root><item>&lt;ab cd&gt;</item><item/></root>",
+        root.toString().replaceFirst("^<\\?xml[^>]*>\\s*", ""));
+  }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.text.SimpleDateFormat;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+/**
+ * Test case for {@link DateTimeCodec}.
+ */
+public class DateTimeCodecTest {
+
+  @Test
+  public void testAppendDateTimeMatchesSimpleDateFormat() {
+    TimeZone zone = TimeZone.getTimeZone("America/New_York");
+    SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS");
+    format.setTimeZone(zone);
+    long[] times = {0L, 1709633472005L, -30610224000000L, 253402300799999L};
+    for (long time : times) {
+      java.util.Date date = new java.util.Date(time);
+      StringBuilder buffer = new StringBuilder();
+      DateTimeCodec.appendDateTime(buffer, DateTimeCodec.getCalendar(date, zone), true);
+      assertEquals(format.format(date), buffer.toString());
+    }
+  }
+
+  @Test
+  public void testParseCharSequenceToDate() throws Exception {
+    StringBuilder value = new StringBuilder("2024-03-05T10:11:12.345+02:00");
+    DateTime dateTime = DateTime.parseDateTime(value);
+    assertEquals(value.toString(), dateTime.toString());
+    assertEquals(1709626272345L, dateTime.toLong());
+    assertSame(DateTimeCodec.getTimeZone(7200000), DateTimeCodec.getTimeZone(dateTime));
+  }
+}
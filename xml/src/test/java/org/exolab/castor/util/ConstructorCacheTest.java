@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.castor.test.entity.Part;
+import org.junit.Test;
+
+/**
+ * Test case for {@link ConstructorCache}.
+ */
+public class ConstructorCacheTest {
+
+  @Test
+  public void testNewInstance() throws Exception {
+    assertTrue(ConstructorCache.newInstance(Part.class) instanceof Part);
+    assertTrue(ConstructorCache.newInstance(ArrayList.class) instanceof ArrayList);
+  }
+
+  @Test(expected = InstantiationException.class)
+  public void testNewInstanceOfInterface() throws Exception {
+    ConstructorCache.newInstance(List.class);
+  }
+
+  @Test
+  public void testNewInstanceOfNonPublicClass() throws Exception {
+    assertTrue(ConstructorCache.newInstance(Hidden.class) instanceof Hidden);
+  }
+
+  @Test(expected = InstantiationException.class)
+  public void testNewInstanceWithoutDefaultConstructor() throws Exception {
+    ConstructorCache.newInstance(Named.class);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNewInstanceReportsConstructorFailure() throws Exception {
+    ConstructorCache.newInstance(Failing.class);
+  }
+
+  @Test
+  public void testGetConstructor() throws Exception {
+    Class<?>[] argTypes = {int.class};
+    assertSame(ConstructorCache.getConstructor(ArrayList.class, argTypes),
+        ConstructorCache.getConstructor(ArrayList.class, argTypes));
+    assertEquals(ArrayList.class.getConstructor(argTypes),
+        ConstructorCache.getConstructor(ArrayList.class, argTypes));
+  }
+
+  /** A class whose default constructor is not publicly reachable. */
+  static class Hidden {
+    // -- default constructor only
+  }
+
+  /** A class without a default constructor. */
+  static class Named {
+    Named(final String name) {
+      // -- nothing to keep
+    }
+  }
+
+  /** A class whose default constructor fails. */
+  static class Failing {
+    Failing() {
+      throw new IllegalArgumentException("failing");
+    }
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.util;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Test case for {@link XMLSchemaRegExpEvaluator}.
+ */
+public class XMLSchemaRegExpEvaluatorTest {
+
+  private static boolean matches(final String expression, final String value) {
+    XMLSchemaRegExpEvaluator evaluator = new XMLSchemaRegExpEvaluator();
+    evaluator.setExpression(expression);
+    return evaluator.matches(value);
+  }
+
+  @Test
+  public void expressionsAreAnchored() {
+    assertTrue(matches("[0-9]{3}", "123"));
+    assertFalse(matches("[0-9]{3}", "1234"));
+    assertFalse(matches("[0-9]{3}", "x123"));
+  }
+
+  @Test
+  public void caretAndDollarAreLiterals() {
+    assertTrue(matches("^a$", "^a$"));
+    assertFalse(matches("^a$", "a"));
+    assertTrue(matches("[^a]", "b"));
+  }
+
+  @Test
+  public void dotDoesNotMatchLineBreaks() {
+    assertTrue(matches("a.c", "a\u2028c"));
+    assertFalse(matches("a.c", "a\nc"));
+  }
+
+  @Test
+  public void multiCharacterEscapes() {
+    assertTrue(matches("\\d+", "\u0661\u0662"));
+    assertTrue(matches("\\s", "\t"));
+    assertFalse(matches("\\s", "\f"));
+    assertTrue(matches("\\i\\c*", "_name-1.x"));
+    assertFalse(matches("\\i\\c*", "1name"));
+    assertTrue(matches("[\\i-]+", "a-b"));
+  }
+
+  @Test
+  public void blockEscapes() {
+    assertTrue(matches("\\p{IsBasicLatin}+", "abc"));
+    assertFalse(matches("\\p{IsBasicLatin}+", "\u00e9"));
+    assertTrue(matches("\\p{Lu}", "A"));
+  }
+
+  @Test
+  public void classSubtraction() {
+    assertTrue(matches("[a-z-[aeiou]]+", "bcd"));
+    assertFalse(matches("[a-z-[aeiou]]+", "bad"));
+    assertTrue(matches("[a-z-[^aeiou]]+", "aei"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidExpression() {
+    matches("[a-", "a");
+  }
+}
@@ -30,6 +30,7 @@ import java.util.Map;
 import org.castor.test.entity.CastorObject;
 import org.castor.test.entity.Email;
 import org.castor.test.entity.Emails;
+import org.castor.test.entity.Part;
 import org.custommonkey.xmlunit.NamespaceContext;
 import org.custommonkey.xmlunit.SimpleNamespaceContext;
 import org.custommonkey.xmlunit.XMLUnit;
@@ -122,6 +123,12 @@ public abstract class BaseMarshallerTest {
           + " xsi:type=\"java:org.castor.test.entity.CastorObject\">"
           + "<name>test</name><value>8</value></castor-object></objects>";
 
+  /**
+   * Represents the expected result for nested parts.
+   */
+  private static final String PART_EXPECTED_STRING = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+      + "<part><name>outer</name><part><name>inner</name></part></part>";
+
   /**
    * <p>
    * Represents the path to mapping file.
@@ -369,6 +376,37 @@ public abstract class BaseMarshallerTest {
         result.contains("<?xml-stylesheet href=\"email.xsl\"?>"));
   }
 
+  /**
+   * Tests that an object referring back to one of its ancestors is not marshalled again.
+   *
+   * @throws Exception in case of marshal problems
+   */
+  @Test
+  public void testCyclicReference() throws Exception {
+    Part inner = createPart("inner", null);
+    Part outer = createPart("outer", inner);
+    inner.setPart(outer);
+
+    String result = marshal(new XMLContext().createMarshaller(), outer);
+    assertXMLEqual("Marshaller wrote invalid result", PART_EXPECTED_STRING, result);
+  }
+
+  /**
+   * Tests the Marshaller when the {@link Marshaller#setAssumeAcyclic(boolean)} is set to
+   * <code>true</code>.
+   *
+   * @throws Exception in case of marshal problems
+   */
+  @Test
+  public void testAssumeAcyclic() throws Exception {
+    Part outer = createPart("outer", createPart("inner", null));
+
+    Marshaller marshaller = new XMLContext().createMarshaller();
+    marshaller.setAssumeAcyclic(true);
+    String result = marshal(marshaller, outer);
+    assertXMLEqual("Marshaller wrote invalid result", PART_EXPECTED_STRING, result);
+  }
+
   /**
    * Asserts the values of xpath expression evaluation is exactly the same as expected value.
    * </p>
@@ -409,6 +447,20 @@ public abstract class BaseMarshallerTest {
     return castorObject;
   }
 
+  /**
+   * Creates a instance of {@link Part} for testing.
+   *
+   * @param name the part name
+   * @param part the nested part
+   * @return a instance of {@link Part}
+   */
+  private Part createPart(String name, Part part) {
+    Part result = new Part();
+    result.setName(name);
+    result.setPart(part);
+    return result;
+  }
+
   /**
    * Marshals the given object.
    *
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.xml;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.castor.core.util.Base64Encoder;
+import org.castor.core.util.HexDecoder;
+import org.junit.Test;
+
+/**
+ * Test case for {@link BinaryContentDecoder}, which must decode text split at any point like the
+ * decoders of the whole text do.
+ */
+public class BinaryContentDecoderTest {
+
+  @Test
+  public void testBase64SplitAnywhere() {
+    byte[] content = createContent(10001);
+    String text = wrapLines(new String(Base64Encoder.encode(content)));
+
+    assertArrayEquals(content, decode(text, false, 1));
+    assertArrayEquals(content, decode(text, false, 7));
+    assertArrayEquals(content, decode(text, false, 5000));
+    assertArrayEquals(content, decode(text, false, text.length()));
+  }
+
+  @Test
+  public void testHexSplitAnywhere() {
+    byte[] content = createContent(5001);
+    String text = wrapLines(HexDecoder.encode(content));
+
+    assertArrayEquals(content, decode(text, true, 1));
+    assertArrayEquals(content, decode(text, true, 9));
+    assertArrayEquals(content, decode(text, true, text.length()));
+  }
+
+  @Test
+  public void testBase64IgnoresTextAfterPadding() {
+    assertArrayEquals(new byte[] {1, 2}, decode("AQI=\nAQID", false, 3));
+  }
+
+  @Test
+  public void testWhitespaceOnly() {
+    BinaryContentDecoder decoder = new BinaryContentDecoder(false);
+    decoder.append(" \n\t ".toCharArray(), 0, 4);
+    assertFalse(decoder.hasContent());
+    assertEquals(0, ((byte[]) decoder.toBinaryValue(byte[].class)).length);
+  }
+
+  @Test
+  public void testBinaryTypes() throws Exception {
+    BinaryContentDecoder decoder = new BinaryContentDecoder(false);
+    decoder.append("AQID".toCharArray(), 0, 4);
+    assertTrue(decoder.hasContent());
+
+    ByteBuffer buffer = (ByteBuffer) decoder.toBinaryValue(ByteBuffer.class);
+    assertEquals(ByteBuffer.wrap(new byte[] {1, 2, 3}), buffer);
+    assertEquals(3, buffer.capacity());
+
+    InputStream in = (InputStream) decoder.toBinaryValue(InputStream.class);
+    byte[] read = new byte[4];
+    assertEquals(3, in.read(read));
+    assertArrayEquals(new byte[] {1, 2, 3, 0}, read);
+  }
+
+  /**
+   * Decodes the given text, passed to the decoder in parts of the given length.
+   *
+   * @param text the text to decode
+   * @param hex true for hexBinary, false for base64
+   * @param part the number of characters passed at once
+   * @return the decoded bytes
+   */
+  private byte[] decode(final String text, final boolean hex, final int part) {
+    BinaryContentDecoder decoder = new BinaryContentDecoder(hex);
+    char[] chars = text.toCharArray();
+    for (int start = 0; start < chars.length; start += part) {
+      decoder.append(chars, start, Math.min(part, chars.length - start));
+    }
+    return (byte[]) decoder.toBinaryValue(byte[].class);
+  }
+
+  private byte[] createContent(final int length) {
+    byte[] content = new byte[length];
+    new Random(11).nextBytes(content);
+    return content;
+  }
+
+  /**
+   * Breaks the given text into indented lines of 76 characters.
+   *
+   * @param text the text to break
+   * @return the text broken into lines
+   */
+  private String wrapLines(final String text) {
+    StringBuilder lines = new StringBuilder();
+    for (int start = 0; start < text.length(); start += 76) {
+      lines.append("\n  ").append(text, start, Math.min(start + 76, text.length()));
+    }
+    return lines.append('\n').toString();
+  }
+}
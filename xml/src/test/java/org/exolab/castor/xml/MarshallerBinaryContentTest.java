@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.xml;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.castor.core.util.Base64Encoder;
+import org.castor.test.entity.Attachment;
+import org.castor.xml.XMLProperties;
+import org.exolab.castor.mapping.Mapping;
+import org.junit.Test;
+import org.xml.sax.InputSource;
+
+/**
+ * Tests marshalling and unmarshalling of base64 encoded content held as <code>byte[]</code>,
+ * {@link ByteBuffer} and {@link InputStream}.
+ */
+public class MarshallerBinaryContentTest {
+
+  /**
+   * Tests that content spanning several encoding windows is written and read back unchanged.
+   *
+   * @throws Exception in case of marshal or unmarshal problems
+   */
+  @Test
+  public void testRoundTrip() throws Exception {
+    byte[] content = new byte[10000];
+    new Random(7).nextBytes(content);
+
+    Attachment attachment = new Attachment();
+    attachment.setData(content);
+    attachment.setBuffer(ByteBuffer.wrap(content, 1, content.length - 1));
+    attachment.setStream(new ByteArrayInputStream(content, 2, content.length - 2));
+
+    XMLContext xmlContext = new XMLContext();
+    xmlContext.setProperty(XMLProperties.INTROSPECT_BINARY_PROPERTIES, true);
+    StringWriter out = new StringWriter();
+    Marshaller marshaller = xmlContext.createMarshaller();
+    marshaller.setWriter(out);
+    marshaller.marshal(attachment);
+
+    String encoded = new String(Base64Encoder.encode(content));
+    assertTrue(out.toString().contains(encoded));
+
+    Unmarshaller unmarshaller = xmlContext.createUnmarshaller();
+    unmarshaller.setClass(Attachment.class);
+    Attachment result = (Attachment) unmarshaller.unmarshal(new StringReader(out.toString()));
+
+    assertArrayEquals(content, result.getData());
+    ByteBuffer buffer = result.getBuffer();
+    assertEquals(content.length - 1, buffer.remaining());
+    assertEquals(ByteBuffer.wrap(content, 1, content.length - 1), buffer);
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    InputStream in = result.getStream();
+    for (int b = in.read(); b >= 0; b = in.read()) {
+      stream.write(b);
+    }
+    assertEquals(content.length - 2, stream.size());
+    assertEquals(ByteBuffer.wrap(content, 2, content.length - 2),
+        ByteBuffer.wrap(stream.toByteArray()));
+  }
+
+  /**
+   * Tests that binary text content of a mapped class, decoded while it is read, is read back
+   * unchanged.
+   *
+   * @throws Exception in case of mapping, marshal or unmarshal problems
+   */
+  @Test
+  public void testTextContentRoundTrip() throws Exception {
+    byte[] content = new byte[10000];
+    new Random(9).nextBytes(content);
+
+    Mapping mapping = new Mapping();
+    mapping.loadMapping(new InputSource(new StringReader("<mapping>"
+        + "<class name=\"org.castor.test.entity.Attachment\"><map-to xml=\"attachment\"/>"
+        + "<field name=\"buffer\" type=\"java.nio.ByteBuffer\">"
+        + "<bind-xml node=\"text\" type=\"base64Binary\"/></field>"
+        + "</class></mapping>")));
+    XMLContext xmlContext = new XMLContext();
+    xmlContext.addMapping(mapping);
+
+    Attachment attachment = new Attachment();
+    attachment.setBuffer(ByteBuffer.wrap(content));
+    StringWriter out = new StringWriter();
+    Marshaller marshaller = xmlContext.createMarshaller();
+    marshaller.setWriter(out);
+    marshaller.marshal(attachment);
+    String encoded = new String(Base64Encoder.encode(content));
+    assertTrue(out.toString().contains(">" + encoded + "</attachment>"));
+
+    Unmarshaller unmarshaller = xmlContext.createUnmarshaller();
+    unmarshaller.setClass(Attachment.class);
+    Attachment result = (Attachment) unmarshaller.unmarshal(new StringReader(out.toString()));
+    assertEquals(ByteBuffer.wrap(content), result.getBuffer());
+  }
+
+  /**
+   * Tests that without binary properties enabled an introspected InputStream property is marshalled
+   * as before, and that the stream is not read.
+   *
+   * @throws Exception in case of marshal problems
+   */
+  @Test
+  public void testStreamPropertyNotBinaryByDefault() throws Exception {
+    Attachment attachment = new Attachment();
+    attachment.setData(new byte[] {1, 2, 3});
+    ByteArrayInputStream stream = new ByteArrayInputStream(new byte[] {4, 5, 6});
+    attachment.setStream(stream);
+
+    StringWriter out = new StringWriter();
+    Marshaller marshaller = new XMLContext().createMarshaller();
+    marshaller.setWriter(out);
+    marshaller.marshal(attachment);
+
+    String xml = out.toString();
+    assertEquals("<attachment><data>AQID</data>"
+        + "<stream xsi:type=\"java:java.io.ByteArrayInputStream\""
+        + " xmlns:java=\"http://java.sun.com\""
+        + " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"/></attachment>",
+        xml.substring(xml.indexOf("<attachment>")).trim());
+    assertEquals(3, stream.available());
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.StringWriter;
+
+import org.castor.test.entity.Email;
+import org.castor.test.entity.Emails;
+import org.castor.xml.XMLProperties;
+import org.exolab.castor.mapping.Mapping;
+import org.junit.Test;
+import org.xml.sax.InputSource;
+
+/**
+ * Tests the {@link Marshaller} class when validating inline, while marshalling.
+ */
+public class MarshallerInlineValidationTest extends BaseMarshallerTest {
+
+  @Override
+  protected String marshal(Marshaller marshaller, Object object) throws Exception {
+    marshaller.setProperty(XMLProperties.MARSHALLING_VALIDATION_MODE, "inline");
+
+    StringWriter writer = new StringWriter();
+    marshaller.setWriter(writer);
+    marshaller.marshal(object);
+
+    return writer.toString();
+  }
+
+  /**
+   * Tests that a missing required field of a nested object is reported, and that nothing is
+   * written to the Writer in that case.
+   */
+  @Test
+  public void testInvalidNestedObject() throws Exception {
+    Mapping mapping = new Mapping();
+    mapping.loadMapping(new InputSource(
+        getClass().getResourceAsStream("/org/castor/test/entity/mapping-email.xml")));
+    XMLContext xmlContext = new XMLContext();
+    xmlContext.addMapping(mapping);
+
+    Email email = new Email();
+    email.setFrom("from@castor.org");
+    Emails emails = new Emails();
+    emails.setEmail(new Email[] {email});
+
+    StringWriter writer = new StringWriter();
+    Marshaller marshaller = xmlContext.createMarshaller();
+    marshaller.setProperty(XMLProperties.MARSHALLING_VALIDATION_MODE, "inline");
+    marshaller.setWriter(writer);
+    try {
+      marshaller.marshal(emails);
+      fail("ValidationException expected");
+    } catch (ValidationException e) {
+      assertEquals("", writer.toString());
+    }
+
+    email.setTo("to@castor.org");
+    marshaller.marshal(emails);
+    assertEquals(true, writer.toString().contains("<tns:to>to@castor.org</tns:to>"));
+  }
+}
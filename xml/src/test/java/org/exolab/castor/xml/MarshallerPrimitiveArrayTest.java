@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.xml;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Random;
+
+import org.castor.test.entity.Series;
+import org.exolab.castor.mapping.loader.CollectionHandlers;
+import org.exolab.castor.mapping.loader.collection.handler.IntArrayCollectionHandler;
+import org.exolab.castor.mapping.loader.collection.handler.PrimitiveArrayCollectionHandler;
+import org.junit.Test;
+
+/**
+ * Tests marshalling and unmarshalling of <code>int[]</code>, <code>long[]</code> and
+ * <code>double[]</code> fields through their dedicated collection handlers.
+ */
+public class MarshallerPrimitiveArrayTest {
+
+  /**
+   * Tests that the values of arrays of primitives are written and read back unchanged.
+   *
+   * @throws Exception in case of marshal or unmarshal problems
+   */
+  @Test
+  public void testRoundTrip() throws Exception {
+    Random random = new Random(11);
+    Series series = new Series();
+    series.setCounts(new int[1000]);
+    series.setTimes(new long[1000]);
+    series.setValues(new double[1000]);
+    for (int i = 0; i < 1000; i++) {
+      series.getCounts()[i] = random.nextInt();
+      series.getTimes()[i] = random.nextLong();
+      series.getValues()[i] = random.nextDouble();
+    }
+
+    XMLContext xmlContext = new XMLContext();
+    StringWriter out = new StringWriter();
+    Marshaller marshaller = xmlContext.createMarshaller();
+    marshaller.setWriter(out);
+    marshaller.marshal(series);
+
+    Unmarshaller unmarshaller = xmlContext.createUnmarshaller();
+    unmarshaller.setClass(Series.class);
+    Series result = (Series) unmarshaller.unmarshal(new StringReader(out.toString()));
+
+    assertArrayEquals(series.getCounts(), result.getCounts());
+    assertArrayEquals(series.getTimes(), result.getTimes());
+    assertArrayEquals(series.getValues(), result.getValues(), 0);
+  }
+
+  /**
+   * Tests adding single values, whole arrays and accumulated values to an <code>int[]</code>.
+   *
+   * @throws Exception if no collection handler is found
+   */
+  @Test
+  public void testIntArrayHandler() throws Exception {
+    assertTrue(CollectionHandlers.getHandler(int[].class) instanceof IntArrayCollectionHandler);
+
+    IntArrayCollectionHandler handler = new IntArrayCollectionHandler();
+    Object array = handler.add(null, 1);
+    array = handler.add(array, 2);
+    PrimitiveArrayCollectionHandler<Integer>.Buffer buffer = handler.newBuffer();
+    for (int i = 3; i <= 100; i++) {
+      buffer.add(i);
+    }
+    assertEquals(98, buffer.size());
+    array = handler.addElements(array, buffer.toArray());
+    assertEquals(100, handler.size(array));
+    for (int i = 0; i < 100; i++) {
+      assertEquals(i + 1, ((int[]) array)[i]);
+    }
+
+    StringBuilder text = new StringBuilder();
+    handler.appendElements(text, new int[] {1, -2, 3});
+    assertEquals("1 -2 3", text.toString());
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.xml;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.StringWriter;
+
+import javax.xml.transform.stream.StreamResult;
+
+import org.castor.xml.XMLProperties;
+import org.junit.Test;
+import org.xml.sax.DocumentHandler;
+import org.xml.sax.helpers.AttributeListImpl;
+
+/**
+ * Tests the {@link Marshaller} class when writing through the {@link StreamingSerializer}.
+ */
+public class MarshallerStreamingSerializerTest extends BaseMarshallerTest {
+
+  @Override
+  protected String marshal(Marshaller marshaller, Object object) throws Exception {
+    marshaller.setProperty(XMLProperties.SERIALIZER_FACTORY,
+        StreamingXMLSerializerFactory.class.getName());
+
+    StringWriter writer = new StringWriter();
+    marshaller.setResult(new StreamResult(writer));
+    marshaller.marshal(object);
+
+    return writer.toString();
+  }
+
+  /**
+   * Tests escaping of text and attribute values, and the encoding specific use of character
+   * references.
+   */
+  @Test
+  public void testEscaping() throws Exception {
+    StreamingOutputFormat format = new StreamingOutputFormat();
+    format.setEncoding("ISO-8859-1");
+    format.setOmitXMLDeclaration(true);
+
+    StreamingSerializer serializer = new StreamingSerializer();
+    serializer.setOutputFormat(format);
+    StringWriter writer = new StringWriter();
+    serializer.setOutputCharStream(writer);
+
+    DocumentHandler handler = serializer.asDocumentHandler();
+    AttributeListImpl atts = new AttributeListImpl();
+    atts.addAttribute("a", "CDATA", "\"<>&\n");
+    handler.startDocument();
+    handler.startElement("root", atts);
+    char[] text = "<>&\"\u00e9\u20ac".toCharArray();
+    handler.characters(text, 0, text.length);
+    handler.startElement("empty", new AttributeListImpl());
+    handler.endElement("empty");
+    handler.endElement("root");
+    handler.endDocument();
+
+    assertEquals("<root a=\"&quot;&lt;>&amp;&#xa;\">&lt;&gt;&amp;\"\u00e9&#x20ac;<empty/></root>",
+        writer.toString());
+  }
+
+  /**
+   * Tests that two document handlers obtained from one serializer write independently.
+   */
+  @Test
+  public void testHandlersDoNotShareBuffer() throws Exception {
+    StreamingOutputFormat format = new StreamingOutputFormat();
+    format.setOmitXMLDeclaration(true);
+
+    StreamingSerializer serializer = new StreamingSerializer();
+    serializer.setOutputFormat(format);
+    StringWriter first = new StringWriter();
+    serializer.setOutputCharStream(first);
+    DocumentHandler firstHandler = serializer.asDocumentHandler();
+    StringWriter second = new StringWriter();
+    serializer.setOutputCharStream(second);
+    DocumentHandler secondHandler = serializer.asDocumentHandler();
+
+    firstHandler.startDocument();
+    secondHandler.startDocument();
+    firstHandler.startElement("first", new AttributeListImpl());
+    secondHandler.startElement("second", new AttributeListImpl());
+    char[] text = "one".toCharArray();
+    firstHandler.characters(text, 0, text.length);
+    text = "two".toCharArray();
+    secondHandler.characters(text, 0, text.length);
+    secondHandler.endElement("second");
+    firstHandler.endElement("first");
+    secondHandler.endDocument();
+    firstHandler.endDocument();
+
+    assertEquals("<first>one</first>", first.toString());
+    assertEquals("<second>two</second>", second.toString());
+  }
+
+  /**
+   * Tests the indented output.
+   */
+  @Test
+  public void testIndenting() throws Exception {
+    StreamingOutputFormat format = new StreamingOutputFormat();
+    format.setIndenting(true);
+
+    StreamingSerializer serializer = new StreamingSerializer();
+    serializer.setOutputFormat(format);
+    StringWriter writer = new StringWriter();
+    serializer.setOutputCharStream(writer);
+
+    DocumentHandler handler = serializer.asDocumentHandler();
+    handler.startDocument();
+    handler.startElement("a", new AttributeListImpl());
+    handler.startElement("b", new AttributeListImpl());
+    handler.characters("x".toCharArray(), 0, 1);
+    handler.endElement("b");
+    handler.startElement("c", new AttributeListImpl());
+    handler.startElement("d", new AttributeListImpl());
+    handler.endElement("d");
+    handler.endElement("c");
+    handler.endElement("a");
+    handler.endDocument();
+
+    assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" + "<a>\n" + "    <b>x</b>\n"
+        + "    <c>\n" + "        <d/>\n" + "    </c>\n" + "</a>\n", writer.toString());
+  }
+}
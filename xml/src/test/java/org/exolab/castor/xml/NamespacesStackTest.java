@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+/**
+ * Test case for {@link NamespacesStack}.
+ */
+public class NamespacesStackTest {
+
+  @Test
+  public void testScopes() {
+    NamespacesStack stack = new NamespacesStack();
+    assertNull(stack.getNamespaceURI("a"));
+
+    stack.addNamespace("a", "urn:a");
+    stack.addDefaultNamespace("urn:default");
+    stack.addNewNamespaceScope();
+    stack.addNewNamespaceScope();
+    assertEquals("urn:a", stack.getNamespaceURI("a"));
+    assertEquals("a", stack.getNamespacePrefix("urn:a"));
+    assertEquals("", stack.getNamespacePrefix("urn:default"));
+    assertNull(stack.getNonDefaultNamespacePrefix("urn:default"));
+    assertEquals(Namespaces.XML_NAMESPACE, stack.getNamespaceURI(Namespaces.XML_NAMESPACE_PREFIX));
+
+    stack.addNamespace("b", "urn:a");
+    stack.addNamespace("a", "urn:other");
+    assertEquals("urn:other", stack.getNamespaceURI("a"));
+    assertEquals("b", stack.getNamespacePrefix("urn:a"));
+    assertEquals(Arrays.asList("b", "a"), Collections.list(stack.getLocalNamespacePrefixes()));
+
+    stack.removeNamespace("b");
+    assertEquals("urn:other", stack.getNamespaceURI("a"));
+    assertNull(stack.getNamespaceURI("b"));
+
+    stack.removeNamespaceScope();
+    assertEquals("urn:a", stack.getNamespaceURI("a"));
+    assertEquals("a", stack.getNamespacePrefix("urn:a"));
+    assertEquals(2, stack.getNamespaceScopeCount());
+
+    stack.removeNamespaceScope();
+    stack.removeNamespaceScope();
+    assertEquals(0, stack.getNamespaceScopeCount());
+    assertNull(stack.getNamespacePrefix("urn:a"));
+  }
+}
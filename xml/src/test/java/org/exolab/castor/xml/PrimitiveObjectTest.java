@@ -289,4 +289,34 @@ public class PrimitiveObjectTest {
     Assert.assertEquals(string, value);
   }
 
+  @Test
+  public void testPrimitiveFromCharSequence() {
+    PrimitiveObjectFactory factory = PrimitiveObjectFactory.getInstance();
+    Assert.assertEquals(Integer.valueOf(42), factory.getObject(Integer.TYPE, chars(" 42\n")));
+    Assert.assertEquals(Integer.valueOf(7), factory.getObject(Integer.class, chars("+7")));
+    Assert.assertEquals(Integer.valueOf(0), factory.getObject(Integer.class, chars("  ")));
+    Assert.assertEquals(Integer.valueOf(Integer.MIN_VALUE),
+        factory.getObject(Integer.TYPE, chars("-2147483648")));
+    Assert.assertEquals(Long.valueOf(Long.MAX_VALUE),
+        factory.getObject(Long.TYPE, chars("9223372036854775807")));
+    Assert.assertEquals(Short.valueOf((short) -45), factory.getObject(Short.TYPE, chars("-45")));
+    Assert.assertEquals(Byte.valueOf((byte) 12), factory.getObject(Byte.TYPE, chars("12")));
+    Assert.assertEquals(Boolean.TRUE, factory.getObject(Boolean.TYPE, chars(" true ")));
+    Assert.assertEquals(Boolean.TRUE, factory.getObject(Boolean.TYPE, chars("TRUE")));
+    Assert.assertEquals(Boolean.FALSE, factory.getObject(Boolean.class, chars("0")));
+    Assert.assertEquals(Double.valueOf(1.5), factory.getObject(Double.TYPE, chars("1.5")));
+    Assert.assertEquals(" a ", factory.getObject(String.class, chars(" a ")));
+    Assert.assertEquals(Integer.valueOf(0), factory.getObject(Integer.TYPE, (CharSequence) null));
+    try {
+      factory.getObject(Integer.TYPE, chars("2147483648"));
+      Assert.fail("Expected a NumberFormatException");
+    } catch (NumberFormatException e) {
+      // expected, as for Integer.parseInt
+    }
+  }
+
+  private static CharSequence chars(final String value) {
+    return new StringBuilder(value);
+  }
+
 }
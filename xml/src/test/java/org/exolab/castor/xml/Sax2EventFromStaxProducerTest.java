@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
+import java.util.Arrays;
 
 import javax.xml.stream.FactoryConfigurationError;
 import javax.xml.stream.XMLEventReader;
@@ -33,6 +34,7 @@ import org.xml.sax.ContentHandler;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.XMLFilterImpl;
 import org.xml.sax.helpers.XMLReaderFactory;
 
 /**
@@ -155,11 +157,35 @@ public class Sax2EventFromStaxProducerTest {
     parseWithSax(sample, recorder);
 
     producer = getSax2EventFromStaxStreamProducer(sample);
-    producer.setContentHandler(contentMock);
+    producer.setContentHandler(copyingCharacters(contentMock));
 
     compareMethodInvocations(contentMock, producer);
   }
 
+  /**
+   * Wraps the given {@link ContentHandler} so that character events are passed on as a copy of
+   * the reported range. The stream producer hands out the reader's own buffer, with an offset,
+   * whereas the recorded SAX events are always a copy starting at offset 0.
+   * 
+   * @param handler the {@link ContentHandler} to pass the events on to
+   * @return the wrapping {@link ContentHandler}
+   */
+  private ContentHandler copyingCharacters(ContentHandler handler) {
+    XMLFilterImpl filter = new XMLFilterImpl() {
+      @Override
+      public void characters(char[] ch, int start, int length) throws SAXException {
+        super.characters(Arrays.copyOfRange(ch, start, start + length), 0, length);
+      }
+
+      @Override
+      public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+        super.ignorableWhitespace(Arrays.copyOfRange(ch, start, start + length), 0, length);
+      }
+    };
+    filter.setContentHandler(handler);
+    return filter;
+  }
+
   /**
    * runs executeTest with a sample XML in which there are two attributes within a single element
    * 
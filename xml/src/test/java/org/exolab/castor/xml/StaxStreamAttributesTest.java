@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.StringReader;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link StaxStreamAttributes} view of the attributes of an {@link XMLStreamReader}.
+ */
+public class StaxStreamAttributesTest {
+
+  /**
+   * Tests the lookup of attributes by index, by qualified name and by namespace and local name.
+   */
+  @Test
+  public void testLookup() throws Exception {
+    XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(
+        new StringReader("<a xmlns:p=\"urn:p\" x=\"1\" p:y=\"2\"/>"));
+    reader.nextTag();
+    StaxStreamAttributes atts = new StaxStreamAttributes(reader);
+
+    assertEquals(2, atts.getLength());
+    assertEquals("x", atts.getQName(0));
+    assertEquals("", atts.getURI(0));
+    assertEquals("p:y", atts.getQName(1));
+    assertEquals("urn:p", atts.getURI(1));
+    assertEquals("y", atts.getLocalName(1));
+    assertEquals("CDATA", atts.getType(1));
+
+    assertEquals("1", atts.getValue("x"));
+    assertEquals("2", atts.getValue("p:y"));
+    assertEquals("2", atts.getValue("urn:p", "y"));
+    assertEquals(-1, atts.getIndex("y"));
+    assertEquals(-1, atts.getIndex("q:y"));
+    assertNull(atts.getValue("", "y"));
+    assertNull(atts.getValue(2));
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.xml.stream.XMLInputFactory;
+
+import org.castor.test.entity.Email;
+import org.castor.test.entity.Part;
+import org.exolab.castor.mapping.Mapping;
+import org.junit.Test;
+import org.xml.sax.InputSource;
+
+/**
+ * Tests {@link Unmarshaller#iterate(javax.xml.stream.XMLStreamReader, Class, String)} and
+ * {@link Unmarshaller#iterate(InputSource, Class, String)}.
+ */
+public class UnmarshallerIterateTest {
+
+  /**
+   * Represents a document with repeating elements, whose namespace is declared on the root.
+   */
+  private static final String EMAILS = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+      + "<tns:emails xmlns:tns=\"http://castor.org/email\">"
+      + "<tns:email><tns:from>a@castor.org</tns:from><tns:to>b@castor.org</tns:to></tns:email>"
+      + "<other/>"
+      + "<tns:email><tns:from>c@castor.org</tns:from><tns:to>d@castor.org</tns:to></tns:email>"
+      + "</tns:emails>";
+
+  /**
+   * Tests iterating over mapped elements.
+   *
+   * @throws Exception in case of unmarshal problems
+   */
+  @Test
+  public void testIterateMapped() throws Exception {
+    Mapping mapping = new Mapping();
+    mapping.loadMapping(new InputSource(
+        getClass().getResourceAsStream("/org/castor/test/entity/mapping-email.xml")));
+    XMLContext xmlContext = new XMLContext();
+    xmlContext.addMapping(mapping);
+
+    Iterator<Email> emails = xmlContext.createUnmarshaller()
+        .iterate(new InputSource(new StringReader(EMAILS)), Email.class, "email");
+
+    assertTrue(emails.hasNext());
+    Email email = emails.next();
+    assertEquals("a@castor.org", email.getFrom());
+    assertEquals("b@castor.org", email.getTo());
+    email = emails.next();
+    assertEquals("c@castor.org", email.getFrom());
+    assertEquals("d@castor.org", email.getTo());
+    assertFalse(emails.hasNext());
+  }
+
+  /**
+   * Tests that matching elements nested in a matching element are unmarshalled as part of it.
+   *
+   * @throws Exception in case of unmarshal problems
+   */
+  @Test(expected = NoSuchElementException.class)
+  public void testIterateNested() throws Exception {
+    String xml = "<parts><part><name>a</name><part><name>b</name></part></part>"
+        + "<part><name>c</name></part></parts>";
+
+    Iterator<Part> parts = new XMLContext().createUnmarshaller().iterate(
+        XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(xml)), Part.class,
+        "part");
+
+    Part part = parts.next();
+    assertEquals("a", part.getName());
+    assertEquals("b", part.getPart().getName());
+    assertEquals("c", parts.next().getName());
+    parts.next();
+  }
+
+  /**
+   * Tests that the encoding of the InputSource is used to read its byte stream.
+   *
+   * @throws Exception in case of unmarshal problems
+   */
+  @Test
+  public void testIterateByteStreamWithEncoding() throws Exception {
+    String xml = "<parts><part><name>\u00e9t\u00e9</name></part></parts>";
+    InputSource source = new InputSource(new ByteArrayInputStream(xml.getBytes("ISO-8859-1")));
+    source.setEncoding("ISO-8859-1");
+
+    Iterator<Part> parts =
+        new XMLContext().createUnmarshaller().iterate(source, Part.class, "part");
+
+    assertEquals("\u00e9t\u00e9", parts.next().getName());
+    assertFalse(parts.hasNext());
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.xml.util;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test case for {@link HashTrieMap}.
+ *
+ * @since 1.4.2
+ */
+public class HashTrieMapTest {
+
+  @Test
+  public void testPlusKeepsOriginal() {
+    HashTrieMap<String, String> empty = HashTrieMap.empty();
+    HashTrieMap<String, String> one = empty.plus("a", "1");
+    HashTrieMap<String, String> two = one.plus("a", "2");
+
+    Assert.assertTrue(empty.isEmpty());
+    Assert.assertNull(empty.get("a"));
+    Assert.assertEquals("1", one.get("a"));
+    Assert.assertEquals("2", two.get("a"));
+    Assert.assertEquals(1, two.size());
+    Assert.assertSame(two, two.plus("a", "2"));
+  }
+
+  @Test
+  public void testNullValue() {
+    HashTrieMap<String, String> map = HashTrieMap.<String, String>empty().plus("a", null);
+    Assert.assertTrue(map.containsKey("a"));
+    Assert.assertNull(map.get("a"));
+    Assert.assertFalse(map.containsKey("b"));
+  }
+
+  @Test
+  public void testCollidingKeys() {
+    // -- "Aa" and "BB" have the same hash code
+    HashTrieMap<String, String> map =
+        HashTrieMap.<String, String>empty().plus("Aa", "1").plus("BB", "2").plus("C", "3");
+    Assert.assertEquals("1", map.get("Aa"));
+    Assert.assertEquals("2", map.get("BB"));
+    Assert.assertEquals(3, map.size());
+
+    HashTrieMap<String, String> reduced = map.minus("Aa");
+    Assert.assertFalse(reduced.containsKey("Aa"));
+    Assert.assertEquals("2", reduced.get("BB"));
+    Assert.assertEquals(2, reduced.size());
+    Assert.assertSame(reduced, reduced.minus("Aa"));
+    Assert.assertTrue(reduced.minus("BB").minus("C").isEmpty());
+  }
+
+  @Test
+  public void testAgainstHashMap() {
+    Random random = new Random(42);
+    Map<Integer, Integer> expected = new HashMap<Integer, Integer>();
+    HashTrieMap<Integer, Integer> map = HashTrieMap.empty();
+    for (int i = 0; i < 20000; i++) {
+      Integer key = Integer.valueOf(random.nextInt(5000) * 65536);
+      if (random.nextInt(3) == 0) {
+        expected.remove(key);
+        map = map.minus(key);
+      } else {
+        expected.put(key, Integer.valueOf(i));
+        map = map.plus(key, Integer.valueOf(i));
+      }
+    }
+
+    Assert.assertEquals(expected.size(), map.size());
+    Assert.assertEquals(expected.keySet(), new HashSet<Integer>(map.keys()));
+    for (int key = 0; key < 5000; key++) {
+      Integer boxed = Integer.valueOf(key * 65536);
+      Assert.assertEquals(expected.get(boxed), map.get(boxed));
+      Assert.assertEquals(expected.containsKey(boxed), map.containsKey(boxed));
+    }
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.xml.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.junit.Test;
+
+/**
+ * Test case for {@link StaxStreamSupport}.
+ */
+public class StaxStreamSupportTest {
+
+  @Test
+  public void testWriteStartElement() throws Exception {
+    StringWriter out = new StringWriter();
+    XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out);
+    StaxStreamSupport.writeStartElement(writer, "urn:a", "root");
+    StaxStreamSupport.writeElement(writer, "urn:a", "first", "1");
+    StaxStreamSupport.writeElement(writer, null, "second", "2");
+    StaxStreamSupport.writeStartElement(writer, "urn:b", "third");
+    StaxStreamSupport.writeElement(writer, "urn:b", "fourth", "4");
+    writer.writeEndElement();
+    writer.writeEndElement();
+    writer.close();
+
+    assertEquals("<root xmlns=\"urn:a\"><first>1</first><second xmlns=\"\">2</second>"
+        + "<third xmlns=\"urn:b\"><fourth>4</fourth></third></root>", out.toString());
+  }
+
+  @Test
+  public void testSkipElement() throws Exception {
+    XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(
+        new StringReader("<?xml version=\"1.0\"?><!-- c --><a><b><c/>text</b><d/></a>"));
+    StaxStreamSupport.nextStartElement(reader);
+    assertEquals("a", reader.getLocalName());
+    reader.nextTag();
+    assertEquals("b", reader.getLocalName());
+    StaxStreamSupport.skipElement(reader);
+    assertEquals(XMLStreamConstants.END_ELEMENT, reader.getEventType());
+    assertEquals("b", reader.getLocalName());
+    reader.nextTag();
+    assertEquals("d", reader.getLocalName());
+  }
+
+  @Test
+  public void testNextStartElementChecksName() throws Exception {
+    XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(
+        new StringReader("<a xmlns=\"urn:a\"><b xmlns=\"\"/></a>"));
+    StaxStreamSupport.nextStartElement(reader, "urn:a", "a");
+    assertTrue(StaxStreamSupport.hasNamespace(reader, "urn:a"));
+    assertFalse(StaxStreamSupport.hasNamespace(reader, null));
+    reader.nextTag();
+    assertTrue(StaxStreamSupport.hasNamespace(reader, null));
+    assertFalse(StaxStreamSupport.hasNamespace(reader, "urn:a"));
+
+    reader = XMLInputFactory.newInstance().createXMLStreamReader(
+        new StringReader("<a xmlns=\"urn:b\"/>"));
+    try {
+      StaxStreamSupport.nextStartElement(reader, "urn:a", "a");
+      fail("Element in a different namespace accepted");
+    } catch (XMLStreamException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains("{urn:b}a"));
+    }
+  }
+
+  @Test
+  public void testParseBoolean() {
+    assertTrue(StaxStreamSupport.parseBoolean(" true "));
+    assertTrue(StaxStreamSupport.parseBoolean("1"));
+    assertFalse(StaxStreamSupport.parseBoolean("false"));
+    assertFalse(StaxStreamSupport.parseBoolean("0"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testParseInvalidBoolean() {
+    StaxStreamSupport.parseBoolean("yes");
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.xml.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import org.exolab.castor.xml.NodeType;
+import org.junit.Test;
+
+/**
+ * Test case for the field descriptor lookup of {@link XMLClassDescriptorImpl}.
+ */
+public class XMLClassDescriptorImplTest {
+
+  @Test
+  public void lookupByNameAndNodeType() {
+    XMLClassDescriptorImpl descriptor = new XMLClassDescriptorImpl(Object.class, "order");
+    XMLFieldDescriptorImpl id =
+        new XMLFieldDescriptorImpl(String.class, "id", "id", NodeType.Attribute);
+    XMLFieldDescriptorImpl item =
+        new XMLFieldDescriptorImpl(String.class, "item", "item", NodeType.Element);
+    descriptor.addFieldDescriptor(id);
+    descriptor.addFieldDescriptor(item);
+
+    assertSame(id, descriptor.getFieldDescriptor("id", null, NodeType.Attribute));
+    assertSame(item, descriptor.getFieldDescriptor("item", null, NodeType.Element));
+    assertNull(descriptor.getFieldDescriptor("item", null, NodeType.Attribute));
+    // -- repeated lookups are served from the index
+    assertSame(item, descriptor.getFieldDescriptor("item", null, NodeType.Element));
+    assertNull(descriptor.getFieldDescriptor("note", null, NodeType.Element));
+  }
+
+  @Test
+  public void indexIsInvalidatedOnMutation() {
+    XMLClassDescriptorImpl descriptor = new XMLClassDescriptorImpl(Object.class, "order");
+    assertNull(descriptor.getFieldDescriptor("note", null, NodeType.Element));
+
+    XMLFieldDescriptorImpl note =
+        new XMLFieldDescriptorImpl(String.class, "note", "note", NodeType.Element);
+    descriptor.addFieldDescriptor(note);
+    assertSame(note, descriptor.getFieldDescriptor("note", null, NodeType.Element));
+
+    descriptor.removeFieldDescriptor(note);
+    assertNull(descriptor.getFieldDescriptor("note", null, NodeType.Element));
+  }
+
+  @Test
+  public void wildcardMatchesAnyName() {
+    XMLClassDescriptorImpl descriptor = new XMLClassDescriptorImpl(Object.class, "order");
+    XMLFieldDescriptorImpl any =
+        new XMLFieldDescriptorImpl(Object.class, "any", "*", NodeType.Element);
+    any.setMatches("*");
+    descriptor.addFieldDescriptor(any);
+
+    for (int i = 0; i < 1000; i++) {
+      assertSame(any, descriptor.getFieldDescriptor("e" + i, null, NodeType.Element));
+    }
+  }
+
+  @Test
+  public void deferredFieldsAreCreatedOnce() {
+    final int[] created = new int[1];
+    final XMLFieldDescriptorImpl item =
+        new XMLFieldDescriptorImpl(String.class, "item", "item", NodeType.Element);
+    XMLClassDescriptorImpl descriptor = new XMLClassDescriptorImpl(Object.class, "order") {
+      {
+        deferFieldDescriptors();
+      }
+
+      @Override
+      protected void createFieldDescriptors() {
+        ++created[0];
+        addFieldDescriptor(item);
+      }
+    };
+    assertEquals(0, created[0]);
+
+    assertSame(item, descriptor.getElementDescriptors()[0]);
+    assertSame(item, descriptor.getFieldDescriptor("item", null, NodeType.Element));
+    assertEquals(1, descriptor.getFields().length);
+    assertEquals(1, created[0]);
+  }
+
+  @Test
+  public void deferredFieldsAreCreatedAgainAfterFailure() {
+    final int[] created = new int[1];
+    XMLClassDescriptorImpl descriptor = new XMLClassDescriptorImpl(Object.class, "order") {
+      {
+        deferFieldDescriptors();
+      }
+
+      @Override
+      protected void createFieldDescriptors() {
+        XMLFieldDescriptorImpl item =
+            new XMLFieldDescriptorImpl(String.class, "item", "item", NodeType.Element);
+        addFieldDescriptor(item);
+        addSequenceElement(item);
+        if (++created[0] == 1) {
+          throw new IllegalStateException("first attempt fails");
+        }
+        addFieldDescriptor(
+            new XMLFieldDescriptorImpl(String.class, "id", "id", NodeType.Attribute));
+      }
+    };
+
+    try {
+      descriptor.getFields();
+      fail("The failure of the first attempt is not reported");
+    } catch (IllegalStateException e) {
+      assertEquals("first attempt fails", e.getMessage());
+    }
+
+    assertEquals(2, descriptor.getFields().length);
+    assertEquals(1, descriptor.getElementDescriptors().length);
+    assertEquals(1, descriptor.getAttributeDescriptors().length);
+    assertEquals(2, created[0]);
+    assertNotNull(descriptor.getFieldDescriptor("item", null, NodeType.Element));
+  }
+}
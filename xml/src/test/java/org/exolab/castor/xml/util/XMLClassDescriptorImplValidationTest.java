@@ -0,0 +1,239 @@
+/*
+ * Copyright 2026 Castor project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.exolab.castor.xml.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+import java.util.regex.Pattern;
+
+import org.castor.xml.BackwardCompatibilityContext;
+import org.castor.xml.XMLProperties;
+import org.exolab.castor.mapping.FieldHandler;
+import org.exolab.castor.xml.FieldValidator;
+import org.exolab.castor.xml.NodeType;
+import org.exolab.castor.xml.ValidationContext;
+import org.exolab.castor.xml.ValidationException;
+import org.exolab.castor.xml.validators.IntValidator;
+import org.exolab.castor.xml.validators.StringValidator;
+import org.junit.Test;
+
+/**
+ * Test case for the validation of fields by
+ * {@link XMLClassDescriptorImpl#validateFacets(Object, ValidationContext)} instead of their type
+ * validators. Both ways must report the same messages and locations.
+ */
+public class XMLClassDescriptorImplValidationTest {
+
+  @Test
+  public void rangeViolation() throws Exception {
+    Item item = new Item();
+    item._quantity = Integer.valueOf(11);
+    assertSameException(item, "XPATH: /@quantity");
+  }
+
+  @Test
+  public void patternViolation() throws Exception {
+    Item item = new Item();
+    item._code = "abc";
+    item._quantity = Integer.valueOf(1);
+    assertSameException(item, "XPATH: /code");
+  }
+
+  @Test
+  public void missingRequiredValue() throws Exception {
+    assertSameException(new Item(), "XPATH: /@quantity");
+  }
+
+  @Test
+  public void validValues() throws Exception {
+    Item item = new Item();
+    item._code = "ABC";
+    item._quantity = Integer.valueOf(10);
+    new TypeValidatedItemDescriptor().validate(item, createContext());
+    new InlineValidatedItemDescriptor().validate(item, createContext());
+  }
+
+  /**
+   * Validates the given item with both descriptors, asserting that both report the same exception.
+   *
+   * @param item the invalid item
+   * @param location the expected location of the exception
+   */
+  private void assertSameException(final Item item, final String location) {
+    ValidationException expected = validate(new TypeValidatedItemDescriptor(), item);
+    ValidationException actual = validate(new InlineValidatedItemDescriptor(), item);
+
+    assertEquals(expected.getMessage(), actual.getMessage());
+    if (expected.getCause() == null) {
+      assertEquals(null, actual.getCause());
+    } else {
+      assertNotNull(actual.getCause());
+      assertEquals(expected.getCause().getMessage(), actual.getCause().getMessage());
+    }
+    assertEquals(location, String.valueOf(expected.getLocation()));
+    assertEquals(location, String.valueOf(actual.getLocation()));
+  }
+
+  /**
+   * Validates the given item, expecting a {@link ValidationException}.
+   *
+   * @param descriptor the descriptor to validate with
+   * @param item the item to validate
+   * @return the exception reported
+   */
+  private ValidationException validate(final XMLClassDescriptorImpl descriptor, final Item item) {
+    try {
+      descriptor.validate(item, createContext());
+    } catch (ValidationException e) {
+      return e;
+    }
+    fail("No ValidationException reported by " + descriptor.getClass().getSimpleName());
+    return null;
+  }
+
+  private static ValidationContext createContext() {
+    BackwardCompatibilityContext internalContext = new BackwardCompatibilityContext();
+    internalContext.setProperty(XMLProperties.REG_EXP_CLASS_NAME,
+        "org.exolab.castor.util.SunRegExpEvaluator");
+    ValidationContext context = new ValidationContext();
+    context.setInternalContext(internalContext);
+    return context;
+  }
+
+  /**
+   * The validated class, with an optional element restricted by a pattern and a required attribute
+   * restricted by a range.
+   */
+  static final class Item {
+    private String _code;
+    private Integer _quantity;
+  }
+
+  /**
+   * Describes {@link Item} with type validators, as generated without inline validation.
+   */
+  static class TypeValidatedItemDescriptor extends XMLClassDescriptorImpl {
+
+    protected final XMLFieldDescriptorImpl _codeDescriptor;
+    protected final XMLFieldDescriptorImpl _quantityDescriptor;
+
+    TypeValidatedItemDescriptor() {
+      setJavaClass(Item.class);
+      setXMLName("item");
+
+      _codeDescriptor =
+          new XMLFieldDescriptorImpl(String.class, "_code", "code", NodeType.Element);
+      _codeDescriptor.setHandler(new ItemHandler(false));
+      addFieldDescriptor(_codeDescriptor);
+
+      _quantityDescriptor =
+          new XMLFieldDescriptorImpl(Integer.class, "_quantity", "quantity", NodeType.Attribute);
+      _quantityDescriptor.setHandler(new ItemHandler(true));
+      _quantityDescriptor.setRequired(true);
+      addFieldDescriptor(_quantityDescriptor);
+
+      FieldValidator fieldValidator = new FieldValidator();
+      StringValidator typeValidator = new StringValidator();
+      typeValidator.addPattern("[A-Z]+");
+      fieldValidator.setValidator(typeValidator);
+      _codeDescriptor.setValidator(fieldValidator);
+
+      fieldValidator = new FieldValidator();
+      fieldValidator.setMinOccurs(1);
+      IntValidator intValidator = new IntValidator();
+      intValidator.setMaxInclusive(10);
+      fieldValidator.setValidator(intValidator);
+      _quantityDescriptor.setValidator(fieldValidator);
+    }
+  }
+
+  /**
+   * Describes {@link Item} with inline validation, as generated with inline validation.
+   */
+  static final class InlineValidatedItemDescriptor extends TypeValidatedItemDescriptor {
+
+    private static final Pattern CODE_PATTERN = Pattern.compile("[A-Z]+");
+
+    InlineValidatedItemDescriptor() {
+      _codeDescriptor.setValidator(new FieldValidator());
+      addInlineValidatedField(_codeDescriptor);
+
+      FieldValidator fieldValidator = new FieldValidator();
+      fieldValidator.setMinOccurs(1);
+      _quantityDescriptor.setValidator(fieldValidator);
+      addInlineValidatedField(_quantityDescriptor);
+    }
+
+    @Override
+    protected void validateFacets(final Object object, final ValidationContext context)
+        throws ValidationException {
+      Item target = (Item) object;
+      if (target._code != null) {
+        String value = target._code;
+        if (!CODE_PATTERN.matcher(value).matches()) {
+          throw createFacetException(object, "_code",
+              "'" + value + "'does not match the required regular expression \"[A-Z]+\".");
+        }
+      }
+      if (target._quantity != null) {
+        int value = target._quantity.intValue();
+        if (value > 10) {
+          throw createFacetException(object, "_quantity",
+              "int " + value + " is greater than the maximum allowed value: 10");
+        }
+      } else {
+        validateRequiredField(object, context, "_quantity");
+      }
+    }
+  }
+
+  /**
+   * Accesses one of the fields of an {@link Item}.
+   */
+  private static final class ItemHandler implements FieldHandler<Object> {
+
+    private final boolean _quantity;
+
+    ItemHandler(final boolean quantity) {
+      _quantity = quantity;
+    }
+
+    public Object getValue(final Object object) {
+      return _quantity ? ((Item) object)._quantity : ((Item) object)._code;
+    }
+
+    public void setValue(final Object object, final Object value) {
+      if (_quantity) {
+        ((Item) object)._quantity = (Integer) value;
+      } else {
+        ((Item) object)._code = (String) value;
+      }
+    }
+
+    public void resetValue(final Object object) {
+      setValue(object, null);
+    }
+
+    @Deprecated
+    public void checkValidity(final Object object) {
+      // -- nothing to check
+    }
+
+    public Object newInstance(final Object parent) {
+      return null;
+    }
+  }
+}
@@ -13,10 +13,20 @@
  */
 package org.exolab.castor.xml.util;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.castor.test.entity.Part;
 import org.castor.xml.AbstractInternalContext;
+import org.castor.xml.XMLProperties;
 import org.easymock.EasyMock;
+import org.exolab.castor.mapping.ClassDescriptor;
 import org.exolab.castor.xml.UnmarshalFranz;
 import org.exolab.castor.xml.XMLClassDescriptor;
+import org.exolab.castor.xml.XMLContext;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -33,11 +43,13 @@ public class XMLClassDescriptorResolverImplTest {
   private static final Class TEST_CLASS = UnmarshalFranz.class;
   private static final String TEST_CLASS_NAME = TEST_CLASS.getName();
 
+  private AbstractInternalContext internalContext;
+
   private XMLClassDescriptorResolverImpl resolver;
 
   @Before
   public void setup() {
-    AbstractInternalContext internalContext = new AbstractInternalContext() {};
+    internalContext = new AbstractInternalContext() {};
     internalContext.setClassLoader(getClass().getClassLoader());
 
     ResolverStrategy strategy = new AbstractResolverStrategy() {
@@ -84,6 +96,120 @@ public class XMLClassDescriptorResolverImplTest {
     Assert.assertEquals(TEST_CLASS_NAME, descriptor.getXMLName());
   }
 
+  @Test
+  public void testResolveReturnsCachedDescriptor() throws Throwable {
+    XMLClassDescriptor descriptor = resolver.resolve(TEST_CLASS_NAME);
+    Assert.assertSame(descriptor, resolver.resolve(TEST_CLASS_NAME));
+    Assert.assertSame(descriptor, resolver.resolve(TEST_CLASS));
+    Assert.assertSame(descriptor, resolver.resolveByXMLName(TEST_CLASS_NAME, null, null));
+  }
+
+  @Test
+  public void testSharedDescriptorCache() throws Throwable {
+    XMLContext first = new XMLContext();
+    first.setProperty(XMLProperties.SHARE_DESCRIPTOR_CACHE, true);
+    XMLContext second = new XMLContext();
+    second.setProperty(XMLProperties.SHARE_DESCRIPTOR_CACHE, "true");
+    XMLContext own = new XMLContext();
+
+    ClassDescriptor descriptor =
+        first.getInternalContext().getXMLClassDescriptorResolver().resolve(Part.class);
+    Assert.assertNotNull(descriptor);
+    Assert.assertSame(descriptor,
+        second.getInternalContext().getXMLClassDescriptorResolver().resolve(Part.class));
+    Assert.assertNotSame(descriptor,
+        own.getInternalContext().getXMLClassDescriptorResolver().resolve(Part.class));
+
+    second.setProperty(XMLProperties.SHARE_DESCRIPTOR_CACHE, false);
+    Assert.assertNotSame(descriptor,
+        second.getInternalContext().getXMLClassDescriptorResolver().resolve(Part.class));
+  }
+
+  @Test
+  public void testSharedDescriptorCacheByProperties() throws Throwable {
+    XMLContext first = new XMLContext();
+    first.setProperty(XMLProperties.SHARE_DESCRIPTOR_CACHE, true);
+    XMLContext wrapping = new XMLContext();
+    wrapping.setProperty(XMLProperties.SHARE_DESCRIPTOR_CACHE, true);
+    wrapping.setProperty(XMLProperties.WRAP_COLLECTIONS_PROPERTY, true);
+    XMLContext mixed = new XMLContext();
+    mixed.setProperty(XMLProperties.SHARE_DESCRIPTOR_CACHE, true);
+    mixed.setProperty(XMLProperties.XML_NAMING, "mixed");
+
+    ClassDescriptor descriptor =
+        first.getInternalContext().getXMLClassDescriptorResolver().resolve(Part.class);
+    Assert.assertNotSame(descriptor,
+        wrapping.getInternalContext().getXMLClassDescriptorResolver().resolve(Part.class));
+    Assert.assertNotSame(descriptor,
+        mixed.getInternalContext().getXMLClassDescriptorResolver().resolve(Part.class));
+
+    mixed.setProperty(XMLProperties.XML_NAMING, "lower");
+    Assert.assertSame(descriptor,
+        mixed.getInternalContext().getXMLClassDescriptorResolver().resolve(Part.class));
+  }
+
+  @Test
+  public void testDescriptorFactories() throws Throwable {
+    assertDescriptorFactoriesCreatedOnDemand("p");
+  }
+
+  @Test
+  public void testDescriptorFactoriesOfSharedCache() throws Throwable {
+    internalContext.setProperty(XMLProperties.SHARE_DESCRIPTOR_CACHE, true);
+    assertDescriptorFactoriesCreatedOnDemand("shared");
+  }
+
+  /**
+   * Adds a package whose descriptors are created by factories and asserts that a descriptor is
+   * only created once it is looked up by its class name or XML name. A descriptor whose XML name
+   * is not known up front is created by the first lookup by XML name.
+   */
+  private void assertDescriptorFactoriesCreatedOnDemand(final String packageName)
+      throws Throwable {
+    final List<String> created = new ArrayList<String>();
+    final Map<String, ResolverStrategy.DescriptorFactory> factories =
+        new HashMap<String, ResolverStrategy.DescriptorFactory>();
+    for (final String name : new String[] {"First", "Second", "Third", "Fourth"}) {
+      final String className = packageName + "." + name;
+      factories.put(className, new ResolverStrategy.DescriptorFactory() {
+        public XMLClassDescriptor createDescriptor() {
+          created.add(className);
+          return createMockDescriptor(className);
+        }
+
+        public String getXMLName() {
+          return "Third".equals(name) ? null : className;
+        }
+      });
+    }
+    resolver.setResolverStrategy(new AbstractResolverStrategy() {
+      public XMLClassDescriptor createDescriptor(String className) {
+        return null;
+      }
+
+      public void resolvePackage(ResolverResults resolverResults, String packageName) {
+        resolverResults.addDescriptorFactories(factories);
+      }
+    });
+
+    resolver.addPackage(packageName);
+    Assert.assertEquals(0, created.size());
+
+    XMLClassDescriptor descriptor = resolver.resolve(packageName + ".First");
+    Assert.assertEquals(packageName + ".First", descriptor.getXMLName());
+    Assert.assertSame(descriptor, resolver.resolve(packageName + ".First"));
+    Assert.assertEquals(Arrays.asList(packageName + ".First"), created);
+
+    Assert.assertNotNull(resolver.resolveByXMLName(packageName + ".Second", null, null));
+    Assert.assertEquals(3, created.size());
+    Assert.assertFalse(created.contains(packageName + ".Fourth"));
+    Assert.assertNotNull(resolver.resolveByXMLName(packageName + ".Third", null, null));
+    Assert.assertEquals(3, created.size());
+
+    Assert.assertNotNull(resolver.resolve(packageName + ".Fourth"));
+    Assert.assertEquals(4, created.size());
+  }
+
   private XMLClassDescriptor createMockDescriptor(String className) {
     XMLClassDescriptor descriptor =
         EasyMock.createMock("TestClassDescriptor", XMLClassDescriptor.class);